@@ -0,0 +1,300 @@
+package edu.ncsu.csc216.wolf_tracker.model.io;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+
+import edu.ncsu.csc216.wolf_tracker.model.log.AllTasksLog;
+import edu.ncsu.csc216.wolf_tracker.model.project.Project;
+import edu.ncsu.csc216.wolf_tracker.model.task.Task;
+import edu.ncsu.csc216.wolf_tracker.model.task.TaskArena;
+import edu.ncsu.csc216.wolf_tracker.model.util.ILogList;
+import edu.ncsu.csc216.wolf_tracker.model.util.LogList;
+
+/**
+ * Reads and writes the binary project format. A binary project file holds the
+ * same data as the text format, laid out as:
+ * <pre>
+ * int     MAGIC
+ * int     header length in bytes
+ * header  varint category count, varint task count,
+ *         varint project name length, a varint name length per category,
+ *         and per task: varint duration, varint category id,
+ *         varint title length, varint details length
+ * strings the UTF-8 bytes of the project name, the category names, and
+ *         the title and details of each task, in header order
+ * </pre>
+ * Category ids index the category dictionary in sorted order. The offset of
+ * each string in the string region is the sum of the lengths before it, so the
+ * header is a complete index of the string region and no text has to be
+ * scanned for separators on load.
+ *
+ * Reading uses the index to decode only what a project needs up front: the
+ * titles. Each task's details are decoded from the file's bytes the first
+ * time they are needed, and the tasks of each run of one category are added
+ * to the project in bulk.
+ *
+ * @author Priyanshu Dongre
+ */
+class BinaryProjectFormat {
+
+	/** The value written at the start of every binary project file */
+	static final int MAGIC = 0x57544231;
+
+	/**
+	 * Checks whether the given bytes are the start of a binary project file.
+	 *
+	 * @param bytes the first bytes of a file
+	 * @param length the number of valid bytes
+	 * @return true if the bytes start with MAGIC
+	 */
+	static boolean isBinary(byte[] bytes, int length) {
+		return length >= 4 && readInt(bytes, 0) == MAGIC;
+	}
+
+	/**
+	 * Writes the project to the file at the given path in the binary format.
+	 * Called under the project's read lock.
+	 *
+	 * @param path the path of the file to write
+	 * @param project the project to write
+	 * @throws IOException if the file cannot be written
+	 */
+	static void write(Path path, Project project) throws IOException {
+		String[] categoryNames = project.getCategoryNames();
+		HashMap<String, Integer> categoryIds = new HashMap<>();
+		for(int i = 1; i < categoryNames.length; i++) {
+			categoryIds.put(categoryNames[i], i - 1);
+		}
+
+		ILogList<Task> list = project.getTaskLog(AllTasksLog.ALL_TASKS_NAME).getTasks();
+
+		ByteArrayOutputStream header = new ByteArrayOutputStream();
+		writeVarInt(header, categoryNames.length - 1);
+		writeVarInt(header, list.size());
+		writeVarInt(header, utf8Length(project.getProjectName()));
+		for(int i = 1; i < categoryNames.length; i++) {
+			writeVarInt(header, utf8Length(categoryNames[i]));
+		}
+		for(Task task : list) {
+			writeVarInt(header, task.getTaskDuration());
+			writeVarInt(header, categoryIds.get(task.getCategoryName()));
+			writeVarInt(header, utf8Length(task.getTaskTitle()));
+			writeVarInt(header, utf8Length(task.getTaskDetails()));
+		}
+
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(header.size());
+			header.writeTo(out);
+
+			writeString(out, project.getProjectName());
+			for(int i = 1; i < categoryNames.length; i++) {
+				writeString(out, categoryNames[i]);
+			}
+			for(Task task : list) {
+				writeString(out, task.getTaskTitle());
+				writeString(out, task.getTaskDetails());
+			}
+		}
+	}
+
+	/**
+	 * Reads a project from the given contents of a binary project file. Tasks
+	 * kept on the heap decode their details from bytes when they are first
+	 * needed, so bytes must not be changed afterwards; tasks kept in an arena
+	 * store their details up front.
+	 *
+	 * @param bytes the contents of the file
+	 * @param arena the arena the tasks store their strings in, or null to keep them on the heap
+	 * @return the project read from the file
+	 * @throws IllegalArgumentException if the contents are not a valid binary project file
+	 */
+	static Project read(byte[] bytes, TaskArena arena) {
+		try {
+			int headerLength = readInt(bytes, 4);
+			Cursor header = new Cursor(bytes, 8);
+			int stringOffset = 8 + headerLength;
+			if(headerLength < 0 || stringOffset > bytes.length) {
+				throw new IllegalArgumentException("Unable to load file.");
+			}
+
+			int categoryCount = header.readVarInt();
+			int taskCount = header.readVarInt();
+
+			int nameLength = header.readVarInt();
+			Project project = new Project(new String(bytes, stringOffset, nameLength, StandardCharsets.UTF_8));
+			stringOffset += nameLength;
+			project.setUndoBudget(0);
+			//Every task takes at least four header bytes, which bounds a corrupt count.
+			project.getCurrentLog().ensureCapacity(Math.min(taskCount, headerLength / 4));
+
+			String[] categoryNames = new String[categoryCount];
+			for(int i = 0; i < categoryCount; i++) {
+				int length = header.readVarInt();
+				categoryNames[i] = new String(bytes, stringOffset, length, StandardCharsets.UTF_8);
+				stringOffset += length;
+				project.addCategoryLog(categoryNames[i]);
+			}
+
+			int currentCategory = -1;
+			LogList<Task> run = new LogList<>();
+			for(int i = 0; i < taskCount; i++) {
+				int duration = header.readVarInt();
+				int categoryId = header.readVarInt();
+				int titleLength = header.readVarInt();
+				int detailsLength = header.readVarInt();
+
+				String title = new String(bytes, stringOffset, titleLength, StandardCharsets.UTF_8);
+				stringOffset += titleLength;
+				int detailsOffset = stringOffset;
+				if(detailsLength < 0 || detailsOffset > bytes.length - detailsLength) {
+					throw new IllegalArgumentException("Unable to load file.");
+				}
+				stringOffset += detailsLength;
+
+				Task task;
+				if(arena != null) {
+					task = new Task(title, duration, new String(bytes, detailsOffset, detailsLength, StandardCharsets.UTF_8), arena);
+				} else if(detailsLength == 0) {
+					//Rejected as incomplete, as the details are empty.
+					task = new Task(title, duration, "");
+				} else {
+					task = new Task(title, duration, () -> new String(bytes, detailsOffset, detailsLength, StandardCharsets.UTF_8));
+				}
+
+				if(categoryId != currentCategory && run.size() > 0) {
+					project.addTasks(categoryNames[currentCategory], run);
+					run = new LogList<>();
+				}
+				currentCategory = categoryId;
+				run.addLog(task);
+			}
+			if(run.size() > 0) {
+				project.addTasks(categoryNames[currentCategory], run);
+			}
+			if(header.position > 8 + headerLength) {
+				throw new IllegalArgumentException("Unable to load file.");
+			}
+
+			project.setCurrentTaskLog(AllTasksLog.ALL_TASKS_NAME);
+			return project;
+		} catch(IndexOutOfBoundsException e) {
+			throw new IllegalArgumentException("Unable to load file.");
+		}
+	}
+
+	/**
+	 * Writes the UTF-8 bytes of a string to the output.
+	 *
+	 * @param out the output to write to
+	 * @param str the string to write
+	 * @throws IOException if the string cannot be written
+	 */
+	private static void writeString(OutputStream out, String str) throws IOException {
+		out.write(str.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Writes a non-negative int as an unsigned LEB128 varint.
+	 *
+	 * @param out the output to write to
+	 * @param value the value to write
+	 */
+	private static void writeVarInt(ByteArrayOutputStream out, int value) {
+		while((value & ~0x7F) != 0) {
+			out.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.write(value);
+	}
+
+	/**
+	 * Returns the number of bytes in the UTF-8 encoding of the string without
+	 * encoding it.
+	 *
+	 * @param str the string to measure
+	 * @return the UTF-8 length of str
+	 */
+	private static int utf8Length(String str) {
+		int length = 0;
+		for(int i = 0; i < str.length(); i++) {
+			char c = str.charAt(i);
+			if(c < 0x80) {
+				length++;
+			} else if(c < 0x800) {
+				length += 2;
+			} else if(Character.isHighSurrogate(c) && i + 1 < str.length() && Character.isLowSurrogate(str.charAt(i + 1))) {
+				length += 4;
+				i++;
+			} else if(Character.isSurrogate(c)) {
+				//Unpaired surrogates are encoded as '?'
+				length++;
+			} else {
+				length += 3;
+			}
+		}
+		return length;
+	}
+
+	/**
+	 * Reads a big-endian int from the bytes.
+	 *
+	 * @param bytes the bytes to read from
+	 * @param offset the offset of the int
+	 * @return the int at offset
+	 */
+	private static int readInt(byte[] bytes, int offset) {
+		return (bytes[offset] & 0xFF) << 24 | (bytes[offset + 1] & 0xFF) << 16
+				| (bytes[offset + 2] & 0xFF) << 8 | (bytes[offset + 3] & 0xFF);
+	}
+
+	/**
+	 * A read position in a byte array that decodes varints.
+	 *
+	 * @author Priyanshu Dongre
+	 */
+	private static class Cursor {
+
+		/** The bytes being read */
+		private byte[] bytes;
+
+		/** The offset of the next byte to read */
+		private int position;
+
+		/**
+		 * Constructs a Cursor at the given offset.
+		 *
+		 * @param bytes the bytes to read
+		 * @param position the offset of the first byte to read
+		 */
+		Cursor(byte[] bytes, int position) {
+			this.bytes = bytes;
+			this.position = position;
+		}
+
+		/**
+		 * Reads an unsigned LEB128 varint.
+		 *
+		 * @return the value read
+		 * @throws IllegalArgumentException if the varint is longer than five bytes
+		 */
+		int readVarInt() {
+			int value = 0;
+			for(int shift = 0; shift < 35; shift += 7) {
+				byte b = bytes[position++];
+				value |= (b & 0x7F) << shift;
+				if(b >= 0) {
+					return value;
+				}
+			}
+			throw new IllegalArgumentException("Unable to load file.");
+		}
+	}
+}
@@ -0,0 +1,388 @@
+package edu.ncsu.csc216.wolf_tracker.model.io;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+import edu.ncsu.csc216.wolf_tracker.model.log.AllTasksLog;
+import edu.ncsu.csc216.wolf_tracker.model.project.Project;
+import edu.ncsu.csc216.wolf_tracker.model.task.Task;
+
+/**
+ * Reads a project in the text format from a memory-mapped file. The file is
+ * mapped in windows of at most windowSize bytes, record boundaries are found
+ * by scanning the mapped bytes for lines starting with '*', and only the
+ * title, category and details of each record are copied out and decoded. The
+ * raw contents of the file are never held on the Java heap, so files larger
+ * than the heap (or than a single 2 GB mapping) can be loaded.
+ *
+ * @author Priyanshu Dongre
+ */
+class MappedProjectReader {
+
+	/** The default size of a mapped window */
+	static final long DEFAULT_WINDOW_SIZE = 1L << 30;
+
+	/** The channel of the file being read */
+	private FileChannel channel;
+
+	/** The size of the file being read */
+	private long fileSize;
+
+	/** The largest number of bytes mapped at once */
+	private long windowSize;
+
+	/** The currently mapped window of the file */
+	private MappedByteBuffer window;
+
+	/** The file position of the first byte of the window */
+	private long windowStart;
+
+	/** The file position after the last byte of the window */
+	private long windowEnd;
+
+	/** Buffer that field bytes are copied into for decoding */
+	private byte[] scratch;
+
+	/** The file position of the first task record, or the file size if there are none to read */
+	private long taskStart;
+
+	/** The category name of the most recently parsed record */
+	private String categoryName;
+
+	/** The file task details are loaded from on demand, or null if details are read with each record */
+	private TaskDetailsFile detailsFile;
+
+	/**
+	 * Constructs a MappedProjectReader for the given channel.
+	 *
+	 * @param channel the channel of the file to read
+	 * @param windowSize the largest number of bytes to map at once; a single
+	 * 		task record must fit in a window
+	 * @throws IOException if the size of the file cannot be read
+	 */
+	MappedProjectReader(FileChannel channel, long windowSize) throws IOException {
+		this.channel = channel;
+		this.fileSize = channel.size();
+		this.windowSize = Math.min(windowSize, Integer.MAX_VALUE);
+		this.scratch = new byte[256];
+	}
+
+	/**
+	 * Sets the file that parsed tasks load their details from on demand. When
+	 * set, parseTask records only the position of each task's details instead of
+	 * decoding them.
+	 *
+	 * @param detailsFile the file to load details from, or null to decode details with each record
+	 */
+	void setDetailsFile(TaskDetailsFile detailsFile) {
+		this.detailsFile = detailsFile;
+	}
+
+	/**
+	 * Reads the project from the file.
+	 *
+	 * @return the project read from the file
+	 * @throws IOException if the file cannot be mapped
+	 * @throws IllegalArgumentException if the file does not start with a valid project line
+	 */
+	Project read() throws IOException {
+		Project project = readHeader();
+
+		long pos = taskStart;
+		while(pos < fileSize) {
+			long recordEnd = nextRecord(pos);
+			try {
+				Task task = parseTask(pos, recordEnd);
+				project.setCurrentTaskLog(categoryName);
+				project.addTask(task);
+			} catch(IllegalArgumentException e) {
+				//Invalid task isn't added
+			}
+			pos = recordEnd;
+		}
+
+		return finishLoad(project);
+	}
+
+	/**
+	 * Reads the project line and category lines of the file. After this returns,
+	 * getTaskStart() gives the position of the first task record.
+	 *
+	 * @return the project with its categories, and no tasks
+	 * @throws IllegalArgumentException if the file does not start with a valid project line
+	 */
+	Project readHeader() {
+		if(fileSize == 0 || byteAt(0) != '!') {
+			throw new IllegalArgumentException("Unable to load file.");
+		}
+
+		long lineEnd = indexOfNewline(0);
+		Project project;
+		try {
+			project = new Project(decode(2, trimCarriageReturn(2, lineEnd)));
+		} catch(IndexOutOfBoundsException | IllegalArgumentException e) {
+			throw new IllegalArgumentException("Unable to load file.");
+		}
+		//Loading is not undoable; ProjectReader turns the history back on.
+		project.setUndoBudget(0);
+
+		long pos = lineEnd + 1;
+		while(pos < fileSize && byteAt(pos) != '*') {
+			lineEnd = indexOfNewline(pos);
+			if(byteAt(pos) != '#') {
+				//Anything else in the header ends the load.
+				taskStart = fileSize;
+				return finishLoad(project);
+			}
+			try {
+				project.addCategoryLog(decode(pos + 2, trimCarriageReturn(pos + 2, lineEnd)));
+			} catch(IndexOutOfBoundsException | IllegalArgumentException e) {
+				taskStart = fileSize;
+				return finishLoad(project);
+			}
+			pos = lineEnd + 1;
+		}
+
+		taskStart = Math.min(pos, fileSize);
+		return project;
+	}
+
+	/**
+	 * Returns the file position of the first task record found by readHeader().
+	 *
+	 * @return the start of the task records, or the file size if there are none to read
+	 */
+	long getTaskStart() {
+		return taskStart;
+	}
+
+	/**
+	 * Returns the size of the file being read.
+	 *
+	 * @return the file size
+	 */
+	long getFileSize() {
+		return fileSize;
+	}
+
+	/**
+	 * Returns the category name of the most recently parsed record.
+	 *
+	 * @return the category name
+	 */
+	String getCategoryName() {
+		return categoryName;
+	}
+
+	/**
+	 * Builds the task in the record at [start, end). The record's category name is
+	 * available from getCategoryName() once this method returns.
+	 *
+	 * @param start the file position of the record's '*'
+	 * @param end the file position after the record
+	 * @return the task described by the record
+	 * @throws IllegalArgumentException if the record does not describe a valid task
+	 */
+	Task parseTask(long start, long end) {
+		long headerEnd = Math.min(indexOfNewline(start), end);
+		long lineEnd = trimCarriageReturn(start, headerEnd);
+
+		long titleEnd = indexOf((byte) ',', start + 2, lineEnd);
+		long durationEnd = indexOf((byte) ',', titleEnd + 1, lineEnd);
+		if(start + 2 > titleEnd || durationEnd >= lineEnd) {
+			throw new IllegalArgumentException("Incomplete task information.");
+		}
+		int taskDuration = parseDuration(titleEnd + 1, durationEnd);
+
+		long detailsEnd = end;
+		while(detailsEnd > headerEnd && (byteAt(detailsEnd - 1) == '\n' || byteAt(detailsEnd - 1) == '\r')) {
+			detailsEnd--;
+		}
+		long detailsStart = Math.min(headerEnd + 1, detailsEnd);
+
+		Task task;
+		if(detailsFile == null) {
+			task = new Task(decode(start + 2, titleEnd), taskDuration, decode(detailsStart, detailsEnd));
+		} else {
+			if(detailsStart == detailsEnd || detailsEnd - detailsStart > Integer.MAX_VALUE) {
+				throw new IllegalArgumentException("Incomplete task information.");
+			}
+			task = new Task(decode(start + 2, titleEnd), taskDuration,
+					detailsFile.details(detailsStart, (int) (detailsEnd - detailsStart)));
+		}
+		categoryName = decode(durationEnd + 1, lineEnd);
+		return task;
+	}
+
+	/**
+	 * Returns the file position of the next line starting with '*' after the
+	 * line at pos, or the file size if there is none.
+	 *
+	 * @param pos a file position at the start of a line
+	 * @return the start of the next record
+	 */
+	long nextRecord(long pos) {
+		long lineStart = indexOfNewline(pos) + 1;
+		while(lineStart < fileSize && byteAt(lineStart) != '*') {
+			lineStart = indexOfNewline(lineStart) + 1;
+		}
+		return Math.min(lineStart, fileSize);
+	}
+
+	/**
+	 * Returns the file position of the first line starting with '*' that starts
+	 * at or after pos, or the file size if there is none.
+	 *
+	 * @param pos any file position in the task records
+	 * @return the start of the first record at or after pos
+	 */
+	long recordAtOrAfter(long pos) {
+		if(pos >= fileSize) {
+			return fileSize;
+		}
+		if(pos > 0 && byteAt(pos - 1) != '\n') {
+			return nextRecord(pos);
+		}
+		return byteAt(pos) == '*' ? pos : nextRecord(pos);
+	}
+
+	/**
+	 * Parses the decimal duration in [start, end).
+	 *
+	 * @param start the position of the first digit
+	 * @param end the position after the last digit
+	 * @return the parsed duration
+	 * @throws IllegalArgumentException if the range is empty, contains a non-digit or overflows an int
+	 */
+	private int parseDuration(long start, long end) {
+		if(start == end) {
+			throw new IllegalArgumentException("Incomplete task information.");
+		}
+		int value = 0;
+		for(long i = start; i < end; i++) {
+			int digit = byteAt(i) - '0';
+			if(digit < 0 || digit > 9 || value > (Integer.MAX_VALUE - digit) / 10) {
+				throw new IllegalArgumentException("Incomplete task information.");
+			}
+			value = value * 10 + digit;
+		}
+		return value;
+	}
+
+	/**
+	 * Decodes the UTF-8 bytes in [start, end), turning each "\r\n" into "\n".
+	 *
+	 * @param start the position of the first byte
+	 * @param end the position after the last byte
+	 * @return the decoded string
+	 */
+	private String decode(long start, long end) {
+		if(start >= end) {
+			return "";
+		}
+		long length = end - start;
+		if(length > windowSize) {
+			throw new IllegalArgumentException("Incomplete task information.");
+		}
+		int len = (int) length;
+		if(scratch.length < len) {
+			scratch = new byte[Math.max(len, scratch.length * 2)];
+		}
+		if(start < windowStart || end > windowEnd) {
+			map(start);
+		}
+		window.get((int) (start - windowStart), scratch, 0, len);
+
+		int count = 0;
+		for(int i = 0; i < len; i++) {
+			if(scratch[i] != '\r' || i + 1 >= len || scratch[i + 1] != '\n') {
+				scratch[count++] = scratch[i];
+			}
+		}
+		return new String(scratch, 0, count, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Returns end, moved back by one if the byte before it is '\r'.
+	 *
+	 * @param start the start of the line
+	 * @param end the position of the line's '\n'
+	 * @return the end of the line's text
+	 */
+	private long trimCarriageReturn(long start, long end) {
+		if(end > start && byteAt(end - 1) == '\r') {
+			return end - 1;
+		}
+		return end;
+	}
+
+	/**
+	 * Returns the position of the first '\n' at or after pos.
+	 *
+	 * @param pos the position to start searching at
+	 * @return the position of the '\n', or the file size if there is none
+	 */
+	private long indexOfNewline(long pos) {
+		return indexOf((byte) '\n', pos, fileSize);
+	}
+
+	/**
+	 * Returns the position of the first occurrence of b in [from, to).
+	 *
+	 * @param b the byte to search for
+	 * @param from the position to start searching at
+	 * @param to the position to stop searching at
+	 * @return the position of b, or to if b does not occur in the range
+	 */
+	private long indexOf(byte b, long from, long to) {
+		for(long i = from; i < to; i++) {
+			if(byteAt(i) == b) {
+				return i;
+			}
+		}
+		return to;
+	}
+
+	/**
+	 * Returns the byte at the given file position, mapping the window that
+	 * starts there if it is not mapped.
+	 *
+	 * @param pos the file position
+	 * @return the byte at pos
+	 */
+	private byte byteAt(long pos) {
+		if(pos < windowStart || pos >= windowEnd) {
+			map(pos);
+		}
+		return window.get((int) (pos - windowStart));
+	}
+
+	/**
+	 * Maps the window of the file starting at the given position.
+	 *
+	 * @param pos the file position of the start of the window
+	 */
+	private void map(long pos) {
+		long length = Math.min(windowSize, fileSize - pos);
+		try {
+			window = channel.map(FileChannel.MapMode.READ_ONLY, pos, length);
+		} catch(IOException e) {
+			throw new IllegalArgumentException("Unable to load file.");
+		}
+		windowStart = pos;
+		windowEnd = pos + length;
+	}
+
+	/**
+	 * Resets the current log of a loaded project to the All Tasks log.
+	 *
+	 * @param project the loaded project
+	 * @return the given project
+	 */
+	private static Project finishLoad(Project project) {
+		project.setCurrentTaskLog(AllTasksLog.ALL_TASKS_NAME);
+		return project;
+	}
+}
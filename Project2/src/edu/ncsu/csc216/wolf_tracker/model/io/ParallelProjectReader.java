@@ -0,0 +1,185 @@
+package edu.ncsu.csc216.wolf_tracker.model.io;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import edu.ncsu.csc216.wolf_tracker.model.log.AllTasksLog;
+import edu.ncsu.csc216.wolf_tracker.model.log.CategoryLog;
+import edu.ncsu.csc216.wolf_tracker.model.project.Project;
+import edu.ncsu.csc216.wolf_tracker.model.task.Task;
+import edu.ncsu.csc216.wolf_tracker.model.util.LogList;
+
+/**
+ * Reads a project in the text format by parsing its task records in parallel.
+ * The project and category lines are read first. The task records are then
+ * split at record boundaries into chunks that are parsed on a ForkJoinPool,
+ * each with its own MappedProjectReader over the shared file channel. Each
+ * chunk also groups its tasks into runs of one category while it is parsed.
+ * The logs are then sized for every task, and the runs are added to the
+ * project chunk by chunk in bulk, so the All Tasks log and every category log
+ * keep the order of the file and the only work left after the parallel parse
+ * is one addAll per run.
+ *
+ * @author Priyanshu Dongre
+ */
+class ParallelProjectReader {
+
+	/** The smallest chunk of task records worth parsing on its own */
+	static final long MIN_CHUNK_SIZE = 1L << 20;
+
+	/** The number of chunks per worker thread, so that uneven chunks even out */
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	/** The channel of the file being read */
+	private FileChannel channel;
+
+	/** The pool the chunks are parsed on */
+	private ForkJoinPool pool;
+
+	/** The smallest chunk of task records parsed on its own */
+	private long minChunkSize;
+
+	/**
+	 * Constructs a ParallelProjectReader for the given channel.
+	 *
+	 * @param channel the channel of the file to read
+	 * @param pool the pool to parse chunks on
+	 * @param minChunkSize the smallest chunk of task records parsed on its own
+	 */
+	ParallelProjectReader(FileChannel channel, ForkJoinPool pool, long minChunkSize) {
+		this.channel = channel;
+		this.pool = pool;
+		this.minChunkSize = Math.max(1, minChunkSize);
+	}
+
+	/**
+	 * Reads the project from the file.
+	 *
+	 * @return the project read from the file
+	 * @throws IOException if the file cannot be read
+	 * @throws IllegalArgumentException if the file does not start with a valid project line
+	 */
+	Project read() throws IOException {
+		MappedProjectReader headerReader = new MappedProjectReader(channel, MappedProjectReader.DEFAULT_WINDOW_SIZE);
+		Project project = headerReader.readHeader();
+		long taskStart = headerReader.getTaskStart();
+		long fileSize = headerReader.getFileSize();
+
+		long chunkCount = Math.max(1, Math.min((fileSize - taskStart) / minChunkSize,
+				(long) pool.getParallelism() * CHUNKS_PER_THREAD));
+		List<Chunk> chunks = new ArrayList<>();
+		long chunkStart = taskStart;
+		for(long i = 1; i <= chunkCount && chunkStart < fileSize; i++) {
+			long chunkEnd = i == chunkCount ? fileSize
+					: headerReader.recordAtOrAfter(taskStart + (fileSize - taskStart) * i / chunkCount);
+			if(chunkEnd > chunkStart) {
+				chunks.add(new Chunk(chunkStart, chunkEnd));
+				chunkStart = chunkEnd;
+			}
+		}
+
+		for(Chunk chunk : chunks) {
+			pool.execute(chunk);
+		}
+		int taskCount = 0;
+		Map<String, Integer> categoryCounts = new HashMap<>();
+		for(Chunk chunk : chunks) {
+			chunk.join();
+			for(int i = 0; i < chunk.runs.size(); i++) {
+				int runSize = chunk.runs.get(i).size();
+				taskCount += runSize;
+				categoryCounts.merge(chunk.runNames.get(i), runSize, Integer::sum);
+			}
+		}
+		project.getTaskLog(AllTasksLog.ALL_TASKS_NAME).ensureCapacity(taskCount);
+		for(Map.Entry<String, Integer> category : categoryCounts.entrySet()) {
+			//Tasks of a category the file does not list are not added.
+			if(project.getTaskLog(category.getKey()) instanceof CategoryLog) {
+				project.getTaskLog(category.getKey()).ensureCapacity(category.getValue());
+			} else {
+				category.setValue(0);
+			}
+		}
+
+		for(Chunk chunk : chunks) {
+			for(int i = 0; i < chunk.runs.size(); i++) {
+				if(categoryCounts.get(chunk.runNames.get(i)) > 0) {
+					project.addTasks(chunk.runNames.get(i), chunk.runs.get(i));
+				}
+			}
+		}
+
+		project.setCurrentTaskLog(AllTasksLog.ALL_TASKS_NAME);
+		return project;
+	}
+
+	/**
+	 * A run of whole task records that is parsed on its own.
+	 *
+	 * @author Priyanshu Dongre
+	 */
+	private class Chunk extends RecursiveAction {
+
+		/** Serial version UID of the action */
+		private static final long serialVersionUID = 1L;
+
+		/** The file position of the first record in the chunk */
+		private long start;
+
+		/** The file position after the last record in the chunk */
+		private long end;
+
+		/** The valid tasks of the chunk in file order, in runs of one category */
+		private List<LogList<Task>> runs;
+
+		/** The category name of each run in runs */
+		private List<String> runNames;
+
+		/**
+		 * Constructs a Chunk for the records in [start, end).
+		 *
+		 * @param start the file position of the first record
+		 * @param end the file position after the last record
+		 */
+		Chunk(long start, long end) {
+			this.start = start;
+			this.end = end;
+			this.runs = new ArrayList<>();
+			this.runNames = new ArrayList<>();
+		}
+
+		/**
+		 * Parses the records of the chunk. Invalid records are skipped.
+		 */
+		@Override
+		protected void compute() {
+			try {
+				MappedProjectReader reader = new MappedProjectReader(channel, Math.min(end - start, MappedProjectReader.DEFAULT_WINDOW_SIZE));
+				long pos = start;
+				while(pos < end) {
+					long recordEnd = Math.min(reader.nextRecord(pos), end);
+					try {
+						Task task = reader.parseTask(pos, recordEnd);
+						String categoryName = reader.getCategoryName();
+						if(runs.isEmpty() || !categoryName.equals(runNames.get(runs.size() - 1))) {
+							runs.add(new LogList<>());
+							runNames.add(categoryName);
+						}
+						runs.get(runs.size() - 1).addLog(task);
+					} catch(IllegalArgumentException e) {
+						//Invalid task isn't added
+					}
+					pos = recordEnd;
+				}
+			} catch(IOException e) {
+				throw new IllegalArgumentException("Unable to load file.");
+			}
+		}
+	}
+}
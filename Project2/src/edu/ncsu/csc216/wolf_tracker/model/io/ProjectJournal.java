@@ -0,0 +1,511 @@
+package edu.ncsu.csc216.wolf_tracker.model.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+
+import edu.ncsu.csc216.wolf_tracker.model.project.Project;
+import edu.ncsu.csc216.wolf_tracker.model.task.Task;
+
+/**
+ * An append-only journal of the changes made to a project since its base file
+ * was last written. Changes are recorded as compact binary records while the
+ * project is edited and appended to a journal file next to the base file when
+ * the project is saved, so a save only writes the changes. Once the journal
+ * holds enough records it is folded into a freshly written base file.
+ *
+ * The journal for a base file named project.txt is named project.txt.journal.
+ * Its header holds a checksum of the base file it was started against, and a
+ * journal whose checksum does not match the base file is stale and is not
+ * replayed. A full write of the base file goes to a temporary file that is
+ * then moved into place before the journal is deleted, so a crash at any
+ * point leaves either the old base file with its journal or the new base
+ * file, next to a journal that no longer matches it.
+ *
+ * @author Priyanshu Dongre
+ */
+public class ProjectJournal {
+
+	/** The extension appended to the base file name to get the journal file name */
+	public static final String JOURNAL_EXTENSION = ".journal";
+
+	/** The default number of journal records after which the journal is compacted */
+	public static final int DEFAULT_COMPACTION_THRESHOLD = 1000;
+
+	/** The extension appended to the base file name to get the name it is written under before being moved into place */
+	private static final String TEMP_EXTENSION = ".tmp";
+
+	/** The value written at the start of every journal file */
+	private static final int MAGIC = 0x57544A32;
+
+	/** Record type for Project.addCategoryLog */
+	private static final byte ADD_CATEGORY = 1;
+	/** Record type for Project.editCategoryLogName */
+	private static final byte EDIT_CATEGORY = 2;
+	/** Record type for Project.removeCategoryLog */
+	private static final byte REMOVE_CATEGORY = 3;
+	/** Record type for Project.addTask */
+	private static final byte ADD_TASK = 4;
+	/** Record type for Project.editTask */
+	private static final byte EDIT_TASK = 5;
+	/** Record type for Project.removeTask */
+	private static final byte REMOVE_TASK = 6;
+
+	/** The base project file */
+	private File baseFile;
+
+	/** The journal file for the base file */
+	private File journalFile;
+
+	/** The number of records after which the journal is compacted */
+	private int compactionThreshold;
+
+	/** The records that have not been saved yet */
+	private ByteArrayOutputStream pendingBytes;
+
+	/** The stream used to encode records into pendingBytes */
+	private DataOutputStream pending;
+
+	/** The number of records that have not been saved yet */
+	private int pendingCount;
+
+	/** The number of records in the journal file */
+	private int savedCount;
+
+	/** True if the base file and journal file together hold the project as it was before the pending records */
+	private boolean isSynced;
+
+	/** The checksum of the base file, which a new journal file records in its header; known once isSynced is true */
+	private long baseChecksum;
+
+	/**
+	 * Constructs a ProjectJournal for the given base file with the default
+	 * compaction threshold.
+	 *
+	 * @param baseFile the base project file
+	 */
+	public ProjectJournal(File baseFile) {
+		this(baseFile, DEFAULT_COMPACTION_THRESHOLD);
+	}
+
+	/**
+	 * Constructs a ProjectJournal for the given base file. Until the journal has
+	 * been replayed or saved once, the next save writes a full base file.
+	 *
+	 * @param baseFile the base project file
+	 * @param compactionThreshold the number of records after which the journal is compacted
+	 * @throws IllegalArgumentException if baseFile is null or compactionThreshold is not positive
+	 */
+	public ProjectJournal(File baseFile, int compactionThreshold) {
+		if(baseFile == null || compactionThreshold <= 0) {
+			throw new IllegalArgumentException("Invalid journal.");
+		}
+		this.baseFile = baseFile.getAbsoluteFile();
+		this.journalFile = getJournalFile(this.baseFile);
+		this.compactionThreshold = compactionThreshold;
+		clearPending();
+	}
+
+	/**
+	 * Returns the journal file for the given base file.
+	 *
+	 * @param baseFile the base project file
+	 * @return the journal file for baseFile
+	 */
+	public static File getJournalFile(File baseFile) {
+		return new File(baseFile.getPath() + JOURNAL_EXTENSION);
+	}
+
+	/**
+	 * Deletes the journal file for the given base file, if there is one. This must
+	 * be done whenever the base file is written in full.
+	 *
+	 * @param baseFile the base project file
+	 * @throws IllegalArgumentException if the journal file exists and cannot be deleted
+	 */
+	public static void deleteJournal(File baseFile) {
+		File file = getJournalFile(baseFile);
+		if(file.exists() && !file.delete()) {
+			throw new IllegalArgumentException("Unable to save file.");
+		}
+	}
+
+	/**
+	 * Returns the base project file of this journal.
+	 *
+	 * @return the base project file
+	 */
+	public File getBaseFile() {
+		return baseFile;
+	}
+
+	/**
+	 * Returns the number of records after which the journal is compacted.
+	 *
+	 * @return the compaction threshold
+	 */
+	public int getCompactionThreshold() {
+		return compactionThreshold;
+	}
+
+	/**
+	 * Returns the number of records in the journal file plus those not saved yet.
+	 *
+	 * @return the number of journal records
+	 */
+	public int getRecordCount() {
+		return savedCount + pendingCount;
+	}
+
+	/**
+	 * Checks whether the given file is the base file of this journal.
+	 *
+	 * @param file the file to check
+	 * @return true if file is the base file of this journal
+	 */
+	public boolean isJournalFor(File file) {
+		return file != null && baseFile.equals(file.getAbsoluteFile());
+	}
+
+	/**
+	 * Records a call to Project.addCategoryLog.
+	 *
+	 * @param categoryName the name of the added category
+	 */
+	public void recordAddCategory(String categoryName) {
+		try {
+			pending.writeByte(ADD_CATEGORY);
+			writeString(categoryName);
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		pendingCount++;
+	}
+
+	/**
+	 * Records a call to Project.editCategoryLogName.
+	 *
+	 * @param oldName the name of the category before the edit
+	 * @param newName the name of the category after the edit
+	 */
+	public void recordEditCategory(String oldName, String newName) {
+		try {
+			pending.writeByte(EDIT_CATEGORY);
+			writeString(oldName);
+			writeString(newName);
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		pendingCount++;
+	}
+
+	/**
+	 * Records a call to Project.removeCategoryLog.
+	 *
+	 * @param categoryName the name of the removed category
+	 */
+	public void recordRemoveCategory(String categoryName) {
+		try {
+			pending.writeByte(REMOVE_CATEGORY);
+			writeString(categoryName);
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		pendingCount++;
+	}
+
+	/**
+	 * Records a call to Project.addTask.
+	 *
+	 * @param categoryName the name of the category the task was added to
+	 * @param task the added task
+	 */
+	public void recordAddTask(String categoryName, Task task) {
+		try {
+			pending.writeByte(ADD_TASK);
+			writeString(categoryName);
+			writeTask(task);
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		pendingCount++;
+	}
+
+	/**
+	 * Records a call to Project.editTask.
+	 *
+	 * @param logName the name of the log the task was edited in
+	 * @param idx the index of the task in the log
+	 * @param task the task after the edit
+	 */
+	public void recordEditTask(String logName, int idx, Task task) {
+		try {
+			pending.writeByte(EDIT_TASK);
+			writeString(logName);
+			pending.writeInt(idx);
+			writeTask(task);
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		pendingCount++;
+	}
+
+	/**
+	 * Records a call to Project.removeTask.
+	 *
+	 * @param logName the name of the log the task was removed from
+	 * @param idx the index of the task in the log
+	 */
+	public void recordRemoveTask(String logName, int idx) {
+		try {
+			pending.writeByte(REMOVE_TASK);
+			writeString(logName);
+			pending.writeInt(idx);
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		pendingCount++;
+	}
+
+	/**
+	 * Records a change that has no journal record, such as an undo or redo.
+	 * The pending records no longer lead to the project, so they are dropped
+	 * and the next save writes the base file in full.
+	 */
+	public void recordUnjournaledChange() {
+		isSynced = false;
+		clearPending();
+	}
+
+	/**
+	 * Saves the project. The pending records are appended to the journal file,
+	 * unless the journal has reached its compaction threshold or the base file is
+	 * not known to be up to date, in which case the base file is written in full
+	 * and the journal file is deleted.
+	 *
+	 * @param project the project being saved
+	 * @throws IllegalArgumentException if the project cannot be saved
+	 */
+	public void save(Project project) {
+		if(!isSynced || !baseFile.exists() || getRecordCount() >= compactionThreshold) {
+			compact(project);
+			return;
+		}
+		if(pendingCount == 0) {
+			return;
+		}
+
+		boolean isNew = !journalFile.exists() || journalFile.length() == 0;
+		try (DataOutputStream out = new DataOutputStream(new FileOutputStream(journalFile, true))) {
+			if(isNew) {
+				out.writeInt(MAGIC);
+				out.writeLong(baseChecksum);
+			}
+			pendingBytes.writeTo(out);
+		} catch(IOException e) {
+			throw new IllegalArgumentException("Unable to save file.");
+		}
+		savedCount += pendingCount;
+		clearPending();
+	}
+
+	/**
+	 * Folds the journal into the base file by writing the project in full to a
+	 * temporary file, moving it over the base file and then deleting the
+	 * journal file. A crash before the move leaves the old base file and its
+	 * journal; a crash after it leaves a journal whose checksum no longer
+	 * matches the base file, so it is not replayed.
+	 *
+	 * @param project the project being saved
+	 * @throws IllegalArgumentException if the project cannot be saved
+	 */
+	public void compact(Project project) {
+		File tempFile = new File(baseFile.getPath() + TEMP_EXTENSION);
+		ProjectWriter.writeProjectFile(tempFile, project);
+		long checksum;
+		try {
+			checksum = checksumOf(tempFile);
+			try {
+				Files.move(tempFile.toPath(), baseFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch(AtomicMoveNotSupportedException e) {
+				Files.move(tempFile.toPath(), baseFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch(IOException e) {
+			throw new IllegalArgumentException("Unable to save file.");
+		}
+		deleteJournal(baseFile);
+		baseChecksum = checksum;
+		savedCount = 0;
+		isSynced = true;
+		clearPending();
+	}
+
+	/**
+	 * Replays the journal file onto a project that was just loaded from the base
+	 * file. A journal started against another version of the base file, such
+	 * as one left by a crash after the base file was rewritten, is stale and
+	 * is not replayed. A record cut off at the end of the file, such as one
+	 * left by an interrupted save, is ignored. Appending after its partial
+	 * bytes would make every later record unreadable, so in both cases the
+	 * next save writes the base file in full and deletes the journal instead.
+	 *
+	 * @param project the project loaded from the base file
+	 * @return true if a journal file for the base file existed and was replayed
+	 * @throws IllegalArgumentException if the journal file cannot be read or
+	 * 		holds a record the project rejects
+	 */
+	public boolean replay(Project project) {
+		if(!journalFile.exists()) {
+			return false;
+		}
+
+		savedCount = 0;
+		isSynced = false;
+		clearPending();
+		boolean isComplete = false;
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(journalFile.toPath())))) {
+			if(in.readInt() != MAGIC) {
+				throw new IllegalArgumentException("Unable to load file.");
+			}
+			baseChecksum = checksumOf(baseFile);
+			if(in.readLong() != baseChecksum) {
+				return false;
+			}
+			//A record is complete only if the file ends right after it.
+			while(in.available() > 0) {
+				try {
+					replayRecord(project, in);
+				} catch(IndexOutOfBoundsException | IllegalArgumentException e) {
+					//The model rejected the record, so the journal does not fit the base file.
+					throw new IllegalArgumentException("Unable to load file.");
+				}
+				savedCount++;
+			}
+			isComplete = true;
+		} catch(EOFException e) {
+			//Cut off in the middle of the last record
+		} catch(IOException e) {
+			throw new IllegalArgumentException("Unable to load file.");
+		}
+		isSynced = isComplete;
+		return true;
+	}
+
+	/**
+	 * Reads one record from the journal and applies it to the project.
+	 *
+	 * @param project the project to apply the record to
+	 * @param in the stream positioned at the start of a record
+	 * @throws IOException if the record cannot be read
+	 */
+	private void replayRecord(Project project, DataInputStream in) throws IOException {
+		byte type = in.readByte();
+		switch(type) {
+		case ADD_CATEGORY:
+			project.addCategoryLog(readString(in));
+			break;
+		case EDIT_CATEGORY:
+			project.setCurrentTaskLog(readString(in));
+			project.editCategoryLogName(readString(in));
+			break;
+		case REMOVE_CATEGORY:
+			project.setCurrentTaskLog(readString(in));
+			project.removeCategoryLog();
+			break;
+		case ADD_TASK:
+			project.setCurrentTaskLog(readString(in));
+			project.addTask(new Task(readString(in), in.readInt(), readString(in)));
+			break;
+		case EDIT_TASK:
+			project.setCurrentTaskLog(readString(in));
+			project.editTask(in.readInt(), readString(in), in.readInt(), readString(in));
+			break;
+		case REMOVE_TASK:
+			project.setCurrentTaskLog(readString(in));
+			project.removeTask(in.readInt());
+			break;
+		default:
+			throw new IOException("Unknown journal record.");
+		}
+	}
+
+	/**
+	 * Returns the CRC-32 checksum of the contents of a file.
+	 *
+	 * @param file the file to checksum
+	 * @return the checksum
+	 * @throws IOException if the file cannot be read
+	 */
+	private static long checksumOf(File file) throws IOException {
+		CRC32 crc = new CRC32();
+		byte[] buffer = new byte[1 << 16];
+		try (InputStream in = Files.newInputStream(file.toPath())) {
+			for(int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+				crc.update(buffer, 0, read);
+			}
+		}
+		return crc.getValue();
+	}
+
+	/**
+	 * Encodes the fields of a task into the pending records.
+	 *
+	 * @param task the task to encode
+	 * @throws IOException if the task cannot be encoded
+	 */
+	private void writeTask(Task task) throws IOException {
+		writeString(task.getTaskTitle());
+		pending.writeInt(task.getTaskDuration());
+		writeString(task.getTaskDetails());
+	}
+
+	/**
+	 * Encodes a string as its UTF-8 length followed by its UTF-8 bytes.
+	 *
+	 * @param str the string to encode
+	 * @throws IOException if the string cannot be encoded
+	 */
+	private void writeString(String str) throws IOException {
+		byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+		pending.writeInt(bytes.length);
+		pending.write(bytes);
+	}
+
+	/**
+	 * Decodes a string written by writeString.
+	 *
+	 * @param in the stream to read from
+	 * @return the decoded string
+	 * @throws IOException if the string cannot be read
+	 */
+	private static String readString(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if(length < 0) {
+			throw new IOException("Invalid journal record.");
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Discards the pending records.
+	 */
+	private void clearPending() {
+		pendingBytes = new ByteArrayOutputStream();
+		pending = new DataOutputStream(pendingBytes);
+		pendingCount = 0;
+	}
+}
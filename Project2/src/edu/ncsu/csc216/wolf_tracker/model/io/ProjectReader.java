@@ -1,11 +1,20 @@
 package edu.ncsu.csc216.wolf_tracker.model.io;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.util.Scanner;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
 
 import edu.ncsu.csc216.wolf_tracker.model.log.AllTasksLog;
 import edu.ncsu.csc216.wolf_tracker.model.project.Project;
+import edu.ncsu.csc216.wolf_tracker.model.task.TaskArena;
 import edu.ncsu.csc216.wolf_tracker.model.task.Task;
 
 /**
@@ -22,113 +31,291 @@ public class ProjectReader {
      * @param file the file from which the project will be read
      * @return the Project object read from the file, or null if the operation fails
      */
-	@SuppressWarnings("resource")
 	public static Project readProjectFile(File file) {
-		Project project = null;
-		String cache = null;
 		try {
-
-			Scanner fileScanner = new Scanner(file);
-			String fileAsString = "";
-			int count = 1;
-			while(fileScanner.hasNextLine()) {
-				String currentLine = fileScanner.nextLine();
-				if(count == 1 && currentLine.charAt(0) != '!') {
-					throw new IllegalArgumentException();
-				}
-				fileAsString += currentLine + "\n";
-				count++;
-			}
-			//System.out.print(fileAsString);// This is working
-			
-			fileScanner.close();
-			fileScanner = new Scanner(fileAsString);
-			while(fileScanner.hasNextLine()) {
-				String currentLine = fileScanner.nextLine();
-				
-				if(currentLine.charAt(0) == '!') {
-					
-					cache = currentLine;
-					project = new Project(currentLine.substring(2));
-					fileAsString = fileAsString.substring(currentLine.length() + 1);
-				} else if(currentLine.charAt(0) == '#') {
+			return readProjectFile(file.toPath());
+		} catch(InvalidPathException e) {
+			throw new IllegalArgumentException("Unable to load file.");
+		}
+	}
 	
-					project.addCategoryLog(currentLine.substring(2));
-					fileAsString = fileAsString.substring(currentLine.length() + 1);
-				} else if(currentLine.charAt(0) == '*') {
-					break;
-				} else {
-					throw new IllegalArgumentException("Unable to load file.");
+	/**
+	 * Reads a project from the file at the specified path. The file is read in a
+	 * single forward pass: the project line and category lines are handled as
+	 * they are read, and each task record is collected by a TaskRecordParser and
+	 * processed as soon as the next record starts, so only one record is held in
+	 * memory at a time. Files written by ProjectWriter.writeBinaryProjectFile are
+	 * recognized by their first bytes and read in the binary format instead. If
+	 * the file has a journal, the journal is replayed onto
+	 * the loaded project and the project keeps saving changes to it.
+	 * 
+	 * @param path the path of the file from which the project will be read
+	 * @return the Project object read from the file
+	 * @throws IllegalArgumentException if the file cannot be read or does not start
+	 * 		with a project line
+	 */
+	public static Project readProjectFile(Path path) {
+		return readProjectFile(path, null);
+	}
+	
+	/**
+	 * Reads a project from the specified file, text or binary, storing the
+	 * titles and details of its tasks in the given arena instead of on the
+	 * heap. This keeps the heap small for projects of millions of tasks. Tasks
+	 * added to the project afterwards are kept on the heap as usual.
+	 * 
+	 * @param file the file from which the project will be read
+	 * @param arena the arena to store task titles and details in
+	 * @return the Project object read from the file
+	 * @throws IllegalArgumentException if the file cannot be read or does not start
+	 * 		with a project line
+	 */
+	public static Project readProjectFile(File file, TaskArena arena) {
+		try {
+			return readProjectFile(file.toPath(), arena);
+		} catch(InvalidPathException e) {
+			throw new IllegalArgumentException("Unable to load file.");
+		}
+	}
+	
+	/**
+	 * Reads a project from the file at the specified path as readProjectFile(Path)
+	 * does, storing task strings in the given arena if there is one.
+	 * 
+	 * @param path the path of the file from which the project will be read
+	 * @param arena the arena to store task titles and details in, or null
+	 * @return the Project object read from the file
+	 * @throws IllegalArgumentException if the file cannot be read or does not start
+	 * 		with a project line
+	 */
+	private static Project readProjectFile(Path path, TaskArena arena) {
+		Project project;
+		try {
+			if(isBinaryFile(path)) {
+				project = BinaryProjectFormat.read(Files.readAllBytes(path), arena);
+			} else {
+				try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+					project = readProject(reader, arena);
 				}
-				
 			}
-			
-			fileScanner.close();
-			fileScanner = new Scanner(fileAsString);
-			fileScanner.useDelimiter("[*]");
-			while(fileScanner.hasNext()) {
-				String currentLine = fileScanner.next();
-//				System.out.println(currentLine);
-				processTask(project, currentLine);
-				
-			}
-			
-			fileScanner.close();
 		} catch(IOException e) {
 			throw new IllegalArgumentException("Unable to load file.");
-		} catch(Exception e) {
-			//Skip Line
 		}
 		
-		if(cache == null) {
+		return replayJournal(path, project);
+	}
+	
+	/**
+	 * Reads a project in the text format from the specified file by mapping the
+	 * file into memory instead of reading it through the heap. Only the fields
+	 * needed to build each Task are copied out of the mapped file, so this is
+	 * suited to very large project files. The file is otherwise handled the same
+	 * way as by readProjectFile.
+	 * 
+	 * @param file the file from which the project will be read
+	 * @return the Project object read from the file
+	 * @throws IllegalArgumentException if the file cannot be read or does not start
+	 * 		with a project line
+	 */
+	public static Project readMappedProjectFile(File file) {
+		Project project;
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			project = new MappedProjectReader(channel, MappedProjectReader.DEFAULT_WINDOW_SIZE).read();
+		} catch(IOException | InvalidPathException e) {
 			throw new IllegalArgumentException("Unable to load file.");
 		}
 		
-		project.setCurrentTaskLog(AllTasksLog.ALL_TASKS_NAME);
-		//System.out.print(project.getCurrentLog().getName());
-		return project;
+		return replayJournal(file.toPath(), project);
 	}
-
+	
 	/**
-     * Processes a task line and adds it to the specified project.
-     * 
-     * @param project the project to which the task will be added
-     * @param line the line containing task information to be processed
-     */
-
-	private static void processTask(Project project, String line) {
-		
-		Scanner lineProcessor = new Scanner(line).useDelimiter("[,]");
-		
-		
-		
-		String taskTitle = lineProcessor.next().substring(1);
-//		System.out.println(taskTitle);
+	 * Reads a project in the text format from the specified file without loading
+	 * task details. Each Task keeps only the position of its details in the file
+	 * and reads them the first time getTaskDetails() is called, such as when the
+	 * task is opened or the project is saved. The file must not be changed by
+	 * anything else while the project is open.
+	 * 
+	 * @param file the file from which the project will be read
+	 * @return the Project object read from the file
+	 * @throws IllegalArgumentException if the file cannot be read or does not start
+	 * 		with a project line
+	 */
+	public static Project readLazyProjectFile(File file) {
+		Project project;
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			MappedProjectReader reader = new MappedProjectReader(channel, MappedProjectReader.DEFAULT_WINDOW_SIZE);
+			reader.setDetailsFile(new TaskDetailsFile(file.toPath()));
+			project = reader.read();
+		} catch(IOException | InvalidPathException e) {
+			throw new IllegalArgumentException("Unable to load file.");
+		}
 		
-		int taskDuration = Integer.parseInt(lineProcessor.next());
-//		System.out.println(taskDuration);
-		lineProcessor.useDelimiter("\n");
-		String category = lineProcessor.next().substring(1);
-//		System.out.println(category);
+		return replayJournal(file.toPath(), project);
+	}
+	
+	/**
+	 * Reads a project in the text format from the specified file, parsing its
+	 * task records in parallel on the common ForkJoinPool.
+	 * 
+	 * @param file the file from which the project will be read
+	 * @return the Project object read from the file
+	 * @throws IllegalArgumentException if the file cannot be read or does not start
+	 * 		with a project line
+	 */
+	public static Project readParallelProjectFile(File file) {
+		return readParallelProjectFile(file, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Reads a project in the text format from the specified file, parsing its
+	 * task records in parallel on the given pool. The task records are split into
+	 * chunks at record boundaries, and the parsed tasks are added to the project
+	 * in file order, so the result is the same as from readProjectFile.
+	 * 
+	 * @param file the file from which the project will be read
+	 * @param pool the pool on which task records are parsed
+	 * @return the Project object read from the file
+	 * @throws IllegalArgumentException if the file cannot be read or does not start
+	 * 		with a project line
+	 */
+	public static Project readParallelProjectFile(File file, ForkJoinPool pool) {
+		Project project;
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			project = new ParallelProjectReader(channel, pool, ParallelProjectReader.MIN_CHUNK_SIZE).read();
+		} catch(IOException | InvalidPathException e) {
+			throw new IllegalArgumentException("Unable to load file.");
+		}
 		
+		return replayJournal(file.toPath(), project);
+	}
+	
+	/**
+	 * Replays the journal of the file at the given path, if it has one, onto the
+	 * project loaded from that file. Loading is not a change the user can undo,
+	 * so the readers build the project without an undo history, and the history
+	 * starts empty with the default budget once the project is loaded.
+	 * 
+	 * @param path the path of the file the project was loaded from
+	 * @param project the loaded project
+	 * @return the given project
+	 */
+	private static Project replayJournal(Path path, Project project) {
+		ProjectJournal journal = new ProjectJournal(path.toFile());
+		if(journal.replay(project)) {
+			project.setJournal(journal);
+			finishLoad(project);
+		}
+		project.clearUndoHistory();
+		project.setUndoBudget(Project.DEFAULT_UNDO_BUDGET);
+		return project;
+	}
+	
+	/**
+	 * Checks whether the file at the given path is in the binary project format.
+	 * 
+	 * @param path the path of the file to check
+	 * @return true if the file starts with the binary format's magic number
+	 * @throws IOException if the file cannot be read
+	 */
+	private static boolean isBinaryFile(Path path) throws IOException {
+		try (InputStream in = Files.newInputStream(path)) {
+			byte[] start = in.readNBytes(4);
+			return BinaryProjectFormat.isBinary(start, start.length);
+		}
+	}
+	
+	/**
+	 * Reads a project from the given reader, building the Project as each
+	 * line is read.
+	 * 
+	 * @param reader the reader positioned at the start of the project data
+	 * @param arena the arena to store task titles and details in, or null
+	 * @return the Project object read from the reader
+	 * @throws IOException if the reader cannot be read
+	 * @throws IllegalArgumentException if the data does not start with a valid project line
+	 */
+	private static Project readProject(BufferedReader reader, TaskArena arena) throws IOException {
+		String line = reader.readLine();
+		if(!startsWith(line, '!')) {
+			throw new IllegalArgumentException("Unable to load file.");
+		}
 		
-		String taskDetails = "";
+		Project project;
+		try {
+			project = new Project(line.substring(2));
+		} catch(IndexOutOfBoundsException | IllegalArgumentException e) {
+			throw new IllegalArgumentException("Unable to load file.");
+		}
+		//Loading is not undoable, so no history is kept until replayJournal.
+		project.setUndoBudget(0);
 		
-		while(lineProcessor.hasNextLine()) {
-			taskDetails += lineProcessor.nextLine();
-			if(lineProcessor.hasNext()) {
-				taskDetails += "\n";
+		line = reader.readLine();
+		while(line != null && !startsWith(line, '*')) {
+			if(!startsWith(line, '#')) {
+				//Anything else in the header ends the load.
+				return finishLoad(project);
 			}
+			try {
+				project.addCategoryLog(line.substring(2));
+			} catch(IndexOutOfBoundsException | IllegalArgumentException e) {
+				return finishLoad(project);
+			}
+			line = reader.readLine();
 		}
-		taskDetails = taskDetails.substring(1);
-//		System.out.println(taskDetails);
 		
+		TaskRecordParser parser = new TaskRecordParser(arena);
+		while(line != null) {
+			parser.startRecord(line);
+			
+			line = reader.readLine();
+			while(line != null && !startsWith(line, '*')) {
+				parser.appendLine(line);
+				line = reader.readLine();
+			}
+			
+			try {
+				processTask(project, parser);
+			} catch(IllegalArgumentException e) {
+				//Invalid task isn't added
+			}
+		}
 		
-		Task task = new Task(taskTitle, taskDuration, taskDetails);
+		return finishLoad(project);
+	}
+	
+	/**
+	 * Resets the current log of a loaded project to the All Tasks log.
+	 * 
+	 * @param project the loaded project
+	 * @return the given project
+	 */
+	private static Project finishLoad(Project project) {
+		project.setCurrentTaskLog(AllTasksLog.ALL_TASKS_NAME);
+		return project;
+	}
+	
+	/**
+	 * Checks whether the given line starts with the given record marker.
+	 * 
+	 * @param line the line to check, may be null
+	 * @param marker the record marker character
+	 * @return true if the line is non-empty and starts with marker
+	 */
+	private static boolean startsWith(String line, char marker) {
+		return line != null && !line.isEmpty() && line.charAt(0) == marker;
+	}
+
+	/**
+     * Processes the task record held by the parser and adds it to the specified project.
+     * 
+     * @param project the project to which the task will be added
+     * @param parser the parser holding the task record to be processed
+     * @throws IllegalArgumentException if the record does not describe a valid task
+     */
+	private static void processTask(Project project, TaskRecordParser parser) {
+		Task task = parser.parseTask();
 		
-		project.setCurrentTaskLog(category);
+		project.setCurrentTaskLog(parser.getCategoryName());
 		project.addTask(task);
-		
-		lineProcessor.close();
 	}
 }
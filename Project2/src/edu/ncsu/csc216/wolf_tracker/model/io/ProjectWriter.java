@@ -1,11 +1,13 @@
 package edu.ncsu.csc216.wolf_tracker.model.io;
 
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 
-import edu.ncsu.csc216.wolf_tracker.model.log.AbstractTaskLog;
 import edu.ncsu.csc216.wolf_tracker.model.log.AllTasksLog;
 import edu.ncsu.csc216.wolf_tracker.model.project.Project;
 import edu.ncsu.csc216.wolf_tracker.model.task.Task;
@@ -21,83 +23,171 @@ import edu.ncsu.csc216.wolf_tracker.model.util.ILogList;
 public class ProjectWriter {
 	
 	/**
-     * Writes the specified project to a file.
+     * Writes the specified project to a file. The name, category names and
+     * the fields of every task are copied together under the project's read
+     * lock, so a category renamed or a task edited while the file is written
+     * cannot leave a task under a category the file does not list. The file
+     * is streamed through a buffered writer after the lock is released, so
+     * other threads may go on changing the project while it is written.
      * 
      * @param file the file to which the project will be written
      * @param project the project to be written to the file
+     * @throws IllegalArgumentException if the file cannot be written
      */
-	public static void  writeProjectFile(File file, Project project) {
-		String output = "";
-		try {
-			PrintWriter printWriter = new PrintWriter(file);
-			output += "! " + project.getProjectName() + "\n";
+	public static void writeProjectFile(File file, Project project) {
+		ProjectSnapshot snapshot = project.read(p -> new ProjectSnapshot(p.getProjectName(), p.getCategoryNames(),
+				p.getTaskLog(AllTasksLog.ALL_TASKS_NAME).getTasks()));
+		try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			writer.write("! ");
+			writer.write(snapshot.projectName);
+			writer.write('\n');
 			
-			String[] categoryNames = project.getCategoryNames();
-			for(int i = 1; i < categoryNames.length; i++) {
-				output += "# " + categoryNames[i] + "\n";
+			for(int i = 1; i < snapshot.categoryNames.length; i++) {
+				writer.write("# ");
+				writer.write(snapshot.categoryNames[i]);
+				writer.write('\n');
 			}
-			//output = output.substring(0, output.length() - 1);
-			project.setCurrentTaskLog(categoryNames[0]);
-			AbstractTaskLog log = project.getCurrentLog();
-			ILogList<Task> list = log.getTasks();
 			
-			System.out.println(list.size());
-			
-			for(int i = 0; i < list.size(); i++) {
-				if(i == list.size() - 1) {
-					output += list.getLog(i).toString();
-				} else {
-					output += list.getLog(i).toString() + "\n";
+			for(int i = 0; i < snapshot.titles.length; i++) {
+				if(i > 0) {
+					writer.write('\n');
 				}
-				
-				
+				writeTask(writer, snapshot.titles[i], snapshot.durations[i], snapshot.taskCategoryNames[i], snapshot.details[i]);
 			}
-			
-//			output = output.substring(0, output.length() - 1);
-			
-			printWriter.write(output);
-			printWriter.close();
-		} catch(IOException io) {
+		} catch(IOException | InvalidPathException e) {
 			throw new IllegalArgumentException("Unable to save file.");
 		}
-		
 	}
 	
 	/**
-     * Writes the statistics of the specified project to a file.
+	 * Writes the specified project to a file in the binary project format. The
+	 * file holds the same data as one written by writeProjectFile and can be
+	 * read by ProjectReader.readProjectFile.
+	 * 
+	 * @param file the file to which the project will be written
+	 * @param project the project to be written to the file
+	 * @throws IllegalArgumentException if the file cannot be written
+	 */
+	public static void writeBinaryProjectFile(File file, Project project) {
+		project.read(p -> {
+			try {
+				BinaryProjectFormat.write(file.toPath(), p);
+			} catch(IOException | InvalidPathException e) {
+				throw new IllegalArgumentException("Unable to save file.");
+			}
+			return null;
+		});
+	}
+	
+	/**
+     * Writes the statistics of the specified project to a file. The statistics
+     * are gathered under the project's read lock and written after it is
+     * released.
      * 
      * @param file the file to which the project statistics will be written
      * @param project the project whose statistics will be written to the file
+     * @throws IllegalArgumentException if the file is null or cannot be written
      */
 	public static void writeStatsFile(File file, Project project) {
 		if(file == null) {
 			throw new IllegalArgumentException("Unable to save file.");
 		}
-		try {
-			PrintWriter printWriter = new PrintWriter(file);
-			String returnString = "Category,Count,Min,Max,Average\n";
-			
-			String[] categories = project.getCategoryNames();
-			
+		String[] stats = project.read(p -> {
+			String[] categories = p.getCategoryNames();
+			String[] lines = new String[categories.length];
 			for(int i = 1; i < categories.length; i++) {
-				project.setCurrentTaskLog(categories[i]);
-				
-				AbstractTaskLog currentLog = project.getCurrentLog();
-				returnString += currentLog.toString() + "\n";
+				lines[i - 1] = p.getTaskLog(categories[i]).toString();
 			}
-			project.setCurrentTaskLog(AllTasksLog.ALL_TASKS_NAME);
-			AbstractTaskLog currentLog = project.getCurrentLog();
-			returnString += currentLog.toString();
-			
-			
-			printWriter.write(returnString);
-			printWriter.close();
-			
-		} catch (FileNotFoundException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
+			lines[categories.length - 1] = p.getTaskLog(AllTasksLog.ALL_TASKS_NAME).toString();
+			return lines;
+		});
+		try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			writer.write("Category,Count,Min,Max,Average\n");
+			for(int i = 0; i < stats.length; i++) {
+				if(i > 0) {
+					writer.write('\n');
+				}
+				writer.write(stats[i]);
+			}
+		} catch(IOException | InvalidPathException e) {
+			throw new IllegalArgumentException("Unable to save file.");
 		}
+	}
+	
+	/**
+	 * Writes a single task record, in the same format as Task.toString(), to the writer.
+	 * 
+	 * @param writer the writer to which the task will be written
+	 * @param title the title of the task
+	 * @param duration the duration of the task
+	 * @param categoryName the name of the task's category
+	 * @param details the details of the task
+	 * @throws IOException if the task cannot be written
+	 */
+	private static void writeTask(Writer writer, String title, int duration, String categoryName, String details) throws IOException {
+		writer.write("* ");
+		writer.write(title);
+		writer.write(',');
+		writer.write(Integer.toString(duration));
+		writer.write(',');
+		writer.write(categoryName);
+		writer.write('\n');
+		writer.write(details);
+	}
+	
+	/**
+	 * The parts of a project that are written to a project file, copied
+	 * together under the project's read lock. The tasks are kept as columns
+	 * of their fields, not as the live tasks, so nothing written afterwards
+	 * depends on the project.
+	 * 
+	 * @author Priyanshu Dongre
+	 */
+	private static class ProjectSnapshot {
 		
+		/** The name of the project */
+		private final String projectName;
 		
+		/** The category names, with the All Tasks log first */
+		private final String[] categoryNames;
+		
+		/** The title of each task */
+		private final String[] titles;
+		
+		/** The duration of each task */
+		private final int[] durations;
+		
+		/** The category name of each task */
+		private final String[] taskCategoryNames;
+		
+		/** The details of each task */
+		private final String[] details;
+		
+		/**
+		 * Copies the parts of a project. Called while holding the project's
+		 * read lock. Lazily loaded details are read here, since they may be
+		 * read from the file about to be overwritten.
+		 * 
+		 * @param projectName the name of the project
+		 * @param categoryNames the category names
+		 * @param tasks the tasks of the All Tasks log
+		 */
+		ProjectSnapshot(String projectName, String[] categoryNames, ILogList<Task> tasks) {
+			this.projectName = projectName;
+			this.categoryNames = categoryNames;
+			int count = tasks.size();
+			titles = new String[count];
+			durations = new int[count];
+			taskCategoryNames = new String[count];
+			details = new String[count];
+			int i = 0;
+			for(Task task : tasks) {
+				titles[i] = task.getTaskTitle();
+				durations[i] = task.getTaskDuration();
+				taskCategoryNames[i] = task.getCategoryName();
+				details[i] = task.getTaskDetails();
+				i++;
+			}
+		}
 	}
 }
@@ -0,0 +1,133 @@
+package edu.ncsu.csc216.wolf_tracker.model.io;
+
+import java.io.IOException;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Supplier;
+
+/**
+ * The project file that the details of lazily loaded tasks are read from. Each
+ * task keeps only the offset and length of its details in the file and reads
+ * them through this class the first time they are needed. The file is opened
+ * on the first read and closed again once every task's details have been read.
+ *
+ * Tasks removed before their details are read never read them, so the file is
+ * also closed by a Cleaner once no task's loader can reach this object any
+ * more, and is reopened if a loader is used after the file was closed.
+ *
+ * @author Priyanshu Dongre
+ */
+class TaskDetailsFile {
+
+	/** Closes the files of TaskDetailsFiles that are no longer reachable */
+	private static final Cleaner CLEANER = Cleaner.create();
+
+	/** The path of the project file */
+	private Path path;
+
+	/** The channel of the project file, closed by CLEANER if this becomes unreachable */
+	private final OpenChannel channel = new OpenChannel();
+
+	/** The number of tasks whose details have not been read yet */
+	private int unloadedCount;
+
+	/**
+	 * Constructs a TaskDetailsFile for the project file at the given path.
+	 *
+	 * @param path the path of the project file
+	 */
+	TaskDetailsFile(Path path) {
+		this.path = path;
+		CLEANER.register(this, channel);
+	}
+
+	/**
+	 * Returns a loader for the details stored in [offset, offset + length) of the file.
+	 *
+	 * @param offset the file position of the details
+	 * @param length the length of the details in bytes
+	 * @return a loader that reads and decodes the details
+	 */
+	Supplier<String> details(long offset, int length) {
+		unloadedCount++;
+		return () -> load(offset, length);
+	}
+
+	/**
+	 * Reads and decodes the details stored in [offset, offset + length) of the
+	 * file, turning each "\r\n" into "\n".
+	 *
+	 * @param offset the file position of the details
+	 * @param length the length of the details in bytes
+	 * @return the details
+	 * @throws IllegalStateException if the details cannot be read
+	 */
+	private synchronized String load(long offset, int length) {
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+		try {
+			FileChannel file = channel.open(path);
+			while(buffer.hasRemaining()) {
+				if(file.read(buffer, offset + buffer.position()) < 0) {
+					throw new IOException("Unexpected end of file.");
+				}
+			}
+			unloadedCount--;
+			if(unloadedCount == 0) {
+				channel.run();
+			}
+		} catch(IOException e) {
+			throw new IllegalStateException("Unable to load task details.");
+		}
+
+		String details = new String(buffer.array(), 0, length, StandardCharsets.UTF_8);
+		if(details.indexOf('\r') >= 0) {
+			details = details.replace("\r\n", "\n");
+		}
+		return details;
+	}
+
+	/**
+	 * The open channel of a project file, kept apart from the TaskDetailsFile
+	 * so that the Cleaner can close it without reaching the TaskDetailsFile.
+	 *
+	 * @author Priyanshu Dongre
+	 */
+	private static class OpenChannel implements Runnable {
+
+		/** The open channel, or null if the file is not open */
+		private FileChannel channel;
+
+		/**
+		 * Returns the open channel of the file, opening it if it is not open.
+		 *
+		 * @param path the path of the file
+		 * @return the open channel
+		 * @throws IOException if the file cannot be opened
+		 */
+		synchronized FileChannel open(Path path) throws IOException {
+			if(channel == null) {
+				channel = FileChannel.open(path, StandardOpenOption.READ);
+			}
+			return channel;
+		}
+
+		/**
+		 * Closes the channel if it is open.
+		 */
+		@Override
+		public synchronized void run() {
+			if(channel != null) {
+				try {
+					channel.close();
+				} catch(IOException e) {
+					//Nothing more can be done with a file that will not close.
+				}
+				channel = null;
+			}
+		}
+	}
+}
@@ -0,0 +1,197 @@
+package edu.ncsu.csc216.wolf_tracker.model.io;
+
+import edu.ncsu.csc216.wolf_tracker.model.task.Task;
+import edu.ncsu.csc216.wolf_tracker.model.task.TaskArena;
+import edu.ncsu.csc216.wolf_tracker.model.util.StringPool;
+
+/**
+ * Parses task records of the form
+ * <pre>
+ * * title,duration,category
+ * details
+ * </pre>
+ * Lines of a record are copied into a char buffer that is reused from one
+ * record to the next, and the header and details are split with index
+ * arithmetic over that buffer. Titles and category names are looked up in
+ * the task title pool straight from the buffer, so a repeated title or
+ * category creates no string, and the only objects created per record are
+ * usually the details string and the Task itself.
+ *
+ * @author Priyanshu Dongre
+ */
+class TaskRecordParser {
+
+	/** The initial capacity of the record buffer */
+	private static final int INIT_SIZE = 256;
+
+	/** The error message for a record that cannot be made into a task */
+	private static final String INVALID_TASK = "Incomplete task information.";
+
+	/** The buffer holding the current record, without the leading '*' */
+	private char[] buffer;
+
+	/** The number of chars of the current record in the buffer */
+	private int length;
+
+	/** The category name of the most recently parsed record */
+	private String categoryName;
+
+	/** The arena parsed tasks store their strings in, or null to keep them on the heap */
+	private final TaskArena arena;
+
+	/**
+	 * Constructs a new TaskRecordParser with an empty buffer.
+	 */
+	TaskRecordParser() {
+		this(null);
+	}
+
+	/**
+	 * Constructs a new TaskRecordParser with an empty buffer whose tasks store
+	 * their titles and details in the given arena.
+	 *
+	 * @param arena the arena for parsed tasks, or null to keep them on the heap
+	 */
+	TaskRecordParser(TaskArena arena) {
+		buffer = new char[INIT_SIZE];
+		this.arena = arena;
+	}
+
+	/**
+	 * Starts a new record with the given header line. The leading '*' of the
+	 * line is not stored.
+	 *
+	 * @param line the header line of the record, starting with '*'
+	 */
+	void startRecord(String line) {
+		length = 0;
+		categoryName = null;
+		append(line, 1);
+	}
+
+	/**
+	 * Appends a details line to the current record.
+	 *
+	 * @param line the details line to append
+	 */
+	void appendLine(String line) {
+		ensureCapacity(length + 1);
+		buffer[length++] = '\n';
+		append(line, 0);
+	}
+
+	/**
+	 * Creates a Task from the current record. The record's category name is
+	 * available from getCategoryName() once this method returns.
+	 *
+	 * @return the task described by the current record
+	 * @throws IllegalArgumentException if the record is malformed or describes an invalid task
+	 */
+	Task parseTask() {
+		int headerEnd = indexOf('\n', 0, length);
+
+		//The character right after '*' is the separating space.
+		int titleStart = 1;
+		int titleEnd = indexOf(',', titleStart, headerEnd);
+		if(titleStart > titleEnd || titleEnd == headerEnd) {
+			throw new IllegalArgumentException(INVALID_TASK);
+		}
+		int durationEnd = indexOf(',', titleEnd + 1, headerEnd);
+		if(durationEnd == headerEnd) {
+			throw new IllegalArgumentException(INVALID_TASK);
+		}
+		int taskDuration = parseDuration(titleEnd + 1, durationEnd);
+
+		int detailsEnd = length;
+		while(detailsEnd > headerEnd && buffer[detailsEnd - 1] == '\n') {
+			detailsEnd--;
+		}
+		int detailsStart = Math.min(headerEnd + 1, detailsEnd);
+
+		StringPool pool = Task.getTitlePool();
+		String title = pool.intern(buffer, titleStart, titleEnd - titleStart);
+		String details = new String(buffer, detailsStart, detailsEnd - detailsStart);
+		Task task = arena == null ? new Task(title, taskDuration, details)
+				: new Task(title, taskDuration, details, arena);
+		categoryName = pool.intern(buffer, durationEnd + 1, headerEnd - durationEnd - 1);
+		return task;
+	}
+
+	/**
+	 * Returns the category name of the most recently parsed record.
+	 *
+	 * @return the category name, or null if the current record has not been parsed
+	 */
+	String getCategoryName() {
+		return categoryName;
+	}
+
+	/**
+	 * Parses the decimal duration in buffer[start, end).
+	 *
+	 * @param start the index of the first digit
+	 * @param end the index after the last digit
+	 * @return the parsed duration
+	 * @throws IllegalArgumentException if the range is empty, contains a non-digit or overflows an int
+	 */
+	private int parseDuration(int start, int end) {
+		if(start == end) {
+			throw new IllegalArgumentException(INVALID_TASK);
+		}
+		int value = 0;
+		for(int i = start; i < end; i++) {
+			int digit = buffer[i] - '0';
+			if(digit < 0 || digit > 9 || value > (Integer.MAX_VALUE - digit) / 10) {
+				throw new IllegalArgumentException(INVALID_TASK);
+			}
+			value = value * 10 + digit;
+		}
+		return value;
+	}
+
+	/**
+	 * Returns the index of the first occurrence of c in buffer[from, to).
+	 *
+	 * @param c the char to search for
+	 * @param from the index to start searching at
+	 * @param to the index to stop searching at
+	 * @return the index of c, or to if c does not occur in the range
+	 */
+	private int indexOf(char c, int from, int to) {
+		for(int i = from; i < to; i++) {
+			if(buffer[i] == c) {
+				return i;
+			}
+		}
+		return to;
+	}
+
+	/**
+	 * Copies the given line, starting at the given index, to the end of the buffer.
+	 *
+	 * @param line the line to copy
+	 * @param from the index of the first char of line to copy
+	 */
+	private void append(String line, int from) {
+		int count = line.length() - from;
+		if(count <= 0) {
+			return;
+		}
+		ensureCapacity(length + count);
+		line.getChars(from, line.length(), buffer, length);
+		length += count;
+	}
+
+	/**
+	 * Grows the buffer so that it can hold at least the given number of chars.
+	 *
+	 * @param capacity the required capacity
+	 */
+	private void ensureCapacity(int capacity) {
+		if(capacity > buffer.length) {
+			char[] tempBuffer = new char[Math.max(capacity, buffer.length * 2)];
+			System.arraycopy(buffer, 0, tempBuffer, 0, length);
+			buffer = tempBuffer;
+		}
+	}
+}
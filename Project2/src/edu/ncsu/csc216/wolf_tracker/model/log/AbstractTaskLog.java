@@ -1,5 +1,8 @@
 package edu.ncsu.csc216.wolf_tracker.model.log;
 
+import java.util.Arrays;
+import java.util.function.Predicate;
+
 import edu.ncsu.csc216.wolf_tracker.model.task.Task;
 
 
@@ -13,6 +16,22 @@ import edu.ncsu.csc216.wolf_tracker.model.util.LogList;
  * providing methods to add, remove, and retrieve tasks, as well as
  * to calculate various statistics related to task durations.
  * 
+ * The sum, minimum and maximum of the task durations are kept up to date as
+ * tasks are added, set, removed and have their durations edited, so the
+ * average, minimum and maximum take constant time. Removing a task that may
+ * hold the minimum or maximum only marks them stale, and the next call that
+ * needs them rescans the durations once. The durations are kept in a
+ * primitive array parallel to the task list, so the statistics scan
+ * contiguous ints instead of following a reference to every task.
+ * 
+ * Tasks with an id are indexed by it in a TaskPositionIndex, so indexOfTask
+ * finds their position in logarithmic time without scanning, and removing a
+ * task keeps the positions of the tasks after it valid. Looking a task up does
+ * not change the index.
+ * 
+ * Readers that need a consistent view of the tasks while the log keeps
+ * changing can take one with getTasksSnapshot.
+ * 
  * @author Priyanshu Dongre
  */
 public abstract class AbstractTaskLog {
@@ -22,6 +41,24 @@ public abstract class AbstractTaskLog {
     
     /** The name of the task log */
     private String taskLogName;
+    
+    /** The sum of the durations of the tasks in the log */
+    private long sumDuration;
+    
+    /** The smallest duration of a task in the log, or Integer.MAX_VALUE if there is none; valid unless isRangeStale */
+    private int minDuration;
+    
+    /** The largest duration of a task in the log, or Integer.MIN_VALUE if there is none; valid unless isRangeStale */
+    private int maxDuration;
+    
+    /** True if a task with the minimum or maximum duration was removed since they were last found */
+    private volatile boolean isRangeStale;
+    
+    /** The duration of the task at each position of tasks; only the first tasks.size() are used */
+    private int[] durations;
+    
+    /** The position of each task with an id */
+    private TaskPositionIndex taskPositions;
 
     /**
      * Constructs an AbstractTaskLog with the specified name.
@@ -29,9 +66,28 @@ public abstract class AbstractTaskLog {
      * @param taskLogName the name of the task log
      */
 	public AbstractTaskLog(String taskLogName) {
+		this(taskLogName, new LogList<>());
+	}
+	
+	/**
+     * Constructs an AbstractTaskLog with the specified name that keeps its
+     * tasks in the given list, such as a SegmentedLogList for very large logs.
+     * 
+     * @param taskLogName the name of the task log
+     * @param tasks the empty list to keep the tasks in
+     * @throws IllegalArgumentException if the name is invalid or tasks is null or not empty
+     */
+	public AbstractTaskLog(String taskLogName, ILogList<Task> tasks) {
 		try {
 			this.setTaskLogName(taskLogName);
-			tasks = new LogList<>();
+			if(tasks == null || tasks.size() != 0) {
+				throw new IllegalArgumentException("Invalid task list.");
+			}
+			this.tasks = tasks;
+			taskPositions = new TaskPositionIndex(tasks);
+			durations = new int[0];
+			minDuration = Integer.MAX_VALUE;
+			maxDuration = Integer.MIN_VALUE;
 			
 		} catch (IllegalArgumentException ie) {
 			throw new IllegalArgumentException(ie.getMessage());
@@ -81,6 +137,17 @@ public abstract class AbstractTaskLog {
 		return tasks;
 	}
 	
+	/**
+     * Returns the tasks in the task log as they are now, unaffected by later
+     * changes to the log. A log kept in a PersistentLogList returns this in
+     * constant time; other lists copy their tasks.
+     * 
+     * @return a snapshot of the list of tasks
+     */
+	public ILogList<Task> getTasksSnapshot() {
+		return tasks.snapshot();
+	}
+	
 	
 	/**
      * Adds a task to the task log.
@@ -88,7 +155,47 @@ public abstract class AbstractTaskLog {
      * @param task the task to be added
      */
 	public void addTask(Task task) {
+		appendTask(task);
+	}
+	
+	/**
+     * Adds tasks to the end of the task log in bulk, such as the tasks of a
+     * project being read. The list, the duration column and the id index are
+     * each made large enough once, and the tasks go into the list through
+     * ILogList.addAll, instead of growing once per task.
+     * 
+     * @param addedTasks the tasks to be added, in order
+     * @throws NullPointerException if addedTasks is null or holds null
+     */
+	public void addTasks(ILogList<Task> addedTasks) {
+		int oldSize = tasks.size();
+		ensureCapacity(oldSize + addedTasks.size());
+		tasks.addAll(addedTasks);
+		int idx = oldSize;
+		for(Task task : addedTasks) {
+			durations[idx] = task.getTaskDuration();
+			taskPositions.append(task);
+			registerWithCategory(task);
+			durationAdded(task.getTaskDuration());
+			idx++;
+		}
+	}
+	
+	/**
+	 * Adds a task to the end of the list and updates the duration column,
+	 * id index and statistics.
+	 * 
+	 * @param task the task to be added
+	 */
+	private void appendTask(Task task) {
 		tasks.addLog(task);
+		if(durations.length < tasks.size()) {
+			durations = Arrays.copyOf(durations, Math.max(tasks.size(), durations.length * 2));
+		}
+		durations[tasks.size() - 1] = task.getTaskDuration();
+		taskPositions.append(task);
+		registerWithCategory(task);
+		durationAdded(task.getTaskDuration());
 	}
 	
 	/**
@@ -98,7 +205,13 @@ public abstract class AbstractTaskLog {
      * @param task the task to be set
      */
 	public void setTask(int idx, Task task) {
+		Task oldTask = tasks.getLog(idx);
 		tasks.setLog(idx, task);
+		durations[idx] = task.getTaskDuration();
+		taskPositions.set(idx, oldTask, task);
+		durationRemoved(oldTask.getTaskDuration());
+		registerWithCategory(task);
+		durationAdded(task.getTaskDuration());
 	}
 	
 	
@@ -111,10 +224,105 @@ public abstract class AbstractTaskLog {
 	public Task removeTask(int idx) {
 		
 		Task removedTask = tasks.removeLog(idx);
+		System.arraycopy(durations, idx + 1, durations, idx, tasks.size() - idx);
+		taskPositions.remove(idx, removedTask);
+		durationRemoved(removedTask.getTaskDuration());
 		return removedTask;
 	}
 	
 	
+	/**
+	 * Makes room for at least the given number of tasks in the log, so that a
+	 * known number of tasks can be loaded without growing the list repeatedly.
+	 * 
+	 * @param capacity the number of tasks to make room for
+	 */
+	public void ensureCapacity(int capacity) {
+		tasks.ensureCapacity(capacity);
+		if(durations.length < capacity) {
+			durations = Arrays.copyOf(durations, Math.max(capacity, durations.length * 2));
+		}
+		taskPositions.ensureCapacity(capacity);
+	}
+	
+	/**
+	 * Removes every task the filter accepts in a single pass over the log.
+	 * 
+	 * @param filter returns true for tasks to remove
+	 * @return the number of tasks removed
+	 */
+	public int removeTasks(Predicate<? super Task> filter) {
+		int oldSize = tasks.size();
+		int[] position = {0};
+		int[] kept = {0};
+		try {
+			tasks.removeLogs(task -> {
+				int idx = position[0];
+				if(!filter.test(task)) {
+					durations[kept[0]] = durations[idx];
+					kept[0]++;
+					position[0]++;
+					return false;
+				}
+				position[0]++;
+				durationRemoved(task.getTaskDuration());
+				return true;
+			});
+		} finally {
+			//The tasks the filter did not reach are kept, so their durations are too.
+			System.arraycopy(durations, position[0], durations, kept[0], oldSize - position[0]);
+			if(tasks.size() != oldSize) {
+				//Every position after the first removal moved, so reassign them in one pass.
+				taskPositions.rebuild();
+			}
+		}
+		return oldSize - tasks.size();
+	}
+
+	/**
+	 * Puts tasks into the log at the given positions, such as tasks whose
+	 * removal is being undone. Each position is where the task will be once all
+	 * of them are inserted, so the positions must increase. The tasks after the
+	 * first position are shifted once, in a single pass. The tasks are returning
+	 * to the log, so a category log does not make itself their category again.
+	 *
+	 * @param positions the position of each task after the insertion, in increasing order
+	 * @param insertedTasks the tasks to insert
+	 * @throws IndexOutOfBoundsException if a position is out of range or out of order
+	 */
+	public void insertTasks(int[] positions, Task[] insertedTasks) {
+		int oldSize = tasks.size();
+		int count = insertedTasks.length;
+		for(int j = 0; j < count; j++) {
+			if(positions[j] < (j == 0 ? 0 : positions[j - 1] + 1) || positions[j] > oldSize + j) {
+				throw new IndexOutOfBoundsException("Invalid index.");
+			}
+		}
+		if(count == 0) {
+			return;
+		}
+		for(Task task : insertedTasks) {
+			appendTask(task);
+		}
+
+		//Merge from the back: the appended tasks move down to their positions
+		//and the tasks they pass move up to make room.
+		int read = oldSize - 1;
+		int j = count - 1;
+		for(int write = oldSize + count - 1; j >= 0; write--) {
+			if(write == positions[j]) {
+				tasks.setLog(write, insertedTasks[j]);
+				durations[write] = insertedTasks[j].getTaskDuration();
+				j--;
+			} else {
+				tasks.setLog(write, tasks.getLog(read));
+				durations[write] = durations[read];
+				read--;
+			}
+		}
+		taskPositions.rebuild();
+	}
+
 	/**
      * Retrieves a task from the task log at the specified index.
      * 
@@ -125,6 +333,30 @@ public abstract class AbstractTaskLog {
 		return tasks.getLog(idx);
 	}
 	
+	/**
+	 * Returns the position of the given task in the task log. Tasks with an id
+	 * are found through the id index; tasks without one, or not found there, are
+	 * found by scanning. The log is not changed, so this is safe to call while
+	 * other threads read the log.
+	 * 
+	 * @param task the task to find
+	 * @return the index of the task, or -1 if it is not in the log
+	 */
+	public int indexOfTask(Task task) {
+		if(task.getTaskId() != 0) {
+			int position = taskPositions.positionOf(task.getTaskId());
+			if(position >= 0 && tasks.getLog(position) == task) {
+				return position;
+			}
+		}
+		for(int i = 0; i < tasks.size(); i++) {
+			if(tasks.getLog(i) == task) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
    /**
     * Returns the number of tasks in the task log.
     * 
@@ -143,14 +375,10 @@ public abstract class AbstractTaskLog {
 		if(tasks.size() == 0) {
 			return 0;
 		}
-		int min = 1000;
-		
-		for(int i = 0; i < tasks.size(); i++) {
-			int taskDuration = tasks.getLog(i).getTaskDuration();
-			min = Math.min(taskDuration, min);
-			
+		if(isRangeStale) {
+			findRange();
 		}
-		return min;
+		return minDuration;
 	}
 	
 	
@@ -160,13 +388,13 @@ public abstract class AbstractTaskLog {
      * @return the maximum duration
      */
 	public int getMaxDuration() {
-		int max = 0;
-		
-		for(int i = 0; i < tasks.size(); i++) {
-			int taskDuration = tasks.getLog(i).getTaskDuration();
-			max = Math.max(taskDuration, max);
+		if(tasks.size() == 0) {
+			return 0;
+		}
+		if(isRangeStale) {
+			findRange();
 		}
-		return max;
+		return maxDuration;
 	}
 	
 	
@@ -181,33 +409,149 @@ public abstract class AbstractTaskLog {
 			return 0;
 		}
 		
-		double sumOfDuration = 0;
-		
-		for(int i = 0; i < tasks.size(); i++) {
-			sumOfDuration += tasks.getLog(i).getTaskDuration();
-		}
-		
-		double averageDuration = sumOfDuration / tasks.size();
+		double averageDuration = (double) sumDuration / tasks.size();
 
 	    averageDuration = Math.round(averageDuration * 10.0) / 10.0;
 
 	    return averageDuration;
 	}
 	
+	/**
+	 * Returns the number of tasks in the log whose duration is between low and
+	 * high, inclusive.
+	 * 
+	 * @param low the smallest duration to count
+	 * @param high the largest duration to count
+	 * @return the number of tasks with a duration in [low, high]
+	 */
+	public int getTaskCountBetween(int low, int high) {
+		int[] column = durations;
+		int size = tasks.size();
+		int count = 0;
+		for(int i = 0; i < size; i++) {
+			if(column[i] >= low && column[i] <= high) {
+				count++;
+			}
+		}
+		return count;
+	}
+	
+	/**
+	 * Returns a histogram of the task durations in buckets of the given width.
+	 * Bucket i counts the tasks with a duration in [i * bucketWidth, (i + 1) * bucketWidth).
+	 * 
+	 * @param bucketWidth the width of each bucket in minutes
+	 * @return the number of tasks in each bucket, up to the bucket of the maximum duration
+	 * @throws IllegalArgumentException if bucketWidth is not positive
+	 */
+	public int[] getDurationHistogram(int bucketWidth) {
+		if(bucketWidth <= 0) {
+			throw new IllegalArgumentException("Invalid bucket width.");
+		}
+		int[] histogram = new int[tasks.size() == 0 ? 0 : getMaxDuration() / bucketWidth + 1];
+		int[] column = durations;
+		int size = tasks.size();
+		for(int i = 0; i < size; i++) {
+			histogram[column[i] / bucketWidth]++;
+		}
+		return histogram;
+	}
+	
+	/**
+	 * Updates the duration column and statistics after the duration of a task
+	 * changed. Called through the task's category log, which tells every log
+	 * that holds its tasks; a log that no longer holds the task ignores it.
+	 * 
+	 * @param task the task whose duration changed
+	 * @param oldDuration the duration before the change
+	 * @param newDuration the duration after the change
+	 */
+	public void taskDurationChanged(Task task, int oldDuration, int newDuration) {
+		int idx = indexOfTask(task);
+		if(idx < 0) {
+			return;
+		}
+		durations[idx] = newDuration;
+		durationRemoved(oldDuration);
+		durationAdded(newDuration);
+	}
+	
+	/**
+	 * Adds a duration to the statistics. The task must already be in the list.
+	 * 
+	 * @param duration the duration of the added task
+	 */
+	private void durationAdded(int duration) {
+		sumDuration += duration;
+		minDuration = Math.min(minDuration, duration);
+		maxDuration = Math.max(maxDuration, duration);
+	}
+	
+	/**
+	 * Removes a duration from the statistics.
+	 * 
+	 * @param duration the duration of the removed task
+	 */
+	private void durationRemoved(int duration) {
+		sumDuration -= duration;
+		if(duration == minDuration || duration == maxDuration) {
+			isRangeStale = true;
+		}
+	}
+	
+	/**
+	 * Finds the minimum and maximum durations by scanning the duration column.
+	 * Readers holding a project's read lock may call this at the same time,
+	 * so it is synchronized, and the range is published by clearing
+	 * isRangeStale after it is written.
+	 */
+	private synchronized void findRange() {
+		if(!isRangeStale) {
+			return;
+		}
+		int[] column = durations;
+		int size = tasks.size();
+		int min = Integer.MAX_VALUE;
+		int max = Integer.MIN_VALUE;
+		for(int i = 0; i < size; i++) {
+			min = Math.min(min, column[i]);
+			max = Math.max(max, column[i]);
+		}
+		minDuration = min;
+		maxDuration = max;
+		isRangeStale = false;
+	}
+	
+	/**
+	 * Asks the category of a task to tell this log when the task's duration
+	 * changes, unless this log is that category.
+	 * 
+	 * @param task the task added to this log
+	 */
+	private void registerWithCategory(Task task) {
+		CategoryLog category = task.getCategory();
+		if(category != null && category != this) {
+			category.addOtherLog(this);
+		}
+	}
 	
 	/**
-     * Returns a 2D array representation of the tasks in the task log.
+     * Returns a 2D array representation of the tasks in the task log. The
+     * array is built from a snapshot of the tasks, so the log may change
+     * while it is built.
      * 
      * @return a 2D array of tasks
      */
 	public String[][] getTasksAsArray() {
+		ILogList<Task> snapshot = getTasksSnapshot();
+		String[][] returnArr = new String[snapshot.size()][3];
 		
-		String[][] returnArr = new String[tasks.size()][3];
-		
-		for(int i = 0; i < tasks.size(); i++) {
-			returnArr[i][0] = tasks.getLog(i).getTaskTitle();
-			returnArr[i][1] = "" + tasks.getLog(i).getTaskDuration();
-			returnArr[i][2] = tasks.getLog(i).getCategoryName();
+		int i = 0;
+		for(Task task : snapshot) {
+			returnArr[i][0] = task.getTaskTitle();
+			returnArr[i][1] = "" + task.getTaskDuration();
+			returnArr[i][2] = task.getCategoryName();
+			i++;
 		}
 		return returnArr;
 	}
@@ -1,5 +1,9 @@
 package edu.ncsu.csc216.wolf_tracker.model.log;
 
+import edu.ncsu.csc216.wolf_tracker.model.task.Task;
+import edu.ncsu.csc216.wolf_tracker.model.util.ConcurrentLogList;
+import edu.ncsu.csc216.wolf_tracker.model.util.ILogList;
+
 /**
  * Represents a log that contains all tasks.
  * This class extends the AbstractTaskLog and provides functionality
@@ -7,12 +11,20 @@ package edu.ncsu.csc216.wolf_tracker.model.log;
  * 
  * The name of the log is defined as a constant.
  * 
+ * Tasks added to different categories at the same time reach this log
+ * through offerTask, which queues them without locking. The queued tasks
+ * join the log, in the order they were queued, when drainOfferedTasks is
+ * called by a thread that has the log to itself.
+ * 
  * @author Priyanshu Dongre
  */
 public class AllTasksLog extends AbstractTaskLog {
 	
 	/** The constant name for the All Tasks log. */
     public static final String ALL_TASKS_NAME = "All Tasks";
+    
+    /** The tasks offered by concurrent adds that have not yet joined the log */
+    private final ConcurrentLogList<Task> offeredTasks = new ConcurrentLogList<>();
 
     /**
      * Constructs an AllTasksLog with the specified name.
@@ -23,6 +35,51 @@ public class AllTasksLog extends AbstractTaskLog {
 		super(ALL_TASKS_NAME);
 	}
 	
+	/**
+     * Constructs an AllTasksLog that keeps its tasks in the given empty list.
+     * Passing a PersistentLogList makes getTasksSnapshot constant time, at the
+     * cost of slower removals and lookups by index.
+     * 
+     * @param tasks the empty list to keep the tasks in
+     */
+	public AllTasksLog(ILogList<Task> tasks) {
+		super(ALL_TASKS_NAME, tasks);
+	}
+	
+	/**
+     * Queues a task to be added to the log. Any number of threads may offer
+     * tasks at once without contending for a lock.
+     * 
+     * @param task the task to be added
+     * @throws NullPointerException if the task is null
+     */
+	public void offerTask(Task task) {
+		offeredTasks.addLog(task);
+	}
+	
+	/**
+     * Checks whether tasks have been offered that have not yet joined the log.
+     * 
+     * @return true if drainOfferedTasks would add tasks
+     */
+	public boolean hasOfferedTasks() {
+		return offeredTasks.size() != 0;
+	}
+	
+	/**
+     * Adds the offered tasks to the log in bulk, in the order they were
+     * offered. The caller must make sure that no other thread reads or
+     * changes the log, or offers tasks, while this runs.
+     */
+	public void drainOfferedTasks() {
+		ILogList<Task> offered = offeredTasks.snapshot();
+		if(offered.size() == 0) {
+			return;
+		}
+		addTasks(offered);
+		offeredTasks.removeRange(0, offered.size());
+	}
+	
 	/**
      * Sets the name of the task log.
      * 
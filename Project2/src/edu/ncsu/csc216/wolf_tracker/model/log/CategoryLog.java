@@ -1,6 +1,10 @@
 package edu.ncsu.csc216.wolf_tracker.model.log;
 
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
 import edu.ncsu.csc216.wolf_tracker.model.task.Task;
+import edu.ncsu.csc216.wolf_tracker.model.util.ILogList;
 
 
 /**
@@ -12,6 +16,26 @@ import edu.ncsu.csc216.wolf_tracker.model.task.Task;
  */
 public class CategoryLog extends AbstractTaskLog implements Comparable<CategoryLog> {
 
+	/**
+	 * The lock for this category's stripe. Concurrent adds to the category
+	 * hold its write lock, and readers of the whole project hold the read lock
+	 * of every category, so adds to different categories never contend.
+	 */
+	private final ReentrantReadWriteLock stripe = new ReentrantReadWriteLock();
+	
+	/**
+	 * The name in upper case, which categories are ordered by. It is set
+	 * whenever the name is, so comparing categories allocates nothing.
+	 */
+	private String collationKey;
+	
+	/**
+	 * The other logs that hold tasks of this category, such as the All Tasks
+	 * log. A task tells only its category when its duration changes, and the
+	 * category passes it on to these. The array is replaced, never changed,
+	 * when a log is added, since it is read without a lock.
+	 */
+	private volatile AbstractTaskLog[] otherLogs = new AbstractTaskLog[0];
 	
 	/**
      * Constructs a CategoryLog with the specified name.
@@ -24,6 +48,76 @@ public class CategoryLog extends AbstractTaskLog implements Comparable<CategoryL
 		
 	}
 	
+	/**
+     * Constructs a CategoryLog with the specified name that keeps its tasks in
+     * the given empty list.
+     * 
+     * @param taskLogName the name of the task log
+     * @param tasks the empty list to keep the tasks in
+     */
+	public CategoryLog(String taskLogName, ILogList<Task> tasks) {
+		super(taskLogName, tasks);
+	}
+	
+	/**
+     * Returns the lock for this category's stripe.
+     * 
+     * @return the stripe lock
+     */
+	public ReentrantReadWriteLock getStripe() {
+		return stripe;
+	}
+	
+	/**
+     * Updates this log after the duration of one of its tasks changed, and
+     * tells the other logs holding tasks of this category.
+     * 
+     * @param task the task whose duration changed
+     * @param oldDuration the duration before the change
+     * @param newDuration the duration after the change
+     */
+	@Override
+	public void taskDurationChanged(Task task, int oldDuration, int newDuration) {
+		super.taskDurationChanged(task, oldDuration, newDuration);
+		for(AbstractTaskLog log : otherLogs) {
+			log.taskDurationChanged(task, oldDuration, newDuration);
+		}
+	}
+	
+	/**
+     * Records that another log holds tasks of this category, so that it is
+     * told when their durations change. Called by AbstractTaskLog whenever it
+     * adds a task; a log already recorded is not added again.
+     * 
+     * @param log the log holding tasks of this category
+     */
+	void addOtherLog(AbstractTaskLog log) {
+		if(!isOtherLog(log)) {
+			synchronized(this) {
+				if(!isOtherLog(log)) {
+					AbstractTaskLog[] logs = Arrays.copyOf(otherLogs, otherLogs.length + 1);
+					logs[logs.length - 1] = log;
+					otherLogs = logs;
+				}
+			}
+		}
+	}
+	
+	/**
+     * Checks whether a log is already recorded as holding tasks of this category.
+     * 
+     * @param log the log to check
+     * @return true if the log is in otherLogs
+     */
+	private boolean isOtherLog(AbstractTaskLog log) {
+		for(AbstractTaskLog other : otherLogs) {
+			if(other == log) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
 	/**
      * Compares this CategoryLog to another CategoryLog.
      * 
@@ -32,10 +126,18 @@ public class CategoryLog extends AbstractTaskLog implements Comparable<CategoryL
      *         is less than, equal to, or greater than the specified CategoryLog
      */
 	public int compareTo(CategoryLog c) {
-		
-		
-
-		return this.getName().toUpperCase().compareTo(c.getName().toUpperCase());
+		return collationKey.compareTo(c.collationKey);
+	}
+	
+	/**
+     * Sets the name of the category log and the key it is ordered by.
+     * 
+     * @param taskLogName the new name of the category log
+     */
+	@Override
+	public void setTaskLogName(String taskLogName) {
+		super.setTaskLogName(taskLogName);
+		collationKey = taskLogName.toUpperCase();
 	}
 	
 	/**
@@ -63,5 +165,18 @@ public class CategoryLog extends AbstractTaskLog implements Comparable<CategoryL
 		super.addTask(task);
 		task.addCategory(this);
 	}
+	
+	/**
+     * Adds tasks to the end of the category log in bulk.
+     * 
+     * @param addedTasks the tasks to be added, in order
+     */
+	@Override
+	public void addTasks(ILogList<Task> addedTasks) {
+		super.addTasks(addedTasks);
+		for(Task task : addedTasks) {
+			task.addCategory(this);
+		}
+	}
 
 }
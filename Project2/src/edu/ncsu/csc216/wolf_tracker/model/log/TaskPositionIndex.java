@@ -0,0 +1,297 @@
+package edu.ncsu.csc216.wolf_tracker.model.log;
+
+import edu.ncsu.csc216.wolf_tracker.model.task.Task;
+import edu.ncsu.csc216.wolf_tracker.model.util.ILogList;
+
+/**
+ * An index from task id to position in a task log that stays valid when
+ * tasks are removed. Every task in the log holds a slot, given out in order
+ * as tasks are appended, and a task id maps to its slot in a primitive open
+ * addressing table. Removing a task only marks its slot dead in a Fenwick
+ * tree counting the live slots, so the position of a task is the number of
+ * live slots before its own. Appending, replacing and removing a task and
+ * finding the position of one all take O(log n) time, and finding a position
+ * changes nothing, so it is safe alongside other readers.
+ *
+ * Dead slots are reclaimed when the slots run out: every task is then given
+ * a new slot equal to its position, which is linear in the size of the log
+ * but happens only after as many appends as there are tasks, so appending
+ * stays amortized O(log n). Changes that already shift every task, such as
+ * inserting tasks in the middle, rebuild the index the same way.
+ *
+ * @author Priyanshu Dongre
+ */
+class TaskPositionIndex {
+
+	/** The fewest slots the index holds */
+	private static final int MIN_CAPACITY = 16;
+
+	/** The id in keys marking an empty entry; tasks without an id are never indexed */
+	private static final long EMPTY = 0;
+
+	/** The tasks of the log, in order */
+	private final ILogList<Task> tasks;
+
+	/** The Fenwick tree counting live slots; tree[i] covers slots (i - lowbit(i), i] counted from one */
+	private int[] tree;
+
+	/** The number of slots given out since the index was last rebuilt */
+	private int slotCount;
+
+	/** The task ids in the table, or EMPTY */
+	private long[] keys;
+
+	/** The slot of the task id at the same entry of keys */
+	private int[] slots;
+
+	/** The number of task ids in the table */
+	private int idCount;
+
+	/**
+	 * Constructs an index over the given tasks.
+	 *
+	 * @param tasks the tasks of the log, which the index follows as they change
+	 */
+	TaskPositionIndex(ILogList<Task> tasks) {
+		this.tasks = tasks;
+		rebuild();
+	}
+
+	/**
+	 * Records a task just appended to the end of the log.
+	 *
+	 * @param task the appended task
+	 */
+	void append(Task task) {
+		if(slotCount == tree.length - 1) {
+			rebuild();
+			return;
+		}
+		int slot = slotCount;
+		slotCount++;
+		add(slot, 1);
+		putId(task.getTaskId(), slot);
+	}
+
+	/**
+	 * Records that the task at the given position was replaced.
+	 *
+	 * @param idx the position of the task
+	 * @param oldTask the task that was at the position
+	 * @param newTask the task now at the position
+	 */
+	void set(int idx, Task oldTask, Task newTask) {
+		int slot = slotOf(idx);
+		removeId(oldTask.getTaskId(), slot);
+		putId(newTask.getTaskId(), slot);
+	}
+
+	/**
+	 * Records that the task at the given position was removed.
+	 *
+	 * @param idx the position the task had
+	 * @param task the removed task
+	 */
+	void remove(int idx, Task task) {
+		int slot = slotOf(idx);
+		add(slot, -1);
+		removeId(task.getTaskId(), slot);
+	}
+
+	/**
+	 * Returns the position of the task with the given id.
+	 *
+	 * @param taskId the id of the task
+	 * @return the position of the task, or -1 if no task has the id
+	 */
+	int positionOf(long taskId) {
+		if(taskId == EMPTY) {
+			return -1;
+		}
+		int mask = keys.length - 1;
+		for(int i = hash(taskId, mask); keys[i] != EMPTY; i = (i + 1) & mask) {
+			if(keys[i] == taskId) {
+				//The live slots before this one.
+				int count = 0;
+				for(int node = slots[i]; node > 0; node -= node & -node) {
+					count += tree[node];
+				}
+				return count;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Makes room for the log to hold the given number of tasks without the
+	 * slots or the table of ids running out, rebuilding the index at most once.
+	 *
+	 * @param count the number of tasks to make room for
+	 */
+	void ensureCapacity(int count) {
+		if(slotCount + count - tasks.size() > tree.length - 1 || 2 * count > keys.length) {
+			rebuild(count);
+		}
+	}
+
+	/**
+	 * Gives every task a new slot equal to its position, dropping dead slots.
+	 */
+	void rebuild() {
+		rebuild(tasks.size());
+	}
+
+	/**
+	 * Gives every task a new slot equal to its position, with room for the
+	 * given number of tasks.
+	 *
+	 * @param count the number of tasks to make room for
+	 */
+	private void rebuild(int count) {
+		int size = tasks.size();
+		int capacity = MIN_CAPACITY;
+		while(capacity < 2 * Math.max(size, count)) {
+			capacity <<= 1;
+		}
+		tree = new int[capacity + 1];
+		for(int node = 1; node <= capacity; node++) {
+			if(node <= size) {
+				tree[node]++;
+			}
+			int parent = node + (node & -node);
+			if(parent <= capacity) {
+				tree[parent] += tree[node];
+			}
+		}
+		slotCount = size;
+		keys = new long[capacity];
+		slots = new int[capacity];
+		idCount = 0;
+		int slot = 0;
+		for(Task task : tasks) {
+			putId(task.getTaskId(), slot);
+			slot++;
+		}
+	}
+
+	/**
+	 * Returns the slot of the task at the given position, by descending the
+	 * Fenwick tree.
+	 *
+	 * @param idx the position of the task
+	 * @return the slot of the task
+	 */
+	private int slotOf(int idx) {
+		int node = 0;
+		int remaining = idx + 1;
+		for(int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+			int next = node + step;
+			if(next < tree.length && tree[next] < remaining) {
+				node = next;
+				remaining -= tree[node];
+			}
+		}
+		return node;
+	}
+
+	/**
+	 * Adds delta to the count of live tasks in a slot.
+	 *
+	 * @param slot the slot
+	 * @param delta 1 when a task takes the slot, -1 when it leaves
+	 */
+	private void add(int slot, int delta) {
+		for(int node = slot + 1; node < tree.length; node += node & -node) {
+			tree[node] += delta;
+		}
+	}
+
+	/**
+	 * Maps a task id to a slot, unless the task has no id.
+	 *
+	 * @param taskId the id of the task
+	 * @param slot the slot of the task
+	 */
+	private void putId(long taskId, int slot) {
+		if(taskId == EMPTY) {
+			return;
+		}
+		if(2 * (idCount + 1) > keys.length) {
+			growTable();
+		}
+		int mask = keys.length - 1;
+		int i = hash(taskId, mask);
+		while(keys[i] != EMPTY && keys[i] != taskId) {
+			i = (i + 1) & mask;
+		}
+		if(keys[i] == EMPTY) {
+			keys[i] = taskId;
+			idCount++;
+		}
+		slots[i] = slot;
+	}
+
+	/**
+	 * Unmaps a task id if it maps to the given slot. Later entries of the
+	 * same probe run are shifted back so lookups never stop early.
+	 *
+	 * @param taskId the id of the task
+	 * @param slot the slot the task had
+	 */
+	private void removeId(long taskId, int slot) {
+		if(taskId == EMPTY) {
+			return;
+		}
+		int mask = keys.length - 1;
+		int i = hash(taskId, mask);
+		while(keys[i] != taskId) {
+			if(keys[i] == EMPTY) {
+				return;
+			}
+			i = (i + 1) & mask;
+		}
+		if(slots[i] != slot) {
+			return;
+		}
+		idCount--;
+		int gap = i;
+		for(int j = (gap + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+			int home = hash(keys[j], mask);
+			//Move the entry into the gap unless its home lies between the gap and it.
+			if(((j - home) & mask) >= ((j - gap) & mask)) {
+				keys[gap] = keys[j];
+				slots[gap] = slots[j];
+				gap = j;
+			}
+		}
+		keys[gap] = EMPTY;
+	}
+
+	/**
+	 * Doubles the table of task ids.
+	 */
+	private void growTable() {
+		long[] oldKeys = keys;
+		int[] oldSlots = slots;
+		keys = new long[oldKeys.length * 2];
+		slots = new int[oldKeys.length * 2];
+		idCount = 0;
+		for(int i = 0; i < oldKeys.length; i++) {
+			if(oldKeys[i] != EMPTY) {
+				putId(oldKeys[i], oldSlots[i]);
+			}
+		}
+	}
+
+	/**
+	 * Returns the home entry of a task id in the table.
+	 *
+	 * @param taskId the id of the task
+	 * @param mask the table length minus one
+	 * @return the entry the probe for taskId starts at
+	 */
+	private static int hash(long taskId, int mask) {
+		long mixed = taskId * 0x9E3779B97F4A7C15L;
+		return (int) (mixed ^ mixed >>> 32) & mask;
+	}
+}
@@ -1,7 +1,16 @@
 package edu.ncsu.csc216.wolf_tracker.model.project;
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+import edu.ncsu.csc216.wolf_tracker.model.io.ProjectJournal;
 import edu.ncsu.csc216.wolf_tracker.model.io.ProjectWriter;
 import edu.ncsu.csc216.wolf_tracker.model.log.AbstractTaskLog;
 import edu.ncsu.csc216.wolf_tracker.model.log.AllTasksLog;
@@ -9,7 +18,7 @@ import edu.ncsu.csc216.wolf_tracker.model.log.CategoryLog;
 import edu.ncsu.csc216.wolf_tracker.model.task.Task;
 import edu.ncsu.csc216.wolf_tracker.model.util.ILogList;
 import edu.ncsu.csc216.wolf_tracker.model.util.ISortedList;
-import edu.ncsu.csc216.wolf_tracker.model.util.SortedList;
+import edu.ncsu.csc216.wolf_tracker.model.util.SortedTreeList;
 
 
 /**
@@ -19,27 +28,48 @@ import edu.ncsu.csc216.wolf_tracker.model.util.SortedList;
  * 
  * The project can be saved to a file and can maintain statistics.
  * 
+ * A project may be shared between threads. Changes, including moving the
+ * current log, take an exclusive lock. Short reads such as getCategoryNames
+ * and getTaskLog never walk the live categories without a lock: they read an
+ * immutable view of the category names that is rebuilt under the read lock
+ * after the categories change, and the current log is a volatile field. Longer
+ * reads such as exports run under a shared read lock through read(). Reads
+ * never depend on or move the current log.
+ * 
+ * Tasks can also be added to a named category with addTask(String, Task),
+ * which locks only that category's stripe and hands the task to the All Tasks
+ * log without locking, so adds to different categories run in parallel. The
+ * offered tasks join the All Tasks log under the write lock, before the next
+ * change or read().
+ * 
+ * Changes made through the project can be undone and redone. Each change keeps
+ * just enough to reverse itself, and the history is bounded by a memory budget
+ * that drops the oldest changes first.
+ * 
  * @author Priyanshu Dongre
  */
 public class Project {
 
+	/** The default memory budget of the undo history in bytes */
+	public static final long DEFAULT_UNDO_BUDGET = 32L << 20;
+
 	 /** The name of the project. */
     private String projectName;
 
     /** Indicates whether the project has been changed. */
-    private boolean isChanged;
+    private volatile boolean isChanged;
     
     /**
      * The current task log being used.
      * This log represents the active tasks and their statuses.
      */
-    private AbstractTaskLog currentLog;
+    private volatile AbstractTaskLog currentLog;
 
     /**
      * A log that contains all tasks.
      * This log maintains a record of all tasks, regardless of their current status.
      */
-    private AllTasksLog allTasks;
+    private final AllTasksLog allTasks;
 
     /**
      * A sorted list of category logs.
@@ -47,29 +77,131 @@ public class Project {
      * retrieval and management of logs associated with different categories.
      */
     private ISortedList<CategoryLog> categories;
+    
+    /**
+     * The category logs in categories keyed by name, so that a log can be
+     * found by name without scanning the sorted list.
+     */
+    private HashMap<String, CategoryLog> categoryIndex;
+    
+    /**
+     * The category names and index as of the last change to the categories,
+     * or null if they changed since it was built. Short reads use it instead
+     * of the live categories.
+     */
+    private volatile CategoryView categoryView;
+    
+    /** The id given to the most recently added new task */
+    private final AtomicLong lastTaskId = new AtomicLong();
+    
+    /**
+     * The journal that records changes to the project, or null if the project
+     * is always saved by writing the whole file.
+     */
+    private ProjectJournal journal;
+    
+    /** The lock that orders changes to the project against reads */
+    private final StampedLock lock = new StampedLock();
+    
+    /**
+     * The thread holding the write lock, or null. A thread that is changing
+     * the project may read it, or make nested changes, without locking again.
+     */
+    private volatile Thread writingThread;
+    
+    /** The changes that can be undone and redone */
+    private final UndoLog undoLog = new UndoLog(DEFAULT_UNDO_BUDGET);
 
     /**
-     * Constructs a Project with the specified name.
+     * Constructs a Project with the specified name. Its category logs are
+     * kept in a SortedTreeList, so category operations take logarithmic time
+     * however many categories the project has.
      * 
      * @param projectName the name of the project
      */
 	
 	public Project(String projectName) {
+		this(projectName, new SortedTreeList<>());
+	}
+	
+	/**
+	 * Constructs a Project with the specified name that keeps its category logs
+	 * in the given sorted list, such as the linked SortedList.
+	 * 
+	 * @param projectName the name of the project
+	 * @param categories the empty sorted list to keep the category logs in
+	 * @throws IllegalArgumentException if the name is invalid or categories is null or not empty
+	 */
+	public Project(String projectName, ISortedList<CategoryLog> categories) {
+		this(projectName, categories, new AllTasksLog());
+	}
+	
+	/**
+	 * Constructs a Project with the specified name that keeps its category logs
+	 * in the given sorted list and all of its tasks in the given All Tasks log.
+	 * Passing an AllTasksLog kept in a PersistentLogList gives exports a
+	 * constant time snapshot of every task.
+	 * 
+	 * @param projectName the name of the project
+	 * @param categories the empty sorted list to keep the category logs in
+	 * @param allTasks the empty All Tasks log
+	 * @throws IllegalArgumentException if the name is invalid or categories or allTasks is null or not empty
+	 */
+	public Project(String projectName, ISortedList<CategoryLog> categories, AllTasksLog allTasks) {
 		setProjectName(projectName);
-		categories = new SortedList<>();
-		allTasks = new AllTasksLog();
+		if(categories == null || categories.size() != 0) {
+			throw new IllegalArgumentException("Invalid category list.");
+		}
+		if(allTasks == null || allTasks.getTaskCount() != 0) {
+			throw new IllegalArgumentException("Invalid task list.");
+		}
+		this.categories = categories;
+		this.categoryIndex = new HashMap<>();
+		this.allTasks = allTasks;
 		currentLog = allTasks;
 		setIsChanged(true);
 	}
 	
 	/**
-     * Saves the project to a file with the specified filename.
+     * Saves the project to a file with the specified filename. If the project
+     * has a journal for the file, only the changes since the last save are
+     * appended to the journal. Otherwise the whole file is written, and an
+     * existing journal is moved to the new file.
      * 
      * @param file the file to save the project
      */
 	public void saveProject(File file) {
-		ProjectWriter.writeProjectFile(file, this);
-		setIsChanged(false);
+		write(() -> {
+			if(journal != null && journal.isJournalFor(file)) {
+				journal.save(this);
+			} else if(journal != null) {
+				journal = new ProjectJournal(file, journal.getCompactionThreshold());
+				journal.compact(this);
+			} else {
+				ProjectWriter.writeProjectFile(file, this);
+				ProjectJournal.deleteJournal(file);
+			}
+			setIsChanged(false);
+		});
+	}
+	
+	/**
+	 * Returns the journal that records changes to the project.
+	 * 
+	 * @return the journal, or null if the project is not journaled
+	 */
+	public ProjectJournal getJournal() {
+		return journal;
+	}
+	
+	/**
+	 * Sets the journal that records changes to the project. Passing null turns
+	 * journaling off so that every save writes the whole file.
+	 * 
+	 * @param journal the journal to record changes in, or null
+	 */
+	public void setJournal(ProjectJournal journal) {
+		write(() -> this.journal = journal);
 	}
 	
 	/**
@@ -135,9 +267,17 @@ public class Project {
 			}
 			
 			CategoryLog newCategory = new CategoryLog(categoryName);
-			categories.add(newCategory);
-			currentLog = newCategory;
-			setIsChanged(true);
+			write(() -> {
+				attachCategory(newCategory);
+				if(undoLog.isRecording()) {
+					undoLog.record(new AddCategoryChange(newCategory, currentLog));
+				}
+				currentLog = newCategory;
+				if(journal != null) {
+					journal.recordAddCategory(categoryName);
+				}
+				setIsChanged(true);
+			});
 		} catch (IllegalArgumentException ie) {
 			throw new IllegalArgumentException("Invalid name.");
 		}
@@ -151,15 +291,7 @@ public class Project {
      * @return an array of category log names, or null if none exist
      */
 	public String[] getCategoryNames() {
-		
-		String[] returnArr = new String[categories.size() + 1];
-		returnArr[0] = AllTasksLog.ALL_TASKS_NAME;
-		for(int i = 0; i < categories.size(); i++) {
-		
-			returnArr[i + 1] = categories.get(i).getName();
-		}
-		
-		return returnArr;
+		return categoryView().categoryNames.clone();
 	}
 	
 	/**
@@ -168,18 +300,7 @@ public class Project {
      * @param logName the name of the task log to be set as current
      */
 	public void setCurrentTaskLog(String logName) {
-		AbstractTaskLog category = null;
-		for(int i = 0; i < categories.size(); i++) {
-			if(categories.get(i).getName().equals(logName)) {
-				category = categories.get(i);
-			}
-		}
-		
-		if(category != null) {
-			currentLog = category;
-		} else {
-			currentLog = allTasks;
-		}
+		write(() -> currentLog = lookUp(logName));
 	}
 	
 	/**
@@ -188,7 +309,76 @@ public class Project {
 	 * @return the current task log as an instance of AbstractTaskLog.
 	 */
 	public AbstractTaskLog getCurrentLog() {
-		return currentLog;
+		if(writingThread == Thread.currentThread()) {
+			return currentLog;
+		}
+		//Only the volatile field is read, so an overlapping change cannot tear it.
+		long stamp = lock.tryOptimisticRead();
+		AbstractTaskLog log = currentLog;
+		if(stamp != 0 && lock.validate(stamp)) {
+			return log;
+		}
+		return read(project -> currentLog);
+	}
+	
+	/**
+	 * Returns the task log with the given name without moving the current log.
+	 * Like setCurrentTaskLog, any name that is not a category gives the All
+	 * Tasks log. The log is live, so a caller that reads its tasks while other
+	 * threads may change the project should do so inside read().
+	 * 
+	 * @param logName the name of the task log
+	 * @return the category log with that name, or the All Tasks log
+	 */
+	public AbstractTaskLog getTaskLog(String logName) {
+		if(logName == null) {
+			return allTasks;
+		}
+		CategoryLog category = categoryView().categoryIndex.get(logName);
+		if(category != null) {
+			return category;
+		}
+		return allTasks;
+	}
+	
+	/**
+	 * Runs the reader under a shared read lock, so that no change is made to
+	 * the project while it runs but other readers may run at the same time.
+	 * Exports that walk every task use this to see one consistent project.
+	 * The reader must not change the project.
+	 * 
+	 * @param <T> the type of the reader's result
+	 * @param reader the function that reads the project
+	 * @return the reader's result
+	 */
+	public <T> T read(Function<? super Project, ? extends T> reader) {
+		if(writingThread == Thread.currentThread()) {
+			return reader.apply(this);
+		}
+		long stamp = lock.readLock();
+		Lock[] stripes = lockStripes();
+		try {
+			if(allTasks.hasOfferedTasks()) {
+				//Other readers may be walking the All Tasks log, so the offered
+				//tasks join it only under the write lock. The stripes are taken
+				//again before the lock is turned back into a read lock, so no
+				//add can offer more tasks in between.
+				unlockStripes(stripes);
+				stripes = new Lock[0];
+				lock.unlockRead(stamp);
+				stamp = lock.writeLock();
+				try {
+					allTasks.drainOfferedTasks();
+					stripes = lockStripes();
+				} finally {
+					stamp = lock.tryConvertToReadLock(stamp);
+				}
+			}
+			return reader.apply(this);
+		} finally {
+			unlockStripes(stripes);
+			lock.unlockRead(stamp);
+		}
 	}
 	
 	/**
@@ -197,63 +387,61 @@ public class Project {
      * @param categoryName the new name for the category log
      */
 	public void editCategoryLogName(String categoryName) {
-		if(currentLog.equals(allTasks)) {
-			throw new IllegalArgumentException("The All Tasks log may not be edited.");
-		}
-		try {
-			
-			if(categoryName == null || categoryName.isEmpty() || AllTasksLog.ALL_TASKS_NAME.equals(categoryName)) {
-				throw new IllegalArgumentException("Invalid name.");
+		write(() -> {
+			if(currentLog.equals(allTasks)) {
+				throw new IllegalArgumentException("The All Tasks log may not be edited.");
 			}
-		
-			CategoryLog temp = new CategoryLog(categoryName);
+			try {
+				
+				if(categoryName == null || categoryName.isEmpty() || AllTasksLog.ALL_TASKS_NAME.equals(categoryName)) {
+					throw new IllegalArgumentException("Invalid name.");
+				}
 			
-			if(categories.contains(temp)) {
-				throw new IllegalArgumentException();
-			}
-			for(int i = 0; i < categories.size(); i++) {
-				if(categories.get(i).getName().equals(currentLog.getName())) {
-					CategoryLog editCategory = categories.get(i);
-					
-					categories.remove(i);
-					editCategory.setTaskLogName(categoryName);
-					categories.add(editCategory);
+				CategoryLog temp = new CategoryLog(categoryName);
+				
+				if(categories.contains(temp)) {
+					throw new IllegalArgumentException();
 				}
+				if(journal != null) {
+					journal.recordEditCategory(currentLog.getName(), categoryName);
+				}
+				CategoryLog editCategory = categoryIndex.get(currentLog.getName());
+				String oldName = editCategory.getName();
+				renameCategory(editCategory, categoryName);
+				if(undoLog.isRecording()) {
+					undoLog.record(new RenameCategoryChange(editCategory, oldName, categoryName));
+				}
+				setIsChanged(true);
+			} catch(IllegalArgumentException ie) {
+				throw new IllegalArgumentException("Invalid name.");
 			}
-			setIsChanged(true);
-		} catch(IllegalArgumentException ie) {
-			throw new IllegalArgumentException("Invalid name.");
-		}
-		
+		});
 	}
 	
     /**
      * Removes a category log from the project.
      */
 	public void removeCategoryLog() {
-		if(AllTasksLog.ALL_TASKS_NAME.equals(currentLog.getName())) {
-			throw new IllegalArgumentException("The All Tasks log may not be deleted.");
-		}
-		
-		boolean categoryRemoved = false;
-		for(int i = 0; i < categories.size(); i++) {
-			if(currentLog.getName().equals(categories.get(i).getName())) {
-				categories.remove(i);
-				categoryRemoved = true;
+		write(() -> {
+			if(AllTasksLog.ALL_TASKS_NAME.equals(currentLog.getName())) {
+				throw new IllegalArgumentException("The All Tasks log may not be deleted.");
 			}
-		}
-		
-		if(categoryRemoved) {
-			ILogList<Task> list = allTasks.getTasks();
 			
-			for(int i = 0; i < list.size(); i++) {
-				if(list.getLog(i).getCategoryName().equals(currentLog.getName())) {
-					list.removeLog(i);
+			CategoryLog removedCategory = categoryIndex.get(currentLog.getName());
+			if(removedCategory != null) {
+				if(journal != null) {
+					journal.recordRemoveCategory(currentLog.getName());
+				}
+				if(undoLog.isRecording()) {
+					undoLog.record(detachCategoryAndTasks(removedCategory));
+				} else {
+					detachCategory(removedCategory);
+					allTasks.removeTasks(task -> task.getCategory() == removedCategory);
 				}
+				currentLog = allTasks;
 			}
-			currentLog = allTasks;
-		}
-		setIsChanged(true);
+			setIsChanged(true);
+		});
 	}
 	
 	/**
@@ -262,12 +450,84 @@ public class Project {
      * @param task the Task to be added to the project
      */
 	public void addTask(Task task) {
-		if(!(currentLog instanceof CategoryLog)) {
+		write(() -> {
+			if(!(currentLog instanceof CategoryLog)) {
+				return;
+			}
+			if(task.getTaskId() == 0) {
+				task.setTaskId(lastTaskId.incrementAndGet());
+			}
+			currentLog.addTask(task);
+			allTasks.addTask(task);
+			if(undoLog.isRecording()) {
+				undoLog.record(new AddTaskChange((CategoryLog) currentLog, task));
+			}
+			if(journal != null) {
+				journal.recordAddTask(currentLog.getName(), task);
+			}
+			setIsChanged(true);
+		});
+	}
+	
+	/**
+     * Adds a task to the named category without changing the current log.
+     * Adds to different categories hold only their own category's stripe and
+     * may run at the same time; the task is offered to the All Tasks log, and
+     * joins it before the next change to the project or call to read().
+     * 
+     * @param categoryName the name of the category to add the task to
+     * @param task the Task to be added to the project
+     * @throws IllegalArgumentException if there is no category with that name
+     */
+	public void addTask(String categoryName, Task task) {
+		if(writingThread == Thread.currentThread()) {
+			addToStripe(categoryName, task);
 			return;
 		}
-		currentLog.addTask(task);
-		allTasks.addTask(task);
-		setIsChanged(true);
+		long stamp = lock.readLock();
+		try {
+			addToStripe(categoryName, task);
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+	
+	/**
+     * Adds tasks to the end of the named category in bulk, without changing
+     * the current log, such as the tasks of a project being read. The
+     * category log and the All Tasks log each take the tasks in one addAll
+     * under a single write lock, and the addition is undone as one change.
+     * 
+     * @param categoryName the name of the category to add the tasks to
+     * @param addedTasks the tasks to be added, in order
+     * @throws IllegalArgumentException if there is no category with that name
+     */
+	public void addTasks(String categoryName, ILogList<Task> addedTasks) {
+		write(() -> {
+			CategoryLog category = categoryIndex.get(categoryName);
+			if(category == null) {
+				throw new IllegalArgumentException("Invalid name.");
+			}
+			if(addedTasks.size() == 0) {
+				return;
+			}
+			for(Task task : addedTasks) {
+				if(task.getTaskId() == 0) {
+					task.setTaskId(lastTaskId.incrementAndGet());
+				}
+			}
+			category.addTasks(addedTasks);
+			allTasks.addTasks(addedTasks);
+			if(undoLog.isRecording()) {
+				undoLog.record(new AddTasksChange(category, addedTasks));
+			}
+			if(journal != null) {
+				for(Task task : addedTasks) {
+					journal.recordAddTask(categoryName, task);
+				}
+			}
+			setIsChanged(true);
+		});
 	}
 	
 	/**
@@ -279,19 +539,28 @@ public class Project {
      * @param taskDetails the new details for the task
      */
 	public void editTask(int idx, String taskName, int taskDuration, String taskDetails) {
-	   
-	    Task taskToEdit = currentLog.getTasks().getLog(idx);
-	    if (taskToEdit == null) {
-	        throw new IllegalArgumentException("Task does not exist at the specified index.");
-	    }
-
-	    
-	    taskToEdit.setTaskTitle(taskName);
-	    taskToEdit.setTaskDuration(taskDuration);
-	    taskToEdit.setTaskDetails(taskDetails);
-
-	    
-	    setIsChanged(true); 
+		write(() -> {
+		    Task taskToEdit = currentLog.getTasks().getLog(idx);
+		    if (taskToEdit == null) {
+		        throw new IllegalArgumentException("Task does not exist at the specified index.");
+		    }
+	
+		    EditTaskChange change = null;
+		    if(undoLog.isRecording()) {
+		    	change = new EditTaskChange(taskToEdit, taskName, taskDuration, taskDetails);
+		    }
+		    taskToEdit.setTaskTitle(taskName);
+		    taskToEdit.setTaskDuration(taskDuration);
+		    taskToEdit.setTaskDetails(taskDetails);
+		    if(change != null) {
+		    	undoLog.record(change);
+		    }
+	
+		    if(journal != null) {
+		    	journal.recordEditTask(currentLog.getName(), idx, taskToEdit);
+		    }
+		    setIsChanged(true); 
+		});
 	}
 	
 	/**
@@ -300,45 +569,120 @@ public class Project {
      * @param idx the index of the task to be removed
      */
 	public void removeTask(int idx) {
-		
-		if(currentLog instanceof AllTasksLog) {
-			Task removedTask = currentLog.removeTask(idx);
-			
-			String removedTaskCategoryName = removedTask.getCategoryName();
-			
-			//Iterate through the categories.
-			for(int i = 0; i < categories.size(); i++) {
+		write(() -> {
+			if(currentLog instanceof AllTasksLog) {
+				Task removedTask = currentLog.removeTask(idx);
 				
-				CategoryLog currentCategory = categories.get(i);
+				String removedTaskCategoryName = removedTask.getCategoryName();
 				
-				if(currentCategory.getName().equals(removedTaskCategoryName)) {
-					ILogList<Task> taskList = currentCategory.getTasks();
-					
-					//Now iterate through the task list and remove task.
-					
-					for(int j = 0; j < taskList.size(); j++) {
-						Task currentTask = taskList.getLog(j);
-						if(currentTask.equals(removedTask)) {
-							currentCategory.removeTask(j);
-						}
+				CategoryLog currentCategory = categoryIndex.get(removedTaskCategoryName);
+				int position = -1;
+				if(currentCategory != null) {
+					position = currentCategory.indexOfTask(removedTask);
+					if(position >= 0) {
+						currentCategory.removeTask(position);
 					}
-					
 				}
+				if(undoLog.isRecording()) {
+					undoLog.record(new RemoveTaskChange(removedTask, currentCategory, position, idx));
+				}
+			} else {
 				
-			}
-		} else {
-			
-			Task removedTask = currentLog.removeTask(idx);
-			ILogList<Task> allTasksList = allTasks.getTasks();
-			for(int i = 0; i < allTasksList.size(); i++) {
-				if(removedTask.equals(allTasksList.getLog(i))) {
-					allTasks.removeTask(i);
+				Task removedTask = currentLog.removeTask(idx);
+				int position = allTasks.indexOfTask(removedTask);
+				if(position >= 0) {
+					allTasks.removeTask(position);
+				}
+				if(undoLog.isRecording()) {
+					undoLog.record(new RemoveTaskChange(removedTask, (CategoryLog) currentLog, idx, position));
 				}
-			
 			}
-		}
+		
+			if(journal != null) {
+				journal.recordRemoveTask(currentLog.getName(), idx);
+			}
+			setIsChanged(true);
+		});
+	}
 	
-		setIsChanged(true);
+	/**
+	 * Undoes the most recent change to the project that has not been undone.
+	 * The current log moves only if the change moved it or removed it.
+	 * 
+	 * @return true if a change was undone, false if there was none to undo
+	 */
+	public boolean undo() {
+		boolean[] isUndone = new boolean[1];
+		write(() -> {
+			isUndone[0] = undoLog.undo();
+			if(isUndone[0]) {
+				changedOutsideJournal();
+			}
+		});
+		return isUndone[0];
+	}
+	
+	/**
+	 * Redoes the most recently undone change to the project. Any other change
+	 * made since the undo means there is nothing to redo.
+	 * 
+	 * @return true if a change was redone, false if there was none to redo
+	 */
+	public boolean redo() {
+		boolean[] isRedone = new boolean[1];
+		write(() -> {
+			isRedone[0] = undoLog.redo();
+			if(isRedone[0]) {
+				changedOutsideJournal();
+			}
+		});
+		return isRedone[0];
+	}
+	
+	/**
+	 * Checks whether there is a change to undo.
+	 * 
+	 * @return true if undo would undo a change
+	 */
+	public boolean canUndo() {
+		return undoLog.canUndo();
+	}
+	
+	/**
+	 * Checks whether there is a change to redo.
+	 * 
+	 * @return true if redo would redo a change
+	 */
+	public boolean canRedo() {
+		return undoLog.canRedo();
+	}
+	
+	/**
+	 * Forgets every change that could be undone or redone, such as the changes
+	 * that built a project while it was loaded.
+	 */
+	public void clearUndoHistory() {
+		undoLog.clear();
+	}
+	
+	/**
+	 * Returns the memory budget of the undo history.
+	 * 
+	 * @return the number of bytes the undo history may hold
+	 */
+	public long getUndoBudget() {
+		return undoLog.getBudget();
+	}
+	
+	/**
+	 * Sets the memory budget of the undo history. The oldest changes are
+	 * forgotten until the history fits, and a budget of zero keeps none.
+	 * 
+	 * @param budget the number of bytes the undo history may hold
+	 * @throws IllegalArgumentException if budget is negative
+	 */
+	public void setUndoBudget(long budget) {
+		undoLog.setBudget(budget);
 	}
 	
 	/**
@@ -348,25 +692,755 @@ public class Project {
      */
 	
 	public String[][] getMostRecentTasks() {
-		String[][] returnArr = new String[categories.size()][3];
-		
-		for(int i = 0; i < categories.size(); i++) {
-			CategoryLog currentCategory = categories.get(i);
-			ILogList<Task> logs = currentCategory.getTasks();
-			if(logs.size() == 0) {
-				returnArr[i][0] = "None";
-				returnArr[i][1] = "";
-				returnArr[i][2] = currentCategory.getTaskLogName();
+		return read(project -> {
+			String[][] returnArr = new String[categories.size()][3];
+			
+			int i = 0;
+			for(CategoryLog currentCategory : categories) {
+				ILogList<Task> logs = currentCategory.getTasks();
+				if(logs.size() == 0) {
+					returnArr[i][0] = "None";
+					returnArr[i][1] = "";
+					returnArr[i][2] = currentCategory.getTaskLogName();
+				} else {
+					returnArr[i][0] = logs.getLog(logs.size() - 1).getTaskTitle();
+					returnArr[i][1] = "" + logs.getLog(logs.size() - 1).getTaskDuration();
+					returnArr[i][2] = logs.getLog(logs.size() - 1).getCategoryName();
+				}
+				i++;
+			}
+			
+			return returnArr;
+		});
+	}
+	
+	/**
+	 * Returns the category log with the given name, or the All Tasks log if
+	 * there is none. Called while reading or changing the project.
+	 * 
+	 * @param logName the name of the task log
+	 * @return the task log
+	 */
+	private AbstractTaskLog lookUp(String logName) {
+		CategoryLog category = categoryIndex.get(logName);
+		if(category != null) {
+			return category;
+		}
+		return allTasks;
+	}
+	
+	/**
+	 * Adds a task to the named category under its stripe. A thread holding the
+	 * write lock adds the task to the All Tasks log directly; any other thread
+	 * offers it. Called while holding the read or write lock.
+	 * 
+	 * @param categoryName the name of the category
+	 * @param task the task to add
+	 */
+	private void addToStripe(String categoryName, Task task) {
+		CategoryLog category = categoryIndex.get(categoryName);
+		if(category == null) {
+			throw new IllegalArgumentException("Invalid name.");
+		}
+		Lock stripe = category.getStripe().writeLock();
+		stripe.lock();
+		try {
+			if(task.getTaskId() == 0) {
+				task.setTaskId(lastTaskId.incrementAndGet());
+			}
+			category.addTask(task);
+			if(writingThread == Thread.currentThread()) {
+				allTasks.addTask(task);
 			} else {
-				returnArr[i][0] = logs.getLog(logs.size() - 1).getTaskTitle();
-				returnArr[i][1] = "" + logs.getLog(logs.size() - 1).getTaskDuration();
-				returnArr[i][2] = logs.getLog(logs.size() - 1).getCategoryName();
+				allTasks.offerTask(task);
+			}
+			if(undoLog.isRecording()) {
+				undoLog.record(new AddTaskChange(category, task));
 			}
+			if(journal != null) {
+				synchronized(journal) {
+					journal.recordAddTask(categoryName, task);
+				}
+			}
+		} finally {
+			stripe.unlock();
+		}
+		setIsChanged(true);
+	}
+	
+	/**
+	 * Locks the read lock of every category's stripe, in sorted order, so that
+	 * no add to a named category runs until they are unlocked. An add holds
+	 * only one stripe, so this cannot deadlock with it. Called while holding
+	 * the read or write lock.
+	 * 
+	 * @return the locked stripes
+	 */
+	private Lock[] lockStripes() {
+		Lock[] stripes = new Lock[categories.size()];
+		int locked = 0;
+		for(CategoryLog category : categories) {
+			stripes[locked] = category.getStripe().readLock();
+			stripes[locked].lock();
+			locked++;
+		}
+		return stripes;
+	}
+	
+	/**
+	 * Unlocks stripes locked by lockStripes, in reverse order.
+	 * 
+	 * @param stripes the locked stripes
+	 */
+	private static void unlockStripes(Lock[] stripes) {
+		for(int i = stripes.length - 1; i >= 0; i--) {
+			stripes[i].unlock();
+		}
+	}
+	
+	/**
+	 * Makes a change to the project under the exclusive write lock. Tasks
+	 * offered to the All Tasks log join it first. If the change touched the
+	 * categories, the category view is built once before the lock is
+	 * released, so the readers that follow find it published.
+	 * 
+	 * @param change the change to make
+	 */
+	private void write(Runnable change) {
+		if(writingThread == Thread.currentThread()) {
+			change.run();
+			return;
+		}
+		long stamp = lock.writeLock();
+		writingThread = Thread.currentThread();
+		try {
+			allTasks.drainOfferedTasks();
+			change.run();
+			if(categoryView == null) {
+				categoryView = new CategoryView(categories, categoryIndex);
+			}
+		} finally {
+			writingThread = null;
+			lock.unlockWrite(stamp);
+		}
+	}
+	
+	/**
+	 * Returns the category names and index as of the last change to the
+	 * categories. The published view is immutable, so it is read without
+	 * locking as long as no change overlapped the read; otherwise it is read
+	 * under the read lock. The view is built by the writing thread at most
+	 * once per change to the categories, and under the read lock only if no
+	 * write has built it yet.
+	 * 
+	 * @return the current category view
+	 */
+	private CategoryView categoryView() {
+		if(writingThread == Thread.currentThread()) {
+			//Any later change to the categories in this write clears it again.
+			CategoryView view = categoryView;
+			if(view == null) {
+				view = new CategoryView(categories, categoryIndex);
+				categoryView = view;
+			}
+			return view;
+		}
+		long stamp = lock.tryOptimisticRead();
+		CategoryView view = categoryView;
+		if(stamp != 0 && view != null && lock.validate(stamp)) {
+			return view;
+		}
+		return read(project -> {
+			CategoryView built = categoryView;
+			if(built == null) {
+				built = new CategoryView(categories, categoryIndex);
+				categoryView = built;
+			}
+			return built;
+		});
+	}
+	
+	/**
+	 * Records a change that the journal has no record for and marks the
+	 * project changed.
+	 */
+	private void changedOutsideJournal() {
+		if(journal != null) {
+			journal.recordUnjournaledChange();
+		}
+		setIsChanged(true);
+	}
+	
+	/**
+	 * Puts a category log into categories and the index by name.
+	 * 
+	 * @param category the category log to add
+	 */
+	private void attachCategory(CategoryLog category) {
+		categories.add(category);
+		categoryIndex.put(category.getName(), category);
+		categoryView = null;
+	}
+	
+	/**
+	 * Takes a category log out of categories and the index by name.
+	 * 
+	 * @param category the category log to remove
+	 */
+	private void detachCategory(CategoryLog category) {
+		categoryIndex.remove(category.getName());
+		categories.remove(categories.indexOf(category));
+		categoryView = null;
+	}
+	
+	/**
+	 * Renames a category log, keeping categories sorted.
+	 * 
+	 * @param category the category log to rename
+	 * @param categoryName the new name
+	 */
+	private void renameCategory(CategoryLog category, String categoryName) {
+		detachCategory(category);
+		category.setTaskLogName(categoryName);
+		attachCategory(category);
+	}
+	
+	/**
+	 * Takes a category log out of the project and its tasks out of the All
+	 * Tasks log, remembering where they were so the removal can be undone.
+	 * The positions are recorded during the single pass that removes the
+	 * tasks, in arrays sized by the category's task count and grown if the
+	 * All Tasks log holds more of its tasks.
+	 * 
+	 * @param category the category log to remove
+	 * @return the change that puts the category log and its tasks back
+	 */
+	private RemoveCategoryChange detachCategoryAndTasks(CategoryLog category) {
+		detachCategory(category);
+		int[][] positions = {new int[category.getTaskCount()]};
+		Task[][] removedTasks = {new Task[category.getTaskCount()]};
+		int[] position = {0};
+		int[] count = {0};
+		allTasks.removeTasks(task -> {
+			boolean isRemoved = task.getCategory() == category;
+			if(isRemoved) {
+				if(count[0] == positions[0].length) {
+					positions[0] = Arrays.copyOf(positions[0], Math.max(4, count[0] * 2));
+					removedTasks[0] = Arrays.copyOf(removedTasks[0], positions[0].length);
+				}
+				positions[0][count[0]] = position[0];
+				removedTasks[0][count[0]] = task;
+				count[0]++;
+			}
+			position[0]++;
+			return isRemoved;
+		});
+		if(count[0] != positions[0].length) {
+			positions[0] = Arrays.copyOf(positions[0], count[0]);
+			removedTasks[0] = Arrays.copyOf(removedTasks[0], count[0]);
+		}
+		return new RemoveCategoryChange(category, positions[0], removedTasks[0]);
+	}
+	
+	/**
+	 * An immutable copy of the category names and the index by name, which
+	 * short reads use without locking.
+	 * 
+	 * @author Priyanshu Dongre
+	 */
+	private static final class CategoryView {
+		
+		/** The All Tasks name followed by the category names in sorted order */
+		private final String[] categoryNames;
+		
+		/** The category logs keyed by name */
+		private final Map<String, CategoryLog> categoryIndex;
+		
+		/**
+		 * Copies the categories. Called while holding the read or write lock.
+		 * 
+		 * @param categories the category logs in sorted order
+		 * @param categoryIndex the category logs keyed by name
+		 */
+		private CategoryView(ISortedList<CategoryLog> categories, Map<String, CategoryLog> categoryIndex) {
+			categoryNames = new String[categories.size() + 1];
+			categoryNames[0] = AllTasksLog.ALL_TASKS_NAME;
+			int i = 1;
+			for(CategoryLog category : categories) {
+				categoryNames[i] = category.getName();
+				i++;
+			}
+			this.categoryIndex = Map.copyOf(categoryIndex);
+		}
+	}
+	
+	/**
+	 * The addition of a category log, undone by taking it out again.
+	 * 
+	 * @author Priyanshu Dongre
+	 */
+	private class AddCategoryChange extends UndoLog.Change {
+		
+		/** The added category log */
+		private final CategoryLog category;
+		
+		/** The current log before the category log was added */
+		private final AbstractTaskLog previousLog;
+		
+		/**
+		 * Constructs an AddCategoryChange.
+		 * 
+		 * @param category the added category log
+		 * @param previousLog the current log before the addition
+		 */
+		AddCategoryChange(CategoryLog category, AbstractTaskLog previousLog) {
+			this.category = category;
+			this.previousLog = previousLog;
+		}
+		
+		/**
+		 * Takes the category log out and restores the previous current log.
+		 */
+		@Override
+		void undo() {
+			detachCategory(category);
+			currentLog = previousLog;
+		}
+		
+		/**
+		 * Puts the category log back and makes it the current log.
+		 */
+		@Override
+		void redo() {
+			attachCategory(category);
+			currentLog = category;
+		}
+		
+		/**
+		 * Returns the estimated size of the change.
+		 * 
+		 * @return the estimated size in bytes
+		 */
+		@Override
+		long getSize() {
+			return BASE_SIZE;
+		}
+	}
+	
+	/**
+	 * The renaming of a category log, undone by renaming it back.
+	 * 
+	 * @author Priyanshu Dongre
+	 */
+	private class RenameCategoryChange extends UndoLog.Change {
+		
+		/** The renamed category log */
+		private final CategoryLog category;
+		
+		/** The name before the change */
+		private final String oldName;
+		
+		/** The name after the change */
+		private final String newName;
+		
+		/**
+		 * Constructs a RenameCategoryChange.
+		 * 
+		 * @param category the renamed category log
+		 * @param oldName the name before the change
+		 * @param newName the name after the change
+		 */
+		RenameCategoryChange(CategoryLog category, String oldName, String newName) {
+			this.category = category;
+			this.oldName = oldName;
+			this.newName = newName;
+		}
+		
+		/**
+		 * Gives the category log its old name back.
+		 */
+		@Override
+		void undo() {
+			renameCategory(category, oldName);
 		}
 		
-		return returnArr;
+		/**
+		 * Gives the category log its new name again.
+		 */
+		@Override
+		void redo() {
+			renameCategory(category, newName);
+		}
+		
+		/**
+		 * Returns the estimated size of the change, including both names.
+		 * 
+		 * @return the estimated size in bytes
+		 */
+		@Override
+		long getSize() {
+			return BASE_SIZE + sizeOf(oldName) + sizeOf(newName);
+		}
 	}
 	
+	/**
+	 * The removal of a category log, undone by putting it back and returning
+	 * its tasks to their positions in the All Tasks log.
+	 * 
+	 * @author Priyanshu Dongre
+	 */
+	private class RemoveCategoryChange extends UndoLog.Change {
+		
+		/** The removed category log, which still holds its tasks */
+		private final CategoryLog category;
+		
+		/** The positions the removed tasks had in the All Tasks log, in increasing order */
+		private final int[] positions;
+		
+		/** The tasks removed from the All Tasks log */
+		private final Task[] removedTasks;
+		
+		/**
+		 * Constructs a RemoveCategoryChange.
+		 * 
+		 * @param category the removed category log
+		 * @param positions the positions the tasks had in the All Tasks log
+		 * @param removedTasks the tasks removed from the All Tasks log
+		 */
+		RemoveCategoryChange(CategoryLog category, int[] positions, Task[] removedTasks) {
+			this.category = category;
+			this.positions = positions;
+			this.removedTasks = removedTasks;
+		}
+		
+		/**
+		 * Puts the category log and its tasks back and makes it the current log.
+		 */
+		@Override
+		void undo() {
+			attachCategory(category);
+			allTasks.insertTasks(positions, removedTasks);
+			currentLog = category;
+		}
+		
+		/**
+		 * Removes the category log and its tasks again.
+		 */
+		@Override
+		void redo() {
+			detachCategoryAndTasks(category);
+			currentLog = allTasks;
+		}
+		
+		/**
+		 * Returns the estimated size of the change, including the category's
+		 * tasks, which only the change keeps reachable.
+		 * 
+		 * @return the estimated size in bytes
+		 */
+		@Override
+		long getSize() {
+			return BASE_SIZE * 2 + positions.length * (12 + TASK_SIZE);
+		}
+	}
 	
+	/**
+	 * The addition of a task to a category log, undone by removing it from
+	 * the category log and the All Tasks log.
+	 * 
+	 * @author Priyanshu Dongre
+	 */
+	private class AddTaskChange extends UndoLog.Change {
+		
+		/** The category log the task was added to */
+		private final CategoryLog category;
+		
+		/** The added task */
+		private final Task task;
+		
+		/**
+		 * Constructs an AddTaskChange.
+		 * 
+		 * @param category the category log the task was added to
+		 * @param task the added task
+		 */
+		AddTaskChange(CategoryLog category, Task task) {
+			this.category = category;
+			this.task = task;
+		}
+		
+		/**
+		 * Removes the task from its category log and the All Tasks log.
+		 */
+		@Override
+		void undo() {
+			category.removeTask(category.indexOfTask(task));
+			allTasks.removeTask(allTasks.indexOfTask(task));
+		}
+		
+		/**
+		 * Adds the task to the end of its category log and the All Tasks log
+		 * again. The task already belongs to the category.
+		 */
+		@Override
+		void redo() {
+			category.insertTasks(new int[] {category.getTaskCount()}, new Task[] {task});
+			allTasks.insertTasks(new int[] {allTasks.getTaskCount()}, new Task[] {task});
+		}
+		
+		/**
+		 * Returns the estimated size of the change, including the task.
+		 * 
+		 * @return the estimated size in bytes
+		 */
+		@Override
+		long getSize() {
+			return BASE_SIZE + TASK_SIZE;
+		}
+	}
 	
+	/**
+	 * The addition of tasks in bulk to the end of a category log, undone by
+	 * removing them from the end of the category log and the All Tasks log.
+	 * 
+	 * @author Priyanshu Dongre
+	 */
+	private class AddTasksChange extends UndoLog.Change {
+		
+		/** The category log the tasks were added to */
+		private final CategoryLog category;
+		
+		/** The added tasks, in order */
+		private final Task[] tasks;
+		
+		/**
+		 * Constructs an AddTasksChange.
+		 * 
+		 * @param category the category log the tasks were added to
+		 * @param addedTasks the added tasks
+		 */
+		AddTasksChange(CategoryLog category, ILogList<Task> addedTasks) {
+			this.category = category;
+			this.tasks = new Task[addedTasks.size()];
+			for(int i = 0; i < tasks.length; i++) {
+				tasks[i] = addedTasks.getLog(i);
+			}
+		}
+		
+		/**
+		 * Removes the tasks from the end of their category log and the All
+		 * Tasks log.
+		 */
+		@Override
+		void undo() {
+			removeLast(category);
+			removeLast(allTasks);
+		}
+		
+		/**
+		 * Adds the tasks to the end of their category log and the All Tasks
+		 * log again. The tasks already belong to the category.
+		 */
+		@Override
+		void redo() {
+			insertAtEnd(category);
+			insertAtEnd(allTasks);
+		}
+		
+		/**
+		 * Returns the estimated size of the change, including the tasks.
+		 * 
+		 * @return the estimated size in bytes
+		 */
+		@Override
+		long getSize() {
+			return BASE_SIZE + TASK_SIZE * tasks.length;
+		}
+		
+		/**
+		 * Removes the added tasks, which are the last tasks of the log.
+		 * 
+		 * @param log the log to remove them from
+		 */
+		private void removeLast(AbstractTaskLog log) {
+			int firstAdded = log.getTaskCount() - tasks.length;
+			int[] position = {0};
+			log.removeTasks(task -> position[0]++ >= firstAdded);
+		}
+		
+		/**
+		 * Puts the added tasks back at the end of the log.
+		 * 
+		 * @param log the log to put them in
+		 */
+		private void insertAtEnd(AbstractTaskLog log) {
+			int[] positions = new int[tasks.length];
+			for(int i = 0; i < positions.length; i++) {
+				positions[i] = log.getTaskCount() + i;
+			}
+			log.insertTasks(positions, tasks);
+		}
+	}
+	
+	/**
+	 * The edit of a task, undone by restoring the task's old fields.
+	 * 
+	 * @author Priyanshu Dongre
+	 */
+	private class EditTaskChange extends UndoLog.Change {
+		
+		/** The edited task */
+		private final Task task;
+		
+		/** The title before the edit */
+		private final String oldTitle;
+		
+		/** The duration before the edit */
+		private final int oldDuration;
+		
+		/** The details before the edit, or null if they had not been loaded */
+		private final String oldDetails;
+		
+		/** The loader of the details before the edit, if they had not been loaded */
+		private final Supplier<String> oldDetailsLoader;
+		
+		/** The title after the edit */
+		private final String newTitle;
+		
+		/** The duration after the edit */
+		private final int newDuration;
+		
+		/** The details after the edit */
+		private final String newDetails;
+		
+		/**
+		 * Constructs an EditTaskChange from the task before it is edited. Details
+		 * that have not been loaded are kept as their loader, so the edit does
+		 * not load them.
+		 * 
+		 * @param task the task about to be edited
+		 * @param newTitle the title after the edit
+		 * @param newDuration the duration after the edit
+		 * @param newDetails the details after the edit
+		 */
+		EditTaskChange(Task task, String newTitle, int newDuration, String newDetails) {
+			this.task = task;
+			this.oldTitle = task.getTaskTitle();
+			this.oldDuration = task.getTaskDuration();
+			this.oldDetailsLoader = task.getTaskDetailsLoader();
+			this.oldDetails = oldDetailsLoader == null ? task.getTaskDetails() : null;
+			this.newTitle = newTitle;
+			this.newDuration = newDuration;
+			this.newDetails = newDetails;
+		}
+		
+		/**
+		 * Restores the task's old title, duration and details.
+		 */
+		@Override
+		void undo() {
+			task.setTaskTitle(oldTitle);
+			task.setTaskDuration(oldDuration);
+			if(oldDetailsLoader != null) {
+				task.setTaskDetails(oldDetailsLoader);
+			} else {
+				task.setTaskDetails(oldDetails);
+			}
+		}
+		
+		/**
+		 * Sets the task's new title, duration and details again.
+		 */
+		@Override
+		void redo() {
+			task.setTaskTitle(newTitle);
+			task.setTaskDuration(newDuration);
+			task.setTaskDetails(newDetails);
+		}
+		
+		/**
+		 * Returns the estimated size of the change, including the strings. A
+		 * loader counts as a few references, since what it loads from is shared
+		 * with the other tasks read with it.
+		 * 
+		 * @return the estimated size in bytes
+		 */
+		@Override
+		long getSize() {
+			long oldDetailsSize = oldDetails == null ? BASE_SIZE : sizeOf(oldDetails);
+			return BASE_SIZE * 2 + sizeOf(oldTitle) + oldDetailsSize + sizeOf(newTitle) + sizeOf(newDetails);
+		}
+	}
+	
+	/**
+	 * The removal of a task, undone by returning it to the positions it had in
+	 * its category log and the All Tasks log.
+	 * 
+	 * @author Priyanshu Dongre
+	 */
+	private class RemoveTaskChange extends UndoLog.Change {
+		
+		/** The removed task */
+		private final Task task;
+		
+		/** The category log the task was removed from, or null if it had none */
+		private final CategoryLog category;
+		
+		/** The position the task had in category, or -1 if it was not there */
+		private final int categoryPosition;
+		
+		/** The position the task had in the All Tasks log, or -1 if it was not there */
+		private final int allTasksPosition;
+		
+		/**
+		 * Constructs a RemoveTaskChange.
+		 * 
+		 * @param task the removed task
+		 * @param category the category log the task was removed from, or null
+		 * @param categoryPosition the position the task had in category, or -1
+		 * @param allTasksPosition the position the task had in the All Tasks log, or -1
+		 */
+		RemoveTaskChange(Task task, CategoryLog category, int categoryPosition, int allTasksPosition) {
+			this.task = task;
+			this.category = category;
+			this.categoryPosition = categoryPosition;
+			this.allTasksPosition = allTasksPosition;
+		}
+		
+		/**
+		 * Returns the task to its positions.
+		 */
+		@Override
+		void undo() {
+			if(categoryPosition >= 0) {
+				category.insertTasks(new int[] {categoryPosition}, new Task[] {task});
+			}
+			if(allTasksPosition >= 0) {
+				allTasks.insertTasks(new int[] {allTasksPosition}, new Task[] {task});
+			}
+		}
+		
+		/**
+		 * Removes the task from its positions again.
+		 */
+		@Override
+		void redo() {
+			if(categoryPosition >= 0) {
+				category.removeTask(categoryPosition);
+			}
+			if(allTasksPosition >= 0) {
+				allTasks.removeTask(allTasksPosition);
+			}
+		}
+		
+		/**
+		 * Returns the estimated size of the change, including the task.
+		 * 
+		 * @return the estimated size in bytes
+		 */
+		@Override
+		long getSize() {
+			return BASE_SIZE + TASK_SIZE;
+		}
+	}
 }
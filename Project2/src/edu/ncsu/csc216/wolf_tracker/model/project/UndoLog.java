@@ -0,0 +1,212 @@
+package edu.ncsu.csc216.wolf_tracker.model.project;
+
+import java.util.ArrayDeque;
+
+/**
+ * The undo and redo history of a project. Each change to the project is
+ * recorded as a Change holding only what is needed to reverse and reapply it,
+ * so undoing or redoing a change costs about as much as making it did.
+ *
+ * The history is bounded by a memory budget. Each change estimates the memory
+ * it keeps reachable, and once the changes together are over the budget the
+ * oldest are dropped until they fit. A budget of zero keeps no history.
+ *
+ * @author Priyanshu Dongre
+ */
+class UndoLog {
+
+	/** The changes that can be undone, newest first */
+	private final ArrayDeque<Change> undoHistory = new ArrayDeque<>();
+
+	/** The changes that can be redone, most recently undone first */
+	private final ArrayDeque<Change> redoHistory = new ArrayDeque<>();
+
+	/** The number of bytes the history may hold; volatile so isRecording needs no lock */
+	private volatile long budget;
+
+	/** The estimated number of bytes the history holds */
+	private long usedBytes;
+
+	/**
+	 * Constructs an empty UndoLog with the given budget.
+	 *
+	 * @param budget the number of bytes the history may hold
+	 * @throws IllegalArgumentException if budget is negative
+	 */
+	UndoLog(long budget) {
+		setBudget(budget);
+	}
+
+	/**
+	 * Records a change that was just made. The changes that could be redone
+	 * no longer apply and are dropped.
+	 *
+	 * @param change the change made
+	 */
+	synchronized void record(Change change) {
+		while(!redoHistory.isEmpty()) {
+			usedBytes -= redoHistory.pop().getSize();
+		}
+		undoHistory.push(change);
+		usedBytes += change.getSize();
+		evict();
+	}
+
+	/**
+	 * Undoes the most recent change that has not been undone.
+	 *
+	 * @return true if a change was undone, false if there was none
+	 */
+	synchronized boolean undo() {
+		Change change = undoHistory.poll();
+		if(change == null) {
+			return false;
+		}
+		change.undo();
+		redoHistory.push(change);
+		return true;
+	}
+
+	/**
+	 * Redoes the most recently undone change.
+	 *
+	 * @return true if a change was redone, false if there was none
+	 */
+	synchronized boolean redo() {
+		Change change = redoHistory.poll();
+		if(change == null) {
+			return false;
+		}
+		change.redo();
+		undoHistory.push(change);
+		return true;
+	}
+
+	/**
+	 * Checks whether there is a change to undo.
+	 *
+	 * @return true if undo would undo a change
+	 */
+	synchronized boolean canUndo() {
+		return !undoHistory.isEmpty();
+	}
+
+	/**
+	 * Checks whether there is a change to redo.
+	 *
+	 * @return true if redo would redo a change
+	 */
+	synchronized boolean canRedo() {
+		return !redoHistory.isEmpty();
+	}
+
+	/**
+	 * Drops every recorded change.
+	 */
+	synchronized void clear() {
+		undoHistory.clear();
+		redoHistory.clear();
+		usedBytes = 0;
+	}
+
+	/**
+	 * Checks whether changes are kept at all. With a budget of zero, such as
+	 * while a project is read, a recorded change would be dropped at once, so
+	 * callers skip building it.
+	 *
+	 * @return true if the budget is above zero
+	 */
+	boolean isRecording() {
+		return budget > 0;
+	}
+
+	/**
+	 * Returns the number of bytes the history may hold.
+	 *
+	 * @return the budget in bytes
+	 */
+	synchronized long getBudget() {
+		return budget;
+	}
+
+	/**
+	 * Sets the number of bytes the history may hold, dropping the oldest
+	 * changes if the history no longer fits.
+	 *
+	 * @param budget the budget in bytes
+	 * @throws IllegalArgumentException if budget is negative
+	 */
+	synchronized void setBudget(long budget) {
+		if(budget < 0) {
+			throw new IllegalArgumentException("Invalid budget.");
+		}
+		this.budget = budget;
+		evict();
+	}
+
+	/**
+	 * Returns the estimated number of bytes the history holds.
+	 *
+	 * @return the bytes used
+	 */
+	synchronized long getUsedBytes() {
+		return usedBytes;
+	}
+
+	/**
+	 * Drops changes until the history fits its budget: the oldest undoable
+	 * changes first, then the redoable changes furthest from the present.
+	 */
+	private void evict() {
+		while(usedBytes > budget && !undoHistory.isEmpty()) {
+			usedBytes -= undoHistory.removeLast().getSize();
+		}
+		while(usedBytes > budget && !redoHistory.isEmpty()) {
+			usedBytes -= redoHistory.removeLast().getSize();
+		}
+	}
+
+	/**
+	 * A change to a project that can be undone and redone. A change is only
+	 * undone when the project is as the change left it, and only redone when
+	 * the project is as it was before the change, so it may reverse itself
+	 * from positions it recorded.
+	 *
+	 * @author Priyanshu Dongre
+	 */
+	abstract static class Change {
+
+		/** The estimated size in bytes of a change holding a few references and ints */
+		static final long BASE_SIZE = 32;
+
+		/** The estimated size in bytes of a task kept reachable only by a change */
+		static final long TASK_SIZE = 96;
+
+		/**
+		 * Reverses the change.
+		 */
+		abstract void undo();
+
+		/**
+		 * Makes the change again after it was undone.
+		 */
+		abstract void redo();
+
+		/**
+		 * Returns an estimate of the memory the change keeps reachable.
+		 *
+		 * @return the estimated size in bytes
+		 */
+		abstract long getSize();
+
+		/**
+		 * Returns an estimate of the memory a string kept by a change takes.
+		 *
+		 * @param str the string
+		 * @return the estimated size in bytes
+		 */
+		static long sizeOf(String str) {
+			return 40 + 2L * str.length();
+		}
+	}
+}
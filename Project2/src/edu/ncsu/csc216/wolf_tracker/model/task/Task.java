@@ -1,27 +1,59 @@
 package edu.ncsu.csc216.wolf_tracker.model.task;
 
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Supplier;
+
 import edu.ncsu.csc216.wolf_tracker.model.log.CategoryLog;
+import edu.ncsu.csc216.wolf_tracker.model.util.StringPool;
 
 /**
  * Represents a task with a title, duration, and details.
  * This class provides methods to get and set the properties of a task.
  * It also allows associating a task with a category.
  * 
+ * A task made with a TaskArena keeps its title and details in the arena
+ * instead of on the heap, and holds only the handle of its record there. The
+ * arena, a loader of details not read yet and the details themselves share
+ * one field, so a task is no larger for the ways its details can be kept.
+ * 
+ * Titles kept on the heap are interned in a shared StringPool, so tasks with
+ * the same title usually share one String.
+ * 
  * @author Priyanshu Dongre
  */
 public class Task {
 
-	/** The title of the task */
+	/** The pool task titles are interned in */
+	private static final StringPool TITLE_POOL = new StringPool();
+	
+	/** Swaps a loader in taskDetails for the details it loaded, unless the details were set meanwhile */
+	private static final AtomicReferenceFieldUpdater<Task, Object> DETAILS =
+			AtomicReferenceFieldUpdater.newUpdater(Task.class, Object.class, "taskDetails");
+
+	/** The title of the task, or null if it is kept in an arena */
     private String taskTitle;
 
     /** The duration of the task in minutes */
     private int taskDuration;
 
-    /** Additional details about the task */
-    private String taskDetails;
+    /**
+     * Additional details about the task as a String; a Supplier that loads
+     * them the first time they are needed; or the TaskArena holding both the
+     * title and the details
+     */
+    private volatile Object taskDetails;
     
     /** The category associated with the task */
     private CategoryLog category;
+    
+    /** The id of the task, or 0 if it has not been added to a project */
+    private long taskId;
+    
+    /** The handle of the task's record, if taskDetails is a TaskArena */
+    private volatile long arenaHandle;
+    
+    /** The number of times the task has moved to a new record in its arena */
+    private volatile int arenaVersion;
 
     
     /**
@@ -42,6 +74,49 @@ public class Task {
     		throw new IllegalArgumentException(ie.getMessage());
     	}
 	}
+    
+    /**
+     * Constructs a Task with the specified title and duration whose details are
+     * loaded by the given loader the first time they are needed. The loader must
+     * return non-empty details.
+     * 
+     * @param taskTitle the title of the task
+     * @param taskDuration the duration of the task in minutes
+     * @param detailsLoader loads the details of the task
+     * @throws IllegalArgumentException if any of the parameters are invalid
+     */
+    public Task(String taskTitle, int taskDuration, Supplier<String> detailsLoader) {
+    	if(detailsLoader == null) {
+    		throw new IllegalArgumentException("Incomplete task information.");
+    	}
+    	try {
+    		this.setTaskTitle(taskTitle);
+    		this.setTaskDuration(taskDuration);
+    	} catch(IllegalArgumentException ie) {
+    		throw new IllegalArgumentException(ie.getMessage());
+    	}
+    	this.taskDetails = detailsLoader;
+    }
+
+    /**
+     * Constructs a Task with the specified title, duration, and details whose
+     * title and details are stored in the given arena.
+     * 
+     * @param taskTitle the title of the task
+     * @param taskDuration the duration of the task in minutes
+     * @param taskDetails additional details about the task
+     * @param arena the arena to store the title and details in
+     * @throws IllegalArgumentException if any of the parameters are invalid
+     */
+    public Task(String taskTitle, int taskDuration, String taskDetails, TaskArena arena) {
+    	if(arena == null || taskTitle == null || taskTitle.isEmpty()
+    			|| taskDetails == null || taskDetails.isEmpty()) {
+    		throw new IllegalArgumentException("Incomplete task information.");
+    	}
+    	this.setTaskDuration(taskDuration);
+    	this.arenaHandle = arena.store(taskTitle, taskDetails);
+    	this.taskDetails = arena;
+    }
 
     /**
      * Gets the title of the task.
@@ -50,6 +125,9 @@ public class Task {
      */
 
     public String getTaskTitle() {
+    	if(taskDetails instanceof TaskArena) {
+    		return load(true);
+    	}
         return taskTitle;
     }
 
@@ -63,7 +141,21 @@ public class Task {
         if (taskTitle == null || taskTitle.isEmpty()) {
             throw new IllegalArgumentException("Incomplete task information.");
         }
-        this.taskTitle = taskTitle;
+        if(taskDetails instanceof TaskArena) {
+        	restore(taskTitle, load(false));
+        	return;
+        }
+        this.taskTitle = TITLE_POOL.intern(taskTitle);
+    }
+
+    /**
+     * Returns the pool task titles are interned in, so that readers can
+     * intern titles and category names before creating strings for them.
+     *
+     * @return the title pool
+     */
+    public static StringPool getTitlePool() {
+    	return TITLE_POOL;
     }
 
     /**
@@ -85,18 +177,64 @@ public class Task {
         if (taskDuration <=  0) {
             throw new IllegalArgumentException("Incomplete task information.");
         }
+        int oldDuration = this.taskDuration;
         this.taskDuration = taskDuration;
+        
+        //The category tells the other logs holding its tasks, such as the All Tasks log.
+        if(category != null && oldDuration != taskDuration) {
+        	category.taskDurationChanged(this, oldDuration, taskDuration);
+        }
+    }
+    
+    /**
+     * Gets the id of the task.
+     * 
+     * @return the id the task was given when it was added to a project, or 0 if it has none
+     */
+    public long getTaskId() {
+    	return taskId;
     }
     
- 
-
     /**
-     * Gets the details of the task.
+     * Sets the id of the task. Called by Project the first time the task is
+     * added, after which the id never changes.
+     * 
+     * @param taskId the id of the task
+     * @throws IllegalArgumentException if the id is not positive
+     * @throws IllegalStateException if the task already has an id
+     */
+    public void setTaskId(long taskId) {
+    	if(taskId <= 0) {
+    		throw new IllegalArgumentException("Invalid task id.");
+    	}
+    	if(this.taskId != 0) {
+    		throw new IllegalStateException("Task already has an id.");
+    	}
+    	this.taskId = taskId;
+    }
+    
+    /**
+     * Gets the details of the task, loading them first if they have not been
+     * loaded yet. Threads reading the details at once may each run the loader,
+     * but only the first swaps the loader for what it loaded, and details set
+     * while the loader ran are not overwritten.
      *
      * @return the details of the task
      */
+    @SuppressWarnings("unchecked")
     public String getTaskDetails() {
-        return taskDetails;
+    	Object details = taskDetails;
+    	if(details instanceof TaskArena) {
+    		return load(false);
+    	}
+    	if(details instanceof Supplier) {
+    		String loaded = ((Supplier<String>) details).get();
+    		if(DETAILS.compareAndSet(this, details, loaded)) {
+    			return loaded;
+    		}
+    		return getTaskDetails();
+    	}
+        return (String) details;
     }
 
     /**
@@ -109,9 +247,86 @@ public class Task {
         if (taskDetails == null || taskDetails.isEmpty()) {
             throw new IllegalArgumentException("Incomplete task information.");
         }
+        if(this.taskDetails instanceof TaskArena) {
+        	restore(load(true), taskDetails);
+        	return;
+        }
         this.taskDetails = taskDetails;
     }
     
+    /**
+     * Returns the loader of the task's details if they have not been loaded
+     * yet, so they can be kept without loading them.
+     *
+     * @return the loader of the details, or null if the details are loaded or kept in an arena
+     */
+    @SuppressWarnings("unchecked")
+    public Supplier<String> getTaskDetailsLoader() {
+    	Object details = taskDetails;
+    	if(details instanceof Supplier) {
+    		return (Supplier<String>) details;
+    	}
+    	return null;
+    }
+    
+    /**
+     * Sets the details of the task to be loaded by the given loader the first
+     * time they are needed, such as when an edit is undone before the old
+     * details were ever loaded. A task kept in an arena loads them at once.
+     *
+     * @param detailsLoader loads the details of the task
+     * @throws IllegalArgumentException if detailsLoader is null
+     */
+    public void setTaskDetails(Supplier<String> detailsLoader) {
+    	if(detailsLoader == null) {
+    		throw new IllegalArgumentException("Incomplete task information.");
+    	}
+    	if(taskDetails instanceof TaskArena) {
+    		setTaskDetails(detailsLoader.get());
+    		return;
+    	}
+    	this.taskDetails = detailsLoader;
+    }
+    
+    /**
+     * Loads the title or details from the task's record in its arena. The
+     * arena reuses released records, so if the task was edited while the
+     * record was read the read is repeated with the new handle. The handle
+     * alone cannot tell, since a later edit may move the task back onto the
+     * record it left, so the read is checked against the task's version,
+     * which every edit bumps before it releases the old record.
+     * 
+     * @param isTitle true to load the title, false to load the details
+     * @return the title or details
+     */
+    private String load(boolean isTitle) {
+    	TaskArena arena = (TaskArena) taskDetails;
+    	int version;
+    	String loaded;
+    	do {
+    		version = arenaVersion;
+    		long handle = arenaHandle;
+    		loaded = isTitle ? arena.loadTitle(handle) : arena.loadDetails(handle);
+    	} while(version != arenaVersion);
+    	return loaded;
+    }
+    
+    /**
+     * Replaces the task's record in its arena with one holding the given
+     * title and details, and releases the old record for reuse once the
+     * task's version shows that it has moved.
+     * 
+     * @param title the title of the task
+     * @param details the details of the task
+     */
+    private void restore(String title, String details) {
+    	TaskArena arena = (TaskArena) taskDetails;
+    	long oldHandle = arenaHandle;
+    	arenaHandle = arena.storeEdited(title, details);
+    	arenaVersion++;
+    	arena.release(oldHandle);
+    }
+    
     
     /**
      * Adds a category to the task.
@@ -131,6 +346,15 @@ public class Task {
     	
     }
     
+    /**
+     * Retrieves the category log the task belongs to.
+     * 
+     * @return the category log, or null if not set
+     */
+    public CategoryLog getCategory() {
+    	return category;
+    }
+    
     /**
      * Retrieves the name of the category.
      * 
@@ -151,8 +375,8 @@ public class Task {
     @Override
     public String toString() {
  
-        String returnStr = "* " + taskTitle + "," + taskDuration + "," + this.getCategoryName() + "\n"
-        		+ taskDetails;
+        String returnStr = "* " + getTaskTitle() + "," + taskDuration + "," + this.getCategoryName() + "\n"
+        		+ getTaskDetails();
         
         return returnStr;
     }
@@ -0,0 +1,304 @@
+package edu.ncsu.csc216.wolf_tracker.model.task;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Stores the titles and details of tasks outside the Java heap. Each task's
+ * strings are packed as UTF-8 into one record of a direct ByteBuffer chunk,
+ * and the task keeps only the handle of its record, so a project of millions
+ * of tasks holds no title or details strings for the garbage collector to
+ * trace.
+ *
+ * Editing a task's title or details replaces its record: the new record is
+ * written and the old one released for reuse. Released records are kept in
+ * free lists by size class, four classes to each power of two, and a record
+ * reuses a released one of its class or the class above before more of a
+ * chunk is taken. Records written by storeEdited are rounded up to the size
+ * of their class, so any released record of a class fits any later record of
+ * that class, and an edit-heavy session keeps reusing the same memory instead
+ * of growing; the rounding wastes less than a quarter of an edited record.
+ * Records written by store, such as those of a project being read, are not
+ * rounded. The chunks themselves are only freed when the arena and every task
+ * using it are no longer reachable.
+ *
+ * @author Priyanshu Dongre
+ */
+public class TaskArena {
+
+	/** The default size of a chunk in bytes */
+	public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+	/** The number of bytes before the strings of a record: its capacity and the two lengths */
+	private static final int RECORD_HEADER = 12;
+
+	/** The log2 of the number of size classes to each power of two */
+	private static final int CLASS_BITS = 2;
+
+	/** The number of size classes of released records */
+	private static final int SIZE_CLASSES = 32 << CLASS_BITS;
+
+	/** The size of a new chunk in bytes */
+	private final int chunkSize;
+
+	/** The chunks; only the first chunkCount are used, and the last is being filled */
+	private volatile ByteBuffer[] chunks;
+
+	/** The number of chunks in use */
+	private int chunkCount;
+
+	/** The number of bytes of records written */
+	private long usedBytes;
+
+	/** The number of bytes of released records not yet reused */
+	private long wastedBytes;
+
+	/** The handles of released records, a stack for each size class */
+	private final long[][] freeHandles = new long[SIZE_CLASSES][];
+
+	/** The number of handles in each stack of freeHandles */
+	private final int[] freeCounts = new int[SIZE_CLASSES];
+
+	/**
+	 * Constructs an empty arena with chunks of DEFAULT_CHUNK_SIZE bytes.
+	 */
+	public TaskArena() {
+		this(DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * Constructs an empty arena with chunks of the given size. A record larger
+	 * than a chunk gets a chunk of its own.
+	 *
+	 * @param chunkSize the size of a chunk in bytes
+	 * @throws IllegalArgumentException if chunkSize is less than a record header
+	 */
+	public TaskArena(int chunkSize) {
+		if(chunkSize < RECORD_HEADER) {
+			throw new IllegalArgumentException("Invalid chunk size.");
+		}
+		this.chunkSize = chunkSize;
+		chunks = new ByteBuffer[0];
+	}
+
+	/**
+	 * Stores a task's title and details and returns the handle of the record.
+	 * A released record large enough to hold them is reused if there is one.
+	 *
+	 * @param title the title of the task
+	 * @param details the details of the task
+	 * @return the handle of the stored record
+	 */
+	public synchronized long store(String title, String details) {
+		return write(title, details, false);
+	}
+
+	/**
+	 * Stores a task's edited title and details and returns the handle of the
+	 * record. New space is rounded up to the size of the record's class, so
+	 * that any later edit of the class can reuse the record once it is
+	 * released. The caller releases the task's old record after the task has
+	 * moved to the new one, so that no reader of the task is sent to a record
+	 * rewritten for another task.
+	 *
+	 * @param title the new title of the task
+	 * @param details the new details of the task
+	 * @return the handle of the stored record
+	 */
+	public synchronized long storeEdited(String title, String details) {
+		return write(title, details, true);
+	}
+
+	/**
+	 * Releases the record with the given handle, which is no longer used, so
+	 * that a later record can reuse it.
+	 *
+	 * @param handle the handle of the released record
+	 */
+	public synchronized void release(long handle) {
+		int capacity = chunk(handle).getInt((int) handle);
+		int sizeClass = sizeClass(capacity);
+		long[] stack = freeHandles[sizeClass];
+		if(stack == null) {
+			stack = new long[16];
+		} else if(freeCounts[sizeClass] == stack.length) {
+			stack = Arrays.copyOf(stack, stack.length * 2);
+		}
+		freeHandles[sizeClass] = stack;
+		stack[freeCounts[sizeClass]] = handle;
+		freeCounts[sizeClass]++;
+		wastedBytes += capacity;
+	}
+
+	/**
+	 * Returns the title stored in the record with the given handle. Loads are
+	 * synchronized with stores, since a released record may be rewritten.
+	 *
+	 * @param handle the handle of the record
+	 * @return the title
+	 */
+	public synchronized String loadTitle(long handle) {
+		ByteBuffer chunk = chunk(handle);
+		int offset = (int) handle;
+		return decode(chunk, offset + RECORD_HEADER, chunk.getInt(offset + 4));
+	}
+
+	/**
+	 * Returns the details stored in the record with the given handle.
+	 *
+	 * @param handle the handle of the record
+	 * @return the details
+	 */
+	public synchronized String loadDetails(long handle) {
+		ByteBuffer chunk = chunk(handle);
+		int offset = (int) handle;
+		int titleLength = chunk.getInt(offset + 4);
+		return decode(chunk, offset + RECORD_HEADER + titleLength, chunk.getInt(offset + 8));
+	}
+
+	/**
+	 * Returns the number of bytes of records written to the arena.
+	 *
+	 * @return the bytes used
+	 */
+	public synchronized long getUsedBytes() {
+		return usedBytes;
+	}
+
+	/**
+	 * Returns the number of bytes of released records not yet reused.
+	 *
+	 * @return the bytes no longer used
+	 */
+	public synchronized long getWastedBytes() {
+		return wastedBytes;
+	}
+
+	/**
+	 * Returns the number of bytes of off-heap memory allocated for chunks.
+	 *
+	 * @return the bytes allocated
+	 */
+	public synchronized long getAllocatedBytes() {
+		long allocated = 0;
+		for(int i = 0; i < chunkCount; i++) {
+			allocated += chunks[i].capacity();
+		}
+		return allocated;
+	}
+
+	/**
+	 * Writes a record into a released record that can hold it, or else into
+	 * new space at the end of the last chunk.
+	 *
+	 * @param title the title of the task
+	 * @param details the details of the task
+	 * @param isRounded true to round new space up to the size of its class
+	 * @return the handle of the record
+	 */
+	private long write(String title, String details, boolean isRounded) {
+		byte[] titleBytes = title.getBytes(StandardCharsets.UTF_8);
+		byte[] detailsBytes = details.getBytes(StandardCharsets.UTF_8);
+		int recordSize = RECORD_HEADER + titleBytes.length + detailsBytes.length;
+
+		long handle = takeReleased(recordSize);
+		if(handle < 0) {
+			int capacity = isRounded ? roundUp(recordSize) : recordSize;
+			ByteBuffer chunk = chunkCount == 0 ? null : chunks[chunkCount - 1];
+			if(chunk == null || chunk.capacity() - chunk.position() < capacity) {
+				chunk = ByteBuffer.allocateDirect(Math.max(chunkSize, capacity));
+				if(chunkCount == chunks.length) {
+					chunks = Arrays.copyOf(chunks, Math.max(4, chunkCount * 2));
+				}
+				chunks[chunkCount] = chunk;
+				chunkCount++;
+			}
+			handle = (long) (chunkCount - 1) << 32 | chunk.position();
+			chunk.position(chunk.position() + capacity);
+			chunk.putInt((int) handle, capacity);
+			usedBytes += capacity;
+		}
+		ByteBuffer chunk = chunk(handle);
+		int offset = (int) handle;
+		chunk.putInt(offset + 4, titleBytes.length);
+		chunk.putInt(offset + 8, detailsBytes.length);
+		chunk.put(offset + RECORD_HEADER, titleBytes);
+		chunk.put(offset + RECORD_HEADER + titleBytes.length, detailsBytes);
+		return handle;
+	}
+
+	/**
+	 * Removes and returns a released record that can hold a record of the
+	 * given size. Every released record of a class is at least as large as
+	 * the class, so only the top of the stack of the smallest class that is
+	 * large enough, and of the class above it, are looked at.
+	 *
+	 * @param recordSize the size of the record to store
+	 * @return the handle of the released record, or -1 if there is none
+	 */
+	private long takeReleased(int recordSize) {
+		int first = sizeClass(roundUp(recordSize));
+		for(int c = first; c <= first + 1 && c < SIZE_CLASSES; c++) {
+			int count = freeCounts[c];
+			if(count > 0) {
+				long handle = freeHandles[c][count - 1];
+				freeCounts[c] = count - 1;
+				wastedBytes -= chunk(handle).getInt((int) handle);
+				return handle;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Rounds a record size up to the size of the smallest class that holds it.
+	 *
+	 * @param size the size of the record in bytes
+	 * @return the rounded size
+	 */
+	private static int roundUp(int size) {
+		int step = Math.max(1, Integer.highestOneBit(size) >>> CLASS_BITS);
+		return (size + step - 1) & -step;
+	}
+
+	/**
+	 * Returns the size class of a record: the largest class no larger than
+	 * its capacity.
+	 *
+	 * @param capacity the capacity of the record in bytes
+	 * @return the size class
+	 */
+	private static int sizeClass(int capacity) {
+		int log = 31 - Integer.numberOfLeadingZeros(capacity);
+		if(log < CLASS_BITS) {
+			return capacity;
+		}
+		int step = 1 << (log - CLASS_BITS);
+		return (log << CLASS_BITS) + (capacity - (1 << log)) / step;
+	}
+
+	/**
+	 * Returns the chunk holding the record with the given handle.
+	 *
+	 * @param handle the handle of a record
+	 * @return the chunk of the record
+	 */
+	private ByteBuffer chunk(long handle) {
+		return chunks[(int) (handle >>> 32)];
+	}
+
+	/**
+	 * Decodes UTF-8 bytes from a chunk without moving its position.
+	 *
+	 * @param chunk the chunk
+	 * @param offset the position of the first byte
+	 * @param length the number of bytes
+	 * @return the decoded string
+	 */
+	private static String decode(ByteBuffer chunk, int offset, int length) {
+		byte[] bytes = new byte[length];
+		chunk.get(offset, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,982 @@
+package edu.ncsu.csc216.wolf_tracker.model.util;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A log list that many threads can append to at once without locking. The
+ * entries are kept in buckets that double in size, so a bucket is never
+ * copied once it is allocated. An appending thread reserves a position with a
+ * compare-and-set, allocates the bucket for it if no other thread has yet,
+ * and writes the entry. The entries become visible to readers in order: the
+ * size only moves past a position once the entry there has been written, and
+ * any thread that reads the size helps move it forward.
+ *
+ * Every other change (set, remove, bulk removal) is rare, so it is made by
+ * copying: the current store is sealed against further appends, the changed
+ * entries are copied into a new store, and the new store is published.
+ * Appends that meet a sealed store wait for the new one. Because a store never
+ * changes below its size, snapshot() gives a consistent, immutable view in
+ * constant time, and iterators are read from snapshots, so they never throw
+ * ConcurrentModificationException.
+ *
+ * Sub lists are views that write through to the list. Appends by other
+ * threads only add entries after every view, so a view stays usable while
+ * producers append; it fails fast once another removal or insertion moves
+ * the entries under it.
+ *
+ * @author Priyanshu Dongre
+ * @param <E> the type of elements in this log list
+ */
+public class ConcurrentLogList<E> implements ILogList<E> {
+
+	/** The log2 of the size of the first bucket */
+	private static final int FIRST_BUCKET_BITS = 4;
+
+	/** The number of buckets, enough for Integer.MAX_VALUE entries */
+	private static final int BUCKET_COUNT = 32 - FIRST_BUCKET_BITS;
+
+	/** The value of a store's reservation count once it has been sealed */
+	private static final int SEALED = -1;
+
+	/** The store appends currently go to */
+	private volatile Store store;
+
+	/** The number of removals and insertions, which move entries under sub lists */
+	private volatile int modCount;
+
+	/**
+	 * Constructs a new, empty ConcurrentLogList.
+	 */
+	public ConcurrentLogList() {
+		store = new Store();
+	}
+
+	/**
+	 * Appends a log entry without locking.
+	 *
+	 * @param element the log entry to add
+	 * @throws NullPointerException if the element is null
+	 * @throws IllegalStateException if the list is full
+	 */
+	@Override
+	public void addLog(E element) {
+		if(element == null) {
+			throw new NullPointerException("Cannot add null element.");
+		}
+		while(true) {
+			Store current = store;
+			int idx = current.reserved.get();
+			if(idx == SEALED) {
+				//A change is being copied into a new store.
+				Thread.onSpinWait();
+			} else if(idx == Integer.MAX_VALUE) {
+				throw new IllegalStateException("List is full.");
+			} else if(current.reserved.compareAndSet(idx, idx + 1)) {
+				current.put(idx, element);
+				current.publish();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Appends all of the given log entries. Each entry is appended on its own,
+	 * so entries from other threads may be appended between them.
+	 *
+	 * @param elements the log entries to add
+	 * @throws NullPointerException if elements is null or contains null
+	 */
+	@Override
+	public void addAll(ILogList<? extends E> elements) {
+		if(elements == null) {
+			throw new NullPointerException("Cannot add null element.");
+		}
+		for(E element : elements) {
+			addLog(element);
+		}
+	}
+
+	/**
+	 * Sets the log entry at the given index.
+	 *
+	 * @param idx the index of the log entry to replace
+	 * @param element the new log entry
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 * @throws NullPointerException if the element is null
+	 */
+	@Override
+	public void setLog(int idx, E element) {
+		if(element == null) {
+			throw new NullPointerException("Cannot add null element.");
+		}
+		synchronized(this) {
+			Object[] entries = seal();
+			try {
+				checkIndex(idx, entries.length);
+				entries[idx] = element;
+			} finally {
+				store = new Store(entries, entries.length);
+			}
+		}
+	}
+
+	/**
+	 * Removes the log entry at the given index.
+	 *
+	 * @param idx the index of the log entry to remove
+	 * @return the removed log entry
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	@Override
+	public E removeLog(int idx) {
+		synchronized(this) {
+			Object[] entries = seal();
+			int length = entries.length;
+			try {
+				checkIndex(idx, length);
+				E removed = cast(entries[idx]);
+				System.arraycopy(entries, idx + 1, entries, idx, length - idx - 1);
+				length--;
+				modCount++;
+				return removed;
+			} finally {
+				store = new Store(entries, length);
+			}
+		}
+	}
+
+	/**
+	 * Removes every log entry the filter accepts in a single pass.
+	 *
+	 * @param filter returns true for log entries to remove
+	 * @return the number of log entries removed
+	 * @throws NullPointerException if filter is null
+	 */
+	@Override
+	public int removeLogs(Predicate<? super E> filter) {
+		if(filter == null) {
+			throw new NullPointerException("Filter cannot be null.");
+		}
+		synchronized(this) {
+			Object[] entries = seal();
+			return removeIfBetween(entries, 0, entries.length, filter);
+		}
+	}
+
+	/**
+	 * Removes the log entries in [from, to).
+	 *
+	 * @param from the index of the first log entry to remove
+	 * @param to the index after the last log entry to remove
+	 * @throws IndexOutOfBoundsException if the range is invalid
+	 */
+	@Override
+	public void removeRange(int from, int to) {
+		synchronized(this) {
+			Object[] entries = seal();
+			int length = entries.length;
+			try {
+				checkRange(from, to, length);
+				System.arraycopy(entries, to, entries, from, length - to);
+				length -= to - from;
+				modCount++;
+			} finally {
+				store = new Store(entries, length);
+			}
+		}
+	}
+
+	/**
+	 * Allocates the buckets needed to hold the given number of log entries.
+	 *
+	 * @param capacity the number of log entries to make room for
+	 */
+	@Override
+	public void ensureCapacity(int capacity) {
+		if(capacity > 0) {
+			store.bucket(bucketOf(capacity - 1));
+		}
+	}
+
+	/**
+	 * Does nothing, since buckets are only allocated as they are needed.
+	 */
+	@Override
+	public void trimToSize() {
+		//Buckets are never over-allocated by more than the last one.
+	}
+
+	/**
+	 * Returns a view of the log entries in [from, to). Changes made through
+	 * the view are made to this list. Appends by other threads do not affect
+	 * the view, but any other removal or insertion makes it fail fast.
+	 *
+	 * @param from the index of the first log entry in the view
+	 * @param to the index after the last log entry in the view
+	 * @return a view of the range
+	 * @throws IndexOutOfBoundsException if the range is invalid
+	 */
+	@Override
+	public ILogList<E> subList(int from, int to) {
+		checkRange(from, to, size());
+		return new SubList(null, from, to - from);
+	}
+
+	/**
+	 * Returns the log entry at the given index.
+	 *
+	 * @param idx the index of the log entry
+	 * @return the log entry at idx
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	@Override
+	public E getLog(int idx) {
+		Store current = store;
+		checkIndex(idx, current.publish());
+		return cast(current.get(idx));
+	}
+
+	/**
+	 * Returns the number of log entries whose appends have completed.
+	 *
+	 * @return the size of the list
+	 */
+	@Override
+	public int size() {
+		return store.publish();
+	}
+
+	/**
+	 * Returns an iterator over a snapshot of the list.
+	 *
+	 * @return an iterator over the log entries at the time of the call
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return snapshot().iterator();
+	}
+
+	/**
+	 * Performs the action on each log entry of a snapshot of the list.
+	 *
+	 * @param action the action to perform
+	 */
+	@Override
+	public void forEach(Consumer<? super E> action) {
+		snapshot().forEach(action);
+	}
+
+	/**
+	 * Returns an immutable view of the list as it is now. Entries appended or
+	 * changes made afterwards are not seen by the snapshot.
+	 *
+	 * @return a snapshot of the list
+	 */
+	@Override
+	public ILogList<E> snapshot() {
+		Store current = store;
+		return new Snapshot(current, 0, current.publish());
+	}
+
+	/**
+	 * Seals the current store against appends, waits for appends already in
+	 * progress to finish, and copies out its entries. Called while holding the
+	 * lock that serializes changes other than appends; the caller must publish
+	 * a new store afterwards.
+	 *
+	 * @return the entries of the sealed store
+	 */
+	private Object[] seal() {
+		Store current = store;
+		int reserved = current.reserved.getAndSet(SEALED);
+		while(current.publish() < reserved) {
+			Thread.onSpinWait();
+		}
+		Object[] entries = new Object[reserved];
+		current.copyTo(entries, 0, reserved);
+		return entries;
+	}
+
+	/**
+	 * Inserts entries at the given index by copying the list into a new store.
+	 * Called while holding the lock that serializes changes other than
+	 * appends.
+	 *
+	 * @param idx the position of the first inserted entry
+	 * @param added the entries to insert
+	 */
+	private void insertAt(int idx, Object[] added) {
+		Object[] entries = seal();
+		Object[] grown = new Object[entries.length + added.length];
+		System.arraycopy(entries, 0, grown, 0, idx);
+		System.arraycopy(added, 0, grown, idx, added.length);
+		System.arraycopy(entries, idx, grown, idx + added.length, entries.length - idx);
+		modCount++;
+		store = new Store(grown, grown.length);
+	}
+
+	/**
+	 * Removes the sealed entries in [from, to) that the filter accepts and
+	 * publishes the rest as a new store. Called while holding the lock that
+	 * serializes changes other than appends, right after seal().
+	 *
+	 * @param entries the entries of the sealed store
+	 * @param from the index of the first entry to test
+	 * @param to the index after the last entry to test
+	 * @param filter returns true for entries to remove
+	 * @return the number of entries removed
+	 */
+	private int removeIfBetween(Object[] entries, int from, int to, Predicate<? super E> filter) {
+		int kept = from;
+		int i = from;
+		try {
+			for(; i < to; i++) {
+				if(!filter.test(cast(entries[i]))) {
+					entries[kept] = entries[i];
+					kept++;
+				}
+			}
+		} finally {
+			//If the filter throws, the entries it has not seen are kept.
+			System.arraycopy(entries, i, entries, kept, entries.length - i);
+			modCount++;
+			store = new Store(entries, kept + entries.length - i);
+		}
+		return i - kept;
+	}
+
+	/**
+	 * Returns the bucket holding the given index.
+	 *
+	 * @param idx the index
+	 * @return the bucket of idx
+	 */
+	private static int bucketOf(int idx) {
+		long position = (long) idx + (1L << FIRST_BUCKET_BITS);
+		return 63 - Long.numberOfLeadingZeros(position) - FIRST_BUCKET_BITS;
+	}
+
+	/**
+	 * Returns the offset of the given index in its bucket.
+	 *
+	 * @param idx the index
+	 * @param bucket the bucket of idx
+	 * @return the offset of idx in the bucket
+	 */
+	private static int offsetOf(int idx, int bucket) {
+		long position = (long) idx + (1L << FIRST_BUCKET_BITS);
+		return (int) (position - (1L << (bucket + FIRST_BUCKET_BITS)));
+	}
+
+	/**
+	 * Casts a stored entry back to the element type.
+	 *
+	 * @param entry the stored entry
+	 * @return the entry as an E
+	 */
+	@SuppressWarnings("unchecked")
+	private E cast(Object entry) {
+		return (E) entry;
+	}
+
+	/**
+	 * Checks that idx is an index of a list of the given size.
+	 *
+	 * @param idx the index to check
+	 * @param length the size of the list
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	private static void checkIndex(int idx, int length) {
+		if(idx < 0 || idx >= length) {
+			throw new IndexOutOfBoundsException("Invalid index.");
+		}
+	}
+
+	/**
+	 * Checks that [from, to) is a valid range of a list of the given size.
+	 *
+	 * @param from the start of the range
+	 * @param to the end of the range
+	 * @param length the size of the list
+	 * @throws IndexOutOfBoundsException if the range is invalid
+	 */
+	private static void checkRange(int from, int to, int length) {
+		if(from < 0 || to > length || from > to) {
+			throw new IndexOutOfBoundsException("Invalid index.");
+		}
+	}
+
+	/**
+	 * The entries of the list between two changes other than appends.
+	 *
+	 * @author Priyanshu Dongre
+	 */
+	private static class Store {
+
+		/** The buckets, allocated as they are first needed */
+		private final AtomicReferenceArray<AtomicReferenceArray<Object>> buckets;
+
+		/** The number of positions handed out to appends, or SEALED */
+		private final AtomicInteger reserved;
+
+		/** The number of leading positions whose entries have been written */
+		private final AtomicInteger published;
+
+		/**
+		 * Constructs an empty store.
+		 */
+		Store() {
+			buckets = new AtomicReferenceArray<>(BUCKET_COUNT);
+			reserved = new AtomicInteger();
+			published = new AtomicInteger();
+		}
+
+		/**
+		 * Constructs a store holding the first length of the given entries.
+		 *
+		 * @param entries the entries
+		 * @param length the number of entries to hold
+		 */
+		Store(Object[] entries, int length) {
+			this();
+			for(int i = 0; i < length; i++) {
+				put(i, entries[i]);
+			}
+			reserved.set(length);
+			published.set(length);
+		}
+
+		/**
+		 * Writes the entry at a reserved position.
+		 *
+		 * @param idx the position
+		 * @param entry the entry
+		 */
+		void put(int idx, Object entry) {
+			int b = bucketOf(idx);
+			bucket(b).set(offsetOf(idx, b), entry);
+		}
+
+		/**
+		 * Reads the entry at a published position.
+		 *
+		 * @param idx the position
+		 * @return the entry
+		 */
+		Object get(int idx) {
+			int b = bucketOf(idx);
+			return buckets.get(b).get(offsetOf(idx, b));
+		}
+
+		/**
+		 * Returns the given bucket, allocating it if no thread has yet.
+		 *
+		 * @param b the bucket
+		 * @return the bucket
+		 */
+		AtomicReferenceArray<Object> bucket(int b) {
+			AtomicReferenceArray<Object> bucket = buckets.get(b);
+			if(bucket == null) {
+				buckets.compareAndSet(b, null, new AtomicReferenceArray<>(1 << (b + FIRST_BUCKET_BITS)));
+				bucket = buckets.get(b);
+			}
+			return bucket;
+		}
+
+		/**
+		 * Moves the published count past every written entry that follows it.
+		 *
+		 * @return the published count
+		 */
+		int publish() {
+			while(true) {
+				int count = published.get();
+				if(count == Integer.MAX_VALUE) {
+					return count;
+				}
+				int b = bucketOf(count);
+				AtomicReferenceArray<Object> bucket = buckets.get(b);
+				if(bucket == null || bucket.get(offsetOf(count, b)) == null) {
+					return count;
+				}
+				published.compareAndSet(count, count + 1);
+			}
+		}
+
+		/**
+		 * Copies the published entries in [from, to) into the array.
+		 *
+		 * @param entries the array to copy into, from position 0
+		 * @param from the first position to copy
+		 * @param to the position after the last to copy
+		 */
+		void copyTo(Object[] entries, int from, int to) {
+			for(int i = from; i < to; i++) {
+				entries[i - from] = get(i);
+			}
+		}
+	}
+
+	/**
+	 * A view of a range of the list. Changes made through the view are made to
+	 * the list under the lock that serializes changes other than appends, and
+	 * the sizes of the enclosing views are kept in step.
+	 *
+	 * @author Priyanshu Dongre
+	 */
+	private class SubList implements ILogList<E> {
+
+		/** The view this view was taken from, or null if it was taken from the list */
+		private final SubList parent;
+
+		/** The position in the list of the first entry of the view */
+		private final int offset;
+
+		/** The number of entries in the view */
+		private int viewSize;
+
+		/** The modCount of the list when the view was last in step with it */
+		private int expectedModCount;
+
+		/**
+		 * Constructs a view of [offset, offset + viewSize) of the list.
+		 *
+		 * @param parent the enclosing view, or null
+		 * @param offset the position of the first entry
+		 * @param viewSize the number of entries
+		 */
+		SubList(SubList parent, int offset, int viewSize) {
+			this.parent = parent;
+			this.offset = offset;
+			this.viewSize = viewSize;
+			this.expectedModCount = modCount;
+		}
+
+		/**
+		 * Adds a log entry to the end of the view.
+		 *
+		 * @param element the log entry to add
+		 */
+		@Override
+		public void addLog(E element) {
+			if(element == null) {
+				throw new NullPointerException("Cannot add null element.");
+			}
+			synchronized(ConcurrentLogList.this) {
+				checkForComodification();
+				insertAt(offset + viewSize, new Object[] {element});
+				sizeChanged(1);
+			}
+		}
+
+		/**
+		 * Sets the log entry at the given index of the view.
+		 *
+		 * @param idx the index in the view
+		 * @param element the new log entry
+		 */
+		@Override
+		public void setLog(int idx, E element) {
+			if(element == null) {
+				throw new NullPointerException("Cannot add null element.");
+			}
+			synchronized(ConcurrentLogList.this) {
+				checkIndex(idx);
+				ConcurrentLogList.this.setLog(offset + idx, element);
+			}
+		}
+
+		/**
+		 * Removes the log entry at the given index of the view.
+		 *
+		 * @param idx the index in the view
+		 * @return the removed log entry
+		 */
+		@Override
+		public E removeLog(int idx) {
+			synchronized(ConcurrentLogList.this) {
+				checkIndex(idx);
+				E removed = ConcurrentLogList.this.removeLog(offset + idx);
+				sizeChanged(-1);
+				return removed;
+			}
+		}
+
+		/**
+		 * Removes every log entry of the view the filter accepts.
+		 *
+		 * @param filter returns true for log entries to remove
+		 * @return the number of log entries removed
+		 */
+		@Override
+		public int removeLogs(Predicate<? super E> filter) {
+			if(filter == null) {
+				throw new NullPointerException("Filter cannot be null.");
+			}
+			synchronized(ConcurrentLogList.this) {
+				checkForComodification();
+				int removed = removeIfBetween(seal(), offset, offset + viewSize, filter);
+				sizeChanged(-removed);
+				return removed;
+			}
+		}
+
+		/**
+		 * Adds all of the given log entries to the end of the view.
+		 *
+		 * @param elements the log entries to add
+		 */
+		@Override
+		public void addAll(ILogList<? extends E> elements) {
+			if(elements == null) {
+				throw new NullPointerException("Cannot add null element.");
+			}
+			Object[] added = new Object[elements.size()];
+			for(int i = 0; i < added.length; i++) {
+				added[i] = elements.getLog(i);
+				if(added[i] == null) {
+					throw new NullPointerException("Cannot add null element.");
+				}
+			}
+			synchronized(ConcurrentLogList.this) {
+				checkForComodification();
+				insertAt(offset + viewSize, added);
+				sizeChanged(added.length);
+			}
+		}
+
+		/**
+		 * Removes the log entries in [from, to) of the view.
+		 *
+		 * @param from the index of the first log entry to remove
+		 * @param to the index after the last log entry to remove
+		 */
+		@Override
+		public void removeRange(int from, int to) {
+			synchronized(ConcurrentLogList.this) {
+				checkForComodification();
+				checkRange(from, to, viewSize);
+				ConcurrentLogList.this.removeRange(offset + from, offset + to);
+				sizeChanged(from - to);
+			}
+		}
+
+		/**
+		 * Does nothing, since buckets are only allocated as they are needed.
+		 *
+		 * @param capacity ignored
+		 */
+		@Override
+		public void ensureCapacity(int capacity) {
+			//Buckets are allocated by appends to the list.
+		}
+
+		/**
+		 * Does nothing, since buckets are only allocated as they are needed.
+		 */
+		@Override
+		public void trimToSize() {
+			//Buckets are never over-allocated by more than the last one.
+		}
+
+		/**
+		 * Returns a view of the log entries in [from, to) of this view.
+		 *
+		 * @param from the index of the first log entry in the view
+		 * @param to the index after the last log entry in the view
+		 * @return a view of the range
+		 */
+		@Override
+		public ILogList<E> subList(int from, int to) {
+			checkForComodification();
+			checkRange(from, to, viewSize);
+			return new SubList(this, offset + from, to - from);
+		}
+
+		/**
+		 * Returns an immutable copy of the view in constant time.
+		 *
+		 * @return a snapshot of the view
+		 */
+		@Override
+		public ILogList<E> snapshot() {
+			synchronized(ConcurrentLogList.this) {
+				checkForComodification();
+				return new Snapshot(store, offset, viewSize);
+			}
+		}
+
+		/**
+		 * Returns the log entry at the given index of the view.
+		 *
+		 * @param idx the index in the view
+		 * @return the log entry
+		 */
+		@Override
+		public E getLog(int idx) {
+			checkIndex(idx);
+			return ConcurrentLogList.this.getLog(offset + idx);
+		}
+
+		/**
+		 * Returns the number of log entries in the view.
+		 *
+		 * @return the size of the view
+		 */
+		@Override
+		public int size() {
+			checkForComodification();
+			return viewSize;
+		}
+
+		/**
+		 * Returns an iterator over a snapshot of the view.
+		 *
+		 * @return an iterator over the view as it is now
+		 */
+		@Override
+		public Iterator<E> iterator() {
+			return snapshot().iterator();
+		}
+
+		/**
+		 * Checks that the list has not been removed from or inserted into
+		 * other than through this view.
+		 *
+		 * @throws ConcurrentModificationException if it has
+		 */
+		private void checkForComodification() {
+			if(modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+
+		/**
+		 * Adjusts the size of this view and every enclosing view.
+		 *
+		 * @param delta the change in size
+		 */
+		private void sizeChanged(int delta) {
+			for(SubList view = this; view != null; view = view.parent) {
+				view.viewSize += delta;
+				view.expectedModCount = modCount;
+			}
+		}
+
+		/**
+		 * Checks that idx is a position in the view.
+		 *
+		 * @param idx the index to check
+		 * @throws IndexOutOfBoundsException if idx is not in the view
+		 */
+		private void checkIndex(int idx) {
+			checkForComodification();
+			if(idx < 0 || idx >= viewSize) {
+				throw new IndexOutOfBoundsException("Invalid index.");
+			}
+		}
+	}
+
+	/**
+	 * An immutable view of a range of a store.
+	 *
+	 * @author Priyanshu Dongre
+	 */
+	private class Snapshot implements ILogList<E> {
+
+		/** The store the snapshot reads */
+		private final Store source;
+
+		/** The position in the store of the first entry of the snapshot */
+		private final int offset;
+
+		/** The number of entries in the snapshot */
+		private final int length;
+
+		/**
+		 * Constructs a snapshot of [offset, offset + length) of the store.
+		 *
+		 * @param source the store
+		 * @param offset the position of the first entry
+		 * @param length the number of entries
+		 */
+		Snapshot(Store source, int offset, int length) {
+			this.source = source;
+			this.offset = offset;
+			this.length = length;
+		}
+
+		/**
+		 * Returns the log entry at the given index of the snapshot.
+		 *
+		 * @param idx the index
+		 * @return the log entry
+		 */
+		@Override
+		public E getLog(int idx) {
+			checkIndex(idx, length);
+			return cast(source.get(offset + idx));
+		}
+
+		/**
+		 * Returns the number of log entries in the snapshot.
+		 *
+		 * @return the size of the snapshot
+		 */
+		@Override
+		public int size() {
+			return length;
+		}
+
+		/**
+		 * Returns a snapshot of [from, to) of this snapshot.
+		 *
+		 * @param from the index of the first log entry
+		 * @param to the index after the last log entry
+		 * @return the narrower snapshot
+		 */
+		@Override
+		public ILogList<E> subList(int from, int to) {
+			checkRange(from, to, length);
+			return new Snapshot(source, offset + from, to - from);
+		}
+
+		/**
+		 * Returns an iterator over the snapshot that walks the buckets.
+		 *
+		 * @return an iterator over the snapshot
+		 */
+		@Override
+		public Iterator<E> iterator() {
+			return new Iterator<E>() {
+
+				/** The index of the next entry */
+				private int cursor;
+
+				/**
+				 * Returns true if there are more entries.
+				 *
+				 * @return true if next() will return an entry
+				 */
+				@Override
+				public boolean hasNext() {
+					return cursor < length;
+				}
+
+				/**
+				 * Returns the next entry.
+				 *
+				 * @return the next entry
+				 * @throws NoSuchElementException if there are no more entries
+				 */
+				@Override
+				public E next() {
+					if(cursor >= length) {
+						throw new NoSuchElementException();
+					}
+					E element = cast(source.get(offset + cursor));
+					cursor++;
+					return element;
+				}
+			};
+		}
+
+		/**
+		 * Returns this snapshot, since it never changes.
+		 *
+		 * @return this snapshot
+		 */
+		@Override
+		public ILogList<E> snapshot() {
+			return this;
+		}
+
+		/**
+		 * Does nothing, since a snapshot holds no spare room.
+		 *
+		 * @param capacity ignored
+		 */
+		@Override
+		public void ensureCapacity(int capacity) {
+			//Nothing to do for an immutable view.
+		}
+
+		/**
+		 * Does nothing, since a snapshot holds no spare room.
+		 */
+		@Override
+		public void trimToSize() {
+			//Nothing to do for an immutable view.
+		}
+
+		/**
+		 * Throws, since a snapshot cannot be changed.
+		 *
+		 * @param element ignored
+		 */
+		@Override
+		public void addLog(E element) {
+			throw new UnsupportedOperationException("Snapshots cannot be changed.");
+		}
+
+		/**
+		 * Throws, since a snapshot cannot be changed.
+		 *
+		 * @param idx ignored
+		 * @param element ignored
+		 */
+		@Override
+		public void setLog(int idx, E element) {
+			throw new UnsupportedOperationException("Snapshots cannot be changed.");
+		}
+
+		/**
+		 * Throws, since a snapshot cannot be changed.
+		 *
+		 * @param idx ignored
+		 * @return never returns
+		 */
+		@Override
+		public E removeLog(int idx) {
+			throw new UnsupportedOperationException("Snapshots cannot be changed.");
+		}
+
+		/**
+		 * Throws, since a snapshot cannot be changed.
+		 *
+		 * @param filter ignored
+		 * @return never returns
+		 */
+		@Override
+		public int removeLogs(Predicate<? super E> filter) {
+			throw new UnsupportedOperationException("Snapshots cannot be changed.");
+		}
+
+		/**
+		 * Throws, since a snapshot cannot be changed.
+		 *
+		 * @param elements ignored
+		 */
+		@Override
+		public void addAll(ILogList<? extends E> elements) {
+			throw new UnsupportedOperationException("Snapshots cannot be changed.");
+		}
+
+		/**
+		 * Throws, since a snapshot cannot be changed.
+		 *
+		 * @param from ignored
+		 * @param to ignored
+		 */
+		@Override
+		public void removeRange(int from, int to) {
+			throw new UnsupportedOperationException("Snapshots cannot be changed.");
+		}
+	}
+}
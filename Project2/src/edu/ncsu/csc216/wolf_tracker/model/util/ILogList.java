@@ -1,11 +1,20 @@
 package edu.ncsu.csc216.wolf_tracker.model.util;
 
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * Interface for logged items.  Items are added to the end of the list.
- * Items may be edited (set) and removed.
+ * Items may be edited (set) and removed. Items can be iterated in order,
+ * and iterators fail fast if the list is added to or removed from other
+ * than through the iterator.
  * @param <E> type for ILogList
  */
-public interface ILogList<E> {
+public interface ILogList<E> extends Iterable<E> {
 	
 	/**
 	 * Adds the element to the end of the list.
@@ -35,6 +44,69 @@ public interface ILogList<E> {
 	 */
 	E removeLog(int idx);
 	
+	/**
+	 * Removes every log the filter accepts, keeping the order of the rest.
+	 * The filter is applied to each log exactly once, in list order.
+	 * @param filter returns true for logs to remove
+	 * @return number of logs removed
+	 * @throws NullPointerException if filter is null
+	 */
+	int removeLogs(Predicate<? super E> filter);
+	
+	/**
+	 * Adds all of the given elements to the end of the list, in order.
+	 * @param elements elements to add
+	 * @throws NullPointerException if elements is null or contains null
+	 */
+	void addAll(ILogList<? extends E> elements);
+	
+	/**
+	 * Removes the logs from index from, inclusive, to index to, exclusive.
+	 * @param from index of the first log to remove
+	 * @param to index after the last log to remove
+	 * @throws IndexOutOfBoundsException if from is negative, to is greater
+	 * 		than the size, or from is greater than to
+	 */
+	void removeRange(int from, int to);
+	
+	/**
+	 * Makes room for at least the given number of logs, so that adding up to
+	 * that many does not have to grow the list.
+	 * @param capacity number of logs to make room for
+	 */
+	void ensureCapacity(int capacity);
+	
+	/**
+	 * Releases any room held for logs beyond the current size.
+	 */
+	void trimToSize();
+	
+	/**
+	 * Returns a view of the logs from index from, inclusive, to index to,
+	 * exclusive. Changes made through the view are made to this list. The
+	 * view must not be used after this list is added to or removed from other
+	 * than through the view.
+	 * @param from index of the first log in the view
+	 * @param to index after the last log in the view
+	 * @return view of the given range of this list
+	 * @throws IndexOutOfBoundsException if from is negative, to is greater
+	 * 		than the size, or from is greater than to
+	 */
+	ILogList<E> subList(int from, int to);
+	
+	/**
+	 * Returns the logs as they are now, unaffected by later changes to this
+	 * list. The default copies the logs; lists that share structure between
+	 * versions return a snapshot in constant time.
+	 * @return snapshot of the list
+	 */
+	default ILogList<E> snapshot() {
+		LogList<E> copy = new LogList<>();
+		copy.ensureCapacity(size());
+		copy.addAll(this);
+		return copy;
+	}
+	
 	/**
 	 * Returns the log at the given index.
 	 * @param idx index of log to get
@@ -49,5 +121,39 @@ public interface ILogList<E> {
 	 * @return number of logged elements
 	 */
 	int size();
+	
+	/**
+	 * Returns an iterator over the logs in order. The iterator throws
+	 * ConcurrentModificationException if the list is added to or removed
+	 * from other than through the iterator.
+	 * @return iterator over the logs
+	 */
+	@Override
+	Iterator<E> iterator();
+	
+	/**
+	 * Returns a sized, ordered spliterator over the logs.
+	 * @return spliterator over the logs
+	 */
+	@Override
+	default Spliterator<E> spliterator() {
+		return Spliterators.spliterator(iterator(), size(), Spliterator.ORDERED | Spliterator.NONNULL);
+	}
+	
+	/**
+	 * Returns a sequential stream of the logs in order.
+	 * @return stream of the logs
+	 */
+	default Stream<E> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+	
+	/**
+	 * Returns a parallel stream of the logs.
+	 * @return parallel stream of the logs
+	 */
+	default Stream<E> parallelStream() {
+		return StreamSupport.stream(spliterator(), true);
+	}
 
 }
\ No newline at end of file
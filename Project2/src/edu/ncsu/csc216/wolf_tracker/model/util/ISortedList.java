@@ -1,14 +1,21 @@
 package edu.ncsu.csc216.wolf_tracker.model.util;
 
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * Interface for a list that keeps objects in sorted order as defined by the
- * Comparable interface.
+ * Comparable interface. Elements can be iterated in sorted order, and
+ * iterators fail fast if the list is changed while they are in use.
  * 
  * @author Dr. Sarah Heckman (sarah_heckman@ncsu.edu)
  * 
  * @param <E> type for ISortedList; must implement Comparable
  */
-public interface ISortedList<E extends Comparable<E>> {
+public interface ISortedList<E extends Comparable<E>> extends Iterable<E> {
 	
 	/**
 	 * Adds the element to the list in sorted order.
@@ -35,6 +42,14 @@ public interface ISortedList<E extends Comparable<E>> {
 	 */
 	boolean contains(E element);
 	
+	/**
+	 * Returns the index of the element in the list.
+	 * @param element element to search for
+	 * @return index of the element, or -1 if it is not in the list
+	 * @throws NullPointerException if element is null
+	 */
+	int indexOf(E element);
+	
 	/**
 	 * Returns the element at the given index.
 	 * @param idx index of the element to retrieve
@@ -49,5 +64,40 @@ public interface ISortedList<E extends Comparable<E>> {
 	 * @return number of elements in the list
 	 */
 	int size();
+	
+	/**
+	 * Returns an iterator over the elements in sorted order. The iterator
+	 * throws ConcurrentModificationException if the list is changed while
+	 * it is in use.
+	 * @return iterator over the elements
+	 */
+	@Override
+	Iterator<E> iterator();
+	
+	/**
+	 * Returns a sized, sorted spliterator over the elements.
+	 * @return spliterator over the elements
+	 */
+	@Override
+	default Spliterator<E> spliterator() {
+		return Spliterators.spliterator(iterator(), size(),
+				Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL);
+	}
+	
+	/**
+	 * Returns a sequential stream of the elements in sorted order.
+	 * @return stream of the elements
+	 */
+	default Stream<E> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+	
+	/**
+	 * Returns a parallel stream of the elements.
+	 * @return parallel stream of the elements
+	 */
+	default Stream<E> parallelStream() {
+		return StreamSupport.stream(spliterator(), true);
+	}
 
 }
\ No newline at end of file
@@ -1,8 +1,19 @@
 package edu.ncsu.csc216.wolf_tracker.model.util;
 
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
 /**
  * A class that implements a log list using a generic type.
  * This list is designed to store log entries of type E.
+ * Entries are kept in an array that grows by doubling, and bulk operations
+ * move entries with System.arraycopy. Iterators, spliterators and sub list
+ * views fail fast once the list is added to or removed from by anything else.
  * @author Priyanshu Dongre
  * @param <E> the type of elements in this log list
  */
@@ -14,6 +25,9 @@ public class LogList<E> implements ILogList<E> {
 	/** The current number of elements in the log list */
 	private int size;
 	
+	/** The number of times the log list has been added to or removed from */
+	private int modCount;
+	
 	 /** The initial capacity of the log list */
 	private static final int INIT_SIZE = 10;
 	
@@ -37,12 +51,10 @@ public class LogList<E> implements ILogList<E> {
 			throw new NullPointerException("Cannot add null element.");
 		}
 		
-		if(size == list.length) {
-			ensureCapacity(size);
-		}
-		
+		ensureCapacity(size + 1);
 		list[size] = element;
 		size++;
+		modCount++;
 		
 	}
 
@@ -67,12 +79,7 @@ public class LogList<E> implements ILogList<E> {
 			throw new IndexOutOfBoundsException("Invalid index.");
 		}
 		
-		for(int i = 0; i < size; i++) {
-			if(i == idx) {
-				list[i] = element;
-			}
-		}
-		
+		list[idx] = element;
 	}
 
 	/**
@@ -85,26 +92,93 @@ public class LogList<E> implements ILogList<E> {
 	@Override
 	public E removeLog(int idx) {
 		
-		if(size == 0) {
-			throw new IndexOutOfBoundsException("Invalid index.");
-		}
-		if(idx < 0 || idx > size) {
+		if(idx < 0 || idx >= size) {
 			throw new IndexOutOfBoundsException("Invalid index.");
 		}
 		
 		E currentElement = list[idx];
-		list[idx] = null;
-		if(idx == size - 1) {
-			size--;
-			return currentElement;
+		removeBetween(idx, idx + 1);
+		return currentElement;
+	}
+	
+	/**
+     * Removes every log entry the filter accepts in a single pass, moving each
+     * kept entry straight to its final position.
+     *
+     * @param filter returns true for log entries to remove
+     * @return the number of log entries removed
+     * @throws NullPointerException if filter is null
+     */
+	@Override
+	public int removeLogs(Predicate<? super E> filter) {
+		return removeIf(0, size, filter);
+	}
+	
+	/**
+     * Adds all of the given log entries to the end of the log list.
+     *
+     * @param elements the log entries to be added
+     * @throws NullPointerException if elements is null or contains null
+     */
+	@Override
+	public void addAll(ILogList<? extends E> elements) {
+		Object[] added = toArray(elements);
+		insert(size, added);
+	}
+	
+	/**
+     * Removes the log entries in [from, to) from the log list.
+     *
+     * @param from the index of the first log entry to remove
+     * @param to the index after the last log entry to remove
+     * @throws IndexOutOfBoundsException if from is negative, to is greater than size(), or from is greater than to
+     */
+	@Override
+	public void removeRange(int from, int to) {
+		checkRange(from, to, size);
+		removeBetween(from, to);
+	}
+	
+	/**
+     * Grows the backing array, if needed, so it can hold the given number of
+     * log entries. The array at least doubles when it grows.
+     *
+     * @param capacity the number of log entries to make room for
+     */
+	@Override
+	public void ensureCapacity(int capacity) {
+		if(capacity > list.length) {
+			int newCapacity = Math.max(capacity, Math.max(INIT_SIZE, list.length * 2));
+			if(newCapacity < 0) {
+				newCapacity = Integer.MAX_VALUE - 8;
+			}
+			list = Arrays.copyOf(list, newCapacity);
 		}
-		
-		for(int i = idx; i < size - 1; i++) {
-			E nextElement = list[i + 1];
-			list[i] = nextElement;
+	}
+	
+	/**
+     * Shrinks the backing array to the number of log entries.
+     */
+	@Override
+	public void trimToSize() {
+		if(size < list.length) {
+			list = Arrays.copyOf(list, size);
 		}
-		size--;
-		return currentElement;
+	}
+	
+	/**
+     * Returns a view of the log entries in [from, to) that reads and writes
+     * through to this log list.
+     *
+     * @param from the index of the first log entry in the view
+     * @param to the index after the last log entry in the view
+     * @return a view of the range
+     * @throws IndexOutOfBoundsException if from is negative, to is greater than size(), or from is greater than to
+     */
+	@Override
+	public ILogList<E> subList(int from, int to) {
+		checkRange(from, to, size);
+		return new SubList(null, from, to - from);
 	}
 
 	/**
@@ -118,7 +192,7 @@ public class LogList<E> implements ILogList<E> {
 	@Override
 	public E getLog(int idx) {
 		
-		if(idx < 0 || idx > size) {
+		if(idx < 0 || idx >= size) {
 			throw new IndexOutOfBoundsException("Invalid index.");
 		}
 		return list[idx];
@@ -135,17 +209,600 @@ public class LogList<E> implements ILogList<E> {
 		return size;
 	}
 	
-	@SuppressWarnings("unchecked")
-	private void ensureCapacity(int capacity) {
+	/**
+	 * Returns a fail-fast iterator over the log entries in order.
+	 * 
+	 * @return an iterator over the log entries
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return new Itr(this);
+	}
+	
+	/**
+	 * Performs the action on each log entry in order.
+	 * 
+	 * @param action the action to perform
+	 * @throws ConcurrentModificationException if the action adds or removes log entries
+	 */
+	@Override
+	public void forEach(Consumer<? super E> action) {
+		forEachBetween(0, size, action);
+	}
+	
+	/**
+	 * Returns a fail-fast spliterator over the log entries that splits the
+	 * backing array in halves.
+	 * 
+	 * @return a spliterator over the log entries
+	 */
+	@Override
+	public Spliterator<E> spliterator() {
+		return new LogSpliterator(0, size, modCount);
+	}
+	
+	/**
+	 * Performs the action on each entry in [from, to).
+	 * 
+	 * @param from the position of the first entry
+	 * @param to the position after the last entry
+	 * @param action the action to perform
+	 */
+	private void forEachBetween(int from, int to, Consumer<? super E> action) {
+		if(action == null) {
+			throw new NullPointerException("Action cannot be null.");
+		}
+		int expectedModCount = modCount;
+		E[] elements = list;
+		for(int i = from; i < to && modCount == expectedModCount; i++) {
+			action.accept(elements[i]);
+		}
+		if(modCount != expectedModCount) {
+			throw new ConcurrentModificationException();
+		}
+	}
+	
+	/**
+	 * Inserts the given entries at position at, shifting the entries after it up.
+	 * 
+	 * @param at the position to insert at
+	 * @param elements the entries to insert
+	 */
+	private void insert(int at, Object[] elements) {
+		ensureCapacity(size + elements.length);
+		System.arraycopy(list, at, list, at + elements.length, size - at);
+		System.arraycopy(elements, 0, list, at, elements.length);
+		size += elements.length;
+		modCount++;
+	}
+	
+	/**
+	 * Removes the entries in [from, to), shifting the entries after them down.
+	 * 
+	 * @param from the position of the first entry to remove
+	 * @param to the position after the last entry to remove
+	 */
+	private void removeBetween(int from, int to) {
+		System.arraycopy(list, to, list, from, size - to);
+		int newSize = size - (to - from);
+		Arrays.fill(list, newSize, size, null);
+		size = newSize;
+		modCount++;
+	}
+	
+	/**
+	 * Removes the entries in [from, to) the filter accepts in a single pass.
+	 * 
+	 * @param from the position of the first entry to test
+	 * @param to the position after the last entry to test
+	 * @param filter returns true for entries to remove
+	 * @return the number of entries removed
+	 */
+	private int removeIf(int from, int to, Predicate<? super E> filter) {
+		if(filter == null) {
+			throw new NullPointerException("Filter cannot be null.");
+		}
+		
+		int kept = from;
+		int i = from;
+		try {
+			for(; i < to; i++) {
+				E element = list[i];
+				if(!filter.test(element)) {
+					list[kept] = element;
+					kept++;
+				}
+			}
+		} finally {
+			//If the filter throws, the entries it has not seen are kept.
+			if(kept < i) {
+				removeBetween(kept, i);
+			}
+		}
+		return i - kept;
+	}
+	
+	/**
+	 * Copies the entries of the given list into a new array.
+	 * 
+	 * @param elements the list to copy
+	 * @return the entries of the list
+	 * @throws NullPointerException if elements is null or contains null
+	 */
+	private Object[] toArray(ILogList<? extends E> elements) {
+		if(elements == null) {
+			throw new NullPointerException("Cannot add null element.");
+		}
+		if(elements instanceof LogList) {
+			LogList<? extends E> other = (LogList<? extends E>) elements;
+			return Arrays.copyOf(other.list, other.size, Object[].class);
+		}
+		Object[] copy = new Object[elements.size()];
+		for(int i = 0; i < copy.length; i++) {
+			copy[i] = elements.getLog(i);
+			if(copy[i] == null) {
+				throw new NullPointerException("Cannot add null element.");
+			}
+		}
+		return copy;
+	}
+	
+	/**
+	 * Checks that [from, to) is a valid range of a list of the given size.
+	 * 
+	 * @param from the start of the range
+	 * @param to the end of the range
+	 * @param size the size of the list
+	 * @throws IndexOutOfBoundsException if the range is invalid
+	 */
+	private static void checkRange(int from, int to, int size) {
+		if(from < 0 || to > size || from > to) {
+			throw new IndexOutOfBoundsException("Invalid index.");
+		}
+	}
+	
+	/**
+	 * A view of a range of the log list. Changes made through the view are made
+	 * to the log list, and the sizes of the enclosing views are kept in step.
+	 * 
+	 * @author Priyanshu Dongre
+	 */
+	private class SubList implements ILogList<E> {
+		
+		/** The view this view was taken from, or null if it was taken from the log list */
+		private SubList parent;
+		
+		/** The position in the log list of the first entry of the view */
+		private int offset;
+		
+		/** The number of entries in the view */
+		private int viewSize;
+		
+		/** The modCount of the log list when the view was last in step with it */
+		private int expectedModCount;
+		
+		/**
+		 * Constructs a view of [offset, offset + viewSize) of the log list.
+		 * 
+		 * @param parent the enclosing view, or null
+		 * @param offset the position of the first entry
+		 * @param viewSize the number of entries
+		 */
+		SubList(SubList parent, int offset, int viewSize) {
+			this.parent = parent;
+			this.offset = offset;
+			this.viewSize = viewSize;
+			this.expectedModCount = modCount;
+		}
+		
+		/**
+		 * Adds a log entry to the end of the view.
+		 * 
+		 * @param element the log entry to add
+		 */
+		@Override
+		public void addLog(E element) {
+			checkForComodification();
+			if(element == null) {
+				throw new NullPointerException("Cannot add null element.");
+			}
+			insert(offset + viewSize, new Object[] {element});
+			sizeChanged(1);
+		}
+		
+		/**
+		 * Sets the log entry at the given index of the view.
+		 * 
+		 * @param idx the index in the view
+		 * @param element the new log entry
+		 */
+		@Override
+		public void setLog(int idx, E element) {
+			if(element == null) {
+				throw new NullPointerException("Cannot add null element.");
+			}
+			checkIndex(idx);
+			list[offset + idx] = element;
+		}
+		
+		/**
+		 * Removes the log entry at the given index of the view.
+		 * 
+		 * @param idx the index in the view
+		 * @return the removed log entry
+		 */
+		@Override
+		public E removeLog(int idx) {
+			checkIndex(idx);
+			E removed = list[offset + idx];
+			removeBetween(offset + idx, offset + idx + 1);
+			sizeChanged(-1);
+			return removed;
+		}
+		
+		/**
+		 * Removes every log entry of the view the filter accepts.
+		 * 
+		 * @param filter returns true for log entries to remove
+		 * @return the number of log entries removed
+		 */
+		@Override
+		public int removeLogs(Predicate<? super E> filter) {
+			checkForComodification();
+			int removed = removeIf(offset, offset + viewSize, filter);
+			sizeChanged(-removed);
+			return removed;
+		}
+		
+		/**
+		 * Adds all of the given log entries to the end of the view.
+		 * 
+		 * @param elements the log entries to add
+		 */
+		@Override
+		public void addAll(ILogList<? extends E> elements) {
+			checkForComodification();
+			Object[] added = toArray(elements);
+			insert(offset + viewSize, added);
+			sizeChanged(added.length);
+		}
+		
+		/**
+		 * Removes the log entries in [from, to) of the view.
+		 * 
+		 * @param from the index of the first log entry to remove
+		 * @param to the index after the last log entry to remove
+		 */
+		@Override
+		public void removeRange(int from, int to) {
+			checkForComodification();
+			checkRange(from, to, viewSize);
+			removeBetween(offset + from, offset + to);
+			sizeChanged(from - to);
+		}
+		
+		/**
+		 * Makes room in the log list for the view to hold the given number of log entries.
+		 * 
+		 * @param capacity the number of log entries to make room for
+		 */
+		@Override
+		public void ensureCapacity(int capacity) {
+			LogList.this.ensureCapacity(size - viewSize + capacity);
+		}
+		
+		/**
+		 * Shrinks the backing array of the log list to its size.
+		 */
+		@Override
+		public void trimToSize() {
+			LogList.this.trimToSize();
+		}
+		
+		/**
+		 * Returns a view of the log entries in [from, to) of this view.
+		 * 
+		 * @param from the index of the first log entry in the view
+		 * @param to the index after the last log entry in the view
+		 * @return a view of the range
+		 */
+		@Override
+		public ILogList<E> subList(int from, int to) {
+			checkForComodification();
+			checkRange(from, to, viewSize);
+			return new SubList(this, offset + from, to - from);
+		}
+		
+		/**
+		 * Returns the log entry at the given index of the view.
+		 * 
+		 * @param idx the index in the view
+		 * @return the log entry
+		 */
+		@Override
+		public E getLog(int idx) {
+			checkIndex(idx);
+			return list[offset + idx];
+		}
+		
+		/**
+		 * Returns the number of log entries in the view.
+		 * 
+		 * @return the size of the view
+		 */
+		@Override
+		public int size() {
+			checkForComodification();
+			return viewSize;
+		}
+		
+		/**
+		 * Returns a fail-fast iterator over the log entries of the view.
+		 * 
+		 * @return an iterator over the view
+		 */
+		@Override
+		public Iterator<E> iterator() {
+			checkForComodification();
+			return new Itr(this);
+		}
+		
+		/**
+		 * Performs the action on each log entry of the view in order.
+		 * 
+		 * @param action the action to perform
+		 */
+		@Override
+		public void forEach(Consumer<? super E> action) {
+			checkForComodification();
+			forEachBetween(offset, offset + viewSize, action);
+		}
+		
+		/**
+		 * Returns a fail-fast spliterator over the log entries of the view.
+		 * 
+		 * @return a spliterator over the view
+		 */
+		@Override
+		public Spliterator<E> spliterator() {
+			checkForComodification();
+			return new LogSpliterator(offset, offset + viewSize, modCount);
+		}
+		
+		/**
+		 * Checks that the log list has not been added to or removed from
+		 * other than through this view.
+		 * 
+		 * @throws ConcurrentModificationException if it has
+		 */
+		private void checkForComodification() {
+			if(modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+		
+		/**
+		 * Adjusts the size of this view and every enclosing view.
+		 * 
+		 * @param delta the change in size
+		 */
+		private void sizeChanged(int delta) {
+			for(SubList view = this; view != null; view = view.parent) {
+				view.viewSize += delta;
+				view.expectedModCount = modCount;
+			}
+		}
+		
+		/**
+		 * Checks that idx is a position in the view.
+		 * 
+		 * @param idx the index to check
+		 * @throws IndexOutOfBoundsException if idx is not in the view
+		 */
+		private void checkIndex(int idx) {
+			checkForComodification();
+			if(idx < 0 || idx >= viewSize) {
+				throw new IndexOutOfBoundsException("Invalid index.");
+			}
+		}
+	}
+	
+	/**
+	 * A fail-fast iterator over a log list or one of its views.
+	 * 
+	 * @author Priyanshu Dongre
+	 */
+	private class Itr implements Iterator<E> {
+		
+		/** The list or view being iterated */
+		private ILogList<E> owner;
 		
-		E[] tempList =  (E[]) new Object[capacity * 2];
+		/** The index of the next entry to return */
+		private int cursor;
 		
-		for(int i = 0; i < size; i++) {
-			tempList[i] = this.list[i];
+		/** The index of the last entry returned, or -1 if it was removed or none was returned */
+		private int lastReturned;
+		
+		/** The modCount of the log list the iterator expects */
+		private int expectedModCount;
+		
+		/**
+		 * Constructs an iterator over the given list or view.
+		 * 
+		 * @param owner the list or view to iterate
+		 */
+		Itr(ILogList<E> owner) {
+			this.owner = owner;
+			this.lastReturned = -1;
+			this.expectedModCount = modCount;
 		}
-		this.list = tempList;
 		
+		/**
+		 * Returns true if there are more entries.
+		 * 
+		 * @return true if next() will return an entry
+		 */
+		@Override
+		public boolean hasNext() {
+			return cursor < owner.size();
+		}
+		
+		/**
+		 * Returns the next entry.
+		 * 
+		 * @return the next entry
+		 * @throws NoSuchElementException if there are no more entries
+		 * @throws ConcurrentModificationException if the list was changed other than through the iterator
+		 */
+		@Override
+		public E next() {
+			checkForComodification();
+			if(cursor >= owner.size()) {
+				throw new NoSuchElementException();
+			}
+			lastReturned = cursor;
+			cursor++;
+			return owner.getLog(lastReturned);
+		}
+		
+		/**
+		 * Removes the entry last returned by next().
+		 * 
+		 * @throws IllegalStateException if next() has not been called since the last remove
+		 * @throws ConcurrentModificationException if the list was changed other than through the iterator
+		 */
+		@Override
+		public void remove() {
+			if(lastReturned < 0) {
+				throw new IllegalStateException();
+			}
+			checkForComodification();
+			owner.removeLog(lastReturned);
+			cursor = lastReturned;
+			lastReturned = -1;
+			expectedModCount = modCount;
+		}
+		
+		/**
+		 * Checks that the log list has only been changed through this iterator.
+		 * 
+		 * @throws ConcurrentModificationException if it has not
+		 */
+		private void checkForComodification() {
+			if(modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
 	}
 	
-
+	/**
+	 * A fail-fast spliterator over a range of the backing array that splits
+	 * the range in halves.
+	 * 
+	 * @author Priyanshu Dongre
+	 */
+	private class LogSpliterator implements Spliterator<E> {
+		
+		/** The position of the next entry */
+		private int index;
+		
+		/** The position after the last entry */
+		private int fence;
+		
+		/** The modCount of the log list the spliterator expects */
+		private int expectedModCount;
+		
+		/**
+		 * Constructs a spliterator over [index, fence).
+		 * 
+		 * @param index the position of the first entry
+		 * @param fence the position after the last entry
+		 * @param expectedModCount the modCount of the log list to expect
+		 */
+		LogSpliterator(int index, int fence, int expectedModCount) {
+			this.index = index;
+			this.fence = fence;
+			this.expectedModCount = expectedModCount;
+		}
+		
+		/**
+		 * Splits off the first half of the remaining entries.
+		 * 
+		 * @return a spliterator over the first half, or null if there are too few entries to split
+		 */
+		@Override
+		public Spliterator<E> trySplit() {
+			int mid = (index + fence) >>> 1;
+			if(index >= mid) {
+				return null;
+			}
+			LogSpliterator prefix = new LogSpliterator(index, mid, expectedModCount);
+			index = mid;
+			return prefix;
+		}
+		
+		/**
+		 * Performs the action on the next entry, if there is one.
+		 * 
+		 * @param action the action to perform
+		 * @return true if there was an entry
+		 */
+		@Override
+		public boolean tryAdvance(Consumer<? super E> action) {
+			if(action == null) {
+				throw new NullPointerException("Action cannot be null.");
+			}
+			if(index >= fence) {
+				return false;
+			}
+			E element = list[index];
+			index++;
+			action.accept(element);
+			if(modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			return true;
+		}
+		
+		/**
+		 * Performs the action on each remaining entry.
+		 * 
+		 * @param action the action to perform
+		 */
+		@Override
+		public void forEachRemaining(Consumer<? super E> action) {
+			if(action == null) {
+				throw new NullPointerException("Action cannot be null.");
+			}
+			E[] elements = list;
+			int end = fence;
+			for(int i = index; i < end; i++) {
+				action.accept(elements[i]);
+			}
+			index = end;
+			if(modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+		
+		/**
+		 * Returns the number of remaining entries.
+		 * 
+		 * @return the number of remaining entries
+		 */
+		@Override
+		public long estimateSize() {
+			return fence - index;
+		}
+		
+		/**
+		 * Returns the characteristics of the spliterator.
+		 * 
+		 * @return ORDERED, SIZED, SUBSIZED and NONNULL
+		 */
+		@Override
+		public int characteristics() {
+			return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+		}
+	}
 }
@@ -0,0 +1,1202 @@
+package edu.ncsu.csc216.wolf_tracker.model.util;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A log list kept in a bit-partitioned trie with structural sharing, so that
+ * snapshot() returns an immutable copy of the list in constant time.
+ *
+ * The entries are held in leaves of 32, under interior nodes of 32 children,
+ * with the last partial leaf kept apart as the tail so that appends rarely
+ * touch the trie. Every node records the edit it was made in. A change makes
+ * in place any node made since the last snapshot, and copies any older node on
+ * its way, so after a snapshot the list only allocates the paths it changes:
+ * memory grows with the changes since the snapshot, not with the list.
+ *
+ * Appends and gets take time proportional to the depth of the trie, which is
+ * at most seven levels. Removing an entry rebuilds the entries after it, and
+ * shares every full leaf before it.
+ *
+ * Changes and snapshot() synchronize on the list, so any thread may take a
+ * snapshot while another changes the list: the new edit is handed to the
+ * writer under the lock, so no node shared with the snapshot is changed
+ * again, and the snapshot can be read from any thread without locking.
+ * Reading the list itself while another thread changes it is not safe.
+ *
+ * @author Priyanshu Dongre
+ * @param <E> the type of elements in this log list
+ */
+public class PersistentLogList<E> implements ILogList<E> {
+
+	/** The number of index bits taken at each level of the trie */
+	private static final int BITS = 5;
+
+	/** The number of children of a node, and of entries in a leaf */
+	private static final int WIDTH = 1 << BITS;
+
+	/** The mask for the index bits of one level */
+	private static final int MASK = WIDTH - 1;
+
+	/** The root of the trie, holding every entry before the tail */
+	private Node root;
+
+	/** The number of index bits above the leaves */
+	private int shift;
+
+	/** The last, partial leaf */
+	private Object[] tail;
+
+	/** The edit the tail was made in */
+	private Object tailEdit;
+
+	/** The number of entries */
+	private int size;
+
+	/** The current edit; nodes made in it may be changed in place */
+	private Object edit;
+
+	/** The number of structural changes, for fail-fast iteration */
+	private int modCount;
+
+	/**
+	 * Constructs a new, empty PersistentLogList.
+	 */
+	public PersistentLogList() {
+		clear();
+	}
+
+	/**
+	 * Adds a log entry to the end of the list.
+	 *
+	 * @param element the log entry to add
+	 * @throws NullPointerException if the element is null
+	 */
+	@Override
+	public synchronized void addLog(E element) {
+		if(element == null) {
+			throw new NullPointerException("Cannot add null element.");
+		}
+		append(element);
+		modCount++;
+	}
+
+	/**
+	 * Sets the log entry at the given index, copying the path to it if it is
+	 * shared with a snapshot.
+	 *
+	 * @param idx the index of the log entry to replace
+	 * @param element the new log entry
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 * @throws NullPointerException if the element is null
+	 */
+	@Override
+	public synchronized void setLog(int idx, E element) {
+		if(element == null) {
+			throw new NullPointerException("Cannot add null element.");
+		}
+		checkIndex(idx, size);
+		if(idx >= tailOffset()) {
+			editableTail()[idx & MASK] = element;
+		} else {
+			root = set(shift, root, idx, element);
+		}
+	}
+
+	/**
+	 * Removes the log entry at the given index.
+	 *
+	 * @param idx the index of the log entry to remove
+	 * @return the removed log entry
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	@Override
+	public synchronized E removeLog(int idx) {
+		checkIndex(idx, size);
+		E removed = getLog(idx);
+		removeBetween(idx, idx + 1);
+		return removed;
+	}
+
+	/**
+	 * Removes every log entry the filter accepts. The entries before the first
+	 * one removed keep their leaves.
+	 *
+	 * @param filter returns true for log entries to remove
+	 * @return the number of log entries removed
+	 * @throws NullPointerException if filter is null
+	 */
+	@Override
+	public synchronized int removeLogs(Predicate<? super E> filter) {
+		if(filter == null) {
+			throw new NullPointerException("Filter cannot be null.");
+		}
+		return removeIfBetween(0, size, filter);
+	}
+
+	/**
+	 * Adds all of the given log entries to the end of the list.
+	 *
+	 * @param elements the log entries to add
+	 * @throws NullPointerException if elements is null or contains null
+	 */
+	@Override
+	public synchronized void addAll(ILogList<? extends E> elements) {
+		if(elements == null) {
+			throw new NullPointerException("Cannot add null element.");
+		}
+		int count = elements.size();
+		for(int i = 0; i < count; i++) {
+			addLog(elements.getLog(i));
+		}
+	}
+
+	/**
+	 * Removes the log entries in [from, to).
+	 *
+	 * @param from the index of the first log entry to remove
+	 * @param to the index after the last log entry to remove
+	 * @throws IndexOutOfBoundsException if the range is invalid
+	 */
+	@Override
+	public synchronized void removeRange(int from, int to) {
+		checkRange(from, to, size);
+		removeBetween(from, to);
+	}
+
+	/**
+	 * Does nothing, since the trie grows a leaf at a time.
+	 *
+	 * @param capacity ignored
+	 */
+	@Override
+	public void ensureCapacity(int capacity) {
+		//Leaves are allocated as they are needed.
+	}
+
+	/**
+	 * Does nothing, since the trie holds no more than one partial leaf.
+	 */
+	@Override
+	public void trimToSize() {
+		//Only the tail can have unused room.
+	}
+
+	/**
+	 * Returns a view of the log entries in [from, to). Changes made through
+	 * the view are made to this list.
+	 *
+	 * @param from the index of the first log entry in the view
+	 * @param to the index after the last log entry in the view
+	 * @return a view of the range
+	 * @throws IndexOutOfBoundsException if the range is invalid
+	 */
+	@Override
+	public ILogList<E> subList(int from, int to) {
+		checkRange(from, to, size);
+		return new SubList(null, from, to - from);
+	}
+
+	/**
+	 * Returns an immutable copy of the list in constant time. Later changes
+	 * to this list copy the nodes they touch instead of changing them, so the
+	 * snapshot stays as it is. Safe to call from any thread.
+	 *
+	 * @return a snapshot of the list
+	 */
+	@Override
+	public synchronized ILogList<E> snapshot() {
+		edit = new Object();
+		return new Snapshot<>(root, shift, tail, tailOffset(), 0, size);
+	}
+
+	/**
+	 * Returns the log entry at the given index.
+	 *
+	 * @param idx the index of the log entry
+	 * @return the log entry at idx
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	@Override
+	public E getLog(int idx) {
+		checkIndex(idx, size);
+		return cast(leafFor(root, shift, tail, tailOffset(), idx)[idx & MASK]);
+	}
+
+	/**
+	 * Returns the number of log entries.
+	 *
+	 * @return the size of the list
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns an iterator that fails fast if the list is changed other than
+	 * through the iterator.
+	 *
+	 * @return an iterator over the log entries
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return new Itr();
+	}
+
+	/**
+	 * Performs the action on each log entry, a leaf at a time.
+	 *
+	 * @param action the action to perform
+	 * @throws ConcurrentModificationException if the action changes the list
+	 */
+	@Override
+	public void forEach(Consumer<? super E> action) {
+		int expectedModCount = modCount;
+		int offset = tailOffset();
+		for(int start = 0; start < size; start += WIDTH) {
+			Object[] leaf = leafFor(root, shift, tail, offset, start);
+			int end = Math.min(WIDTH, size - start);
+			for(int i = 0; i < end; i++) {
+				action.accept(cast(leaf[i]));
+				if(modCount != expectedModCount) {
+					throw new ConcurrentModificationException();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Puts entries into the list starting at idx, moving the entries after
+	 * them up.
+	 *
+	 * @param idx the position of the first new entry
+	 * @param entries the entries to insert
+	 */
+	private synchronized void insertAt(int idx, Object[] entries) {
+		if(entries.length == 0) {
+			return;
+		}
+		Object[] rest = toArray(idx, size);
+		if(idx < size) {
+			truncate(idx);
+		}
+		for(Object entry : entries) {
+			append(entry);
+		}
+		for(Object entry : rest) {
+			append(entry);
+		}
+		modCount++;
+	}
+
+	/**
+	 * Removes the entries in [from, to), rebuilding the entries after them.
+	 *
+	 * @param from the index of the first entry to remove
+	 * @param to the index after the last entry to remove
+	 */
+	private synchronized void removeBetween(int from, int to) {
+		if(from == to) {
+			return;
+		}
+		Object[] rest = toArray(to, size);
+		truncate(from);
+		for(Object entry : rest) {
+			append(entry);
+		}
+		modCount++;
+	}
+
+	/**
+	 * Removes the entries in [from, to) the filter accepts. The entries before
+	 * the first one removed keep their leaves.
+	 *
+	 * @param from the index of the first entry to test
+	 * @param to the index after the last entry to test
+	 * @param filter returns true for entries to remove
+	 * @return the number of entries removed
+	 */
+	private synchronized int removeIfBetween(int from, int to, Predicate<? super E> filter) {
+		int first = from;
+		while(first < to && !filter.test(getLog(first))) {
+			first++;
+		}
+		if(first == to) {
+			return 0;
+		}
+		Object[] rest = toArray(first + 1, size);
+		int tested = to - first - 1;
+		int oldSize = size;
+		truncate(first);
+		int i = 0;
+		try {
+			for(; i < tested; i++) {
+				E entry = cast(rest[i]);
+				if(!filter.test(entry)) {
+					append(entry);
+				}
+			}
+		} finally {
+			//If the filter throws, the entries it has not seen are kept.
+			for(int j = i; j < rest.length; j++) {
+				append(rest[j]);
+			}
+			modCount++;
+		}
+		return oldSize - size;
+	}
+
+	/**
+	 * Appends an entry without counting it as a change.
+	 *
+	 * @param entry the entry to append
+	 */
+	private void append(Object entry) {
+		if(size - tailOffset() < WIDTH) {
+			editableTail()[size - tailOffset()] = entry;
+		} else {
+			pushTail();
+			tail = new Object[WIDTH];
+			tailEdit = edit;
+			tail[0] = entry;
+		}
+		size++;
+	}
+
+	/**
+	 * Moves the full tail into the trie as a leaf, adding a level above the
+	 * root if the trie is full.
+	 */
+	private void pushTail() {
+		Node leaf = new Node(tailEdit, tail);
+		if((size >>> BITS) > (1 << shift)) {
+			Node newRoot = new Node(edit, new Object[WIDTH]);
+			newRoot.array[0] = root;
+			newRoot.array[1] = newPath(shift, leaf);
+			root = newRoot;
+			shift += BITS;
+		} else {
+			root = pushLeaf(shift, root, leaf);
+		}
+	}
+
+	/**
+	 * Places a leaf at position size - 1 under the given node.
+	 *
+	 * @param level the index bits above the node's children
+	 * @param parent the node
+	 * @param leaf the leaf to place
+	 * @return the node, or its copy if it could not be changed in place
+	 */
+	private Node pushLeaf(int level, Node parent, Node leaf) {
+		Node node = editable(parent);
+		int child = ((size - 1) >>> level) & MASK;
+		if(level == BITS) {
+			node.array[child] = leaf;
+		} else if(node.array[child] != null) {
+			node.array[child] = pushLeaf(level - BITS, (Node) node.array[child], leaf);
+		} else {
+			node.array[child] = newPath(level - BITS, leaf);
+		}
+		return node;
+	}
+
+	/**
+	 * Returns a chain of new nodes from the given level down to the leaf.
+	 *
+	 * @param level the index bits above the top node's children
+	 * @param leaf the leaf at the bottom
+	 * @return the top node of the chain
+	 */
+	private Node newPath(int level, Node leaf) {
+		if(level == 0) {
+			return leaf;
+		}
+		Node node = new Node(edit, new Object[WIDTH]);
+		node.array[0] = newPath(level - BITS, leaf);
+		return node;
+	}
+
+	/**
+	 * Sets the entry at idx under the given node.
+	 *
+	 * @param level the index bits above the node's children
+	 * @param node the node
+	 * @param idx the index of the entry
+	 * @param entry the new entry
+	 * @return the node, or its copy if it could not be changed in place
+	 */
+	private Node set(int level, Node node, int idx, Object entry) {
+		Node copy = editable(node);
+		if(level == 0) {
+			copy.array[idx & MASK] = entry;
+		} else {
+			int child = (idx >>> level) & MASK;
+			copy.array[child] = set(level - BITS, (Node) copy.array[child], idx, entry);
+		}
+		return copy;
+	}
+
+	/**
+	 * Shortens the list to its first newSize entries, keeping every full leaf
+	 * before the cut in place.
+	 *
+	 * @param newSize the new size
+	 */
+	private void truncate(int newSize) {
+		int offset = tailOffset();
+		//The tail is never left empty while the trie holds entries.
+		if(newSize > offset || offset == 0) {
+			Arrays.fill(editableTail(), newSize - offset, size - offset, null);
+			size = newSize;
+			return;
+		}
+		Node oldRoot = root;
+		int oldShift = shift;
+		Object[] oldTail = tail;
+		clear();
+		if(newSize == 0) {
+			return;
+		}
+		int lastStart = (newSize - 1) & ~MASK;
+		for(int start = 0; start < lastStart; start += WIDTH) {
+			if(size > 0) {
+				pushTail();
+			}
+			//The leaf's edit is unknown here, so it is treated as shared.
+			tail = leafFor(oldRoot, oldShift, oldTail, offset, start);
+			tailEdit = null;
+			size += WIDTH;
+		}
+		if(size > 0) {
+			pushTail();
+		}
+		tail = Arrays.copyOf(leafFor(oldRoot, oldShift, oldTail, offset, lastStart), WIDTH);
+		Arrays.fill(tail, newSize - lastStart, WIDTH, null);
+		tailEdit = edit;
+		size = newSize;
+	}
+
+	/**
+	 * Empties the list and starts a new edit.
+	 */
+	private void clear() {
+		edit = new Object();
+		root = new Node(edit, new Object[WIDTH]);
+		shift = BITS;
+		tail = new Object[WIDTH];
+		tailEdit = edit;
+		size = 0;
+	}
+
+	/**
+	 * Returns the tail, copying it first if it is shared with a snapshot.
+	 *
+	 * @return a tail that may be changed in place
+	 */
+	private Object[] editableTail() {
+		if(tailEdit != edit) {
+			tail = tail.clone();
+			tailEdit = edit;
+		}
+		return tail;
+	}
+
+	/**
+	 * Returns the node if it was made in the current edit, or else a copy of
+	 * it made in the current edit.
+	 *
+	 * @param node the node
+	 * @return a node that may be changed in place
+	 */
+	private Node editable(Node node) {
+		if(node.edit == edit) {
+			return node;
+		}
+		return new Node(edit, node.array.clone());
+	}
+
+	/**
+	 * Returns the index of the first entry in the tail.
+	 *
+	 * @return the tail offset
+	 */
+	private int tailOffset() {
+		return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+	}
+
+	/**
+	 * Copies the entries in [from, to) into a new array.
+	 *
+	 * @param from the index of the first entry
+	 * @param to the index after the last entry
+	 * @return the entries
+	 */
+	private Object[] toArray(int from, int to) {
+		Object[] entries = new Object[to - from];
+		for(int i = from; i < to; i++) {
+			entries[i - from] = getLog(i);
+		}
+		return entries;
+	}
+
+	/**
+	 * Returns the leaf array holding the entry at idx of a trie.
+	 *
+	 * @param root the root of the trie
+	 * @param shift the index bits above the leaves
+	 * @param tail the tail of the trie
+	 * @param tailOffset the index of the first entry in the tail
+	 * @param idx the index of the entry
+	 * @return the leaf holding the entry
+	 */
+	private static Object[] leafFor(Node root, int shift, Object[] tail, int tailOffset, int idx) {
+		if(idx >= tailOffset) {
+			return tail;
+		}
+		Node node = root;
+		for(int level = shift; level > 0; level -= BITS) {
+			node = (Node) node.array[(idx >>> level) & MASK];
+		}
+		return node.array;
+	}
+
+	/**
+	 * Casts a stored entry back to the element type.
+	 *
+	 * @param <T> the element type
+	 * @param entry the stored entry
+	 * @return the entry as a T
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> T cast(Object entry) {
+		return (T) entry;
+	}
+
+	/**
+	 * Checks that idx is an index of a list of the given size.
+	 *
+	 * @param idx the index to check
+	 * @param length the size of the list
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	private static void checkIndex(int idx, int length) {
+		if(idx < 0 || idx >= length) {
+			throw new IndexOutOfBoundsException("Invalid index.");
+		}
+	}
+
+	/**
+	 * Checks that [from, to) is a valid range of a list of the given size.
+	 *
+	 * @param from the start of the range
+	 * @param to the end of the range
+	 * @param length the size of the list
+	 * @throws IndexOutOfBoundsException if the range is invalid
+	 */
+	private static void checkRange(int from, int to, int length) {
+		if(from < 0 || to > length || from > to) {
+			throw new IndexOutOfBoundsException("Invalid index.");
+		}
+	}
+
+	/**
+	 * A node of the trie: an interior node holding child nodes, or a leaf
+	 * holding entries.
+	 *
+	 * @author Priyanshu Dongre
+	 */
+	private static class Node {
+
+		/** The edit the node was made in */
+		private final Object edit;
+
+		/** The children or entries of the node */
+		private final Object[] array;
+
+		/**
+		 * Constructs a node.
+		 *
+		 * @param edit the edit the node is made in
+		 * @param array the children or entries of the node
+		 */
+		Node(Object edit, Object[] array) {
+			this.edit = edit;
+			this.array = array;
+		}
+	}
+
+	/**
+	 * An iterator over the list that fails fast.
+	 *
+	 * @author Priyanshu Dongre
+	 */
+	private class Itr implements Iterator<E> {
+
+		/** The index of the next entry */
+		private int cursor;
+
+		/** The index of the entry last returned, or -1 */
+		private int lastReturned = -1;
+
+		/** The modCount the iterator expects */
+		private int expectedModCount = modCount;
+
+		/**
+		 * Returns true if there are more entries.
+		 *
+		 * @return true if next() will return an entry
+		 */
+		@Override
+		public boolean hasNext() {
+			return cursor < size;
+		}
+
+		/**
+		 * Returns the next entry.
+		 *
+		 * @return the next entry
+		 * @throws NoSuchElementException if there are no more entries
+		 * @throws ConcurrentModificationException if the list was changed
+		 */
+		@Override
+		public E next() {
+			checkForComodification();
+			if(cursor >= size) {
+				throw new NoSuchElementException();
+			}
+			lastReturned = cursor;
+			cursor++;
+			return getLog(lastReturned);
+		}
+
+		/**
+		 * Removes the entry last returned by next().
+		 *
+		 * @throws IllegalStateException if next() has not been called since
+		 * 		the last remove()
+		 * @throws ConcurrentModificationException if the list was changed
+		 */
+		@Override
+		public void remove() {
+			if(lastReturned < 0) {
+				throw new IllegalStateException();
+			}
+			checkForComodification();
+			removeLog(lastReturned);
+			cursor = lastReturned;
+			lastReturned = -1;
+			expectedModCount = modCount;
+		}
+
+		/**
+		 * Checks that the list has not been changed other than through this
+		 * iterator.
+		 *
+		 * @throws ConcurrentModificationException if the list was changed
+		 */
+		private void checkForComodification() {
+			if(modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+	}
+
+	/**
+	 * A view of a range of the list. Changes made through the view are made to
+	 * the list, and the sizes of the enclosing views are kept in step.
+	 *
+	 * @author Priyanshu Dongre
+	 */
+	private class SubList implements ILogList<E> {
+
+		/** The view this view was taken from, or null if it was taken from the list */
+		private final SubList parent;
+
+		/** The position in the list of the first entry of the view */
+		private final int offset;
+
+		/** The number of entries in the view */
+		private int viewSize;
+
+		/** The modCount of the list when the view was last in step with it */
+		private int expectedModCount;
+
+		/**
+		 * Constructs a view of [offset, offset + viewSize) of the list.
+		 *
+		 * @param parent the enclosing view, or null
+		 * @param offset the position of the first entry
+		 * @param viewSize the number of entries
+		 */
+		SubList(SubList parent, int offset, int viewSize) {
+			this.parent = parent;
+			this.offset = offset;
+			this.viewSize = viewSize;
+			this.expectedModCount = modCount;
+		}
+
+		/**
+		 * Adds a log entry to the end of the view.
+		 *
+		 * @param element the log entry to add
+		 */
+		@Override
+		public void addLog(E element) {
+			checkForComodification();
+			if(element == null) {
+				throw new NullPointerException("Cannot add null element.");
+			}
+			insertAt(offset + viewSize, new Object[] {element});
+			sizeChanged(1);
+		}
+
+		/**
+		 * Sets the log entry at the given index of the view.
+		 *
+		 * @param idx the index in the view
+		 * @param element the new log entry
+		 */
+		@Override
+		public void setLog(int idx, E element) {
+			if(element == null) {
+				throw new NullPointerException("Cannot add null element.");
+			}
+			checkIndex(idx);
+			PersistentLogList.this.setLog(offset + idx, element);
+		}
+
+		/**
+		 * Removes the log entry at the given index of the view.
+		 *
+		 * @param idx the index in the view
+		 * @return the removed log entry
+		 */
+		@Override
+		public E removeLog(int idx) {
+			checkIndex(idx);
+			E removed = PersistentLogList.this.getLog(offset + idx);
+			removeBetween(offset + idx, offset + idx + 1);
+			sizeChanged(-1);
+			return removed;
+		}
+
+		/**
+		 * Removes every log entry of the view the filter accepts.
+		 *
+		 * @param filter returns true for log entries to remove
+		 * @return the number of log entries removed
+		 */
+		@Override
+		public int removeLogs(Predicate<? super E> filter) {
+			checkForComodification();
+			if(filter == null) {
+				throw new NullPointerException("Filter cannot be null.");
+			}
+			int removed = removeIfBetween(offset, offset + viewSize, filter);
+			sizeChanged(-removed);
+			return removed;
+		}
+
+		/**
+		 * Adds all of the given log entries to the end of the view.
+		 *
+		 * @param elements the log entries to add
+		 */
+		@Override
+		public void addAll(ILogList<? extends E> elements) {
+			checkForComodification();
+			if(elements == null) {
+				throw new NullPointerException("Cannot add null element.");
+			}
+			Object[] added = new Object[elements.size()];
+			for(int i = 0; i < added.length; i++) {
+				added[i] = elements.getLog(i);
+				if(added[i] == null) {
+					throw new NullPointerException("Cannot add null element.");
+				}
+			}
+			insertAt(offset + viewSize, added);
+			sizeChanged(added.length);
+		}
+
+		/**
+		 * Removes the log entries in [from, to) of the view.
+		 *
+		 * @param from the index of the first log entry to remove
+		 * @param to the index after the last log entry to remove
+		 */
+		@Override
+		public void removeRange(int from, int to) {
+			checkForComodification();
+			checkRange(from, to, viewSize);
+			removeBetween(offset + from, offset + to);
+			sizeChanged(from - to);
+		}
+
+		/**
+		 * Does nothing, since the trie grows a leaf at a time.
+		 *
+		 * @param capacity ignored
+		 */
+		@Override
+		public void ensureCapacity(int capacity) {
+			//Leaves are allocated as they are needed.
+		}
+
+		/**
+		 * Does nothing, since the trie holds no more than one partial leaf.
+		 */
+		@Override
+		public void trimToSize() {
+			//Only the tail can have unused room.
+		}
+
+		/**
+		 * Returns a view of the log entries in [from, to) of this view.
+		 *
+		 * @param from the index of the first log entry in the view
+		 * @param to the index after the last log entry in the view
+		 * @return a view of the range
+		 */
+		@Override
+		public ILogList<E> subList(int from, int to) {
+			checkForComodification();
+			checkRange(from, to, viewSize);
+			return new SubList(this, offset + from, to - from);
+		}
+
+		/**
+		 * Returns an immutable copy of the view in constant time.
+		 *
+		 * @return a snapshot of the view
+		 */
+		@Override
+		public ILogList<E> snapshot() {
+			checkForComodification();
+			return PersistentLogList.this.snapshot().subList(offset, offset + viewSize);
+		}
+
+		/**
+		 * Returns the log entry at the given index of the view.
+		 *
+		 * @param idx the index in the view
+		 * @return the log entry
+		 */
+		@Override
+		public E getLog(int idx) {
+			checkIndex(idx);
+			return PersistentLogList.this.getLog(offset + idx);
+		}
+
+		/**
+		 * Returns the number of log entries in the view.
+		 *
+		 * @return the size of the view
+		 */
+		@Override
+		public int size() {
+			checkForComodification();
+			return viewSize;
+		}
+
+		/**
+		 * Returns a fail-fast iterator over the log entries of the view.
+		 *
+		 * @return an iterator over the view
+		 */
+		@Override
+		public Iterator<E> iterator() {
+			checkForComodification();
+			return new Iterator<E>() {
+
+				/** The index in the view of the next entry */
+				private int cursor;
+
+				/**
+				 * Returns true if there are more entries.
+				 *
+				 * @return true if next() will return an entry
+				 */
+				@Override
+				public boolean hasNext() {
+					return cursor < viewSize;
+				}
+
+				/**
+				 * Returns the next entry.
+				 *
+				 * @return the next entry
+				 * @throws NoSuchElementException if there are no more entries
+				 * @throws ConcurrentModificationException if the list was changed
+				 */
+				@Override
+				public E next() {
+					checkForComodification();
+					if(cursor >= viewSize) {
+						throw new NoSuchElementException();
+					}
+					E element = PersistentLogList.this.getLog(offset + cursor);
+					cursor++;
+					return element;
+				}
+			};
+		}
+
+		/**
+		 * Checks that the list has not been added to or removed from other
+		 * than through this view.
+		 *
+		 * @throws ConcurrentModificationException if it has
+		 */
+		private void checkForComodification() {
+			if(modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+
+		/**
+		 * Adjusts the size of this view and every enclosing view.
+		 *
+		 * @param delta the change in size
+		 */
+		private void sizeChanged(int delta) {
+			for(SubList view = this; view != null; view = view.parent) {
+				view.viewSize += delta;
+				view.expectedModCount = modCount;
+			}
+		}
+
+		/**
+		 * Checks that idx is a position in the view.
+		 *
+		 * @param idx the index to check
+		 * @throws IndexOutOfBoundsException if idx is not in the view
+		 */
+		private void checkIndex(int idx) {
+			checkForComodification();
+			if(idx < 0 || idx >= viewSize) {
+				throw new IndexOutOfBoundsException("Invalid index.");
+			}
+		}
+	}
+
+	/**
+	 * An immutable view of a range of one version of the trie.
+	 *
+	 * @author Priyanshu Dongre
+	 * @param <E> the type of elements in the snapshot
+	 */
+	private static class Snapshot<E> implements ILogList<E> {
+
+		/** The root of the trie */
+		private final Node root;
+
+		/** The index bits above the leaves */
+		private final int shift;
+
+		/** The tail of the trie */
+		private final Object[] tail;
+
+		/** The index of the first entry in the tail */
+		private final int tailOffset;
+
+		/** The index in the trie of the first entry of the snapshot */
+		private final int offset;
+
+		/** The number of entries in the snapshot */
+		private final int length;
+
+		/**
+		 * Constructs a snapshot of [offset, offset + length) of a trie.
+		 *
+		 * @param root the root of the trie
+		 * @param shift the index bits above the leaves
+		 * @param tail the tail of the trie
+		 * @param tailOffset the index of the first entry in the tail
+		 * @param offset the index of the first entry
+		 * @param length the number of entries
+		 */
+		Snapshot(Node root, int shift, Object[] tail, int tailOffset, int offset, int length) {
+			this.root = root;
+			this.shift = shift;
+			this.tail = tail;
+			this.tailOffset = tailOffset;
+			this.offset = offset;
+			this.length = length;
+		}
+
+		/**
+		 * Returns the log entry at the given index of the snapshot.
+		 *
+		 * @param idx the index
+		 * @return the log entry
+		 */
+		@Override
+		public E getLog(int idx) {
+			checkIndex(idx, length);
+			int i = offset + idx;
+			return cast(leafFor(root, shift, tail, tailOffset, i)[i & MASK]);
+		}
+
+		/**
+		 * Returns the number of log entries in the snapshot.
+		 *
+		 * @return the size of the snapshot
+		 */
+		@Override
+		public int size() {
+			return length;
+		}
+
+		/**
+		 * Returns a snapshot of [from, to) of this snapshot.
+		 *
+		 * @param from the index of the first log entry
+		 * @param to the index after the last log entry
+		 * @return the narrower snapshot
+		 */
+		@Override
+		public ILogList<E> subList(int from, int to) {
+			checkRange(from, to, length);
+			return new Snapshot<>(root, shift, tail, tailOffset, offset + from, to - from);
+		}
+
+		/**
+		 * Returns this snapshot, since it never changes.
+		 *
+		 * @return this snapshot
+		 */
+		@Override
+		public ILogList<E> snapshot() {
+			return this;
+		}
+
+		/**
+		 * Returns an iterator over the snapshot.
+		 *
+		 * @return an iterator over the snapshot
+		 */
+		@Override
+		public Iterator<E> iterator() {
+			return new Iterator<E>() {
+
+				/** The index of the next entry */
+				private int cursor;
+
+				/**
+				 * Returns true if there are more entries.
+				 *
+				 * @return true if next() will return an entry
+				 */
+				@Override
+				public boolean hasNext() {
+					return cursor < length;
+				}
+
+				/**
+				 * Returns the next entry.
+				 *
+				 * @return the next entry
+				 * @throws NoSuchElementException if there are no more entries
+				 */
+				@Override
+				public E next() {
+					if(cursor >= length) {
+						throw new NoSuchElementException();
+					}
+					E element = getLog(cursor);
+					cursor++;
+					return element;
+				}
+			};
+		}
+
+		/**
+		 * Does nothing, since a snapshot holds no spare room.
+		 *
+		 * @param capacity ignored
+		 */
+		@Override
+		public void ensureCapacity(int capacity) {
+			//Nothing to do for an immutable view.
+		}
+
+		/**
+		 * Does nothing, since a snapshot holds no spare room.
+		 */
+		@Override
+		public void trimToSize() {
+			//Nothing to do for an immutable view.
+		}
+
+		/**
+		 * Throws, since a snapshot cannot be changed.
+		 *
+		 * @param element ignored
+		 */
+		@Override
+		public void addLog(E element) {
+			throw new UnsupportedOperationException("Snapshots cannot be changed.");
+		}
+
+		/**
+		 * Throws, since a snapshot cannot be changed.
+		 *
+		 * @param idx ignored
+		 * @param element ignored
+		 */
+		@Override
+		public void setLog(int idx, E element) {
+			throw new UnsupportedOperationException("Snapshots cannot be changed.");
+		}
+
+		/**
+		 * Throws, since a snapshot cannot be changed.
+		 *
+		 * @param idx ignored
+		 * @return never returns
+		 */
+		@Override
+		public E removeLog(int idx) {
+			throw new UnsupportedOperationException("Snapshots cannot be changed.");
+		}
+
+		/**
+		 * Throws, since a snapshot cannot be changed.
+		 *
+		 * @param filter ignored
+		 * @return never returns
+		 */
+		@Override
+		public int removeLogs(Predicate<? super E> filter) {
+			throw new UnsupportedOperationException("Snapshots cannot be changed.");
+		}
+
+		/**
+		 * Throws, since a snapshot cannot be changed.
+		 *
+		 * @param elements ignored
+		 */
+		@Override
+		public void addAll(ILogList<? extends E> elements) {
+			throw new UnsupportedOperationException("Snapshots cannot be changed.");
+		}
+
+		/**
+		 * Throws, since a snapshot cannot be changed.
+		 *
+		 * @param from ignored
+		 * @param to ignored
+		 */
+		@Override
+		public void removeRange(int from, int to) {
+			throw new UnsupportedOperationException("Snapshots cannot be changed.");
+		}
+	}
+}
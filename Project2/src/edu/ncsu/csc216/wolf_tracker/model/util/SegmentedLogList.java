@@ -0,0 +1,875 @@
+package edu.ncsu.csc216.wolf_tracker.model.util;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * A log list that stores its entries in fixed-size chunks instead of one
+ * array. Appending fills the last chunk and starts a new one when it is full,
+ * so the list never copies its entries to grow and never allocates an array
+ * larger than a chunk. Removing an entry only shifts the entries after it in
+ * the same chunk. The first index of each chunk is kept so that an entry is
+ * found by a binary search over the chunks.
+ *
+ * @author Priyanshu Dongre
+ * @param <E> the type of elements in this log list
+ */
+public class SegmentedLogList<E> implements ILogList<E> {
+
+	/** The default number of entries in a chunk */
+	public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+	/** The initial number of chunk slots */
+	private static final int INIT_CHUNKS = 4;
+
+	/** The largest number of entries in a chunk */
+	private int chunkSize;
+
+	/** The chunks, in order; only the first chunkCount are used */
+	private Object[][] chunks;
+
+	/** The number of entries in each chunk */
+	private int[] counts;
+
+	/** The index in the list of the first entry of each chunk */
+	private int[] starts;
+
+	/** The number of chunks in use */
+	private int chunkCount;
+
+	/** The number of entries in the list */
+	private int size;
+
+	/** The number of times the list has been added to or removed from */
+	private int modCount;
+
+	/**
+	 * Constructs an empty SegmentedLogList with the default chunk size.
+	 */
+	public SegmentedLogList() {
+		this(DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * Constructs an empty SegmentedLogList with the given chunk size.
+	 *
+	 * @param chunkSize the largest number of entries in a chunk
+	 * @throws IllegalArgumentException if chunkSize is less than 2
+	 */
+	public SegmentedLogList(int chunkSize) {
+		if(chunkSize < 2) {
+			throw new IllegalArgumentException("Invalid chunk size.");
+		}
+		this.chunkSize = chunkSize;
+		this.chunks = new Object[INIT_CHUNKS][];
+		this.counts = new int[INIT_CHUNKS];
+		this.starts = new int[INIT_CHUNKS];
+	}
+
+	/**
+	 * Adds a log entry to the end of the list, starting a new chunk if the
+	 * last one is full.
+	 *
+	 * @param element the log entry to add
+	 * @throws NullPointerException if the element is null
+	 */
+	@Override
+	public void addLog(E element) {
+		if(element == null) {
+			throw new NullPointerException("Cannot add null element.");
+		}
+		if(chunkCount == 0 || counts[chunkCount - 1] == chunkSize) {
+			insertChunk(chunkCount);
+		}
+		int last = chunkCount - 1;
+		chunks[last][counts[last]] = element;
+		counts[last]++;
+		size++;
+		modCount++;
+	}
+
+	/**
+	 * Sets the log entry at the given index.
+	 *
+	 * @param idx the index of the log entry to replace
+	 * @param element the new log entry
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 * @throws NullPointerException if the element is null
+	 */
+	@Override
+	public void setLog(int idx, E element) {
+		if(element == null) {
+			throw new NullPointerException("Cannot add null element.");
+		}
+		checkIndex(idx, size);
+		int c = chunkOf(idx);
+		chunks[c][idx - starts[c]] = element;
+	}
+
+	/**
+	 * Removes the log entry at the given index, shifting only the entries
+	 * after it in its chunk.
+	 *
+	 * @param idx the index of the log entry to remove
+	 * @return the removed log entry
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	@Override
+	public E removeLog(int idx) {
+		checkIndex(idx, size);
+		int c = chunkOf(idx);
+		E removed = entry(c, idx - starts[c]);
+		removeBetween(idx, idx + 1);
+		return removed;
+	}
+
+	/**
+	 * Removes every log entry the filter accepts, compacting each chunk in a
+	 * single pass.
+	 *
+	 * @param filter returns true for log entries to remove
+	 * @return the number of log entries removed
+	 * @throws NullPointerException if filter is null
+	 */
+	@Override
+	public int removeLogs(Predicate<? super E> filter) {
+		return removeIf(0, size, filter);
+	}
+
+	/**
+	 * Adds all of the given log entries to the end of the list.
+	 *
+	 * @param elements the log entries to add
+	 * @throws NullPointerException if elements is null or contains null
+	 */
+	@Override
+	public void addAll(ILogList<? extends E> elements) {
+		Object[] added = toArray(elements);
+		insert(size, added);
+	}
+
+	/**
+	 * Removes the log entries in [from, to).
+	 *
+	 * @param from the index of the first log entry to remove
+	 * @param to the index after the last log entry to remove
+	 * @throws IndexOutOfBoundsException if the range is invalid
+	 */
+	@Override
+	public void removeRange(int from, int to) {
+		checkRange(from, to, size);
+		removeBetween(from, to);
+	}
+
+	/**
+	 * Makes room in the chunk table for the chunks needed to hold the given
+	 * number of log entries. Entries are never copied.
+	 *
+	 * @param capacity the number of log entries to make room for
+	 */
+	@Override
+	public void ensureCapacity(int capacity) {
+		int needed = (int) (((long) capacity + chunkSize - 1) / chunkSize);
+		ensureChunkSlots(needed);
+	}
+
+	/**
+	 * Shrinks the chunk table to the chunks in use.
+	 */
+	@Override
+	public void trimToSize() {
+		int length = Math.max(chunkCount, 1);
+		if(length < chunks.length) {
+			chunks = Arrays.copyOf(chunks, length);
+			counts = Arrays.copyOf(counts, length);
+			starts = Arrays.copyOf(starts, length);
+		}
+	}
+
+	/**
+	 * Returns a view of the log entries in [from, to) that reads and writes
+	 * through to this list.
+	 *
+	 * @param from the index of the first log entry in the view
+	 * @param to the index after the last log entry in the view
+	 * @return a view of the range
+	 * @throws IndexOutOfBoundsException if the range is invalid
+	 */
+	@Override
+	public ILogList<E> subList(int from, int to) {
+		checkRange(from, to, size);
+		return new SubList(null, from, to - from);
+	}
+
+	/**
+	 * Returns the log entry at the given index.
+	 *
+	 * @param idx the index of the log entry
+	 * @return the log entry at idx
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	@Override
+	public E getLog(int idx) {
+		checkIndex(idx, size);
+		int c = chunkOf(idx);
+		return entry(c, idx - starts[c]);
+	}
+
+	/**
+	 * Returns the number of log entries in the list.
+	 *
+	 * @return the size of the list
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns a fail-fast iterator that walks the chunks in order.
+	 *
+	 * @return an iterator over the log entries
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return new ChunkItr();
+	}
+
+	/**
+	 * Performs the action on each log entry in order, chunk by chunk.
+	 *
+	 * @param action the action to perform
+	 * @throws ConcurrentModificationException if the action adds or removes log entries
+	 */
+	@Override
+	public void forEach(Consumer<? super E> action) {
+		if(action == null) {
+			throw new NullPointerException("Action cannot be null.");
+		}
+		int expectedModCount = modCount;
+		for(int c = 0; c < chunkCount && modCount == expectedModCount; c++) {
+			Object[] chunk = chunks[c];
+			int count = counts[c];
+			for(int i = 0; i < count; i++) {
+				action.accept(cast(chunk[i]));
+			}
+		}
+		if(modCount != expectedModCount) {
+			throw new ConcurrentModificationException();
+		}
+	}
+
+	/**
+	 * Returns the index of the chunk holding the entry at idx.
+	 *
+	 * @param idx a valid index of the list
+	 * @return the chunk holding idx
+	 */
+	private int chunkOf(int idx) {
+		int low = 0;
+		int high = chunkCount - 1;
+		//Until something is removed from the middle, every chunk but the last is full.
+		int guess = idx / chunkSize;
+		if(guess < chunkCount && starts[guess] <= idx && idx < starts[guess] + counts[guess]) {
+			return guess;
+		}
+		while(low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if(starts[mid] <= idx) {
+				low = mid;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Inserts the given entries at position at, splitting the chunk at that
+	 * position if needed and filling new chunks after it.
+	 *
+	 * @param at the position to insert at
+	 * @param elements the entries to insert
+	 */
+	private void insert(int at, Object[] elements) {
+		if(elements.length == 0) {
+			return;
+		}
+		//Make the insertion point the end of chunk c, splitting a chunk if needed.
+		int c = chunkCount - 1;
+		if(at < size) {
+			c = chunkOf(at);
+			int offset = at - starts[c];
+			if(offset == 0) {
+				c--;
+			} else {
+				insertChunk(c + 1);
+				int tail = counts[c] - offset;
+				System.arraycopy(chunks[c], offset, chunks[c + 1], 0, tail);
+				Arrays.fill(chunks[c], offset, counts[c], null);
+				counts[c + 1] = tail;
+				counts[c] = offset;
+			}
+		}
+		int first = Math.max(c, 0);
+
+		int next = 0;
+		while(next < elements.length) {
+			if(c < 0 || counts[c] == chunkSize) {
+				insertChunk(c + 1);
+				c++;
+			}
+			int n = Math.min(chunkSize - counts[c], elements.length - next);
+			System.arraycopy(elements, next, chunks[c], counts[c], n);
+			counts[c] += n;
+			next += n;
+		}
+		size += elements.length;
+		modCount++;
+		restart(first);
+	}
+
+	/**
+	 * Removes the entries in [from, to), shifting entries only within the
+	 * chunks the range touches.
+	 *
+	 * @param from the position of the first entry to remove
+	 * @param to the position after the last entry to remove
+	 */
+	private void removeBetween(int from, int to) {
+		if(from == to) {
+			return;
+		}
+		int first = chunkOf(from);
+		int c = first;
+		int remaining = to - from;
+		int offset = from - starts[c];
+		while(remaining > 0) {
+			int n = Math.min(remaining, counts[c] - offset);
+			Object[] chunk = chunks[c];
+			System.arraycopy(chunk, offset + n, chunk, offset, counts[c] - offset - n);
+			Arrays.fill(chunk, counts[c] - n, counts[c], null);
+			counts[c] -= n;
+			remaining -= n;
+			offset = 0;
+			c++;
+		}
+		size -= to - from;
+		modCount++;
+		restart(first);
+	}
+
+	/**
+	 * Removes the entries in [from, to) the filter accepts, compacting each
+	 * chunk in place.
+	 *
+	 * @param from the position of the first entry to test
+	 * @param to the position after the last entry to test
+	 * @param filter returns true for entries to remove
+	 * @return the number of entries removed
+	 */
+	private int removeIf(int from, int to, Predicate<? super E> filter) {
+		if(filter == null) {
+			throw new NullPointerException("Filter cannot be null.");
+		}
+		if(from == to) {
+			return 0;
+		}
+		int first = chunkOf(from);
+		int removed = 0;
+		try {
+			int c = first;
+			int offset = from - starts[c];
+			int remaining = to - from;
+			while(remaining > 0) {
+				Object[] chunk = chunks[c];
+				int end = Math.min(counts[c], offset + remaining);
+				int kept = offset;
+				int i = offset;
+				try {
+					for(; i < end; i++) {
+						if(!filter.test(cast(chunk[i]))) {
+							chunk[kept] = chunk[i];
+							kept++;
+						}
+					}
+				} finally {
+					//If the filter throws, the entries it has not seen are kept.
+					if(kept < i) {
+						System.arraycopy(chunk, i, chunk, kept, counts[c] - i);
+						Arrays.fill(chunk, counts[c] - (i - kept), counts[c], null);
+						counts[c] -= i - kept;
+						removed += i - kept;
+					}
+				}
+				remaining -= end - offset;
+				offset = 0;
+				c++;
+			}
+		} finally {
+			if(removed > 0) {
+				size -= removed;
+				modCount++;
+				restart(first);
+			}
+		}
+		return removed;
+	}
+
+	/**
+	 * Drops the empty chunks from chunk first on and recomputes the start of
+	 * every chunk from there.
+	 *
+	 * @param first the first chunk whose count may have changed
+	 */
+	private void restart(int first) {
+		int kept = first;
+		int start = first == 0 ? 0 : starts[first - 1] + counts[first - 1];
+		for(int c = first; c < chunkCount; c++) {
+			if(counts[c] > 0) {
+				chunks[kept] = chunks[c];
+				counts[kept] = counts[c];
+				starts[kept] = start;
+				start += counts[c];
+				kept++;
+			}
+		}
+		Arrays.fill(chunks, kept, chunkCount, null);
+		chunkCount = kept;
+	}
+
+	/**
+	 * Inserts a new, empty chunk at position c of the chunk table.
+	 *
+	 * @param c the position of the new chunk
+	 */
+	private void insertChunk(int c) {
+		ensureChunkSlots(chunkCount + 1);
+		System.arraycopy(chunks, c, chunks, c + 1, chunkCount - c);
+		System.arraycopy(counts, c, counts, c + 1, chunkCount - c);
+		System.arraycopy(starts, c, starts, c + 1, chunkCount - c);
+		chunks[c] = new Object[chunkSize];
+		counts[c] = 0;
+		starts[c] = c == 0 ? 0 : starts[c - 1] + counts[c - 1];
+		chunkCount++;
+	}
+
+	/**
+	 * Grows the chunk table, if needed, to hold the given number of chunks.
+	 *
+	 * @param slots the number of chunks to make room for
+	 */
+	private void ensureChunkSlots(int slots) {
+		if(slots > chunks.length) {
+			int length = Math.max(slots, chunks.length * 2);
+			chunks = Arrays.copyOf(chunks, length);
+			counts = Arrays.copyOf(counts, length);
+			starts = Arrays.copyOf(starts, length);
+		}
+	}
+
+	/**
+	 * Returns the entry at the given offset of chunk c.
+	 *
+	 * @param c the chunk
+	 * @param offset the offset in the chunk
+	 * @return the entry
+	 */
+	private E entry(int c, int offset) {
+		return cast(chunks[c][offset]);
+	}
+
+	/**
+	 * Casts a stored entry back to the element type.
+	 *
+	 * @param entry the stored entry
+	 * @return the entry as an E
+	 */
+	@SuppressWarnings("unchecked")
+	private E cast(Object entry) {
+		return (E) entry;
+	}
+
+	/**
+	 * Copies the entries of the given list into a new array.
+	 *
+	 * @param elements the list to copy
+	 * @return the entries of the list
+	 * @throws NullPointerException if elements is null or contains null
+	 */
+	private Object[] toArray(ILogList<? extends E> elements) {
+		if(elements == null) {
+			throw new NullPointerException("Cannot add null element.");
+		}
+		Object[] copy = new Object[elements.size()];
+		int i = 0;
+		for(E element : elements) {
+			if(element == null) {
+				throw new NullPointerException("Cannot add null element.");
+			}
+			copy[i] = element;
+			i++;
+		}
+		return copy;
+	}
+
+	/**
+	 * Checks that idx is an index of a list of the given size.
+	 *
+	 * @param idx the index to check
+	 * @param length the size of the list
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	private static void checkIndex(int idx, int length) {
+		if(idx < 0 || idx >= length) {
+			throw new IndexOutOfBoundsException("Invalid index.");
+		}
+	}
+
+	/**
+	 * Checks that [from, to) is a valid range of a list of the given size.
+	 *
+	 * @param from the start of the range
+	 * @param to the end of the range
+	 * @param length the size of the list
+	 * @throws IndexOutOfBoundsException if the range is invalid
+	 */
+	private static void checkRange(int from, int to, int length) {
+		if(from < 0 || to > length || from > to) {
+			throw new IndexOutOfBoundsException("Invalid index.");
+		}
+	}
+
+	/**
+	 * A fail-fast iterator that walks the chunks of the list in order.
+	 *
+	 * @author Priyanshu Dongre
+	 */
+	private class ChunkItr implements Iterator<E> {
+
+		/** The chunk of the next entry */
+		private int chunk;
+
+		/** The offset of the next entry in its chunk */
+		private int offset;
+
+		/** The index of the next entry */
+		private int cursor;
+
+		/** The index of the last entry returned, or -1 if it was removed or none was returned */
+		private int lastReturned = -1;
+
+		/** The modCount of the list the iterator expects */
+		private int expectedModCount = modCount;
+
+		/**
+		 * Returns true if there are more entries.
+		 *
+		 * @return true if next() will return an entry
+		 */
+		@Override
+		public boolean hasNext() {
+			return cursor < size;
+		}
+
+		/**
+		 * Returns the next entry.
+		 *
+		 * @return the next entry
+		 * @throws NoSuchElementException if there are no more entries
+		 * @throws ConcurrentModificationException if the list was changed other than through the iterator
+		 */
+		@Override
+		public E next() {
+			if(modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			if(cursor >= size) {
+				throw new NoSuchElementException();
+			}
+			if(offset == counts[chunk]) {
+				chunk++;
+				offset = 0;
+			}
+			E element = entry(chunk, offset);
+			offset++;
+			lastReturned = cursor;
+			cursor++;
+			return element;
+		}
+
+		/**
+		 * Removes the entry last returned by next().
+		 *
+		 * @throws IllegalStateException if next() has not been called since the last remove
+		 * @throws ConcurrentModificationException if the list was changed other than through the iterator
+		 */
+		@Override
+		public void remove() {
+			if(lastReturned < 0) {
+				throw new IllegalStateException();
+			}
+			if(modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+			removeLog(lastReturned);
+			cursor = lastReturned;
+			lastReturned = -1;
+			expectedModCount = modCount;
+			if(cursor < size) {
+				chunk = chunkOf(cursor);
+				offset = cursor - starts[chunk];
+			} else {
+				chunk = Math.max(chunkCount - 1, 0);
+				offset = chunkCount == 0 ? 0 : counts[chunk];
+			}
+		}
+	}
+
+	/**
+	 * A view of a range of the list. Changes made through the view are made to
+	 * the list, and the sizes of the enclosing views are kept in step.
+	 *
+	 * @author Priyanshu Dongre
+	 */
+	private class SubList implements ILogList<E> {
+
+		/** The view this view was taken from, or null if it was taken from the list */
+		private SubList parent;
+
+		/** The index in the list of the first entry of the view */
+		private int offset;
+
+		/** The number of entries in the view */
+		private int viewSize;
+
+		/** The modCount of the list when the view was last in step with it */
+		private int expectedModCount;
+
+		/**
+		 * Constructs a view of [offset, offset + viewSize) of the list.
+		 *
+		 * @param parent the enclosing view, or null
+		 * @param offset the index of the first entry
+		 * @param viewSize the number of entries
+		 */
+		SubList(SubList parent, int offset, int viewSize) {
+			this.parent = parent;
+			this.offset = offset;
+			this.viewSize = viewSize;
+			this.expectedModCount = modCount;
+		}
+
+		/**
+		 * Adds a log entry to the end of the view.
+		 *
+		 * @param element the log entry to add
+		 */
+		@Override
+		public void addLog(E element) {
+			checkForComodification();
+			if(element == null) {
+				throw new NullPointerException("Cannot add null element.");
+			}
+			insert(offset + viewSize, new Object[] {element});
+			sizeChanged(1);
+		}
+
+		/**
+		 * Sets the log entry at the given index of the view.
+		 *
+		 * @param idx the index in the view
+		 * @param element the new log entry
+		 */
+		@Override
+		public void setLog(int idx, E element) {
+			checkForComodification();
+			checkIndex(idx, viewSize);
+			SegmentedLogList.this.setLog(offset + idx, element);
+		}
+
+		/**
+		 * Removes the log entry at the given index of the view.
+		 *
+		 * @param idx the index in the view
+		 * @return the removed log entry
+		 */
+		@Override
+		public E removeLog(int idx) {
+			checkForComodification();
+			checkIndex(idx, viewSize);
+			E removed = SegmentedLogList.this.removeLog(offset + idx);
+			sizeChanged(-1);
+			return removed;
+		}
+
+		/**
+		 * Removes every log entry of the view the filter accepts.
+		 *
+		 * @param filter returns true for log entries to remove
+		 * @return the number of log entries removed
+		 */
+		@Override
+		public int removeLogs(Predicate<? super E> filter) {
+			checkForComodification();
+			int removed = 0;
+			try {
+				removed = removeIf(offset, offset + viewSize, filter);
+			} finally {
+				sizeChanged(-removed);
+			}
+			return removed;
+		}
+
+		/**
+		 * Adds all of the given log entries to the end of the view.
+		 *
+		 * @param elements the log entries to add
+		 */
+		@Override
+		public void addAll(ILogList<? extends E> elements) {
+			checkForComodification();
+			Object[] added = toArray(elements);
+			insert(offset + viewSize, added);
+			sizeChanged(added.length);
+		}
+
+		/**
+		 * Removes the log entries in [from, to) of the view.
+		 *
+		 * @param from the index of the first log entry to remove
+		 * @param to the index after the last log entry to remove
+		 */
+		@Override
+		public void removeRange(int from, int to) {
+			checkForComodification();
+			checkRange(from, to, viewSize);
+			removeBetween(offset + from, offset + to);
+			sizeChanged(from - to);
+		}
+
+		/**
+		 * Makes room in the list for the view to hold the given number of log entries.
+		 *
+		 * @param capacity the number of log entries to make room for
+		 */
+		@Override
+		public void ensureCapacity(int capacity) {
+			SegmentedLogList.this.ensureCapacity(size - viewSize + capacity);
+		}
+
+		/**
+		 * Shrinks the chunk table of the list to the chunks in use.
+		 */
+		@Override
+		public void trimToSize() {
+			SegmentedLogList.this.trimToSize();
+		}
+
+		/**
+		 * Returns a view of the log entries in [from, to) of this view.
+		 *
+		 * @param from the index of the first log entry in the view
+		 * @param to the index after the last log entry in the view
+		 * @return a view of the range
+		 */
+		@Override
+		public ILogList<E> subList(int from, int to) {
+			checkForComodification();
+			checkRange(from, to, viewSize);
+			return new SubList(this, offset + from, to - from);
+		}
+
+		/**
+		 * Returns the log entry at the given index of the view.
+		 *
+		 * @param idx the index in the view
+		 * @return the log entry
+		 */
+		@Override
+		public E getLog(int idx) {
+			checkForComodification();
+			checkIndex(idx, viewSize);
+			return SegmentedLogList.this.getLog(offset + idx);
+		}
+
+		/**
+		 * Returns the number of log entries in the view.
+		 *
+		 * @return the size of the view
+		 */
+		@Override
+		public int size() {
+			checkForComodification();
+			return viewSize;
+		}
+
+		/**
+		 * Returns a fail-fast iterator over the log entries of the view.
+		 *
+		 * @return an iterator over the view
+		 */
+		@Override
+		public Iterator<E> iterator() {
+			checkForComodification();
+			return new Iterator<E>() {
+
+				/** The index in the view of the next entry */
+				private int cursor;
+
+				/**
+				 * Returns true if there are more entries.
+				 *
+				 * @return true if next() will return an entry
+				 */
+				@Override
+				public boolean hasNext() {
+					return cursor < viewSize;
+				}
+
+				/**
+				 * Returns the next entry.
+				 *
+				 * @return the next entry
+				 */
+				@Override
+				public E next() {
+					if(cursor >= viewSize) {
+						throw new NoSuchElementException();
+					}
+					E element = getLog(cursor);
+					cursor++;
+					return element;
+				}
+			};
+		}
+
+		/**
+		 * Checks that the list has not been added to or removed from other than
+		 * through this view.
+		 *
+		 * @throws ConcurrentModificationException if it has
+		 */
+		private void checkForComodification() {
+			if(modCount != expectedModCount) {
+				throw new ConcurrentModificationException();
+			}
+		}
+
+		/**
+		 * Adjusts the size of this view and every enclosing view.
+		 *
+		 * @param delta the change in size
+		 */
+		private void sizeChanged(int delta) {
+			for(SubList view = this; view != null; view = view.parent) {
+				view.viewSize += delta;
+				view.expectedModCount = modCount;
+			}
+		}
+	}
+}
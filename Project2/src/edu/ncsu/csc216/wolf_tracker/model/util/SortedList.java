@@ -1,5 +1,9 @@
 package edu.ncsu.csc216.wolf_tracker.model.util;
 
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 /**
  * A class that implements a sorted list using a generic type.
  * The list maintains its elements in sorted order according to their natural ordering.
@@ -19,6 +23,11 @@ public class SortedList<E extends Comparable<E>> implements ISortedList<E> {
 	 */
 	private ListNode front;
 	
+	/** 
+	 * The number of times the sorted list has been added to or removed from. 
+	 */
+	private int modCount;
+	
 	
 	/**
      * Constructs a new SortedList.
@@ -42,83 +51,29 @@ public class SortedList<E extends Comparable<E>> implements ISortedList<E> {
 		}
 		
 		
-		ListNode newNode = new ListNode(element, null);
-		
-		if(front == null) {
-			front = newNode;
-			size++;
-			return;
-		}
-		ListNode currentNode = front;
+		//One pass finds the insertion point and any duplicate, comparing each node once.
 		ListNode previousNode = null;
-		ListNode preNewNode = null;
-		boolean insertAfter = true;
-		
-		if(this.contains(element)) {
-			throw new IllegalArgumentException("Cannot add duplicate element.");
-		}
+		ListNode currentNode = front;
 		while(currentNode != null) {
-			
-			
-			if(newNode.data.compareTo(currentNode.data) > 0) {
-				
-				preNewNode = currentNode;
-//				newNode.next = currentNode.next;
-//				currentNode.next = newNode;
-			} else if(newNode.data.compareTo(currentNode.data) < 0) {
-				if(previousNode == null) {
-					newNode.next = front;
-					front = newNode;
-					insertAfter = false;
-					break;
-				} else {
-					previousNode.next = newNode;
-					newNode.next = currentNode;
-					insertAfter = false;
-					break;
-				}
-			} 
-
+			int comparison = element.compareTo(currentNode.data);
+			if(comparison == 0) {
+				throw new IllegalArgumentException("Cannot add duplicate element.");
+			}
+			if(comparison < 0) {
+				break;
+			}
 			previousNode = currentNode;
-			
 			currentNode = currentNode.next;
-
-			
-			
-//			if(currentNode.data.compareTo(newNode.data) > 0) {
-//				newNode.next = currentNode.next;
-//				currentNode.next = newNode;
-//				size++;
-//			} else if(currentNode.data.compareTo(newNode.data) < 0) {
-//				if(previousNode == null) {
-//					
-//				}
-//				previousNode.next = newNode;
-//				newNode.next = currentNode;
-//				size++;
-//			} else if(currentNode.data.compareTo(newNode.data) == 0) {
-//				throw new IllegalArgumentException("Cannot add duplicate element");
-//			} else {
-//				previousNode = currentNode;
-//				currentNode = currentNode.next;
-//			}
-//			
-			
-			
-//			if(currentNode.next == null) {
-//				tail = currentNode;
-//			}
-//			
-//			currentNode = currentNode.next;
-			
 		}
 		
-		if(insertAfter) {
-			newNode.next = preNewNode.next;
-			preNewNode.next = newNode;
+		ListNode newNode = new ListNode(element, currentNode);
+		if(previousNode == null) {
+			front = newNode;
+		} else {
+			previousNode.next = newNode;
 		}
-//		tail.next = newNode;
-		size++;		 
+		size++;
+		modCount++;
 	}
 
 	
@@ -149,6 +104,7 @@ public class SortedList<E extends Comparable<E>> implements ISortedList<E> {
 				}
 				
 				size--;
+				modCount++;
 				return removingNode.data;
 			} else {
 				previousNode = currentNode;
@@ -186,6 +142,35 @@ public class SortedList<E extends Comparable<E>> implements ISortedList<E> {
 	}
 
 	
+	/**
+     * Returns the index of the specified element, walking the nodes once and
+     * stopping as soon as a larger element is reached.
+     *
+     * @param element the element to search for
+     * @return the index of the element, or -1 if the list does not contain it
+     * @throws NullPointerException if the specified element is null
+     */
+	@Override
+	public int indexOf(E element) {
+		
+		if(element == null) {
+			throw new NullPointerException("Cannot add null element.");
+		}
+		int index = 0;
+		for(ListNode currentNode = front; currentNode != null; currentNode = currentNode.next) {
+			int comparison = element.compareTo(currentNode.data);
+			if(comparison == 0) {
+				return index;
+			}
+			if(comparison < 0) {
+				break;
+			}
+			index++;
+		}
+		return -1;
+	}
+
+	
 	/**
      * Retrieves the element at the specified position in this list.
      *
@@ -227,6 +212,54 @@ public class SortedList<E extends Comparable<E>> implements ISortedList<E> {
 	
 
 	
+	/**
+	 * Returns a fail-fast iterator that walks the nodes in sorted order, so a
+	 * full iteration takes linear time.
+	 *
+	 * @return an iterator over the elements
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+			
+			/** The node holding the next element */
+			private ListNode next = front;
+			
+			/** The modCount the iterator expects */
+			private int expectedModCount = modCount;
+			
+			/**
+			 * Returns true if there are more elements.
+			 *
+			 * @return true if next() will return an element
+			 */
+			@Override
+			public boolean hasNext() {
+				return next != null;
+			}
+			
+			/**
+			 * Returns the next element.
+			 *
+			 * @return the next element
+			 * @throws NoSuchElementException if there are no more elements
+			 * @throws ConcurrentModificationException if the list was changed
+			 */
+			@Override
+			public E next() {
+				if(modCount != expectedModCount) {
+					throw new ConcurrentModificationException();
+				}
+				if(next == null) {
+					throw new NoSuchElementException();
+				}
+				E data = next.data;
+				next = next.next;
+				return data;
+			}
+		};
+	}
+	
 	/**
 	 * A private inner class that represents a node in a linked list.
 	 *
@@ -0,0 +1,416 @@
+package edu.ncsu.csc216.wolf_tracker.model.util;
+
+import java.util.ArrayDeque;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A class that implements a sorted list as a balanced (AVL) order-statistic tree.
+ * Every node stores the size of its subtree, so add, remove, get and contains
+ * all run in O(log n) time, unlike the linked SortedList. Elements are ordered,
+ * and duplicates rejected, by their natural ordering, exactly as in SortedList.
+ *
+ * @author Priyanshu Dongre
+ * @param <E> the type of elements in this sorted list.
+ */
+public class SortedTreeList<E extends Comparable<E>> implements ISortedList<E> {
+
+	/**
+	 * The root of the tree, or null if the list is empty.
+	 */
+	private TreeNode root;
+
+	/**
+	 * The element removed by the most recent call to removeAt.
+	 */
+	private E removedElement;
+
+	/**
+	 * The number of times the list has been added to or removed from.
+	 */
+	private int modCount;
+
+	/**
+	 * Constructs a new, empty SortedTreeList.
+	 */
+	public SortedTreeList() {
+		root = null;
+	}
+
+	/**
+	 * Adds the specified element to the sorted list in the correct position.
+	 *
+	 * @param element the element to be added to the list
+	 * @throws NullPointerException if the specified element is null
+	 * @throws IllegalArgumentException if the list already contains the element
+	 */
+	@Override
+	public void add(E element) {
+		if(element == null) {
+			throw new NullPointerException("Cannot add null element.");
+		}
+		root = insert(root, element);
+		modCount++;
+	}
+
+	/**
+	 * Removes the element at the specified position in this list.
+	 *
+	 * @param idx the index of the element to be removed
+	 * @return the element that was removed from the list
+	 * @throws IndexOutOfBoundsException if the index is out of range (idx less than 0 or idx greater than or equal to size)
+	 */
+	@Override
+	public E remove(int idx) {
+		if(idx < 0 || idx >= size()) {
+			throw new IndexOutOfBoundsException("Invalid index.");
+		}
+		root = removeAt(root, idx);
+		modCount++;
+		E removed = removedElement;
+		removedElement = null;
+		return removed;
+	}
+
+	/**
+	 * Checks if the specified element is contained in the sorted list.
+	 *
+	 * @param element the element to be checked for containment
+	 * @return true if the list contains the specified element, false otherwise
+	 * @throws NullPointerException if the specified element is null
+	 */
+	@Override
+	public boolean contains(E element) {
+		if(element == null) {
+			throw new NullPointerException("Cannot add null element.");
+		}
+		TreeNode current = root;
+		while(current != null) {
+			int comparison = element.compareTo(current.data);
+			if(comparison == 0) {
+				return true;
+			}
+			current = comparison < 0 ? current.left : current.right;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the index of the specified element, found by descending the
+	 * tree once and counting the elements to its left, in O(log n) time.
+	 *
+	 * @param element the element to search for
+	 * @return the index of the element, or -1 if the list does not contain it
+	 * @throws NullPointerException if the specified element is null
+	 */
+	@Override
+	public int indexOf(E element) {
+		if(element == null) {
+			throw new NullPointerException("Cannot add null element.");
+		}
+		TreeNode current = root;
+		int index = 0;
+		while(current != null) {
+			int comparison = element.compareTo(current.data);
+			if(comparison == 0) {
+				return index + size(current.left);
+			}
+			if(comparison < 0) {
+				current = current.left;
+			} else {
+				index += size(current.left) + 1;
+				current = current.right;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Retrieves the element at the specified position in this list.
+	 *
+	 * @param idx the index of the element to return
+	 * @return the element at the specified position in this list
+	 * @throws IndexOutOfBoundsException if the index is out of range (idx less than 0 or idx greater than or equal to size)
+	 */
+	@Override
+	public E get(int idx) {
+		if(idx < 0 || idx >= size()) {
+			throw new IndexOutOfBoundsException("Invalid index.");
+		}
+		TreeNode current = root;
+		int index = idx;
+		while(true) {
+			int leftSize = size(current.left);
+			if(index < leftSize) {
+				current = current.left;
+			} else if(index > leftSize) {
+				index -= leftSize + 1;
+				current = current.right;
+			} else {
+				return current.data;
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of elements in this list.
+	 *
+	 * @return the number of elements in this list
+	 */
+	@Override
+	public int size() {
+		return size(root);
+	}
+
+	/**
+	 * Returns a fail-fast iterator that walks the tree in order, so a full
+	 * iteration takes linear time.
+	 *
+	 * @return an iterator over the elements
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return new Iterator<E>() {
+
+			/** The nodes whose element and right subtree are still to be visited */
+			private ArrayDeque<TreeNode> path = pushLeft(new ArrayDeque<>(), root);
+
+			/** The modCount the iterator expects */
+			private int expectedModCount = modCount;
+
+			/**
+			 * Returns true if there are more elements.
+			 *
+			 * @return true if next() will return an element
+			 */
+			@Override
+			public boolean hasNext() {
+				return !path.isEmpty();
+			}
+
+			/**
+			 * Returns the next element.
+			 *
+			 * @return the next element
+			 * @throws NoSuchElementException if there are no more elements
+			 * @throws ConcurrentModificationException if the list was changed
+			 */
+			@Override
+			public E next() {
+				if(modCount != expectedModCount) {
+					throw new ConcurrentModificationException();
+				}
+				if(path.isEmpty()) {
+					throw new NoSuchElementException();
+				}
+				TreeNode node = path.pop();
+				pushLeft(path, node.right);
+				return node.data;
+			}
+		};
+	}
+
+	/**
+	 * Pushes node and its chain of left children onto the path.
+	 *
+	 * @param path the path to push onto
+	 * @param node the first node to push, may be null
+	 * @return the path
+	 */
+	private ArrayDeque<TreeNode> pushLeft(ArrayDeque<TreeNode> path, TreeNode node) {
+		for(TreeNode current = node; current != null; current = current.left) {
+			path.push(current);
+		}
+		return path;
+	}
+
+	/**
+	 * Inserts the element into the subtree rooted at node.
+	 *
+	 * @param node the root of the subtree, may be null
+	 * @param element the element to insert
+	 * @return the new root of the subtree
+	 * @throws IllegalArgumentException if the subtree already contains the element
+	 */
+	private TreeNode insert(TreeNode node, E element) {
+		if(node == null) {
+			return new TreeNode(element);
+		}
+		int comparison = element.compareTo(node.data);
+		if(comparison < 0) {
+			node.left = insert(node.left, element);
+		} else if(comparison > 0) {
+			node.right = insert(node.right, element);
+		} else {
+			throw new IllegalArgumentException("Cannot add duplicate element.");
+		}
+		return rebalance(node);
+	}
+
+	/**
+	 * Removes the element at the given index of the subtree rooted at node and
+	 * stores it in removedElement.
+	 *
+	 * @param node the root of the subtree
+	 * @param idx the index of the element within the subtree
+	 * @return the new root of the subtree
+	 */
+	private TreeNode removeAt(TreeNode node, int idx) {
+		int leftSize = size(node.left);
+		if(idx < leftSize) {
+			node.left = removeAt(node.left, idx);
+		} else if(idx > leftSize) {
+			node.right = removeAt(node.right, idx - leftSize - 1);
+		} else {
+			removedElement = node.data;
+			if(node.left == null) {
+				return node.right;
+			}
+			if(node.right == null) {
+				return node.left;
+			}
+			TreeNode successor = node.right;
+			while(successor.left != null) {
+				successor = successor.left;
+			}
+			successor.right = removeFirst(node.right);
+			successor.left = node.left;
+			node = successor;
+		}
+		return rebalance(node);
+	}
+
+	/**
+	 * Removes the first node of the subtree rooted at node.
+	 *
+	 * @param node the root of the subtree
+	 * @return the new root of the subtree
+	 */
+	private TreeNode removeFirst(TreeNode node) {
+		if(node.left == null) {
+			return node.right;
+		}
+		node.left = removeFirst(node.left);
+		return rebalance(node);
+	}
+
+	/**
+	 * Updates the height and size of node and rotates it if its subtrees
+	 * differ in height by more than one.
+	 *
+	 * @param node the node to rebalance
+	 * @return the new root of the subtree
+	 */
+	private TreeNode rebalance(TreeNode node) {
+		update(node);
+		int balance = height(node.left) - height(node.right);
+		if(balance > 1) {
+			if(height(node.left.left) < height(node.left.right)) {
+				node.left = rotateLeft(node.left);
+			}
+			return rotateRight(node);
+		}
+		if(balance < -1) {
+			if(height(node.right.right) < height(node.right.left)) {
+				node.right = rotateRight(node.right);
+			}
+			return rotateLeft(node);
+		}
+		return node;
+	}
+
+	/**
+	 * Rotates the subtree rooted at node to the left.
+	 *
+	 * @param node the root of the subtree
+	 * @return the new root of the subtree
+	 */
+	private TreeNode rotateLeft(TreeNode node) {
+		TreeNode pivot = node.right;
+		node.right = pivot.left;
+		pivot.left = node;
+		update(node);
+		update(pivot);
+		return pivot;
+	}
+
+	/**
+	 * Rotates the subtree rooted at node to the right.
+	 *
+	 * @param node the root of the subtree
+	 * @return the new root of the subtree
+	 */
+	private TreeNode rotateRight(TreeNode node) {
+		TreeNode pivot = node.left;
+		node.left = pivot.right;
+		pivot.right = node;
+		update(node);
+		update(pivot);
+		return pivot;
+	}
+
+	/**
+	 * Recomputes the height and size of node from its children.
+	 *
+	 * @param node the node to update
+	 */
+	private void update(TreeNode node) {
+		node.height = 1 + Math.max(height(node.left), height(node.right));
+		node.size = 1 + size(node.left) + size(node.right);
+	}
+
+	/**
+	 * Returns the height of the subtree rooted at node.
+	 *
+	 * @param node the root of the subtree, may be null
+	 * @return the height of the subtree, or 0 if node is null
+	 */
+	private int height(TreeNode node) {
+		return node == null ? 0 : node.height;
+	}
+
+	/**
+	 * Returns the number of elements in the subtree rooted at node.
+	 *
+	 * @param node the root of the subtree, may be null
+	 * @return the size of the subtree, or 0 if node is null
+	 */
+	private int size(TreeNode node) {
+		return node == null ? 0 : node.size;
+	}
+
+	/**
+	 * A private inner class that represents a node in the tree.
+	 *
+	 * @author Priyanshu Dongre
+	 */
+	private class TreeNode {
+
+		/** The data stored in this node */
+		public E data;
+
+		/** The subtree of smaller elements */
+		public TreeNode left;
+
+		/** The subtree of larger elements */
+		public TreeNode right;
+
+		/** The height of the subtree rooted at this node */
+		public int height;
+
+		/** The number of elements in the subtree rooted at this node */
+		public int size;
+
+		/**
+		 * Constructs a new leaf TreeNode with the specified data.
+		 *
+		 * @param data the data to be stored in this node
+		 */
+		public TreeNode(E data) {
+			this.data = data;
+			this.height = 1;
+			this.size = 1;
+		}
+	}
+}
@@ -0,0 +1,153 @@
+package edu.ncsu.csc216.wolf_tracker.model.util;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded pool of canonical strings, so that equal strings such as repeated
+ * task titles can share one instance. The pool is a fixed number of slots
+ * indexed by hash; a string that misses replaces whatever its slot held, so
+ * the pool never grows and never holds more than its capacity of strings.
+ * Slots hold their strings weakly, so a string no task uses any more can be
+ * collected even while it is in the pool.
+ *
+ * Because a slot can be replaced at any time, interning only makes sharing
+ * likely, not certain: two equal strings may still be distinct instances.
+ * The pool is safe to use from several threads.
+ *
+ * @author Priyanshu Dongre
+ */
+public class StringPool {
+
+	/** The default number of slots */
+	public static final int DEFAULT_CAPACITY = 1 << 14;
+
+	/** The slots; each holds the string last interned with its hash, or null */
+	private final AtomicReferenceArray<WeakReference<String>> slots;
+
+	/** The number of slots minus one, used to mask a hash into a slot index */
+	private final int mask;
+
+	/**
+	 * Constructs an empty pool with DEFAULT_CAPACITY slots.
+	 */
+	public StringPool() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructs an empty pool with at least the given number of slots. The
+	 * capacity is rounded up to a power of two.
+	 *
+	 * @param capacity the minimum number of slots
+	 * @throws IllegalArgumentException if capacity is not positive or is more than 2^30
+	 */
+	public StringPool(int capacity) {
+		if(capacity <= 0 || capacity > 1 << 30) {
+			throw new IllegalArgumentException("Invalid capacity.");
+		}
+		int size = Integer.highestOneBit(capacity);
+		if(size < capacity) {
+			size <<= 1;
+		}
+		slots = new AtomicReferenceArray<>(size);
+		mask = size - 1;
+	}
+
+	/**
+	 * Returns the pooled string equal to the given one if there is one, and
+	 * otherwise pools the given string and returns it.
+	 *
+	 * @param str the string to intern
+	 * @return a string equal to str, possibly str itself
+	 */
+	public String intern(String str) {
+		if(str == null) {
+			return null;
+		}
+		int index = index(str.hashCode());
+		String pooled = get(index);
+		if(str.equals(pooled)) {
+			return pooled;
+		}
+		slots.set(index, new WeakReference<>(str));
+		return str;
+	}
+
+	/**
+	 * Returns the pooled string equal to the given range of chars if there is
+	 * one, without creating a string. Otherwise creates a string from the
+	 * range, pools it and returns it.
+	 *
+	 * @param chars the chars holding the string
+	 * @param offset the index of the first char
+	 * @param count the number of chars
+	 * @return a string equal to chars[offset, offset + count)
+	 */
+	public String intern(char[] chars, int offset, int count) {
+		//The same hash String.hashCode computes, so both methods share slots.
+		int hash = 0;
+		for(int i = offset; i < offset + count; i++) {
+			hash = 31 * hash + chars[i];
+		}
+		int index = index(hash);
+		String pooled = get(index);
+		if(pooled != null && contentEquals(pooled, chars, offset, count)) {
+			return pooled;
+		}
+		String str = new String(chars, offset, count);
+		slots.set(index, new WeakReference<>(str));
+		return str;
+	}
+
+	/**
+	 * Returns the number of slots in the pool.
+	 *
+	 * @return the capacity of the pool
+	 */
+	public int getCapacity() {
+		return mask + 1;
+	}
+
+	/**
+	 * Returns the string in the given slot.
+	 *
+	 * @param index the index of the slot
+	 * @return the string, or null if the slot is empty or its string was collected
+	 */
+	private String get(int index) {
+		WeakReference<String> ref = slots.get(index);
+		return ref == null ? null : ref.get();
+	}
+
+	/**
+	 * Returns the slot of a hash, spreading the high bits into the low ones.
+	 *
+	 * @param hash the hash of a string
+	 * @return the index of the slot
+	 */
+	private int index(int hash) {
+		return (hash ^ hash >>> 16) & mask;
+	}
+
+	/**
+	 * Checks whether a string holds exactly the given range of chars.
+	 *
+	 * @param str the string
+	 * @param chars the chars to compare with
+	 * @param offset the index of the first char
+	 * @param count the number of chars
+	 * @return true if the string and the range are equal
+	 */
+	private static boolean contentEquals(String str, char[] chars, int offset, int count) {
+		if(str.length() != count) {
+			return false;
+		}
+		for(int i = 0; i < count; i++) {
+			if(str.charAt(i) != chars[offset + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
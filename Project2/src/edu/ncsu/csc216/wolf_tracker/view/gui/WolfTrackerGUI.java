@@ -12,6 +12,7 @@ import java.io.File;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
+import javax.swing.JCheckBoxMenuItem;
 import javax.swing.JComboBox;
 import javax.swing.JFileChooser;
 import javax.swing.JFrame;
@@ -33,6 +34,7 @@ import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
 import javax.swing.table.AbstractTableModel;
 
+import edu.ncsu.csc216.wolf_tracker.model.io.ProjectJournal;
 import edu.ncsu.csc216.wolf_tracker.model.io.ProjectReader;
 import edu.ncsu.csc216.wolf_tracker.model.log.AbstractTaskLog;
 import edu.ncsu.csc216.wolf_tracker.model.log.AllTasksLog;
@@ -61,6 +63,8 @@ public class WolfTrackerGUI extends JFrame implements ActionListener {
 	private static final String SAVE_TITLE = "Save Project";
 	/** Text for the Export Summary Statistics menu item. */
 	private static final String EXPORT_SUMMARY_STATS_TITLE = "Export Summary Statistics";
+	/** Text for the Journal Saves menu item. */
+	private static final String JOURNAL_TITLE = "Journal Saves";
 	/** Text for the Quit menu item. */
 	private static final String QUIT_TITLE = "Quit";
 	/** Menu bar for the GUI that contains Menus. */
@@ -75,6 +79,8 @@ public class WolfTrackerGUI extends JFrame implements ActionListener {
 	private JMenuItem itemSave;
 	/** Menu item for exporting summary statistics. */
 	private JMenuItem itemExportSummaryStats;
+	/** Menu item for choosing whether saves only append changes to a journal file. */
+	private JCheckBoxMenuItem itemJournal;
 	/** Menu item for quitting the program. */
 	private JMenuItem itemQuit;
 	
@@ -143,6 +149,7 @@ public class WolfTrackerGUI extends JFrame implements ActionListener {
 		itemLoad = new JMenuItem(LOAD_TITLE);
 		itemSave = new JMenuItem(SAVE_TITLE);
 		itemExportSummaryStats = new JMenuItem(EXPORT_SUMMARY_STATS_TITLE);
+		itemJournal = new JCheckBoxMenuItem(JOURNAL_TITLE, false);
 		itemQuit = new JMenuItem(QUIT_TITLE);
 		itemNew.addActionListener(this);
 		itemLoad.addActionListener(this);
@@ -158,6 +165,7 @@ public class WolfTrackerGUI extends JFrame implements ActionListener {
 		menu.add(itemLoad);
 		menu.add(itemSave);
 		menu.add(itemExportSummaryStats);
+		menu.add(itemJournal);
 		menu.add(itemQuit);
 		menuBar.add(menu);
 		this.setJMenuBar(menuBar);
@@ -196,7 +204,7 @@ public class WolfTrackerGUI extends JFrame implements ActionListener {
 		} else if (e.getSource() == itemSave) {
 			//Save current project
 			try {
-				project.saveProject(new File(getFileName(false)));
+				saveProject(new File(getFileName(false)));
 			} catch (IllegalArgumentException exp) {
 				JOptionPane.showMessageDialog(this, "Unable to save file.");
 			} catch (IllegalStateException exp) {
@@ -214,7 +222,7 @@ public class WolfTrackerGUI extends JFrame implements ActionListener {
 			if (project != null && project.isChanged()) {
 				//Quit the program
 				try {
-					project.saveProject(new File(getFileName(false)));
+					saveProject(new File(getFileName(false)));
 					System.exit(0);  //Ignore SpotBugs warning here - this is the only place to quit the program!
 				} catch (IllegalArgumentException exp) {
 					JOptionPane.showMessageDialog(this, "Unable to save file.");
@@ -243,6 +251,24 @@ public class WolfTrackerGUI extends JFrame implements ActionListener {
 		
 	}
 	
+	/**
+	 * Saves the project to the given file. If the user has turned on Journal
+	 * Saves, a project that is not journaled yet is given a journal for the
+	 * file, so the first save writes the whole file and later saves only
+	 * append the changes since the last one to a .journal file next to it.
+	 * Otherwise the journal is dropped, so the whole file is written and any
+	 * journal file next to it is deleted.
+	 * @param file the file to save the project to
+	 */
+	private void saveProject(File file) {
+		if (!itemJournal.isSelected()) {
+			project.setJournal(null);
+		} else if (project.getJournal() == null) {
+			project.setJournal(new ProjectJournal(file));
+		}
+		project.saveProject(file);
+	}
+	
 	/**
 	 * Prompts the user for the project name.
 	 */
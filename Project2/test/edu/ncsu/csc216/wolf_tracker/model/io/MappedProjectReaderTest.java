@@ -0,0 +1,63 @@
+package edu.ncsu.csc216.wolf_tracker.model.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_tracker.model.project.Project;
+
+/**
+ * Tests MappedProjectReader
+ * @author Priyanshu Dongre
+ */
+public class MappedProjectReaderTest {
+
+	/**
+	 * Tests that reading through a mapped file gives the same project as the
+	 * streaming reader, including when records cross mapped windows.
+	 */
+	@Test
+	public void testReadMappedProject() {
+		File file = new File("test-files/project1.txt");
+		Project expected = ProjectReader.readProjectFile(file);
+		assertSameProject(expected, ProjectReader.readMappedProjectFile(file));
+
+		for(long windowSize = 200; windowSize <= 1000; windowSize += 97) {
+			try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+				assertSameProject(expected, new MappedProjectReader(channel, windowSize).read());
+			} catch (IOException e) {
+				fail("Unable to read file.");
+			}
+		}
+
+		assertEquals(0, ProjectReader.readMappedProjectFile(new File("test-files/project0.txt")).getCurrentLog().getTaskCount());
+		assertThrows(IllegalArgumentException.class, () -> ProjectReader.readMappedProjectFile(new File("test-files/project3.txt")));
+		assertEquals(0, ProjectReader.readMappedProjectFile(new File("test-files/project4.txt")).getCurrentLog().getTaskCount());
+		assertEquals(0, ProjectReader.readMappedProjectFile(new File("test-files/project5.txt")).getCurrentLog().getTaskCount());
+		assertEquals(0, ProjectReader.readMappedProjectFile(new File("test-files/project6.txt")).getCurrentLog().getTaskCount());
+		assertEquals(0, ProjectReader.readMappedProjectFile(new File("test-files/project7.txt")).getCurrentLog().getTaskCount());
+		assertThrows(IllegalArgumentException.class, () -> ProjectReader.readMappedProjectFile(new File(".txt")));
+	}
+
+	/**
+	 * Asserts that two projects have the same name, categories and tasks.
+	 *
+	 * @param expected the expected project
+	 * @param actual the actual project
+	 */
+	private void assertSameProject(Project expected, Project actual) {
+		assertEquals(expected.getProjectName(), actual.getProjectName());
+		assertEquals(String.join(",", expected.getCategoryNames()), String.join(",", actual.getCategoryNames()));
+		assertEquals(expected.getCurrentLog().getTaskCount(), actual.getCurrentLog().getTaskCount());
+		for(int i = 0; i < expected.getCurrentLog().getTaskCount(); i++) {
+			assertEquals(expected.getCurrentLog().getTask(i).toString(), actual.getCurrentLog().getTask(i).toString());
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package edu.ncsu.csc216.wolf_tracker.model.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_tracker.model.project.Project;
+
+/**
+ * Tests ParallelProjectReader
+ * @author Priyanshu Dongre
+ */
+public class ParallelProjectReaderTest {
+
+	/**
+	 * Tests that parsing task records in chunks gives the same project, in the
+	 * same order, as the streaming reader.
+	 */
+	@Test
+	public void testReadParallelProject() {
+		File file = new File("test-files/project1.txt");
+		Project expected = ProjectReader.readProjectFile(file);
+		assertSameProject(expected, ProjectReader.readParallelProjectFile(file));
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		for(long chunkSize = 1; chunkSize <= 2048; chunkSize *= 4) {
+			try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+				assertSameProject(expected, new ParallelProjectReader(channel, pool, chunkSize).read());
+			} catch (IOException e) {
+				fail("Unable to read file.");
+			}
+		}
+		pool.shutdown();
+
+		assertEquals(0, ProjectReader.readParallelProjectFile(new File("test-files/project0.txt")).getCurrentLog().getTaskCount());
+		assertThrows(IllegalArgumentException.class, () -> ProjectReader.readParallelProjectFile(new File("test-files/project3.txt")));
+		assertEquals(0, ProjectReader.readParallelProjectFile(new File("test-files/project7.txt")).getCurrentLog().getTaskCount());
+	}
+
+	/**
+	 * Asserts that two projects have the same name, categories and tasks, and
+	 * that the tasks of every category are in the same order.
+	 *
+	 * @param expected the expected project
+	 * @param actual the actual project
+	 */
+	private void assertSameProject(Project expected, Project actual) {
+		assertEquals(expected.getProjectName(), actual.getProjectName());
+		String[] categoryNames = expected.getCategoryNames();
+		assertEquals(String.join(",", categoryNames), String.join(",", actual.getCategoryNames()));
+		for(String categoryName : categoryNames) {
+			expected.setCurrentTaskLog(categoryName);
+			actual.setCurrentTaskLog(categoryName);
+			assertEquals(expected.getCurrentLog().getTaskCount(), actual.getCurrentLog().getTaskCount());
+			for(int i = 0; i < expected.getCurrentLog().getTaskCount(); i++) {
+				assertEquals(expected.getCurrentLog().getTask(i).toString(), actual.getCurrentLog().getTask(i).toString());
+			}
+		}
+	}
+}
@@ -0,0 +1,234 @@
+package edu.ncsu.csc216.wolf_tracker.model.io;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_tracker.model.log.AllTasksLog;
+import edu.ncsu.csc216.wolf_tracker.model.project.Project;
+import edu.ncsu.csc216.wolf_tracker.model.task.Task;
+
+/**
+ * Tests ProjectJournal
+ * @author Priyanshu Dongre
+ */
+public class ProjectJournalTest {
+
+	/** Base file written by the tests */
+	private File file = new File("test-files/ST_testJournal.txt");
+
+	/** Journal file of the base file */
+	private File journalFile = ProjectJournal.getJournalFile(file);
+
+	/** Project used for testing */
+	private Project project;
+
+	/**
+	 * Sets up a journaled project with one category and one task, saved in full.
+	 */
+	@BeforeEach
+	public void setUp() {
+		project = new Project("Journal");
+		project.setJournal(new ProjectJournal(file));
+		project.addCategoryLog("Design");
+		project.addTask(new Task("Task1", 10, "Details1"));
+		project.saveProject(file);
+	}
+
+	/**
+	 * Deletes the files written by the tests.
+	 */
+	@AfterEach
+	public void tearDown() {
+		file.delete();
+		journalFile.delete();
+	}
+
+	/**
+	 * Tests that changes are appended to the journal and replayed when the
+	 * project is read back.
+	 */
+	@Test
+	public void testSaveAndReplay() {
+		assertTrue(file.exists());
+		assertFalse(journalFile.exists());
+		long baseLength = file.length();
+
+		project.addCategoryLog("Testing");
+		project.addTask(new Task("Task2", 20, "Details2\nMore details"));
+		project.addTask(new Task("Task3", 30, "Details3"));
+		project.editTask(0, "Task2 Edited", 25, "Edited");
+		project.removeTask(1);
+		project.addCategoryLog("Deployment");
+		project.editCategoryLogName("Release");
+		project.addCategoryLog("Unused");
+		project.removeCategoryLog();
+		project.saveProject(file);
+
+		assertEquals(baseLength, file.length());
+		assertTrue(journalFile.exists());
+		assertEquals(9, project.getJournal().getRecordCount());
+		assertFalse(project.isChanged());
+
+		Project result = ProjectReader.readProjectFile(file);
+		assertNotNull(result.getJournal());
+		assertEquals(9, result.getJournal().getRecordCount());
+		assertArrayEquals(new String[] {"All Tasks", "Design", "Release", "Testing"}, result.getCategoryNames());
+		assertEquals(AllTasksLog.ALL_TASKS_NAME, result.getCurrentLog().getName());
+		assertEquals(2, result.getCurrentLog().getTaskCount());
+		assertEquals("Task2 Edited", result.getCurrentLog().getTask(1).getTaskTitle());
+		assertEquals(25, result.getCurrentLog().getTask(1).getTaskDuration());
+		assertEquals("Edited", result.getCurrentLog().getTask(1).getTaskDetails());
+		assertEquals("Testing", result.getCurrentLog().getTask(1).getCategoryName());
+
+		result.setCurrentTaskLog("Design");
+		result.removeTask(0);
+		result.saveProject(file);
+		assertEquals(1, ProjectReader.readProjectFile(file).getCurrentLog().getTaskCount());
+	}
+
+	/**
+	 * Tests that the journal is folded into the base file once it reaches its
+	 * compaction threshold, and that saving without a journal removes a stale one.
+	 */
+	@Test
+	public void testCompaction() {
+		project.setJournal(new ProjectJournal(file, 3));
+		project.saveProject(file);
+
+		project.setCurrentTaskLog("Design");
+		project.addTask(new Task("Task2", 20, "Details2"));
+		project.addTask(new Task("Task3", 30, "Details3"));
+		project.saveProject(file);
+		assertTrue(journalFile.exists());
+
+		project.addTask(new Task("Task4", 40, "Details4"));
+		project.saveProject(file);
+		assertFalse(journalFile.exists());
+		assertEquals(0, project.getJournal().getRecordCount());
+
+		Project result = ProjectReader.readProjectFile(file);
+		assertNull(result.getJournal());
+		assertEquals(4, result.getCurrentLog().getTaskCount());
+
+		project.setCurrentTaskLog("Design");
+		project.addTask(new Task("Task5", 50, "Details5"));
+		project.saveProject(file);
+		assertTrue(journalFile.exists());
+		project.setJournal(null);
+		project.saveProject(file);
+		assertFalse(journalFile.exists());
+		assertEquals(5, ProjectReader.readProjectFile(file).getCurrentLog().getTaskCount());
+	}
+
+	/**
+	 * Tests that undoing a change drops the pending records and makes the next
+	 * save write the whole file, and that a loaded project has nothing to undo.
+	 */
+	@Test
+	public void testUndoRewritesFile() {
+		project.saveProject(file);
+		project.setCurrentTaskLog("Design");
+		project.addTask(new Task("Task2", 20, "Details2"));
+		project.addTask(new Task("Task3", 30, "Details3"));
+		assertTrue(project.undo());
+		project.saveProject(file);
+		assertFalse(journalFile.exists());
+
+		Project result = ProjectReader.readProjectFile(file);
+		assertFalse(result.canUndo());
+		result.setCurrentTaskLog("Design");
+		assertEquals(2, result.getCurrentLog().getTaskCount());
+		assertEquals("Task2", result.getCurrentLog().getTask(1).getTaskTitle());
+	}
+
+	/**
+	 * Tests that a journal whose last record was cut off is not appended to,
+	 * so the changes saved after reloading it are not lost.
+	 * @throws IOException if the journal cannot be cut
+	 */
+	@Test
+	public void testCutOffRecord() throws IOException {
+		project.setCurrentTaskLog("Design");
+		project.addTask(new Task("Task2", 20, "Details2"));
+		project.addTask(new Task("Task3", 30, "Details3"));
+		project.saveProject(file);
+		try (RandomAccessFile journal = new RandomAccessFile(journalFile, "rw")) {
+			journal.setLength(journal.length() - 3);
+		}
+
+		Project result = ProjectReader.readProjectFile(file);
+		result.setCurrentTaskLog("Design");
+		assertEquals(2, result.getCurrentLog().getTaskCount());
+		result.addTask(new Task("Task4", 40, "Details4"));
+		result.saveProject(file);
+		assertFalse(journalFile.exists());
+
+		Project reloaded = ProjectReader.readProjectFile(file);
+		reloaded.setCurrentTaskLog("Design");
+		assertEquals(3, reloaded.getCurrentLog().getTaskCount());
+		assertEquals("Task4", reloaded.getCurrentLog().getTask(2).getTaskTitle());
+	}
+
+	/**
+	 * Tests that a journal left next to a base file that was rewritten after
+	 * it was started, as by a crash between the move and the journal delete,
+	 * is not replayed and is deleted by the next save.
+	 * @throws IOException if the journal cannot be copied
+	 */
+	@Test
+	public void testStaleJournal() throws IOException {
+		project.setCurrentTaskLog("Design");
+		project.addTask(new Task("Task2", 20, "Details2"));
+		project.saveProject(file);
+		File staleFile = new File(journalFile.getPath() + ".stale");
+		Files.copy(journalFile.toPath(), staleFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+		project.getJournal().compact(project);
+		assertFalse(journalFile.exists());
+		Files.move(staleFile.toPath(), journalFile.toPath());
+
+		Project result = ProjectReader.readProjectFile(file);
+		assertNull(result.getJournal());
+		result.setCurrentTaskLog("Design");
+		assertEquals(2, result.getCurrentLog().getTaskCount());
+		result.saveProject(file);
+		assertFalse(journalFile.exists());
+	}
+
+	/**
+	 * Tests that a journal holding a record the project rejects is reported
+	 * the same way as any other unreadable file.
+	 * @throws IOException if the journal cannot be rewritten
+	 */
+	@Test
+	public void testRejectedRecord() throws IOException {
+		project.setCurrentTaskLog("Design");
+		project.addTask(new Task("Task2", 20, "Details2"));
+		project.removeTask(1);
+		project.saveProject(file);
+
+		//Point the remove at a task that is not there
+		try (RandomAccessFile journal = new RandomAccessFile(journalFile, "rw")) {
+			journal.seek(journal.length() - Integer.BYTES);
+			journal.writeInt(5);
+		}
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+				() -> ProjectReader.readProjectFile(file));
+		assertEquals("Unable to load file.", e.getMessage());
+	}
+}
@@ -5,14 +5,19 @@ import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import edu.ncsu.csc216.wolf_tracker.model.project.Project;
 import edu.ncsu.csc216.wolf_tracker.model.task.Task;
+import edu.ncsu.csc216.wolf_tracker.model.task.TaskArena;
 
 /**
  * Tests ProjectReader
@@ -63,5 +68,86 @@ public class ProjectReaderTest {
 		assertDoesNotThrow(() -> ProjectReader.readProjectFile(new File("test-files/project2.txt")));
 	}
 	
+	/**
+     * Tests reading a file with several categories and tasks, and files with
+     * invalid tasks that should be skipped while the rest of the file is loaded.
+     */
+	@Test
+	public void testReadMultipleTasks() {
+		Project result = ProjectReader.readProjectFile(new File("test-files/project1.txt"));
+		assertEquals(8, result.getCategoryNames().length);
+		assertEquals(14, result.getCurrentLog().getTaskCount());
+		assertEquals("Read Project 2 requirements", result.getCurrentLog().getTask(0).getTaskTitle());
+		assertEquals(45, result.getCurrentLog().getTask(0).getTaskDuration());
+		assertEquals("Design", result.getCurrentLog().getTask(0).getCategoryName());
+		assertEquals("Read Project 2 requirements \n"
+				+ "(https://pages.github.ncsu.edu/engr-csc216-staff/CSC216-SE-Materials/projects/project2/project2-part1.html)\n"
+				+ "and identify candidate classes and methods.", result.getCurrentLog().getTask(0).getTaskDetails());
+		assertEquals("Generated Javadoc and pushed to GitHub finishing the project!", 
+				result.getCurrentLog().getTask(13).getTaskDetails());
+		
+		result.setCurrentTaskLog("Design");
+		assertEquals(5, result.getCurrentLog().getTaskCount());
+		
+		assertEquals(0, ProjectReader.readProjectFile(new File("test-files/project0.txt")).getCurrentLog().getTaskCount());
+		assertThrows(IllegalArgumentException.class, () -> ProjectReader.readProjectFile(new File("test-files/project3.txt")));
+		assertEquals(0, ProjectReader.readProjectFile(new File("test-files/project4.txt")).getCurrentLog().getTaskCount());
+		assertEquals(0, ProjectReader.readProjectFile(new File("test-files/project5.txt")).getCurrentLog().getTaskCount());
+		assertEquals(0, ProjectReader.readProjectFile(new File("test-files/project6.txt")).getCurrentLog().getTaskCount());
+		assertEquals(0, ProjectReader.readProjectFile(new File("test-files/project7.txt")).getCurrentLog().getTaskCount());
+	}
+	
+	/**
+     * Tests reading a file without loading task details, and saving it back
+     * over the file the details are read from.
+     */
+	@Test
+	public void testReadLazyProjectFile() {
+		File lazyFile = new File("test-files/ST_testReadLazyProject.txt");
+		try {
+			Files.copy(new File("test-files/project1.txt").toPath(), lazyFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			fail("Unable to copy file.");
+		}
+		
+		Project expected = ProjectReader.readProjectFile(lazyFile);
+		Project result = ProjectReader.readLazyProjectFile(lazyFile);
+		assertArrayEquals(expected.getCategoryNames(), result.getCategoryNames());
+		assertEquals(14, result.getCurrentLog().getTaskCount());
+		assertEquals(expected.getCurrentLog().getTask(5).getTaskDetails(), result.getCurrentLog().getTask(5).getTaskDetails());
+		
+		result.saveProject(lazyFile);
+		Project saved = ProjectReader.readProjectFile(lazyFile);
+		for(int i = 0; i < 14; i++) {
+			assertEquals(expected.getCurrentLog().getTask(i).toString(), saved.getCurrentLog().getTask(i).toString());
+		}
+		
+		assertThrows(IllegalArgumentException.class, () -> ProjectReader.readLazyProjectFile(new File("test-files/project3.txt")));
+		assertEquals(0, ProjectReader.readLazyProjectFile(new File("test-files/project4.txt")).getCurrentLog().getTaskCount());
+	}
 
+	
+	/**
+	 * Tests that reading a project into a task arena gives the same tasks
+	 * as reading it onto the heap, for both the text and binary formats.
+	 */
+	@Test
+	public void testReadIntoArena() {
+		Project expected = ProjectReader.readProjectFile(new File("test-files/project1.txt"));
+		TaskArena arena = new TaskArena(256);
+		Project result = ProjectReader.readProjectFile(new File("test-files/project1.txt"), arena);
+		assertArrayEquals(expected.getCategoryNames(), result.getCategoryNames());
+		assertEquals(14, result.getCurrentLog().getTaskCount());
+		for(int i = 0; i < 14; i++) {
+			assertEquals(expected.getCurrentLog().getTask(i).toString(), result.getCurrentLog().getTask(i).toString());
+		}
+		assertEquals(0, arena.getWastedBytes());
+		
+		File binaryFile = new File("test-files/ST_testReadArenaProject.bin");
+		ProjectWriter.writeBinaryProjectFile(binaryFile, expected);
+		TaskArena binaryArena = new TaskArena();
+		Project binary = ProjectReader.readProjectFile(binaryFile, binaryArena);
+		assertEquals(arena.getUsedBytes(), binaryArena.getUsedBytes());
+		assertEquals(expected.getCurrentLog().getTask(13).toString(), binary.getCurrentLog().getTask(13).toString());
+	}
 }
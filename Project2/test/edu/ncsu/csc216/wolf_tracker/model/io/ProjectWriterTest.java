@@ -2,10 +2,15 @@ package edu.ncsu.csc216.wolf_tracker.model.io;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
 import java.util.Scanner;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -118,5 +123,97 @@ public class ProjectWriterTest {
 		
 		
 	}
+	
+	/**
+     * Tests that a project read from a file is written back out unchanged.
+     */
+	@Test
+	public void testWriteReadProject() {
+		File expected = new File("test-files/project1.txt");
+		File actual = new File("test-files/ST_testWriteReadProject.txt");
+		ProjectWriter.writeProjectFile(actual, ProjectReader.readProjectFile(expected));
+		
+		try {
+			assertEquals(Files.readString(expected.toPath()), Files.readString(actual.toPath()));
+		} catch (IOException e) {
+			fail("Unable to read files.");
+		}
+		
+		assertThrows(IllegalArgumentException.class, () -> ProjectWriter.writeProjectFile(new File("test-files/no-such-dir/out.txt"), project));
+		assertThrows(IllegalArgumentException.class, () -> ProjectWriter.writeStatsFile(new File("test-files/no-such-dir/out.csv"), project));
+	}
+	
+	/**
+     * Tests that saving while another thread keeps renaming a category never
+     * writes a task under a category the file does not list, which would
+     * lose the task when the file is read back.
+     * @throws InterruptedException if the test is interrupted
+     */
+	@Test
+	public void testWriteWhileRenaming() throws InterruptedException {
+		project.addCategoryLog("Alpha");
+		for(int i = 0; i < 2000; i++) {
+			project.addTask(new Task("Task " + i, 10, "Details " + i));
+		}
+		AtomicBoolean isDone = new AtomicBoolean();
+		Thread renamer = new Thread(() -> {
+			boolean isAlpha = true;
+			while(!isDone.get()) {
+				project.setCurrentTaskLog(isAlpha ? "Alpha" : "Beta");
+				project.editCategoryLogName(isAlpha ? "Beta" : "Alpha");
+				isAlpha = !isAlpha;
+			}
+		});
+		renamer.start();
+		File file = new File("test-files/ST_testWriteWhileRenaming.txt");
+		try {
+			for(int i = 0; i < 20; i++) {
+				ProjectWriter.writeProjectFile(file, project);
+				assertEquals(2000, ProjectReader.readProjectFile(file).getTaskLog("All Tasks").getTaskCount());
+			}
+		} finally {
+			isDone.set(true);
+			renamer.join();
+		}
+		if(Arrays.asList(project.getCategoryNames()).contains("Beta")) {
+			project.setCurrentTaskLog("Beta");
+			project.editCategoryLogName("Alpha");
+		}
+		ProjectWriter.writeProjectFile(file, project);
+		assertEquals(2000, ProjectReader.readProjectFile(file).getTaskLog("Alpha").getTaskCount());
+	}
+	
+	/**
+     * Tests that a project written in the binary format reads back to the same
+     * project, and that a damaged binary file cannot be loaded.
+     */
+	@Test
+	public void testWriteBinaryProject() {
+		File expected = new File("test-files/project1.txt");
+		File binary = new File("test-files/ST_testWriteBinaryProject.bin");
+		File actual = new File("test-files/ST_testWriteBinaryProject.txt");
+		ProjectWriter.writeBinaryProjectFile(binary, ProjectReader.readProjectFile(expected));
+		ProjectWriter.writeProjectFile(actual, ProjectReader.readProjectFile(binary));
+		
+		project.addCategoryLog("Caf\u00e9 \ud83d\ude00");
+		project.addTask(new Task("T\u00e2che", 5, "D\u00e9tails \ud83d\ude00\nLine 2"));
+		File unicode = new File("test-files/ST_testWriteBinaryUnicode.bin");
+		ProjectWriter.writeBinaryProjectFile(unicode, project);
+		Project result = ProjectReader.readProjectFile(unicode);
+		
+		try {
+			assertEquals(Files.readString(expected.toPath()), Files.readString(actual.toPath()));
+			
+			byte[] bytes = Files.readAllBytes(binary.toPath());
+			Files.write(binary.toPath(), Arrays.copyOf(bytes, bytes.length - 10));
+		} catch (IOException e) {
+			fail("Unable to read files.");
+		}
+		assertThrows(IllegalArgumentException.class, () -> ProjectReader.readProjectFile(binary));
+		
+		assertEquals("Caf\u00e9 \ud83d\ude00", result.getCategoryNames()[1]);
+		assertEquals("T\u00e2che", result.getCurrentLog().getTask(0).getTaskTitle());
+		assertEquals("D\u00e9tails \ud83d\ude00\nLine 2", result.getCurrentLog().getTask(0).getTaskDetails());
+	}
 
 }
@@ -0,0 +1,125 @@
+package edu.ncsu.csc216.wolf_tracker.model.io;
+
+import java.lang.management.ManagementFactory;
+import java.util.Scanner;
+
+import edu.ncsu.csc216.wolf_tracker.model.task.Task;
+
+/**
+ * An allocation and time benchmark comparing TaskRecordParser with the
+ * Scanner based parsing it replaced. Each iteration parses the same three
+ * line record into a Task. It is not a unit test; run it with
+ * java TaskRecordParserBenchmark [records]. Allocation is read from the
+ * HotSpot per-thread allocation counter.
+ * @author Priyanshu Dongre
+ */
+public class TaskRecordParserBenchmark {
+
+	/**
+     * The header line of the record parsed.
+     */
+	private static final String HEADER = "* Code review,45,Implementation";
+
+	/**
+     * The details lines of the record parsed.
+     */
+	private static final String[] DETAILS = {"Reviewed the reader changes", "and left comments on the tests"};
+
+	/**
+     * The number of times each measurement is repeated; the best is kept.
+     */
+	private static final int ROUNDS = 5;
+
+	/**
+     * The sum of the parsed durations, printed so the parsing is not optimized away.
+     */
+	private static long checksum;
+
+	/**
+     * Runs the benchmark and prints bytes allocated and nanoseconds per record
+     * for each parser.
+     * @param args optionally the number of records per round
+     */
+	public static void main(String[] args) {
+		int records = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+		long[] scanner = {Long.MAX_VALUE, Long.MAX_VALUE};
+		long[] parser = {Long.MAX_VALUE, Long.MAX_VALUE};
+		for(int r = 0; r < ROUNDS; r++) {
+			best(scanner, measure(records, false));
+			best(parser, measure(records, true));
+		}
+		System.out.println("parser            B/record  ns/record");
+		System.out.printf("Scanner           %8d  %9d%n", scanner[0], scanner[1]);
+		System.out.printf("TaskRecordParser  %8d  %9d%n", parser[0], parser[1]);
+		System.out.println("(checksum " + checksum + ")");
+	}
+
+	/**
+     * Parses the record the given number of times.
+     * @param records the number of records to parse
+     * @param isReused true to use one TaskRecordParser, false to parse with a Scanner
+     * @return the bytes allocated and nanoseconds taken per record
+     */
+	private static long[] measure(int records, boolean isReused) {
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long thread = Thread.currentThread().getId();
+		TaskRecordParser recordParser = new TaskRecordParser();
+		long bytes = threads.getThreadAllocatedBytes(thread);
+		long begin = System.nanoTime();
+		for(int i = 0; i < records; i++) {
+			Task task;
+			if(isReused) {
+				recordParser.startRecord(HEADER);
+				for(String line : DETAILS) {
+					recordParser.appendLine(line);
+				}
+				task = recordParser.parseTask();
+			} else {
+				StringBuilder record = new StringBuilder();
+				record.append(HEADER, 1, HEADER.length());
+				for(String line : DETAILS) {
+					record.append('\n').append(line);
+				}
+				task = parseWithScanner(record.toString());
+			}
+			checksum += task.getTaskDuration();
+		}
+		long elapsed = System.nanoTime() - begin;
+		bytes = threads.getThreadAllocatedBytes(thread) - bytes;
+		return new long[] {bytes / records, elapsed / records};
+	}
+
+	/**
+     * Parses a record the way ProjectReader did before TaskRecordParser.
+     * @param line the record without its leading '*'
+     * @return the parsed task
+     */
+	private static Task parseWithScanner(String line) {
+		Scanner lineProcessor = new Scanner(line).useDelimiter("[,]");
+		String taskTitle = lineProcessor.next().substring(1);
+		int taskDuration = Integer.parseInt(lineProcessor.next());
+		lineProcessor.useDelimiter("\n");
+		lineProcessor.next();
+		String taskDetails = "";
+		while(lineProcessor.hasNextLine()) {
+			taskDetails += lineProcessor.nextLine();
+			if(lineProcessor.hasNext()) {
+				taskDetails += "\n";
+			}
+		}
+		taskDetails = taskDetails.substring(1);
+		lineProcessor.close();
+		return new Task(taskTitle, taskDuration, taskDetails);
+	}
+
+	/**
+     * Keeps the smaller of each pair of measurements.
+     * @param best the best measurements so far, updated in place
+     * @param measured the new measurements
+     */
+	private static void best(long[] best, long[] measured) {
+		for(int i = 0; i < best.length; i++) {
+			best[i] = Math.min(best[i], measured[i]);
+		}
+	}
+}
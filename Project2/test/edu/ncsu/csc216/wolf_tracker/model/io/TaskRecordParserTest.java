@@ -0,0 +1,86 @@
+package edu.ncsu.csc216.wolf_tracker.model.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_tracker.model.task.Task;
+
+/**
+ * Tests TaskRecordParser
+ * @author Priyanshu Dongre
+ */
+public class TaskRecordParserTest {
+
+	/** TaskRecordParser used for testing */
+	private TaskRecordParser parser;
+
+	/**
+	 * Sets up a new TaskRecordParser before each test.
+	 */
+	@BeforeEach
+	public void setUp() {
+		parser = new TaskRecordParser();
+	}
+
+	/**
+	 * Tests parsing valid records, including reusing the parser for a record
+	 * longer than its initial buffer.
+	 */
+	@Test
+	public void testParseTask() {
+		parser.startRecord("* Created CRC Cards,27,Design");
+		parser.appendLine("Identified the key classes and created CRC cards. Noted");
+		parser.appendLine("responsibilities, collaborators, and possible state.");
+		Task task = parser.parseTask();
+		assertEquals("Created CRC Cards", task.getTaskTitle());
+		assertEquals(27, task.getTaskDuration());
+		assertEquals("Identified the key classes and created CRC cards. Noted\n"
+				+ "responsibilities, collaborators, and possible state.", task.getTaskDetails());
+		assertEquals("Design", parser.getCategoryName());
+
+		String longDetails = "x".repeat(1000);
+		parser.startRecord("* Ran System Tests,120,System Test");
+		parser.appendLine(longDetails);
+		parser.appendLine("");
+		task = parser.parseTask();
+		assertEquals("Ran System Tests", task.getTaskTitle());
+		assertEquals(120, task.getTaskDuration());
+		assertEquals(longDetails, task.getTaskDetails());
+		assertEquals("System Test", parser.getCategoryName());
+	}
+
+	/**
+	 * Tests that malformed records are rejected.
+	 */
+	@Test
+	public void testParseInvalidTask() {
+		parser.startRecord("* ,45,Design");
+		parser.appendLine("Details");
+		assertThrows(IllegalArgumentException.class, () -> parser.parseTask());
+
+		parser.startRecord("* Title,,Design");
+		parser.appendLine("Details");
+		assertThrows(IllegalArgumentException.class, () -> parser.parseTask());
+
+		parser.startRecord("* Title,4a5,Design");
+		parser.appendLine("Details");
+		assertThrows(IllegalArgumentException.class, () -> parser.parseTask());
+
+		parser.startRecord("* Title,99999999999,Design");
+		parser.appendLine("Details");
+		assertThrows(IllegalArgumentException.class, () -> parser.parseTask());
+
+		parser.startRecord("* Title,45");
+		parser.appendLine("Details");
+		assertThrows(IllegalArgumentException.class, () -> parser.parseTask());
+
+		parser.startRecord("* Title,45,Design");
+		assertThrows(IllegalArgumentException.class, () -> parser.parseTask());
+
+		parser.startRecord("*");
+		assertThrows(IllegalArgumentException.class, () -> parser.parseTask());
+	}
+}
@@ -7,6 +7,12 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import edu.ncsu.csc216.wolf_tracker.model.task.Task;
+import edu.ncsu.csc216.wolf_tracker.model.util.ILogList;
+import edu.ncsu.csc216.wolf_tracker.model.util.LogList;
+import edu.ncsu.csc216.wolf_tracker.model.util.PersistentLogList;
+import edu.ncsu.csc216.wolf_tracker.model.util.SegmentedLogList;
+
 /**
  * Test class for the AllTasksLog.
  * This class contains unit tests to verify the functionality of the
@@ -40,5 +46,123 @@ class AllTasksLogTest {
 		assertEquals("All Tasks", allTasks.getName());
 		assertThrows(IllegalArgumentException.class, () -> allTasks.setTaskLogName("My Tasks"));
 	}
-
+	
+	/**
+     * Tests an AllTasksLog that keeps its tasks in a SegmentedLogList.
+     * Verifies that tasks, statistics and lookups behave as with a LogList
+     * across chunk boundaries, and that only an empty list is accepted.
+     */
+	@Test
+	public void testSegmentedTasks() {
+		AllTasksLog segmented = new AllTasksLog(new SegmentedLogList<>(4));
+		Task[] tasks = new Task[10];
+		for(int i = 0; i < tasks.length; i++) {
+			tasks[i] = new Task("Task " + i, 10 * (i + 1), "Details");
+			tasks[i].setTaskId(i + 1);
+			segmented.addTask(tasks[i]);
+		}
+		assertEquals(10, segmented.getTaskCount());
+		assertEquals(tasks[5], segmented.removeTask(5));
+		assertEquals(tasks[6], segmented.getTask(5));
+		assertEquals(8, segmented.indexOfTask(tasks[9]));
+		assertEquals(4, segmented.removeTasks(t -> t.getTaskDuration() % 20 == 0));
+		assertEquals(10, segmented.getMinDuration());
+		assertEquals(90, segmented.getMaxDuration());
+		assertEquals(50, segmented.getAvgDuration());
+		
+		LogList<Task> used = new LogList<>();
+		used.addLog(tasks[0]);
+		assertThrows(IllegalArgumentException.class, () -> new AllTasksLog(used));
+		assertThrows(IllegalArgumentException.class, () -> new AllTasksLog(null));
+	}
+	
+	/**
+     * Tests that a snapshot of an AllTasksLog kept in a PersistentLogList
+     * keeps its tasks while the log is changed, and that a log kept in a
+     * LogList hands out a copy.
+     */
+	@Test
+	public void testTasksSnapshot() {
+		AllTasksLog persistent = new AllTasksLog(new PersistentLogList<>());
+		Task[] tasks = new Task[50];
+		for(int i = 0; i < tasks.length; i++) {
+			tasks[i] = new Task("Task " + i, 10 + i, "Details");
+			persistent.addTask(tasks[i]);
+			allTasks.addTask(tasks[i]);
+		}
+		ILogList<Task> snapshot = persistent.getTasksSnapshot();
+		ILogList<Task> copy = allTasks.getTasksSnapshot();
+		persistent.removeTask(0);
+		persistent.removeTasks(t -> t.getTaskDuration() > 30);
+		allTasks.removeTask(0);
+		
+		assertEquals(20, persistent.getTaskCount());
+		assertEquals(50, snapshot.size());
+		assertEquals(tasks[0], snapshot.getLog(0));
+		assertEquals(tasks[49], snapshot.getLog(49));
+		assertEquals(50, copy.size());
+		assertEquals(tasks[0], copy.getLog(0));
+	}
+	
+	/**
+     * Tests that a duration edit reaches the All Tasks log through the
+     * task's category, and no longer does once the task is removed.
+     */
+	@Test
+	public void testDurationChangedThroughCategory() {
+		CategoryLog category = new CategoryLog("Coding");
+		Task first = new Task("First", 30, "Details");
+		Task second = new Task("Second", 60, "Details");
+		category.addTask(first);
+		category.addTask(second);
+		allTasks.addTask(first);
+		allTasks.addTask(second);
+		
+		first.setTaskDuration(90);
+		assertEquals(60, allTasks.getMinDuration());
+		assertEquals(90, allTasks.getMaxDuration());
+		assertEquals(1, allTasks.getTaskCountBetween(61, 100));
+		assertEquals(60, category.getMinDuration());
+		
+		allTasks.removeTask(0);
+		first.setTaskDuration(5);
+		assertEquals(60, allTasks.getMinDuration());
+		assertEquals(60, allTasks.getMaxDuration());
+		assertEquals(5, category.getMinDuration());
+	}
+	
+	/**
+     * Tests putting tasks back at their old positions in one pass, with the
+     * duration statistics and id index following them.
+     */
+	@Test
+	public void testInsertTasks() {
+		Task[] tasks = new Task[10];
+		for(int i = 0; i < tasks.length; i++) {
+			tasks[i] = new Task("Task " + i, 10 + i, "Details");
+			tasks[i].setTaskId(i + 1);
+			allTasks.addTask(tasks[i]);
+		}
+		allTasks.removeTasks(t -> t.getTaskDuration() % 3 == 0);
+		assertEquals(7, allTasks.getTaskCount());
+		
+		allTasks.insertTasks(new int[] {2, 5, 8}, new Task[] {tasks[2], tasks[5], tasks[8]});
+		for(int i = 0; i < tasks.length; i++) {
+			assertEquals(tasks[i], allTasks.getTask(i));
+			assertEquals(i, allTasks.indexOfTask(tasks[i]));
+		}
+		assertEquals(10, allTasks.getMinDuration());
+		assertEquals(19, allTasks.getMaxDuration());
+		assertEquals(14.5, allTasks.getAvgDuration());
+		
+		Task last = new Task("Last", 5, "Details");
+		allTasks.insertTasks(new int[] {10}, new Task[] {last});
+		assertEquals(last, allTasks.getTask(10));
+		assertEquals(5, allTasks.getMinDuration());
+		assertThrows(IndexOutOfBoundsException.class,
+				() -> allTasks.insertTasks(new int[] {3, 3}, new Task[] {last, last}));
+		assertThrows(IndexOutOfBoundsException.class,
+				() -> allTasks.insertTasks(new int[] {13}, new Task[] {last}));
+		assertEquals(11, allTasks.getTaskCount());
+	}
 }
@@ -74,6 +74,22 @@ public class CategoryLogTest {
 		assertFalse(category.compareTo(test) < 0);
 	}
 	
+	/**
+     * Tests that categories compare without regard to case, and that
+     * renaming a category changes the order it compares in.
+     */
+	@Test
+	public void testCompareToAfterRename() {
+		CategoryLog test = new CategoryLog("testing");
+		assertEquals(0, category.compareTo(test));
+		
+		test.setTaskLogName("Zebra");
+		assertTrue(category.compareTo(test) < 0);
+		test.setTaskLogName("alpha");
+		assertTrue(category.compareTo(test) > 0);
+		assertEquals(0, test.compareTo(new CategoryLog("ALPHA")));
+	}
+	
 	/**
      * Tests the addTask method of the CategoryLog class.
      * Verifies that tasks can be added to the category and that
@@ -208,5 +224,147 @@ public class CategoryLogTest {
 		assertEquals(newTask, category.getTask(1));
 	}
 	
+	/**
+     * Tests that the duration statistics stay correct as tasks are added,
+     * set, removed, and have their durations edited, including durations
+     * above 1000.
+     */
+	@Test
+	public void testDurationStatistics() {
+		Task longTask = new Task("Long Task", 2000, "Testing");
+		Task shortTask = new Task("Short Task", 1500, "Testing");
+		category.addTask(longTask);
+		category.addTask(shortTask);
+		assertEquals(1500, category.getMinDuration());
+		assertEquals(2000, category.getMaxDuration());
+		assertEquals(1750, category.getAvgDuration());
+		
+		shortTask.setTaskDuration(3000);
+		assertEquals(2000, category.getMinDuration());
+		assertEquals(3000, category.getMaxDuration());
+		assertEquals(2500, category.getAvgDuration());
+		
+		category.setTask(0, task1);
+		assertEquals(90, category.getMinDuration());
+		assertEquals(3000, category.getMaxDuration());
+		longTask.setTaskDuration(10);
+		assertEquals(90, category.getMinDuration());
+		
+		category.removeTask(1);
+		assertEquals(90, category.getMinDuration());
+		assertEquals(90, category.getMaxDuration());
+		assertEquals(90, category.getAvgDuration());
+		shortTask.setTaskDuration(1);
+		assertEquals(90, category.getMinDuration());
+		
+		category.removeTask(0);
+		assertEquals(0, category.getMinDuration());
+		assertEquals(0, category.getMaxDuration());
+		assertEquals(0, category.getAvgDuration());
+		assertEquals("Testing,0,,,", category.toString());
+		
+		Task first = new Task("First", 20, "Testing");
+		Task second = new Task("Second", 20, "Testing");
+		category.addTask(first);
+		category.addTask(second);
+		category.addTask(new Task("Third", 40, "Testing"));
+		category.removeTask(0);
+		assertEquals(20, category.getMinDuration());
+		second.setTaskDuration(40);
+		assertEquals(40, category.getMinDuration());
+		category.removeTask(0);
+		assertEquals(40, category.getMaxDuration());
+	}
 	
+	/**
+     * Tests that indexOfTask finds tasks with and without ids, including
+     * after removals shift the positions of later tasks.
+     */
+	@Test
+	public void testIndexOfTask() {
+		Task[] tasks = new Task[5];
+		for(int i = 0; i < tasks.length; i++) {
+			tasks[i] = new Task("Task " + i, 10 + i, "Details");
+			if(i != 2) {
+				tasks[i].setTaskId(i + 1);
+			}
+			category.addTask(tasks[i]);
+		}
+		for(int i = 0; i < tasks.length; i++) {
+			assertEquals(i, category.indexOfTask(tasks[i]));
+		}
+		
+		category.removeTask(1);
+		assertEquals(0, category.indexOfTask(tasks[0]));
+		assertEquals(-1, category.indexOfTask(tasks[1]));
+		assertEquals(1, category.indexOfTask(tasks[2]));
+		assertEquals(3, category.indexOfTask(tasks[4]));
+		assertEquals(2, category.indexOfTask(tasks[3]));
+		
+		Task replacement = new Task("Replacement", 30, "Details");
+		replacement.setTaskId(10);
+		category.setTask(2, replacement);
+		assertEquals(-1, category.indexOfTask(tasks[3]));
+		assertEquals(2, category.indexOfTask(replacement));
+		assertEquals(3, category.indexOfTask(tasks[4]));
+	}
+	
+	/**
+     * Tests that removeTasks removes every matching task and keeps the
+     * statistics and the id index correct.
+     */
+	@Test
+	public void testRemoveTasks() {
+		Task[] tasks = new Task[6];
+		for(int i = 0; i < tasks.length; i++) {
+			tasks[i] = new Task("Task " + i, 10 * (i + 1), "Details");
+			tasks[i].setTaskId(i + 1);
+			category.addTask(tasks[i]);
+		}
+		assertEquals(5, category.indexOfTask(tasks[5]));
+		
+		assertEquals(3, category.removeTasks(t -> t.getTaskDuration() % 20 == 0));
+		assertEquals(3, category.getTaskCount());
+		assertEquals(10, category.getMinDuration());
+		assertEquals(50, category.getMaxDuration());
+		assertEquals(30, category.getAvgDuration());
+		assertEquals(-1, category.indexOfTask(tasks[1]));
+		assertEquals(1, category.indexOfTask(tasks[2]));
+		assertEquals(2, category.indexOfTask(tasks[4]));
+		
+		tasks[1].setTaskDuration(1000);
+		assertEquals(50, category.getMaxDuration());
+	}
+	
+	/**
+     * Tests the duration range count and histogram, and that the durations
+     * they read stay in step with sets, removals and duration edits.
+     */
+	@Test
+	public void testDurationColumn() {
+		assertEquals(0, category.getDurationHistogram(10).length);
+		Task[] tasks = new Task[5];
+		for(int i = 0; i < tasks.length; i++) {
+			tasks[i] = new Task("Task " + i, 5 + 10 * i, "Details");
+			category.addTask(tasks[i]);
+		}
+		assertArrayEquals(new int[] {1, 1, 1, 1, 1}, category.getDurationHistogram(10));
+		assertEquals(3, category.getTaskCountBetween(10, 40));
+		
+		tasks[4].setTaskDuration(1);
+		assertArrayEquals(new int[] {2, 1, 1, 1}, category.getDurationHistogram(10));
+		assertEquals(1, category.getMinDuration());
+		
+		category.removeTask(1);
+		category.setTask(0, new Task("Replacement", 100, "Details"));
+		assertArrayEquals(new int[] {1, 0, 1, 1, 0, 0, 0, 0, 0, 0, 1}, category.getDurationHistogram(10));
+		
+		assertEquals(2, category.removeTasks(t -> t.getTaskDuration() < 30));
+		assertEquals(1, category.getTaskCountBetween(0, 50));
+		assertEquals(35, category.getMinDuration());
+		assertEquals(100, category.getMaxDuration());
+		tasks[3].setTaskDuration(60);
+		assertEquals(60, category.getMinDuration());
+		assertThrows(IllegalArgumentException.class, () -> category.getDurationHistogram(0));
+	}
 }
@@ -0,0 +1,66 @@
+package edu.ncsu.csc216.wolf_tracker.model.log;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_tracker.model.task.Task;
+
+/**
+ * A class that contains unit tests for the TaskPositionIndex class, through
+ * the task log that keeps it.
+ * @author Priyanshu Dongre
+ */
+public class TaskPositionIndexTest {
+
+	/**
+     * Tests that indexOfTask agrees with a plain list over many random adds,
+     * sets, removals, filtered removals and insertions, including tasks
+     * without an id and enough appends to reclaim dead slots.
+     */
+	@Test
+	public void testPositions() {
+		AllTasksLog log = new AllTasksLog();
+		List<Task> expected = new ArrayList<>();
+		Random random = new Random(216);
+		long nextId = 1;
+		for(int i = 0; i < 5000; i++) {
+			int operation = random.nextInt(10);
+			Task task = new Task("Task " + i, 1 + random.nextInt(100), "Testing");
+			if(random.nextInt(8) != 0) {
+				task.setTaskId(nextId++);
+			}
+			if(operation < 5 || expected.isEmpty()) {
+				log.addTask(task);
+				expected.add(task);
+			} else if(operation < 8) {
+				int idx = random.nextInt(expected.size());
+				assertEquals(expected.remove(idx), log.removeTask(idx));
+			} else if(operation == 8) {
+				int idx = random.nextInt(expected.size());
+				log.setTask(idx, task);
+				expected.set(idx, task);
+			} else if(random.nextBoolean()) {
+				int duration = random.nextInt(100);
+				log.removeTasks(t -> t.getTaskDuration() == duration);
+				expected.removeIf(t -> t.getTaskDuration() == duration);
+			} else {
+				int idx = random.nextInt(expected.size() + 1);
+				log.insertTasks(new int[] {idx}, new Task[] {task});
+				expected.add(idx, task);
+			}
+			assertEquals(expected.size(), log.getTaskCount());
+			if(i % 50 == 0) {
+				for(int j = 0; j < expected.size(); j++) {
+					assertEquals(j, log.indexOfTask(expected.get(j)));
+				}
+			}
+		}
+		assertEquals(-1, log.indexOfTask(new Task("Missing", 10, "Testing")));
+	}
+}
@@ -0,0 +1,132 @@
+package edu.ncsu.csc216.wolf_tracker.model.project;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import edu.ncsu.csc216.wolf_tracker.model.task.Task;
+
+/**
+ * A throughput benchmark comparing adds to many categories through the
+ * striped Project.addTask(String, Task) with adds that hold one lock around
+ * setCurrentTaskLog and addTask. It is not a unit test; run it with
+ * java ProjectIngestBenchmark [adds per thread].
+ * @author Priyanshu Dongre
+ */
+public class ProjectIngestBenchmark {
+
+	/**
+     * The thread counts to measure.
+     */
+	private static final int[] THREADS = {1, 4, 16, 64};
+
+	/**
+     * The number of categories the adds are spread across.
+     */
+	private static final int CATEGORIES = 256;
+
+	/**
+     * The number of times each measurement is repeated; the best is kept.
+     */
+	private static final int ROUNDS = 3;
+
+	/**
+     * Runs the benchmark and prints thousands of adds per second for each
+     * path and thread count.
+     * @param args optionally the number of adds per thread
+     * @throws InterruptedException if the benchmark is interrupted
+     */
+	public static void main(String[] args) throws InterruptedException {
+		int adds = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+		System.out.println("threads  locked  striped  (K adds/s)");
+		for(int threads : THREADS) {
+			double locked = 0;
+			double striped = 0;
+			int perThread = adds / threads;
+			for(int r = 0; r < ROUNDS; r++) {
+				Project lockedProject = newProject();
+				locked = Math.max(locked, run(threads, perThread, (category, task) -> {
+					synchronized(lockedProject) {
+						lockedProject.setCurrentTaskLog(category);
+						lockedProject.addTask(task);
+					}
+				}));
+				Project stripedProject = newProject();
+				striped = Math.max(striped, run(threads, perThread, stripedProject::addTask));
+			}
+			System.out.printf("%7d  %6.0f  %7.0f%n", threads, locked, striped);
+		}
+	}
+
+	/**
+     * Returns a project with the benchmark's categories.
+     * @return a new project
+     */
+	private static Project newProject() {
+		Project project = new Project("Benchmark");
+		for(int c = 0; c < CATEGORIES; c++) {
+			project.addCategoryLog(categoryName(c));
+		}
+		return project;
+	}
+
+	/**
+     * Returns the name of the given benchmark category.
+     * @param c the number of the category
+     * @return the category name
+     */
+	private static String categoryName(int c) {
+		return "Category " + c;
+	}
+
+	/**
+     * Adds tasks from the given number of threads at once, each thread
+     * adding to its own set of categories.
+     * @param threads the number of threads
+     * @param adds the number of adds per thread
+     * @param add the add to perform
+     * @return thousands of adds per second
+     * @throws InterruptedException if the benchmark is interrupted
+     */
+	private static double run(int threads, int adds, Add add) throws InterruptedException {
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> workers = new ArrayList<>();
+		for(int t = 0; t < threads; t++) {
+			int worker = t;
+			Thread thread = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for(int i = 0; i < adds; i++) {
+					String category = categoryName((worker + i * threads) % CATEGORIES);
+					add.add(category, new Task("Task", 10, "Details"));
+				}
+			});
+			thread.start();
+			workers.add(thread);
+		}
+		long begin = System.nanoTime();
+		start.countDown();
+		for(Thread thread : workers) {
+			thread.join();
+		}
+		long elapsed = System.nanoTime() - begin;
+		return (double) threads * adds * 1000000 / elapsed;
+	}
+
+	/**
+     * An add of a task to a category of the project being measured.
+     * @author Priyanshu Dongre
+     */
+	private interface Add {
+
+		/**
+	     * Adds the task to the category.
+	     * @param category the name of the category
+	     * @param task the task to add
+	     */
+		void add(String category, Task task);
+	}
+}
@@ -3,15 +3,24 @@ package edu.ncsu.csc216.wolf_tracker.model.project;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import edu.ncsu.csc216.wolf_tracker.model.log.AllTasksLog;
+import edu.ncsu.csc216.wolf_tracker.model.log.CategoryLog;
 import edu.ncsu.csc216.wolf_tracker.model.task.Task;
+import edu.ncsu.csc216.wolf_tracker.model.util.ILogList;
+import edu.ncsu.csc216.wolf_tracker.model.util.LogList;
+import edu.ncsu.csc216.wolf_tracker.model.util.PersistentLogList;
+import edu.ncsu.csc216.wolf_tracker.model.util.SortedList;
+import edu.ncsu.csc216.wolf_tracker.model.util.SortedTreeList;
 
 
 /**
@@ -129,7 +138,7 @@ public class ProjectTest {
 		//Removing Project 2 Part 2 category. This should Also remove newTask from All Tasks.
 		
 		project.removeCategoryLog();
-		assertNotEquals(newTask, project.getCurrentLog().getTask(0));
+		assertThrows(IndexOutOfBoundsException.class, () -> project.getCurrentLog().getTask(0));
 		assertEquals(0, project.getCurrentLog().getTasks().size());
 		assertTrue(project.isChanged());
 	}
@@ -206,7 +215,453 @@ public class ProjectTest {
 		assertArrayEquals(expectedArr, project.getMostRecentTasks());
 	}
 	
-
+	/**
+     * Tests a Project that keeps its categories in a SortedTreeList.
+     * Verifies that categories can be added, edited and removed in
+     * sorted order, and that only an empty list is accepted.
+     */
+	@Test
+	public void testSortedTreeCategories() {
+		Project treeProject = new Project("Tree", new SortedTreeList<>());
+		treeProject.addCategoryLog("Testing");
+		treeProject.addCategoryLog("Design");
+		treeProject.addCategoryLog("Implementation");
+		treeProject.editCategoryLogName("Coding");
+		assertArrayEquals(new String[] {"All Tasks", "Coding", "Design", "Testing"}, treeProject.getCategoryNames());
+		
+		treeProject.setCurrentTaskLog("Design");
+		treeProject.removeCategoryLog();
+		assertArrayEquals(new String[] {"All Tasks", "Coding", "Testing"}, treeProject.getCategoryNames());
+		assertThrows(IllegalArgumentException.class, () -> treeProject.addCategoryLog("coding"));
+		
+		SortedTreeList<CategoryLog> used = new SortedTreeList<>();
+		used.add(new CategoryLog("Design"));
+		assertThrows(IllegalArgumentException.class, () -> new Project("Tree", used));
+		assertThrows(IllegalArgumentException.class, () -> new Project("Tree", null));
+	}
 	
-
+	/**
+     * Tests a Project that opts in to keeping its All Tasks log in a
+     * PersistentLogList, whose snapshots are unaffected by later removals,
+     * and that only an empty All Tasks log is accepted.
+     */
+	@Test
+	public void testPersistentAllTasks() {
+		Project persistentProject = new Project("Persistent", new SortedList<>(), new AllTasksLog(new PersistentLogList<>()));
+		persistentProject.addCategoryLog("Design");
+		persistentProject.addTask(new Task("Plan", 10, "Plan the work"));
+		persistentProject.addTask(new Task("Draw", 20, "Draw the classes"));
+		ILogList<Task> snapshot = persistentProject.getTaskLog(AllTasksLog.ALL_TASKS_NAME).getTasksSnapshot();
+		persistentProject.removeTask(0);
+		assertEquals(1, persistentProject.getTaskLog(AllTasksLog.ALL_TASKS_NAME).getTaskCount());
+		assertEquals(2, snapshot.size());
+		assertEquals("Plan", snapshot.getLog(0).getTaskTitle());
+		
+		AllTasksLog used = new AllTasksLog();
+		used.addTask(new Task("Plan", 10, "Plan the work"));
+		assertThrows(IllegalArgumentException.class, () -> new Project("Persistent", new SortedList<>(), used));
+		assertThrows(IllegalArgumentException.class, () -> new Project("Persistent", new SortedList<>(), null));
+	}
+	
+	/**
+     * Tests that looking up a category log by name follows the log
+     * through renames and removals.
+     */
+	@Test
+	public void testCategoryLookup() {
+		Project lookupProject = new Project("Lookup");
+		lookupProject.addCategoryLog("Design");
+		lookupProject.addCategoryLog("Testing");
+		lookupProject.setCurrentTaskLog("Design");
+		lookupProject.editCategoryLogName("Planning");
+		
+		lookupProject.setCurrentTaskLog("Design");
+		assertEquals("All Tasks", lookupProject.getCurrentLog().getName());
+		lookupProject.setCurrentTaskLog("Planning");
+		assertEquals("Planning", lookupProject.getCurrentLog().getName());
+		lookupProject.addTask(new Task("Plan", 10, "Plan the work"));
+		
+		lookupProject.removeCategoryLog();
+		lookupProject.setCurrentTaskLog("Planning");
+		assertEquals("All Tasks", lookupProject.getCurrentLog().getName());
+		assertEquals(0, lookupProject.getCurrentLog().getTaskCount());
+		lookupProject.addCategoryLog("Planning");
+		assertArrayEquals(new String[] {"All Tasks", "Planning", "Testing"}, lookupProject.getCategoryNames());
+	}
+	
+	/**
+     * Tests that tasks get stable ids when added and that removing tasks
+     * and categories keeps the All Tasks log and category logs in step,
+     * including for adjacent tasks of the same category.
+     */
+	@Test
+	public void testRemoveByTaskId() {
+		Project idProject = new Project("Ids");
+		idProject.addCategoryLog("Design");
+		idProject.addCategoryLog("Testing");
+		Task[] tasks = new Task[6];
+		for(int i = 0; i < tasks.length; i++) {
+			idProject.setCurrentTaskLog(i % 3 == 2 ? "Testing" : "Design");
+			tasks[i] = new Task("Task " + i, 10 + i, "Details");
+			idProject.addTask(tasks[i]);
+			assertEquals(i + 1, tasks[i].getTaskId());
+		}
+		
+		idProject.setCurrentTaskLog("Design");
+		idProject.removeTask(1);
+		idProject.setCurrentTaskLog(AllTasksLog.ALL_TASKS_NAME);
+		assertEquals(5, idProject.getCurrentLog().getTaskCount());
+		assertEquals(-1, idProject.getCurrentLog().indexOfTask(tasks[1]));
+		
+		idProject.removeTask(2);
+		idProject.setCurrentTaskLog("Design");
+		assertEquals(2, idProject.getCurrentLog().getTaskCount());
+		assertEquals(1, idProject.getCurrentLog().indexOfTask(tasks[4]));
+		
+		idProject.removeCategoryLog();
+		assertEquals(AllTasksLog.ALL_TASKS_NAME, idProject.getCurrentLog().getName());
+		assertEquals(2, idProject.getCurrentLog().getTaskCount());
+		assertEquals(tasks[2], idProject.getCurrentLog().getTask(0));
+		assertEquals(tasks[5], idProject.getCurrentLog().getTask(1));
+	}
+	
+	/**
+     * Tests that readers running while another thread changes the project
+     * always see consistent results and never move the current log.
+     * @throws InterruptedException if the test is interrupted
+     */
+	@Test
+	public void testConcurrentReads() throws InterruptedException {
+		Project shared = new Project("Shared");
+		shared.addCategoryLog("Design");
+		shared.addCategoryLog("Testing");
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		
+		Thread writer = new Thread(() -> {
+			for(int i = 0; i < 2000; i++) {
+				shared.setCurrentTaskLog(i % 2 == 0 ? "Design" : "Testing");
+				shared.addTask(new Task("Task " + i, 10 + i % 50, "Details"));
+				if(i % 10 == 9) {
+					shared.removeTask(0);
+				}
+			}
+		});
+		List<Thread> readers = new ArrayList<>();
+		for(int r = 0; r < 3; r++) {
+			readers.add(new Thread(() -> {
+				try {
+					while(writer.isAlive()) {
+						assertEquals(3, shared.getCategoryNames().length);
+						boolean isConsistent = shared.read(p -> p.getTaskLog("Design").getTaskCount()
+								+ p.getTaskLog("Testing").getTaskCount()
+								== p.getTaskLog(AllTasksLog.ALL_TASKS_NAME).getTaskCount());
+						assertTrue(isConsistent);
+						shared.getMostRecentTasks();
+					}
+				} catch(Throwable t) {
+					failure.compareAndSet(null, t);
+				}
+			}));
+		}
+		writer.start();
+		for(Thread reader : readers) {
+			reader.start();
+		}
+		writer.join();
+		for(Thread reader : readers) {
+			reader.join();
+		}
+		assertEquals(null, failure.get());
+		assertEquals(1800, shared.getTaskLog(AllTasksLog.ALL_TASKS_NAME).getTaskCount());
+		assertEquals("Testing", shared.getCurrentLog().getName());
+		assertEquals("Design", shared.getTaskLog("Design").getName());
+		assertEquals("Testing", shared.getCurrentLog().getName());
+	}
+	
+	/**
+     * Tests that the short reads see whole, sorted category lists while
+     * another thread adds, renames and removes categories.
+     * @throws InterruptedException if the test is interrupted
+     */
+	@Test
+	public void testCategoryNamesDuringChanges() throws InterruptedException {
+		Project shared = new Project("Shared", new SortedTreeList<>());
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Thread writer = new Thread(() -> {
+			for(int i = 0; i < 1000; i++) {
+				shared.addCategoryLog(String.format("Category %04d", i));
+				if(i % 3 == 0) {
+					shared.editCategoryLogName(String.format("Renamed %04d", i));
+				}
+				if(i % 5 == 0) {
+					shared.removeCategoryLog();
+				}
+			}
+		});
+		Thread reader = new Thread(() -> {
+			try {
+				while(writer.isAlive()) {
+					String[] names = shared.getCategoryNames();
+					assertEquals(AllTasksLog.ALL_TASKS_NAME, names[0]);
+					for(int i = 2; i < names.length; i++) {
+						assertTrue(names[i - 1].compareToIgnoreCase(names[i]) < 0);
+					}
+					//The log found may have been renamed since the names were read.
+					String name = names[names.length - 1];
+					String found = shared.getTaskLog(name).getName();
+					assertTrue(name.equals(found) || AllTasksLog.ALL_TASKS_NAME.equals(found)
+							|| name.replace("Category", "Renamed").equals(found));
+					shared.getCurrentLog().getName();
+				}
+			} catch(Throwable t) {
+				failure.compareAndSet(null, t);
+			}
+		});
+		writer.start();
+		reader.start();
+		writer.join();
+		reader.join();
+		assertEquals(null, failure.get());
+		assertEquals(801, shared.getCategoryNames().length);
+		assertEquals("Renamed 0999", shared.getCurrentLog().getName());
+	}
+	
+	/**
+     * Tests adding tasks to many categories from several threads through the
+     * striped path while two readers check that the categories and the All
+     * Tasks log always agree, one of them by walking every task.
+     * @throws InterruptedException if the test is interrupted
+     */
+	@Test
+	public void testStripedAdds() throws InterruptedException {
+		Project shared = new Project("Striped");
+		for(int c = 0; c < 16; c++) {
+			shared.addCategoryLog("Category " + c);
+		}
+		shared.setCurrentTaskLog("Category 3");
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		List<Thread> writers = new ArrayList<>();
+		for(int w = 0; w < 4; w++) {
+			int writer = w;
+			writers.add(new Thread(() -> {
+				try {
+					for(int i = 0; i < 1000; i++) {
+						shared.addTask("Category " + (writer * 4 + i % 4), new Task("Task " + i, 10, "Details"));
+					}
+				} catch(Throwable t) {
+					failure.compareAndSet(null, t);
+				}
+			}));
+		}
+		List<Thread> readers = new ArrayList<>();
+		readers.add(new Thread(() -> {
+			try {
+				while(writers.stream().anyMatch(Thread::isAlive)) {
+					boolean isConsistent = shared.read(p -> {
+						int total = 0;
+						for(String name : p.getCategoryNames()) {
+							if(!AllTasksLog.ALL_TASKS_NAME.equals(name)) {
+								total += p.getTaskLog(name).getTaskCount();
+							}
+						}
+						return total == p.getTaskLog(AllTasksLog.ALL_TASKS_NAME).getTaskCount();
+					});
+					assertTrue(isConsistent);
+				}
+			} catch(Throwable t) {
+				failure.compareAndSet(null, t);
+			}
+		}));
+		readers.add(new Thread(() -> {
+			try {
+				while(writers.stream().anyMatch(Thread::isAlive)) {
+					boolean isConsistent = shared.read(p -> {
+						int inCategory5 = 0;
+						for(Task task : p.getTaskLog(AllTasksLog.ALL_TASKS_NAME).getTasks()) {
+							if("Category 5".equals(task.getCategoryName())) {
+								inCategory5++;
+							}
+						}
+						return inCategory5 == p.getTaskLog("Category 5").getTaskCount();
+					});
+					assertTrue(isConsistent);
+				}
+			} catch(Throwable t) {
+				failure.compareAndSet(null, t);
+			}
+		}));
+		for(Thread writer : writers) {
+			writer.start();
+		}
+		for(Thread reader : readers) {
+			reader.start();
+		}
+		for(Thread writer : writers) {
+			writer.join();
+		}
+		for(Thread reader : readers) {
+			reader.join();
+		}
+		assertEquals(null, failure.get());
+		
+		assertEquals("Category 3", shared.getCurrentLog().getName());
+		assertEquals(250, shared.getTaskLog("Category 5").getTaskCount());
+		int count = shared.read(p -> p.getTaskLog(AllTasksLog.ALL_TASKS_NAME).getTaskCount());
+		assertEquals(4000, count);
+		boolean[] ids = new boolean[4001];
+		for(Task task : shared.getTaskLog(AllTasksLog.ALL_TASKS_NAME).getTasks()) {
+			assertTrue(!ids[(int) task.getTaskId()]);
+			ids[(int) task.getTaskId()] = true;
+		}
+		assertThrows(IllegalArgumentException.class, () -> shared.addTask("Missing", new Task("Task", 10, "Details")));
+	}
+	
+	/**
+     * Tests that every kind of change can be undone back to the state before
+     * it and redone to the state after it, including adding tasks in bulk and
+     * removing a category whose tasks are spread through the All Tasks log.
+     */
+	@Test
+	public void testUndoRedo() {
+		assertTrue(!project.canUndo());
+		assertTrue(!project.undo());
+		List<String> states = new ArrayList<>();
+		states.add(describe(project));
+		
+		project.addCategoryLog("Work");
+		states.add(describe(project));
+		project.addCategoryLog("Home");
+		states.add(describe(project));
+		for(int i = 0; i < 6; i++) {
+			project.setCurrentTaskLog(i % 2 == 0 ? "Work" : "Home");
+			project.addTask(new Task("Task " + i, 10 + i, "Details " + i));
+			states.add(describe(project));
+		}
+		LogList<Task> bulk = new LogList<>();
+		for(int i = 0; i < 3; i++) {
+			bulk.addLog(new Task("Bulk " + i, 40 + i, "Bulk details " + i));
+		}
+		project.addTasks("Home", bulk);
+		assertEquals("Home", bulk.getLog(0).getCategoryName());
+		assertEquals(9, project.getTaskLog(AllTasksLog.ALL_TASKS_NAME).getTaskCount());
+		states.add(describe(project));
+		assertThrows(IllegalArgumentException.class, () -> project.addTasks("Missing", new LogList<>()));
+		project.setCurrentTaskLog("Work");
+		project.editTask(1, "Edited", 99, "Edited details");
+		states.add(describe(project));
+		project.setCurrentTaskLog(AllTasksLog.ALL_TASKS_NAME);
+		project.removeTask(2);
+		states.add(describe(project));
+		project.setCurrentTaskLog("Home");
+		project.removeTask(0);
+		states.add(describe(project));
+		project.editCategoryLogName("Chores");
+		states.add(describe(project));
+		project.setCurrentTaskLog("Work");
+		project.removeCategoryLog();
+		states.add(describe(project));
+		
+		assertEquals(AllTasksLog.ALL_TASKS_NAME, project.getCurrentLog().getName());
+		for(int i = states.size() - 2; i >= 0; i--) {
+			assertTrue(project.undo());
+			assertEquals(states.get(i), describe(project));
+			if(i == states.size() - 2) {
+				assertEquals("Work", project.getCurrentLog().getName());
+			}
+		}
+		assertTrue(!project.undo());
+		for(int i = 1; i < states.size(); i++) {
+			assertTrue(project.redo());
+			assertEquals(states.get(i), describe(project));
+		}
+		assertTrue(!project.redo());
+		
+		project.undo();
+		project.setCurrentTaskLog("Work");
+		project.addTask(new Task("New", 5, "New details"));
+		assertTrue(!project.canRedo());
+		assertEquals(2, project.getTaskLog("Work").indexOfTask(project.getTaskLog("Work").getTask(2)));
+	}
+	
+	/**
+     * Tests that the undo history forgets its oldest changes once it is over
+     * its memory budget, and keeps nothing with a budget of zero.
+     */
+	@Test
+	public void testUndoBudget() {
+		assertEquals(Project.DEFAULT_UNDO_BUDGET, project.getUndoBudget());
+		project.addCategoryLog("Work");
+		for(int i = 0; i < 100; i++) {
+			project.addTask(new Task("Task " + i, 10, "Details"));
+		}
+		project.setUndoBudget(10 * (UndoLog.Change.BASE_SIZE + UndoLog.Change.TASK_SIZE));
+		int undone = 0;
+		while(project.undo()) {
+			undone++;
+		}
+		assertEquals(10, undone);
+		assertEquals(90, project.getTaskLog("Work").getTaskCount());
+		assertEquals(90, project.getTaskLog(AllTasksLog.ALL_TASKS_NAME).getTaskCount());
+		
+		project.setUndoBudget(0);
+		assertTrue(!project.canRedo());
+		project.addTask(new Task("Task", 10, "Details"));
+		assertTrue(!project.canUndo());
+		assertThrows(IllegalArgumentException.class, () -> project.setUndoBudget(-1));
+		
+		project.setUndoBudget(Project.DEFAULT_UNDO_BUDGET);
+		project.addTask(new Task("Task", 10, "Details"));
+		project.clearUndoHistory();
+		assertTrue(!project.canUndo());
+		
+		//Without a budget the category's tasks still leave All Tasks
+		project.setUndoBudget(0);
+		project.setCurrentTaskLog("Work");
+		project.removeCategoryLog();
+		assertTrue(!project.canUndo());
+		assertEquals(0, project.getTaskLog(AllTasksLog.ALL_TASKS_NAME).getTaskCount());
+	}
+	
+	/**
+     * Tests that editing a task whose details have not been loaded, and
+     * undoing and redoing the edit, never loads them.
+     */
+	@Test
+	public void testUndoLazyEdit() {
+		int[] loads = {0};
+		project.addCategoryLog("Work");
+		project.addTask(new Task("Lazy", 10, () -> {
+			loads[0]++;
+			return "Loaded details.";
+		}));
+		project.editTask(0, "Edited", 20, "Edited details.");
+		assertTrue(project.undo());
+		assertEquals(0, loads[0]);
+		assertTrue(project.redo());
+		assertTrue(project.undo());
+		assertEquals(0, loads[0]);
+		assertEquals("Lazy", project.getCurrentLog().getTask(0).getTaskTitle());
+		assertEquals("Loaded details.", project.getCurrentLog().getTask(0).getTaskDetails());
+		assertEquals(1, loads[0]);
+	}
+	
+	/**
+     * Describes the categories and tasks of a project, so that
+     * two states of a project can be compared.
+     * @param p the project to describe
+     * @return a description of the project
+     */
+	private static String describe(Project p) {
+		StringBuilder description = new StringBuilder();
+		for(String name : p.getCategoryNames()) {
+			description.append('|').append(name).append(':');
+			for(String[] task : p.getTaskLog(name).getTasksAsArray()) {
+				description.append(String.join(",", task)).append(';');
+			}
+		}
+		for(Task task : p.getTaskLog(AllTasksLog.ALL_TASKS_NAME).getTasks()) {
+			description.append(task.getTaskDetails()).append(';');
+		}
+		return description.toString();
+	}
 }
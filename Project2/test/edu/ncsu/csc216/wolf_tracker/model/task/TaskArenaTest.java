@@ -0,0 +1,140 @@
+package edu.ncsu.csc216.wolf_tracker.model.task;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_tracker.model.log.CategoryLog;
+
+/**
+ * A class that contains unit tests for the TaskArena class and for tasks
+ * that keep their strings in an arena.
+ * @author Priyanshu Dongre
+ */
+public class TaskArenaTest {
+
+	/**
+     * Tests storing records across several small chunks, including a record
+     * larger than a chunk and strings that are not ASCII.
+     */
+	@Test
+	public void testStoreAndLoad() {
+		TaskArena arena = new TaskArena(32);
+		String longDetails = "Details ".repeat(20);
+		long first = arena.store("Title", "Details");
+		long second = arena.store("T\u00edtle \u2713", longDetails);
+		long third = arena.store("T", "D");
+		
+		assertEquals("Title", arena.loadTitle(first));
+		assertEquals("Details", arena.loadDetails(first));
+		assertEquals("T\u00edtle \u2713", arena.loadTitle(second));
+		assertEquals(longDetails, arena.loadDetails(second));
+		assertEquals("T", arena.loadTitle(third));
+		assertEquals("D", arena.loadDetails(third));
+		assertEquals(12 + 5 + 7 + 12 + 10 + longDetails.length() + 12 + 1 + 1, arena.getUsedBytes());
+		assertEquals(32 + 12 + 10 + longDetails.length() + 32, arena.getAllocatedBytes());
+		
+		arena.release(first);
+		assertEquals(24, arena.getWastedBytes());
+		
+		//A smaller record reuses the released one.
+		assertEquals(first, arena.store("Ti", "Details"));
+		assertEquals("Ti", arena.loadTitle(first));
+		assertEquals("Details", arena.loadDetails(first));
+		assertEquals(0, arena.getWastedBytes());
+		assertEquals(32 + 12 + 10 + longDetails.length() + 32, arena.getAllocatedBytes());
+		assertThrows(IllegalArgumentException.class, () -> new TaskArena(4));
+	}
+	
+	/**
+     * Tests that a task kept in an arena behaves like one kept on the heap
+     * when it is read, edited and added to a log.
+     */
+	@Test
+	public void testArenaTask() {
+		TaskArena arena = new TaskArena();
+		Task task = new Task("Write tests", 30, "Cover the arena", arena);
+		assertEquals("Write tests", task.getTaskTitle());
+		assertEquals("Cover the arena", task.getTaskDetails());
+		
+		task.setTaskTitle("Write more tests");
+		task.setTaskDetails("Cover edits");
+		task.setTaskDuration(45);
+		assertEquals("Write more tests", task.getTaskTitle());
+		assertEquals("Cover edits", task.getTaskDetails());
+		//Each edit releases the previous record; edited records are rounded up to 48 and 40.
+		assertEquals((12 + 11 + 15) + 48, arena.getWastedBytes());
+		long used = arena.getUsedBytes();
+		task.setTaskTitle("Write tests");
+		task.setTaskTitle("Write more tests");
+		assertEquals(used, arena.getUsedBytes());
+		assertEquals((12 + 11 + 15) + 48, arena.getWastedBytes());
+		
+		CategoryLog log = new CategoryLog("Testing");
+		log.addTask(task);
+		assertEquals("* Write more tests,45,Testing\nCover edits", task.toString());
+		assertEquals(45, log.getMaxDuration());
+		
+		assertThrows(IllegalArgumentException.class, () -> new Task("Title", 10, "Details", null));
+		assertThrows(IllegalArgumentException.class, () -> new Task("", 10, "Details", arena));
+		assertThrows(IllegalArgumentException.class, () -> new Task("Title", 0, "Details", arena));
+		assertThrows(IllegalArgumentException.class, () -> task.setTaskTitle(null));
+		assertEquals("Write more tests", task.getTaskTitle());
+	}
+	
+	/**
+     * Tests that many edits of a few tasks reuse released records instead of
+     * growing the arena.
+     */
+	@Test
+	public void testEditsReuseRecords() {
+		TaskArena arena = new TaskArena(4096);
+		Task[] tasks = new Task[10];
+		for(int i = 0; i < tasks.length; i++) {
+			tasks[i] = new Task("Task " + i, 10, "Details", arena);
+		}
+		for(int edit = 0; edit < 100000; edit++) {
+			Task task = tasks[edit % tasks.length];
+			task.setTaskDetails("Details ".repeat(1 + edit % 7));
+			task.setTaskTitle("Task " + edit);
+		}
+		assertEquals(4096, arena.getAllocatedBytes());
+		assertEquals("Task 99999", tasks[9].getTaskTitle());
+		assertEquals("Details ".repeat(1 + 99999 % 7), tasks[9].getTaskDetails());
+	}
+
+	/**
+     * Tests that a task read while it and another task keep trading the same
+     * records never returns the other task's strings.
+     * @throws InterruptedException if the test is interrupted
+     */
+	@Test
+	public void testReadsDuringEdits() throws InterruptedException {
+		TaskArena arena = new TaskArena(4096);
+		Task read = new Task("Read 0", 10, "Details", arena);
+		Task other = new Task("Other 0", 10, "Details", arena);
+		AtomicBoolean isDone = new AtomicBoolean();
+		AtomicBoolean isMixed = new AtomicBoolean();
+		Thread reader = new Thread(() -> {
+			while(!isDone.get()) {
+				if(!read.getTaskTitle().startsWith("Read")) {
+					isMixed.set(true);
+				}
+			}
+		});
+		reader.start();
+		for(int edit = 1; edit <= 100000; edit++) {
+			read.setTaskTitle("Read " + edit % 2);
+			other.setTaskTitle("Other " + edit % 2);
+		}
+		isDone.set(true);
+		reader.join();
+		assertFalse(isMixed.get());
+		assertEquals("Read 0", read.getTaskTitle());
+	}
+}
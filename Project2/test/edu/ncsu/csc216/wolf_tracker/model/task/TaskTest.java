@@ -5,6 +5,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.function.Supplier;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -92,4 +94,58 @@ public class TaskTest {
 		task.addCategory(c);
 		assertEquals("* Finish Project,90,Testing\nIncomplete.", task.toString());
 	}
+	
+	/**
+     * Tests a task whose details are loaded on demand.
+     * Verifies that the details are loaded only once, when first needed,
+     * and that setting the details replaces the loader, even while it runs.
+     */
+	@Test
+	public void testLazyDetails() {
+		int[] loads = {0};
+		Task lazyTask = new Task("Lazy", 30, () -> {
+			loads[0]++;
+			return "Loaded details.";
+		});
+		assertEquals("Lazy", lazyTask.getTaskTitle());
+		assertEquals(30, lazyTask.getTaskDuration());
+		assertEquals(0, loads[0]);
+		
+		assertEquals("* Lazy,30,\nLoaded details.", lazyTask.toString());
+		assertEquals("Loaded details.", lazyTask.getTaskDetails());
+		assertEquals(1, loads[0]);
+		
+		Task editedTask = new Task("Edited", 30, () -> {
+			throw new IllegalStateException();
+		});
+		editedTask.setTaskDetails("New details.");
+		assertEquals("New details.", editedTask.getTaskDetails());
+		
+		//Details set while the loader runs are kept
+		Task[] racedTask = new Task[1];
+		racedTask[0] = new Task("Raced", 30, () -> {
+			racedTask[0].setTaskDetails("Set details.");
+			return "Loaded details.";
+		});
+		assertEquals("Set details.", racedTask[0].getTaskDetails());
+		
+		assertThrows(IllegalArgumentException.class, () -> new Task("Lazy", 30, (Supplier<String>) null));
+		assertThrows(IllegalArgumentException.class, () -> new Task("", 30, () -> "Details"));
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> new Task("Lazy", 0, () -> "Details"));
+		assertEquals("Incomplete task information.", e.getMessage());
+	}
+	
+	/**
+     * Tests that a task id can be set once and is then stable.
+     */
+	@Test
+	public void testTaskId() {
+		Task task = new Task("Task", 10, "Details");
+		assertEquals(0, task.getTaskId());
+		assertThrows(IllegalArgumentException.class, () -> task.setTaskId(0));
+		task.setTaskId(7);
+		assertEquals(7, task.getTaskId());
+		assertThrows(IllegalStateException.class, () -> task.setTaskId(8));
+		assertEquals(7, task.getTaskId());
+	}
 }
@@ -0,0 +1,99 @@
+package edu.ncsu.csc216.wolf_tracker.model.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * A throughput benchmark comparing appends to a ConcurrentLogList with
+ * appends to a LogList guarded by a lock, the way a synchronized wrapper
+ * would guard it. It is not a unit test; run it with
+ * java ConcurrentLogListBenchmark [appends per thread].
+ * @author Priyanshu Dongre
+ */
+public class ConcurrentLogListBenchmark {
+
+	/**
+     * The thread counts to measure.
+     */
+	private static final int[] THREADS = {1, 2, 4, 8, 16};
+
+	/**
+     * The number of times each measurement is repeated; the best is kept.
+     */
+	private static final int ROUNDS = 5;
+
+	/**
+     * Runs the benchmark and prints millions of appends per second for each
+     * list and thread count.
+     * @param args optionally the number of appends per thread
+     * @throws InterruptedException if the benchmark is interrupted
+     */
+	public static void main(String[] args) throws InterruptedException {
+		int appends = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+		System.out.println("threads  synchronized  concurrent  (M appends/s)");
+		for(int threads : THREADS) {
+			double locked = 0;
+			double concurrent = 0;
+			for(int r = 0; r < ROUNDS; r++) {
+				LogList<Integer> list = new LogList<>();
+				locked = Math.max(locked, run(threads, appends, e -> {
+					synchronized(list) {
+						list.addLog(e);
+					}
+				}));
+				ConcurrentLogList<Integer> concurrentList = new ConcurrentLogList<>();
+				concurrent = Math.max(concurrent, run(threads, appends, concurrentList::addLog));
+			}
+			System.out.printf("%7d  %12.1f  %10.1f%n", threads, locked, concurrent);
+		}
+	}
+
+	/**
+     * Appends from the given number of threads at once.
+     * @param threads the number of threads
+     * @param appends the number of appends per thread
+     * @param append the append to perform
+     * @return millions of appends per second
+     * @throws InterruptedException if the benchmark is interrupted
+     */
+	private static double run(int threads, int appends, Append append) throws InterruptedException {
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> workers = new ArrayList<>();
+		Integer entry = Integer.valueOf(1);
+		for(int t = 0; t < threads; t++) {
+			Thread worker = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for(int i = 0; i < appends; i++) {
+					append.add(entry);
+				}
+			});
+			worker.start();
+			workers.add(worker);
+		}
+		long begin = System.nanoTime();
+		start.countDown();
+		for(Thread worker : workers) {
+			worker.join();
+		}
+		long elapsed = System.nanoTime() - begin;
+		return (double) threads * appends * 1000 / elapsed;
+	}
+
+	/**
+     * An append to the list being measured.
+     * @author Priyanshu Dongre
+     */
+	private interface Append {
+
+		/**
+	     * Appends the entry.
+	     * @param entry the entry to append
+	     */
+		void add(Integer entry);
+	}
+}
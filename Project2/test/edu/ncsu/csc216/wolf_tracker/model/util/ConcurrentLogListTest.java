@@ -0,0 +1,322 @@
+package edu.ncsu.csc216.wolf_tracker.model.util;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A class that contains unit tests for the ConcurrentLogList class,
+ * including stress tests with several producer threads appending while
+ * other threads read snapshots or remove entries.
+ * @author Priyanshu Dongre
+ */
+public class ConcurrentLogListTest {
+
+	/**
+     * The number of producer threads in the stress tests.
+     */
+	private static final int PRODUCERS = 4;
+
+	/**
+     * The number of entries each producer appends.
+     */
+	private static final int PER_PRODUCER = 50000;
+
+	/**
+     * The ConcurrentLogList instance used for testing.
+     */
+	private ConcurrentLogList<Integer> logList;
+
+	/**
+     * Sets up an empty list before each test.
+     */
+	@BeforeEach
+	public void setUp() {
+		logList = new ConcurrentLogList<>();
+	}
+
+	/**
+     * Tests the single threaded operations across several buckets,
+     * including the exceptions for invalid indices and null entries.
+     */
+	@Test
+	public void testSingleOperations() {
+		List<Integer> expected = new ArrayList<>();
+		for(int i = 0; i < 100; i++) {
+			logList.addLog(i);
+			expected.add(i);
+		}
+		logList.setLog(50, 500);
+		expected.set(50, 500);
+		assertEquals(Integer.valueOf(3), logList.removeLog(3));
+		expected.remove(3);
+		logList.removeRange(10, 20);
+		expected.subList(10, 20).clear();
+		assertEquals(30, logList.removeLogs(i -> i % 3 == 0));
+		expected.removeIf(i -> i % 3 == 0);
+		assertMatches(expected);
+
+		ILogList<Integer> snapshot = logList.snapshot();
+		logList.addLog(1000);
+		logList.removeLog(0);
+		assertEquals(expected.size(), snapshot.size());
+		assertEquals(expected.get(0), snapshot.getLog(0));
+		assertEquals(expected.get(5), snapshot.subList(5, 10).getLog(0));
+		assertThrows(UnsupportedOperationException.class, () -> snapshot.addLog(1));
+
+		assertThrows(IndexOutOfBoundsException.class, () -> logList.getLog(logList.size()));
+		assertThrows(IndexOutOfBoundsException.class, () -> logList.removeLog(-1));
+		assertThrows(IndexOutOfBoundsException.class, () -> logList.setLog(logList.size(), 1));
+		assertThrows(NullPointerException.class, () -> logList.addLog(null));
+		int size = logList.size();
+		logList.addLog(7);
+		assertEquals(size + 1, logList.size());
+	}
+
+	/**
+     * Tests that changes made through sub lists, nested ones included, are
+     * made to the list, and that a sub list fails fast once the list is
+     * removed from around it.
+     */
+	@Test
+	public void testSubList() {
+		List<Integer> expected = new ArrayList<>();
+		for(int i = 0; i < 100; i++) {
+			logList.addLog(i);
+			expected.add(i);
+		}
+		ILogList<Integer> outer = logList.subList(10, 80);
+		List<Integer> expectedOuter = expected.subList(10, 80);
+		ILogList<Integer> inner = outer.subList(5, 40);
+		List<Integer> expectedInner = expectedOuter.subList(5, 40);
+
+		inner.addLog(-1);
+		expectedInner.add(-1);
+		inner.setLog(0, -2);
+		expectedInner.set(0, -2);
+		assertEquals(expectedInner.remove(3), inner.removeLog(3));
+		inner.removeRange(10, 20);
+		expectedInner.subList(10, 20).clear();
+		assertEquals(expectedInner.stream().filter(n -> n % 3 == 0).count(), inner.removeLogs(n -> n % 3 == 0));
+		expectedInner.removeIf(n -> n % 3 == 0);
+		LogList<Integer> added = new LogList<>();
+		added.addLog(500);
+		added.addLog(501);
+		inner.addAll(added);
+		expectedInner.add(500);
+		expectedInner.add(501);
+
+		assertEquals(expectedInner.size(), inner.size());
+		int i = 0;
+		for(Integer entry : inner) {
+			assertEquals(expectedInner.get(i), entry);
+			i++;
+		}
+		assertEquals(expectedOuter.size(), outer.size());
+		assertEquals(expectedOuter.get(expectedOuter.size() - 1), outer.getLog(outer.size() - 1));
+		assertMatches(expected);
+
+		ILogList<Integer> snapshot = inner.snapshot();
+		inner.addLog(600);
+		assertEquals(expectedInner.size(), snapshot.size());
+
+		logList.addLog(700);
+		assertEquals(expectedInner.size() + 1, inner.size());
+		logList.removeLog(0);
+		assertThrows(ConcurrentModificationException.class, () -> inner.size());
+		assertThrows(ConcurrentModificationException.class, () -> outer.addLog(1));
+		assertThrows(IndexOutOfBoundsException.class, () -> logList.subList(0, logList.size() + 1));
+	}
+
+	/**
+     * Tests that a sub list can be changed while producers append, and that
+     * neither the view's changes nor any appended entry is lost.
+     * @throws InterruptedException if the test is interrupted
+     */
+	@Test
+	public void testSubListDuringAppends() throws InterruptedException {
+		for(int i = 0; i < 1000; i++) {
+			logList.addLog(-1 - i);
+		}
+		ILogList<Integer> view = logList.subList(0, 1000);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		for(int p = 0; p < PRODUCERS; p++) {
+			int producer = p;
+			threads.add(new Thread(() -> {
+				await(start);
+				for(int i = 0; i < PER_PRODUCER; i++) {
+					logList.addLog(producer * PER_PRODUCER + i);
+				}
+			}));
+		}
+		threads.add(new Thread(() -> {
+			await(start);
+			for(int i = 0; i < 100; i++) {
+				view.removeLog(0);
+				view.addLog(-2000 - i);
+			}
+			view.removeLogs(entry -> entry > -1000);
+		}));
+		runAll(threads, start);
+
+		assertEquals(101, view.size());
+		for(int i = 0; i < view.size(); i++) {
+			assertTrue(view.getLog(i) < 0);
+		}
+		assertEquals(view.size() + PRODUCERS * PER_PRODUCER, logList.size());
+		int[] next = new int[PRODUCERS];
+		for(int i = view.size(); i < logList.size(); i++) {
+			int entry = logList.getLog(i);
+			int producer = entry / PER_PRODUCER;
+			assertEquals(next[producer], entry % PER_PRODUCER);
+			next[producer]++;
+		}
+	}
+
+	/**
+     * Tests that every append from several producers is kept, that each
+     * producer's entries stay in the order it appended them, and that a
+     * reader running at the same time only ever sees complete prefixes.
+     * @throws InterruptedException if the test is interrupted
+     */
+	@Test
+	public void testConcurrentAppends() throws InterruptedException {
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		List<Thread> threads = new ArrayList<>();
+		for(int p = 0; p < PRODUCERS; p++) {
+			int producer = p;
+			threads.add(new Thread(() -> {
+				await(start);
+				for(int i = 0; i < PER_PRODUCER; i++) {
+					logList.addLog(producer * PER_PRODUCER + i);
+				}
+			}));
+		}
+		Thread reader = new Thread(() -> {
+			await(start);
+			int last = 0;
+			while(last < PRODUCERS * PER_PRODUCER) {
+				ILogList<Integer> snapshot = logList.snapshot();
+				if(snapshot.size() < last) {
+					failure.set(new AssertionError("Size went backwards."));
+					return;
+				}
+				for(Integer entry : snapshot) {
+					if(entry == null) {
+						failure.set(new AssertionError("Snapshot holds an unwritten entry."));
+						return;
+					}
+				}
+				last = snapshot.size();
+			}
+		});
+		threads.add(reader);
+		runAll(threads, start);
+		assertEquals(null, failure.get());
+
+		assertEquals(PRODUCERS * PER_PRODUCER, logList.size());
+		int[] next = new int[PRODUCERS];
+		for(Integer entry : logList) {
+			int producer = entry / PER_PRODUCER;
+			assertEquals(next[producer], entry % PER_PRODUCER);
+			next[producer]++;
+		}
+	}
+
+	/**
+     * Tests that removing entries while producers append loses none of the
+     * appended entries that were not removed.
+     * @throws InterruptedException if the test is interrupted
+     */
+	@Test
+	public void testRemoveDuringAppends() throws InterruptedException {
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		for(int p = 0; p < PRODUCERS; p++) {
+			int producer = p;
+			threads.add(new Thread(() -> {
+				await(start);
+				for(int i = 0; i < PER_PRODUCER; i++) {
+					logList.addLog(producer * PER_PRODUCER + i);
+				}
+			}));
+		}
+		threads.add(new Thread(() -> {
+			await(start);
+			for(int i = 0; i < 20; i++) {
+				logList.removeLogs(entry -> entry % 2 == 1);
+			}
+		}));
+		runAll(threads, start);
+		logList.removeLogs(entry -> entry % 2 == 1);
+
+		assertEquals(PRODUCERS * PER_PRODUCER / 2, logList.size());
+		boolean[] seen = new boolean[PRODUCERS * PER_PRODUCER];
+		Iterator<Integer> it = logList.iterator();
+		while(it.hasNext()) {
+			Integer entry = it.next();
+			assertNotNull(entry);
+			assertTrue(entry % 2 == 0);
+			assertTrue(!seen[entry]);
+			seen[entry] = true;
+		}
+	}
+
+	/**
+     * Starts the threads, releases them together and waits for them all.
+     * @param threads the threads to run
+     * @param start the latch the threads wait on
+     * @throws InterruptedException if the test is interrupted
+     */
+	private static void runAll(List<Thread> threads, CountDownLatch start) throws InterruptedException {
+		for(Thread thread : threads) {
+			thread.start();
+		}
+		start.countDown();
+		for(Thread thread : threads) {
+			thread.join();
+		}
+	}
+
+	/**
+     * Waits for the start latch, ignoring interrupts.
+     * @param start the latch to wait on
+     */
+	private static void await(CountDownLatch start) {
+		try {
+			start.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+     * Checks that the list holds exactly the expected entries.
+     * @param expected the expected entries in order
+     */
+	private void assertMatches(List<Integer> expected) {
+		assertEquals(expected.size(), logList.size());
+		for(int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i), logList.getLog(i));
+		}
+		int i = 0;
+		for(Integer entry : logList) {
+			assertEquals(expected.get(i), entry);
+			i++;
+		}
+	}
+}
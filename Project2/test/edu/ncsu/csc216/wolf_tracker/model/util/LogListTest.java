@@ -3,6 +3,14 @@ package edu.ncsu.csc216.wolf_tracker.model.util;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -75,6 +83,7 @@ public class LogListTest {
 		
 		IndexOutOfBoundsException exception2 = assertThrows(IndexOutOfBoundsException.class, () -> logList.getLog(12));
 		assertEquals("Invalid index.", exception2.getMessage());
+		assertThrows(IndexOutOfBoundsException.class, () -> logList.getLog(logList.size()));
 	}
 	
 	/**
@@ -145,6 +154,174 @@ public class LogListTest {
 		
 	}
 	
+	/**
+     * Tests the removeLogs method to ensure every matching log is removed
+     * in one pass and the remaining logs keep their order.
+     */
+	@Test
+	public void testRemoveLogs() {
+		for(String test: testingStrings) {
+			logList.addLog(test);
+		}
+		
+		assertEquals(0, logList.removeLogs(s -> s.startsWith("Sleep")));
+		assertEquals(10, logList.size());
+		
+		assertEquals(4, logList.removeLogs(s -> s.startsWith("Go") || s.startsWith("Wa")));
+		assertEquals(6, logList.size());
+		String[] expected = {"Cook", "Study", "Scroll Instagram", "Work on Personal Project", "Return IPAD", "Dispose Trash"};
+		for(int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], logList.getLog(i));
+		}
+		
+		assertEquals(6, logList.removeLogs(s -> true));
+		assertEquals(0, logList.size());
+		logList.addLog("Cook");
+		assertEquals("Cook", logList.getLog(0));
+		assertThrows(NullPointerException.class, () -> logList.removeLogs(null));
+	}
 	
-
+	/**
+     * Tests the addAll, removeRange, ensureCapacity and trimToSize methods.
+     * Verifies that entries are moved in bulk in order and that invalid
+     * ranges and null entries are rejected without changing the list.
+     */
+	@Test
+	public void testBulkOperations() {
+		logList.ensureCapacity(100);
+		for(String test: testingStrings) {
+			logList.addLog(test);
+		}
+		LogList<String> other = new LogList<>();
+		other.addLog("Do Laundary");
+		other.addLog("Call Home");
+		logList.addAll(other);
+		assertEquals(12, logList.size());
+		assertEquals("Wash Dishes", logList.getLog(9));
+		assertEquals("Call Home", logList.getLog(11));
+		
+		logList.addAll(logList);
+		assertEquals(24, logList.size());
+		assertEquals("Cook", logList.getLog(12));
+		
+		logList.removeRange(10, 24);
+		assertEquals(10, logList.size());
+		for(int i = 0; i < testingStrings.length; i++) {
+			assertEquals(testingStrings[i], logList.getLog(i));
+		}
+		logList.removeRange(0, 0);
+		logList.removeRange(2, 5);
+		assertEquals(7, logList.size());
+		assertEquals("Return IPAD", logList.getLog(2));
+		
+		logList.trimToSize();
+		logList.addLog("Sleep");
+		assertEquals(8, logList.size());
+		assertEquals("Sleep", logList.getLog(7));
+		
+		assertThrows(IndexOutOfBoundsException.class, () -> logList.removeRange(-1, 2));
+		assertThrows(IndexOutOfBoundsException.class, () -> logList.removeRange(3, 2));
+		assertThrows(IndexOutOfBoundsException.class, () -> logList.removeRange(0, 9));
+		assertThrows(NullPointerException.class, () -> logList.addAll(null));
+		assertEquals(8, logList.size());
+		
+		LogList<String> empty = new LogList<>();
+		empty.trimToSize();
+		empty.addLog("Cook");
+		assertEquals("Cook", empty.getLog(0));
+	}
+	
+	/**
+     * Tests the subList method. Verifies that reads and writes through a
+     * view, and through a view of a view, are made to the list.
+     */
+	@Test
+	public void testSubList() {
+		for(String test: testingStrings) {
+			logList.addLog(test);
+		}
+		ILogList<String> view = logList.subList(2, 6);
+		assertEquals(4, view.size());
+		assertEquals("Watch TV", view.getLog(0));
+		assertEquals("Return IPAD", view.getLog(3));
+		assertThrows(IndexOutOfBoundsException.class, () -> view.getLog(4));
+		
+		view.setLog(0, "Read");
+		assertEquals("Read", logList.getLog(2));
+		view.addLog("Nap");
+		assertEquals(5, view.size());
+		assertEquals(11, logList.size());
+		assertEquals("Nap", logList.getLog(6));
+		assertEquals("Go on Date", logList.getLog(7));
+		
+		ILogList<String> inner = view.subList(1, 3);
+		assertEquals("Scroll Instagram", inner.removeLog(0));
+		assertEquals(4, view.size());
+		assertEquals(10, logList.size());
+		assertEquals(1, view.removeLogs(s -> s.startsWith("Work")));
+		assertEquals(3, view.size());
+		assertEquals("Return IPAD", view.getLog(1));
+		
+		view.removeRange(0, view.size());
+		assertEquals(0, view.size());
+		assertEquals(6, logList.size());
+		assertEquals("Study", logList.getLog(1));
+		assertEquals("Go on Date", logList.getLog(2));
+		assertThrows(IndexOutOfBoundsException.class, () -> logList.subList(5, 8));
+	}
+	
+	/**
+     * Tests iterating over the log list and its views. Verifies order,
+     * removal through the iterator, splitting, parallel streams, and that
+     * iterators, spliterators and views fail fast after other changes.
+     */
+	@Test
+	public void testIterator() {
+		for(String test: testingStrings) {
+			logList.addLog(test);
+		}
+		int i = 0;
+		for(String log : logList) {
+			assertEquals(testingStrings[i], log);
+			i++;
+		}
+		assertEquals(10, i);
+		
+		Iterator<String> iterator = logList.iterator();
+		while(iterator.hasNext()) {
+			if(iterator.next().startsWith("Go")) {
+				iterator.remove();
+			}
+		}
+		assertEquals(8, logList.size());
+		assertEquals("Dispose Trash", logList.getLog(6));
+		assertThrows(NoSuchElementException.class, () -> iterator.next());
+		assertThrows(IllegalStateException.class, () -> logList.iterator().remove());
+		
+		Spliterator<String> spliterator = logList.spliterator();
+		assertEquals(8, spliterator.getExactSizeIfKnown());
+		Spliterator<String> prefix = spliterator.trySplit();
+		assertEquals(4, prefix.estimateSize());
+		assertEquals(4, spliterator.estimateSize());
+		assertTrue(spliterator.hasCharacteristics(Spliterator.SUBSIZED));
+		
+		LogList<Integer> numbers = new LogList<>();
+		for(int n = 1; n <= 10000; n++) {
+			numbers.addLog(n);
+		}
+		assertEquals(50005000L, numbers.parallelStream().mapToLong(Integer::longValue).sum());
+		assertEquals(5000, numbers.subList(0, 100).stream().filter(n -> n % 2 == 0).count() * 100);
+		
+		Iterator<String> stale = logList.iterator();
+		ILogList<String> view = logList.subList(0, 2);
+		logList.addLog("Sleep");
+		assertThrows(ConcurrentModificationException.class, () -> stale.next());
+		assertThrows(ConcurrentModificationException.class, () -> view.getLog(0));
+		assertThrows(ConcurrentModificationException.class, () -> logList.forEach(log -> logList.removeLog(0)));
+		
+		ILogList<String> freshView = logList.subList(1, 3);
+		List<String> seen = new ArrayList<>();
+		freshView.forEach(seen::add);
+		assertEquals(List.of("Watch TV", "Scroll Instagram"), seen);
+	}
 }
@@ -0,0 +1,269 @@
+package edu.ncsu.csc216.wolf_tracker.model.util;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A class that contains unit tests for the PersistentLogList class.
+ * The list is checked against an ArrayList after every change, and
+ * snapshots taken along the way are checked again after later changes.
+ * @author Priyanshu Dongre
+ */
+public class PersistentLogListTest {
+
+	/**
+     * The PersistentLogList instance used for testing.
+     */
+	private PersistentLogList<Integer> logList;
+	
+	/**
+     * The list the PersistentLogList is expected to match.
+     */
+	private List<Integer> expected;
+	
+	/**
+     * Sets up an empty list before each test.
+     */
+	@BeforeEach
+	public void setUp() {
+		logList = new PersistentLogList<>();
+		expected = new ArrayList<>();
+	}
+	
+	/**
+     * Tests adding, getting, setting and removing across several levels of
+     * the trie, including the exceptions for invalid indices and null entries.
+     */
+	@Test
+	public void testSingleOperations() {
+		for(int i = 0; i < 40000; i++) {
+			logList.addLog(i);
+			expected.add(i);
+		}
+		assertMatches(logList);
+		
+		logList.setLog(5, 50);
+		expected.set(5, 50);
+		logList.setLog(39999, 7);
+		expected.set(39999, 7);
+		assertEquals(Integer.valueOf(1030), logList.removeLog(1030));
+		expected.remove(1030);
+		logList.removeRange(32, 20000);
+		expected.subList(32, 20000).clear();
+		assertMatches(logList);
+		
+		NullPointerException e1 = assertThrows(NullPointerException.class, () -> logList.addLog(null));
+		assertEquals("Cannot add null element.", e1.getMessage());
+		assertThrows(NullPointerException.class, () -> logList.setLog(0, null));
+		IndexOutOfBoundsException e2 = assertThrows(IndexOutOfBoundsException.class, () -> logList.getLog(expected.size()));
+		assertEquals("Invalid index.", e2.getMessage());
+		assertThrows(IndexOutOfBoundsException.class, () -> logList.removeLog(-1));
+		assertThrows(IndexOutOfBoundsException.class, () -> logList.removeRange(3, 2));
+	}
+	
+	/**
+     * Tests random operations against an ArrayList, taking snapshots along
+     * the way and checking that later changes do not reach them.
+     */
+	@Test
+	public void testRandomOperationsWithSnapshots() {
+		Random random = new Random(216);
+		List<ILogList<Integer>> snapshots = new ArrayList<>();
+		List<List<Integer>> snapshotContents = new ArrayList<>();
+		for(int step = 0; step < 3000; step++) {
+			int choice = random.nextInt(12);
+			if(choice < 6 || expected.isEmpty()) {
+				for(int i = random.nextInt(40); i >= 0; i--) {
+					logList.addLog(step);
+					expected.add(step);
+				}
+			} else if(choice == 6) {
+				int idx = random.nextInt(expected.size());
+				assertEquals(expected.remove(idx), logList.removeLog(idx));
+			} else if(choice == 7) {
+				int from = random.nextInt(expected.size());
+				int to = from + random.nextInt(Math.min(70, expected.size() - from + 1));
+				logList.removeRange(from, to);
+				expected.subList(from, to).clear();
+			} else if(choice == 8) {
+				int mod = 2 + random.nextInt(5);
+				int count = (int) expected.stream().filter(n -> n % mod == 0).count();
+				assertEquals(count, logList.removeLogs(n -> n % mod == 0));
+				expected.removeIf(n -> n % mod == 0);
+			} else if(choice == 9) {
+				int idx = random.nextInt(expected.size());
+				logList.setLog(idx, -step);
+				expected.set(idx, -step);
+			} else {
+				snapshots.add(logList.snapshot());
+				snapshotContents.add(new ArrayList<>(expected));
+			}
+			assertMatches(logList);
+		}
+		for(int i = 0; i < snapshots.size(); i++) {
+			expected = snapshotContents.get(i);
+			assertMatches(snapshots.get(i));
+		}
+	}
+	
+	/**
+     * Tests snapshots and their sub lists, and that they cannot be changed.
+     */
+	@Test
+	public void testSnapshot() {
+		for(int i = 0; i < 100; i++) {
+			logList.addLog(i);
+		}
+		ILogList<Integer> snapshot = logList.snapshot();
+		logList.setLog(0, -1);
+		logList.removeRange(10, 90);
+		logList.addLog(100);
+		assertEquals(100, snapshot.size());
+		assertEquals(Integer.valueOf(0), snapshot.getLog(0));
+		assertEquals(Integer.valueOf(50), snapshot.getLog(50));
+		assertEquals(snapshot, snapshot.snapshot());
+		
+		ILogList<Integer> range = snapshot.subList(40, 60);
+		assertEquals(20, range.size());
+		assertEquals(Integer.valueOf(45), range.getLog(5));
+		assertEquals(Integer.valueOf(0), logList.subList(1, 5).getLog(0) - 1);
+		assertThrows(UnsupportedOperationException.class, () -> snapshot.addLog(1));
+		assertThrows(UnsupportedOperationException.class, () -> range.removeLog(0));
+		assertThrows(IndexOutOfBoundsException.class, () -> snapshot.getLog(100));
+	}
+	
+	/**
+     * Tests that changes made through sub lists, nested ones included, are
+     * made to the list, and that a sub list fails fast once the list is
+     * changed around it.
+     */
+	@Test
+	public void testSubList() {
+		for(int i = 0; i < 100; i++) {
+			logList.addLog(i);
+			expected.add(i);
+		}
+		ILogList<Integer> outer = logList.subList(10, 80);
+		List<Integer> expectedOuter = expected.subList(10, 80);
+		ILogList<Integer> inner = outer.subList(5, 40);
+		List<Integer> expectedInner = expectedOuter.subList(5, 40);
+
+		inner.addLog(-1);
+		expectedInner.add(-1);
+		inner.setLog(0, -2);
+		expectedInner.set(0, -2);
+		assertEquals(expectedInner.remove(3), inner.removeLog(3));
+		inner.removeRange(10, 20);
+		expectedInner.subList(10, 20).clear();
+		assertEquals(expectedInner.stream().filter(n -> n % 3 == 0).count(), inner.removeLogs(n -> n % 3 == 0));
+		expectedInner.removeIf(n -> n % 3 == 0);
+		PersistentLogList<Integer> added = new PersistentLogList<>();
+		added.addLog(500);
+		added.addLog(501);
+		inner.addAll(added);
+		expectedInner.add(500);
+		expectedInner.add(501);
+
+		assertEquals(expectedInner.size(), inner.size());
+		for(int i = 0; i < expectedInner.size(); i++) {
+			assertEquals(expectedInner.get(i), inner.getLog(i));
+		}
+		assertEquals(expectedOuter.size(), outer.size());
+		assertEquals(expectedOuter.get(expectedOuter.size() - 1), outer.getLog(outer.size() - 1));
+		assertMatches(logList);
+
+		ILogList<Integer> snapshot = inner.snapshot();
+		inner.addLog(600);
+		assertEquals(expectedInner.size(), snapshot.size());
+
+		logList.addLog(700);
+		assertThrows(ConcurrentModificationException.class, () -> inner.size());
+		assertThrows(ConcurrentModificationException.class, () -> outer.addLog(1));
+		assertThrows(IndexOutOfBoundsException.class, () -> logList.subList(0, 200));
+	}
+
+	/**
+     * Tests taking snapshots on one thread while another appends, and that
+     * each snapshot keeps the entries it was taken with.
+     * @throws InterruptedException if the test is interrupted
+     */
+	@Test
+	public void testSnapshotWhileAdding() throws InterruptedException {
+		Thread writer = new Thread(() -> {
+			for(int i = 0; i < 200000; i++) {
+				logList.addLog(i);
+				if(i % 1000 == 999) {
+					logList.setLog(i - 500, i - 500);
+				}
+			}
+		});
+		writer.start();
+		while(writer.isAlive()) {
+			ILogList<Integer> snapshot = logList.snapshot();
+			int size = snapshot.size();
+			for(int i = 0; i < size; i += 97) {
+				assertEquals(Integer.valueOf(i), snapshot.getLog(i));
+			}
+			if(size > 0) {
+				assertEquals(Integer.valueOf(size - 1), snapshot.getLog(size - 1));
+			}
+		}
+		writer.join();
+		assertEquals(200000, logList.snapshot().size());
+	}
+
+	/**
+     * Tests iterating with removal and that iterators fail fast.
+     */
+	@Test
+	public void testIterator() {
+		for(int i = 0; i < 70; i++) {
+			logList.addLog(i);
+			expected.add(i);
+		}
+		Iterator<Integer> iterator = logList.iterator();
+		while(iterator.hasNext()) {
+			if(iterator.next() % 3 != 0) {
+				iterator.remove();
+			}
+		}
+		expected.removeIf(n -> n % 3 != 0);
+		assertMatches(logList);
+		
+		Iterator<Integer> stale = logList.iterator();
+		logList.addLog(100);
+		assertThrows(ConcurrentModificationException.class, () -> stale.next());
+		assertThrows(ConcurrentModificationException.class, () -> logList.forEach(n -> logList.addLog(n)));
+	}
+	
+	/**
+     * Asserts that the list holds the expected entries, read both by index
+     * and by iteration.
+     * 
+     * @param list the list to check
+     */
+	private void assertMatches(ILogList<Integer> list) {
+		assertEquals(expected.size(), list.size());
+		for(int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i), list.getLog(i));
+		}
+		List<Integer> iterated = new ArrayList<>();
+		list.forEach(iterated::add);
+		assertEquals(expected, iterated);
+		iterated.clear();
+		for(int n : list) {
+			iterated.add(n);
+		}
+		assertEquals(expected, iterated);
+	}
+}
@@ -0,0 +1,179 @@
+package edu.ncsu.csc216.wolf_tracker.model.util;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A class that contains unit tests for the SegmentedLogList class.
+ * A small chunk size is used so that the tests cross many chunk boundaries,
+ * and the list is checked against an ArrayList after every change.
+ * @author Priyanshu Dongre
+ */
+public class SegmentedLogListTest {
+
+	/**
+     * The SegmentedLogList instance used for testing.
+     */
+	private SegmentedLogList<Integer> logList;
+	
+	/**
+     * The list the SegmentedLogList is expected to match.
+     */
+	private List<Integer> expected;
+	
+	/**
+     * Sets up an empty list with chunks of four entries before each test.
+     */
+	@BeforeEach
+	public void setUp() {
+		logList = new SegmentedLogList<>(4);
+		expected = new ArrayList<>();
+	}
+	
+	/**
+     * Tests adding, getting, setting and removing single entries, including
+     * the exceptions for invalid indices, null entries and chunk sizes.
+     */
+	@Test
+	public void testSingleOperations() {
+		for(int i = 0; i < 10; i++) {
+			logList.addLog(i);
+			expected.add(i);
+		}
+		assertMatches();
+		
+		logList.setLog(5, 50);
+		expected.set(5, 50);
+		assertEquals(Integer.valueOf(3), logList.removeLog(3));
+		expected.remove(3);
+		assertEquals(Integer.valueOf(0), logList.removeLog(0));
+		expected.remove(0);
+		assertEquals(Integer.valueOf(9), logList.removeLog(7));
+		expected.remove(7);
+		assertMatches();
+		
+		NullPointerException e1 = assertThrows(NullPointerException.class, () -> logList.addLog(null));
+		assertEquals("Cannot add null element.", e1.getMessage());
+		assertThrows(NullPointerException.class, () -> logList.setLog(0, null));
+		IndexOutOfBoundsException e2 = assertThrows(IndexOutOfBoundsException.class, () -> logList.getLog(7));
+		assertEquals("Invalid index.", e2.getMessage());
+		assertThrows(IndexOutOfBoundsException.class, () -> logList.removeLog(-1));
+		assertThrows(IllegalArgumentException.class, () -> new SegmentedLogList<Integer>(1));
+	}
+	
+	/**
+     * Tests random single and bulk operations against an ArrayList.
+     */
+	@Test
+	public void testRandomOperations() {
+		Random random = new Random(216);
+		for(int step = 0; step < 3000; step++) {
+			int choice = random.nextInt(10);
+			if(choice < 5 || expected.isEmpty()) {
+				logList.addLog(step);
+				expected.add(step);
+			} else if(choice == 5) {
+				int idx = random.nextInt(expected.size());
+				assertEquals(expected.remove(idx), logList.removeLog(idx));
+			} else if(choice == 6) {
+				int from = random.nextInt(expected.size());
+				int to = from + random.nextInt(Math.min(9, expected.size() - from + 1));
+				logList.removeRange(from, to);
+				expected.subList(from, to).clear();
+			} else if(choice == 7) {
+				int mod = 2 + random.nextInt(5);
+				assertEquals(countMultiples(mod), logList.removeLogs(n -> n % mod == 0));
+				expected.removeIf(n -> n % mod == 0);
+			} else if(choice == 8) {
+				LogList<Integer> added = new LogList<>();
+				for(int i = random.nextInt(7); i > 0; i--) {
+					added.addLog(-step - i);
+					expected.add(-step - i);
+				}
+				logList.addAll(added);
+			} else {
+				int from = random.nextInt(expected.size());
+				int to = from + random.nextInt(expected.size() - from + 1);
+				ILogList<Integer> view = logList.subList(from, to);
+				view.addLog(step);
+				expected.add(to, step);
+				if(view.size() > 1) {
+					assertEquals(expected.remove(from), view.removeLog(0));
+				}
+			}
+			assertMatches();
+		}
+	}
+	
+	/**
+     * Tests iterating with removal and that iterators and views fail fast.
+     */
+	@Test
+	public void testIterator() {
+		for(int i = 0; i < 20; i++) {
+			logList.addLog(i);
+			expected.add(i);
+		}
+		Iterator<Integer> iterator = logList.iterator();
+		while(iterator.hasNext()) {
+			if(iterator.next() % 3 != 0) {
+				iterator.remove();
+			}
+		}
+		expected.removeIf(n -> n % 3 != 0);
+		assertMatches();
+		assertEquals(63, logList.stream().mapToInt(Integer::intValue).sum());
+		assertEquals(63, logList.parallelStream().mapToInt(Integer::intValue).sum());
+		
+		Iterator<Integer> stale = logList.iterator();
+		ILogList<Integer> view = logList.subList(1, 3);
+		logList.addLog(100);
+		assertThrows(ConcurrentModificationException.class, () -> stale.next());
+		assertThrows(ConcurrentModificationException.class, () -> view.getLog(0));
+	}
+	
+	/**
+     * Counts the expected entries that are multiples of mod.
+     * 
+     * @param mod the divisor
+     * @return the number of multiples of mod in expected
+     */
+	private int countMultiples(int mod) {
+		int count = 0;
+		for(int n : expected) {
+			if(n % mod == 0) {
+				count++;
+			}
+		}
+		return count;
+	}
+	
+	/**
+     * Asserts that the list holds the expected entries, read both by index
+     * and by iteration.
+     */
+	private void assertMatches() {
+		assertEquals(expected.size(), logList.size());
+		for(int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i), logList.getLog(i));
+		}
+		List<Integer> iterated = new ArrayList<>();
+		logList.forEach(iterated::add);
+		assertEquals(expected, iterated);
+		iterated.clear();
+		for(int n : logList) {
+			iterated.add(n);
+		}
+		assertEquals(expected, iterated);
+	}
+}
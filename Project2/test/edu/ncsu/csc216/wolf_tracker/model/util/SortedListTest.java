@@ -2,7 +2,14 @@ package edu.ncsu.csc216.wolf_tracker.model.util;
 
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -82,6 +89,9 @@ public class SortedListTest {
 		list.add("Priyanshu");
 		
 		assertEquals(2, list.size());
+		assertEquals(1, list.indexOf("Priyanshu"));
+		assertEquals(-1, list.indexOf("Andy"));
+		assertEquals(-1, list.indexOf("Zed"));
 		
 		assertEquals("Priyanshu", list.remove(1));
 		assertEquals(1, list.size());
@@ -91,5 +101,38 @@ public class SortedListTest {
 		
 	}
 	
-	
+	/**
+     * Tests iterating over the SortedList. Verifies that elements come
+     * out in sorted order, that streams see every element, and that
+     * iterators fail fast after the list changes.
+     */
+	@Test
+	public void testIterator() {
+		String[] names = {"Priyanshu", "Ansh", "Preston", "Andy", "Zoe", "Maya"};
+		for(String name : names) {
+			list.add(name);
+		}
+		String previous = null;
+		int count = 0;
+		for(String name : list) {
+			if(previous != null) {
+				assertTrue(previous.compareTo(name) < 0);
+			}
+			previous = name;
+			count++;
+		}
+		assertEquals(names.length, count);
+		assertEquals(names.length, list.spliterator().getExactSizeIfKnown());
+		assertEquals("Andy,Ansh,Maya,Preston,Priyanshu,Zoe", list.stream().collect(Collectors.joining(",")));
+		assertEquals(names.length, list.parallelStream().filter(name -> name.length() > 0).count());
+		
+		Iterator<String> iterator = list.iterator();
+		assertEquals("Andy", iterator.next());
+		list.remove(0);
+		assertThrows(ConcurrentModificationException.class, () -> iterator.next());
+		
+		Iterator<String> emptyIterator = new SortedList<String>().iterator();
+		assertFalse(emptyIterator.hasNext());
+		assertThrows(NoSuchElementException.class, () -> emptyIterator.next());
+	}
 }
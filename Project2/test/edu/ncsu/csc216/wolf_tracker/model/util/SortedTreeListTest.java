@@ -0,0 +1,141 @@
+package edu.ncsu.csc216.wolf_tracker.model.util;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_tracker.model.log.CategoryLog;
+
+/**
+ * A class that contains unit tests for the SortedTreeList class.
+ * This class uses JUnit to verify the behavior of the SortedTreeList implementation.
+ * @author Priyanshu Dongre
+ */
+public class SortedTreeListTest {
+
+	/** 
+	 * A sorted tree list of strings used for testing purposes.
+	 */
+	private SortedTreeList<String> list;
+	
+	/**
+     * Sets up the SortedTreeList instance before each test.
+     */
+	@BeforeEach
+	public void setUp() {
+		list = new SortedTreeList<>();
+	}
+
+	/**
+     * Tests the add method of the SortedTreeList class.
+     * Verifies that elements are kept in sorted order and that adding
+     * null or duplicate elements throws the same exceptions as SortedList.
+     */
+	@Test
+	public void testAdd() {
+		list.add("Ansh");
+		list.add("Priyanshu");
+		list.add("Andy");
+		list.add("Preston");
+		assertEquals(4, list.size());
+		assertEquals("Andy", list.get(0));
+		assertEquals("Ansh", list.get(1));
+		assertEquals("Preston", list.get(2));
+		assertEquals("Priyanshu", list.get(3));
+		assertTrue(list.contains("Preston"));
+		assertFalse(list.contains("Peter"));
+		
+		NullPointerException e1 = assertThrows(NullPointerException.class, () -> list.add(null));
+		assertEquals("Cannot add null element.", e1.getMessage());
+		IllegalArgumentException e2 = assertThrows(IllegalArgumentException.class, () -> list.add("Ansh"));
+		assertEquals("Cannot add duplicate element.", e2.getMessage());
+		IndexOutOfBoundsException e3 = assertThrows(IndexOutOfBoundsException.class, () -> list.get(4));
+		assertEquals("Invalid index.", e3.getMessage());
+		
+		SortedTreeList<CategoryLog> categories = new SortedTreeList<>();
+		categories.add(new CategoryLog("design"));
+		assertThrows(IllegalArgumentException.class, () -> categories.add(new CategoryLog("Design")));
+		assertTrue(categories.contains(new CategoryLog("DESIGN")));
+	}
+	
+	/**
+     * Tests the remove method of the SortedTreeList class against a sorted
+     * ArrayList over many random adds and removes.
+     */
+	@Test
+	public void testRemove() {
+		IndexOutOfBoundsException e1 = assertThrows(IndexOutOfBoundsException.class, () -> list.remove(0));
+		assertEquals("Invalid index.", e1.getMessage());
+		
+		Random random = new Random(216);
+		List<String> expected = new ArrayList<>();
+		for(int i = 0; i < 2000; i++) {
+			String element = "Element " + random.nextInt(1000);
+			if(random.nextInt(3) == 0 && !expected.isEmpty()) {
+				int idx = random.nextInt(expected.size());
+				assertEquals(expected.remove(idx), list.remove(idx));
+			} else if(!expected.contains(element)) {
+				expected.add(element);
+				Collections.sort(expected);
+				list.add(element);
+			}
+			assertEquals(expected.size(), list.size());
+		}
+		for(int i = 0; i < expected.size(); i++) {
+			assertEquals(expected.get(i), list.get(i));
+			assertEquals(i, list.indexOf(expected.get(i)));
+		}
+		assertEquals(-1, list.indexOf("Missing"));
+		assertThrows(NullPointerException.class, () -> list.indexOf(null));
+		assertThrows(IndexOutOfBoundsException.class, () -> list.remove(-1));
+	}
+	
+	/**
+     * Tests iterating over the SortedTreeList. Verifies that elements come
+     * out in sorted order, that streams see every element, and that
+     * iterators fail fast after the list changes.
+     */
+	@Test
+	public void testIterator() {
+		String[] names = {"Priyanshu", "Ansh", "Preston", "Andy", "Zoe", "Maya"};
+		for(String name : names) {
+			list.add(name);
+		}
+		String previous = null;
+		int count = 0;
+		for(String name : list) {
+			if(previous != null) {
+				assertTrue(previous.compareTo(name) < 0);
+			}
+			previous = name;
+			count++;
+		}
+		assertEquals(names.length, count);
+		assertEquals(names.length, list.spliterator().getExactSizeIfKnown());
+		assertEquals("Andy,Ansh,Maya,Preston,Priyanshu,Zoe", list.stream().collect(Collectors.joining(",")));
+		assertEquals(names.length, list.parallelStream().filter(name -> name.length() > 0).count());
+		
+		Iterator<String> iterator = list.iterator();
+		assertEquals("Andy", iterator.next());
+		list.remove(0);
+		assertThrows(ConcurrentModificationException.class, () -> iterator.next());
+		
+		Iterator<String> emptyIterator = new SortedTreeList<String>().iterator();
+		assertFalse(emptyIterator.hasNext());
+		assertThrows(NoSuchElementException.class, () -> emptyIterator.next());
+	}
+}
@@ -0,0 +1,79 @@
+package edu.ncsu.csc216.wolf_tracker.model.util;
+
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_tracker.model.task.Task;
+
+/**
+ * A class that contains unit tests for the StringPool class and for the
+ * interning of task titles.
+ * @author Priyanshu Dongre
+ */
+public class StringPoolTest {
+
+	/**
+     * Tests that equal strings and char ranges intern to one instance, and
+     * that the capacity is rounded up to a power of two.
+     */
+	@Test
+	public void testIntern() {
+		StringPool pool = new StringPool(100);
+		assertEquals(128, pool.getCapacity());
+		assertNull(pool.intern(null));
+
+		String standup = new String("Standup");
+		assertSame(standup, pool.intern(standup));
+		assertSame(standup, pool.intern(new String("Standup")));
+
+		char[] chars = "* Standup,30".toCharArray();
+		assertSame(standup, pool.intern(chars, 2, 7));
+		String review = pool.intern("Code review".toCharArray(), 0, 11);
+		assertEquals("Code review", review);
+		assertSame(review, pool.intern(new String("Code review")));
+		assertEquals("", pool.intern(chars, 0, 0));
+
+		assertThrows(IllegalArgumentException.class, () -> new StringPool(0));
+		assertThrows(IllegalArgumentException.class, () -> new StringPool((1 << 30) + 1));
+	}
+
+	/**
+     * Tests that a pool of one slot keeps only the most recently interned
+     * string, so interning stays correct when strings replace each other.
+     */
+	@Test
+	public void testEviction() {
+		StringPool pool = new StringPool(1);
+		String first = new String("First");
+		String second = new String("Second");
+		assertSame(first, pool.intern(first));
+		assertSame(second, pool.intern(second));
+
+		String again = new String("First");
+		assertSame(again, pool.intern(again));
+		assertSame(again, pool.intern(new String("First")));
+		assertNotSame(first, pool.intern(new String("First")));
+		String third = new String("Second");
+		assertSame(third, pool.intern(third));
+	}
+
+	/**
+     * Tests that tasks given equal titles share one title instance.
+     */
+	@Test
+	public void testTaskTitles() {
+		Task first = new Task(new String("Standup"), 15, "Monday");
+		Task second = new Task(new String("Standup"), 15, "Tuesday");
+		assertSame(first.getTaskTitle(), second.getTaskTitle());
+
+		second.setTaskTitle(new String("Code review"));
+		first.setTaskTitle(new String("Code review"));
+		assertSame(first.getTaskTitle(), second.getTaskTitle());
+	}
+}